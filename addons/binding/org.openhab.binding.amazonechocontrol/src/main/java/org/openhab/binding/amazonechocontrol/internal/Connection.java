@@ -18,6 +18,7 @@ import java.io.OutputStream;
 import java.net.CookieManager;
 import java.net.CookieStore;
 import java.net.HttpCookie;
+import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
@@ -29,6 +30,7 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Hashtable;
@@ -37,6 +39,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Scanner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.zip.GZIPInputStream;
@@ -113,6 +117,9 @@ public class Connection {
 
     private final Logger logger = LoggerFactory.getLogger(Connection.class);
 
+    // playlists and notification sounds rarely change, so they are not fetched again on every refresh
+    private static final long RESPONSE_CACHE_TIME_TO_LIVE = TimeUnit.MINUTES.toMillis(15);
+
     private final CookieManager cookieManager = new CookieManager();
     private String amazonSite = "amazon.com";
     private String alexaServer = "https://alexa.amazon.com";
@@ -131,6 +138,20 @@ public class Connection {
     private final Gson gson = new Gson();
     private final Gson gsonWithNullSerialization;
 
+    private final Map<String, CachedResponse> responseCache = new ConcurrentHashMap<>();
+
+    private static class CachedResponse {
+        final String response;
+        final @Nullable String eTag;
+        volatile long expires;
+
+        CachedResponse(String response, @Nullable String eTag, long expires) {
+            this.response = response;
+            this.eTag = eTag;
+            this.expires = expires;
+        }
+    }
+
     public Connection(@Nullable Connection oldConnection) {
         String frc = null;
         String serial = null;
@@ -445,6 +466,35 @@ public class Connection {
         return convertStream(connection);
     }
 
+    /**
+     * Makes a GET request and keeps its response for {@link #RESPONSE_CACHE_TIME_TO_LIVE}. Once expired, the cached
+     * response is revalidated with its ETag if the server provided one.
+     */
+    public String makeRequestAndReturnCachedString(String url) throws IOException, URISyntaxException {
+        long now = System.currentTimeMillis();
+        @Nullable
+        CachedResponse cached = responseCache.get(url);
+        if (cached != null && now < cached.expires) {
+            return cached.response;
+        }
+
+        @Nullable
+        String eTag = cached == null ? null : cached.eTag;
+        @Nullable
+        Map<String, String> customHeaders = eTag == null ? null : Collections.singletonMap("If-None-Match", eTag);
+        HttpsURLConnection connection = makeRequest("GET", url, null, false, true, customHeaders);
+        if (cached != null && connection.getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+            logger.debug("Cached response of {} is still valid", url);
+            connection.disconnect();
+            cached.expires = now + RESPONSE_CACHE_TIME_TO_LIVE;
+            return cached.response;
+        }
+        String response = convertStream(connection);
+        responseCache.put(url,
+                new CachedResponse(response, connection.getHeaderField("ETag"), now + RESPONSE_CACHE_TIME_TO_LIVE));
+        return response;
+    }
+
     public HttpsURLConnection makeRequest(String verb, String url, @Nullable String postData, boolean json,
             boolean autoredirect, @Nullable Map<String, String> customHeaders) throws IOException, URISyntaxException {
         String currentUrl = url;
@@ -561,6 +611,11 @@ public class Connection {
                     logger.debug("Call to {} succeeded", url);
                     return connection;
                 }
+                if (code == HttpURLConnection.HTTP_NOT_MODIFIED && customHeaders != null
+                        && customHeaders.containsKey("If-None-Match")) {
+                    logger.debug("Call to {} not modified", url);
+                    return connection;
+                }
                 if (code == 302 && location != null) {
                     logger.debug("Redirected to {}", location);
                     currentUrl = location;
@@ -797,6 +852,7 @@ public class Connection {
 
     public void logout() {
         cookieManager.getCookieStore().removeAll();
+        responseCache.clear();
         // reset all members
         refreshToken = null;
         loginTime = null;
@@ -890,7 +946,7 @@ public class Connection {
     }
 
     public JsonPlaylists getPlaylists(Device device) throws IOException, URISyntaxException {
-        String json = makeRequestAndReturnString(alexaServer + "/api/cloudplayer/playlists?deviceSerialNumber="
+        String json = makeRequestAndReturnCachedString(alexaServer + "/api/cloudplayer/playlists?deviceSerialNumber="
                 + device.serialNumber + "&deviceType=" + device.deviceType + "&mediaOwnerCustomerId="
                 + (StringUtils.isEmpty(this.accountCustomerId) ? device.deviceOwnerCustomerId
                         : this.accountCustomerId));
@@ -1246,7 +1302,7 @@ public class Connection {
     }
 
     public JsonNotificationSound[] getNotificationSounds(Device device) throws IOException, URISyntaxException {
-        String json = makeRequestAndReturnString(
+        String json = makeRequestAndReturnCachedString(
                 alexaServer + "/api/notification/sounds?deviceSerialNumber=" + device.serialNumber + "&deviceType="
                         + device.deviceType + "&softwareVersion=" + device.softwareVersion);
         JsonNotificationSounds result = parseJson(json, JsonNotificationSounds.class);
@@ -22,12 +22,15 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.storage.Storage;
 import org.eclipse.smarthome.core.thing.Bridge;
 import org.eclipse.smarthome.core.thing.ChannelUID;
@@ -77,7 +80,11 @@ import com.google.gson.JsonSyntaxException;
 @NonNullByDefault
 public class AccountHandler extends BaseBridgeHandler implements IWebSocketCommandHandler {
 
+    private static final String THREADPOOL_NAME = "amazonechocontrol";
+
     private final Logger logger = LoggerFactory.getLogger(AccountHandler.class);
+    // bounded by the size of the named pool, used to refresh the echo devices in parallel
+    private final ExecutorService refreshExecutor = ThreadPoolManager.getPool(THREADPOOL_NAME);
     private Storage<String> stateStorage;
     private @Nullable Connection connection;
     private @Nullable WebSocketConnection webSocketConnection;
@@ -420,56 +427,44 @@ public class AccountHandler extends BaseBridgeHandler implements IWebSocketComma
                         }
                     }
                 }
-                // forward device information to echo handler
-                for (EchoHandler child : echoHandlers) {
-                    Device device = findDeviceJson(child);
-
-                    @Nullable
-                    JsonNotificationSound[] notificationSounds = null;
-                    JsonPlaylists playlists = null;
-                    if (device != null && currentConnection.getIsLoggedIn()) {
-                        // update notification sounds
-                        try {
-                            notificationSounds = currentConnection.getNotificationSounds(device);
-                        } catch (IOException | HttpException | JsonSyntaxException | ConnectionException e) {
-                            logger.debug("Update notification sounds failed {}", e);
-                        }
-                        // update playlists
-                        try {
-                            playlists = currentConnection.getPlaylists(device);
-                        } catch (IOException | HttpException | JsonSyntaxException | ConnectionException e) {
-                            logger.debug("Update playlist failed {}", e);
-                        }
+                // index the account wide states by the serial number of the device
+                Map<String, DeviceNotificationState> deviceNotificationStateBySerialNumber = new HashMap<>();
+                if (deviceNotificationStates != null) {
+                    for (DeviceNotificationState current : deviceNotificationStates) {
+                        deviceNotificationStateBySerialNumber.putIfAbsent(current.deviceSerialNumber, current);
                     }
-
-                    BluetoothState state = null;
-                    if (states != null) {
-                        state = states.findStateByDevice(device);
+                }
+                Map<String, AscendingAlarmModel> ascendingAlarmModelBySerialNumber = new HashMap<>();
+                if (ascendingAlarmModels != null) {
+                    for (AscendingAlarmModel current : ascendingAlarmModels) {
+                        ascendingAlarmModelBySerialNumber.putIfAbsent(current.deviceSerialNumber, current);
                     }
-                    DeviceNotificationState deviceNotificationState = null;
-                    AscendingAlarmModel ascendingAlarmModel = null;
-                    if (device != null) {
-                        if (ascendingAlarmModels != null) {
-                            for (AscendingAlarmModel current : ascendingAlarmModels) {
-                                if (StringUtils.equals(current.deviceSerialNumber, device.serialNumber)) {
-                                    ascendingAlarmModel = current;
-                                    break;
-                                }
-                            }
-                        }
+                }
 
-                        if (deviceNotificationStates != null) {
-                            for (DeviceNotificationState current : deviceNotificationStates) {
-                                if (StringUtils.equals(current.deviceSerialNumber, device.serialNumber)) {
-                                    deviceNotificationState = current;
-                                    break;
-                                }
-                            }
-                        }
-                    }
-                    child.updateState(this, device, state, deviceNotificationState, ascendingAlarmModel, playlists,
-                            notificationSounds, musicProviders);
+                List<EchoHandler> children;
+                synchronized (echoHandlers) {
+                    children = new ArrayList<>(echoHandlers);
+                }
+
+                // forward device information to echo handler, the device specific data is requested in parallel
+                Connection refreshConnection = currentConnection;
+                @Nullable
+                List<JsonMusicProvider> currentMusicProviders = musicProviders;
+                List<CompletableFuture<Void>> refreshes = new ArrayList<>(children.size());
+                for (EchoHandler child : children) {
+                    Device device = findDeviceJson(child);
+
+                    BluetoothState state = states == null ? null : states.findStateByDevice(device);
+                    DeviceNotificationState deviceNotificationState = device == null ? null
+                            : deviceNotificationStateBySerialNumber.get(device.serialNumber);
+                    AscendingAlarmModel ascendingAlarmModel = device == null ? null
+                            : ascendingAlarmModelBySerialNumber.get(device.serialNumber);
+
+                    refreshes.add(CompletableFuture.runAsync(() -> refreshEchoHandler(refreshConnection, child, device,
+                            state, deviceNotificationState, ascendingAlarmModel, currentMusicProviders),
+                            refreshExecutor));
                 }
+                CompletableFuture.allOf(refreshes.toArray(new CompletableFuture<?>[refreshes.size()])).join();
 
                 // update account state
                 updateStatus(ThingStatus.ONLINE);
@@ -483,6 +478,35 @@ public class AccountHandler extends BaseBridgeHandler implements IWebSocketComma
         }
     }
 
+    private void refreshEchoHandler(Connection currentConnection, EchoHandler child, @Nullable Device device,
+            @Nullable BluetoothState state, @Nullable DeviceNotificationState deviceNotificationState,
+            @Nullable AscendingAlarmModel ascendingAlarmModel, @Nullable List<JsonMusicProvider> musicProviders) {
+        try {
+            @Nullable
+            JsonNotificationSound[] notificationSounds = null;
+            JsonPlaylists playlists = null;
+            if (device != null && currentConnection.getIsLoggedIn()) {
+                // update notification sounds
+                try {
+                    notificationSounds = currentConnection.getNotificationSounds(device);
+                } catch (IOException | HttpException | JsonSyntaxException | ConnectionException e) {
+                    logger.debug("Update notification sounds failed {}", e);
+                }
+                // update playlists
+                try {
+                    playlists = currentConnection.getPlaylists(device);
+                } catch (IOException | HttpException | JsonSyntaxException | ConnectionException e) {
+                    logger.debug("Update playlist failed {}", e);
+                }
+            }
+
+            child.updateState(this, device, state, deviceNotificationState, ascendingAlarmModel, playlists,
+                    notificationSounds, musicProviders);
+        } catch (Exception e) { // this handler can be removed later, if we know that nothing else can fail.
+            logger.error("refresh of {} fails with unexpected error {}", child.getThing().getUID().getAsString(), e);
+        }
+    }
+
     public @Nullable Device findDeviceJson(EchoHandler echoHandler) {
         String serialNumber = echoHandler.findSerialNumber();
         return findDeviceJson(serialNumber);
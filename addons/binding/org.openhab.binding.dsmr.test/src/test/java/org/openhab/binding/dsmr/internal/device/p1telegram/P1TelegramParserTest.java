@@ -12,8 +12,10 @@
  */
 package org.openhab.binding.dsmr.internal.device.p1telegram;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -23,6 +25,7 @@ import org.junit.runners.Parameterized;
 import org.junit.runners.Parameterized.Parameter;
 import org.junit.runners.Parameterized.Parameters;
 import org.openhab.binding.dsmr.internal.TelegramReaderUtil;
+import org.openhab.binding.dsmr.internal.device.cosem.CosemObject;
 import org.openhab.binding.dsmr.internal.device.p1telegram.P1Telegram.TelegramState;
 
 /**
@@ -61,5 +64,54 @@ public class P1TelegramParserTest {
         P1Telegram telegram = TelegramReaderUtil.readTelegram(telegramName, TelegramState.OK);
         assertEquals("Expected number of objects", numberOfCosemObjects,
             telegram.getCosemObjects().stream().mapToInt(o -> o.getCosemValues().size()).sum());
+        assertEquals("Raw telegram should not be captured by default", "", telegram.getRawTelegram());
+    }
+
+    @Test
+    public void testParsingByteBufferSlices() {
+        byte[] data = TelegramReaderUtil.readRawTelegram(telegramName);
+        List<P1Telegram> telegrams = new ArrayList<>();
+        P1TelegramParser parser = new P1TelegramParser(telegrams::add);
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+
+        // Parse the telegram twice, in slices of 7 bytes
+        for (int i = 0; i < 2; i++) {
+            buffer.rewind();
+            while (buffer.hasRemaining()) {
+                ByteBuffer slice = buffer.slice();
+
+                slice.limit(Math.min(7, slice.remaining()));
+                parser.parseData(slice);
+                assertFalse("Slice should be parsed completely", slice.hasRemaining());
+                buffer.position(buffer.position() + slice.limit());
+            }
+        }
+        assertEquals("Expected number of telegrams", 2, telegrams.size());
+        for (P1Telegram telegram : telegrams) {
+            assertEquals("Expected TelegramState should be as expected", TelegramState.OK,
+                telegram.getTelegramState());
+            assertEquals("Expected number of objects", numberOfCosemObjects,
+                telegram.getCosemObjects().stream().mapToInt(o -> o.getCosemValues().size()).sum());
+        }
+        List<CosemObject> first = telegrams.get(0).getCosemObjects();
+        List<CosemObject> second = telegrams.get(1).getCosemObjects();
+        for (int i = 0; i < first.size(); i++) {
+            assertSame("OBIS identifiers should be interned", first.get(i).getObisIdentifier(),
+                second.get(i).getObisIdentifier());
+        }
+    }
+
+    @Test
+    public void testRawTelegramCapture() {
+        byte[] data = TelegramReaderUtil.readRawTelegram(telegramName);
+        List<P1Telegram> telegrams = new ArrayList<>();
+        P1TelegramParser parser = new P1TelegramParser(telegrams::add);
+
+        parser.setRawTelegramCapture(true);
+        parser.parseData(data, 0, data.length);
+        assertEquals("Expected number of telegrams", 1, telegrams.size());
+        String rawTelegram = telegrams.get(0).getRawTelegram();
+        assertTrue("Raw telegram should start with the header", rawTelegram.startsWith("/"));
+        assertTrue("Raw telegram should contain the end of the telegram", rawTelegram.contains("!"));
     }
 }
@@ -96,9 +96,13 @@ class DSMRTelegramListener implements P1TelegramListener, DSMRConnectorListener
     }
 
     /**
+     * Sets the lenient mode. The lenient mode is used during discovery, therefore the raw telegram is also captured in
+     * lenient mode, so it can be reported.
+     *
      * @param lenientMode the lenientMode to set
      */
     public void setLenientMode(boolean lenientMode) {
         parser.setLenientMode(lenientMode);
+        parser.setRawTelegramCapture(lenientMode);
     }
 }
@@ -86,17 +86,28 @@ public class CosemObjectFactory {
      */
     public CosemObject getCosemObject(String obisIdString, String cosemStringValues) {
         OBISIdentifier obisId;
-        OBISIdentifier reducedObisId;
 
         try {
             obisId = new OBISIdentifier(obisIdString);
-            reducedObisId = obisId.getReducedOBISIdentifier();
         } catch (ParseException pe) {
             logger.debug("Received invalid OBIS identifier: {}", obisIdString);
             return null;
         }
+        return getCosemObject(obisId, cosemStringValues);
+    }
+
+    /**
+     * Return Cosem Object for the specified OBIS identifier or null if the values couldn't be
+     * parsed correctly or no corresponding Cosem Object was found
+     *
+     * @param obisId the OBIS message identifier
+     * @param cosemStringValues String containing Cosem values
+     * @return CosemObject or null if parsing failed
+     */
+    public CosemObject getCosemObject(OBISIdentifier obisId, String cosemStringValues) {
+        OBISIdentifier reducedObisId = obisId.getReducedOBISIdentifier();
 
-        logger.trace("Received obisIdString {}, obisId: {}, values: {}", obisIdString, obisId, cosemStringValues);
+        logger.trace("Received obisId: {}, values: {}", obisId, cosemStringValues);
 
         CosemObject cosemObject = null;
 
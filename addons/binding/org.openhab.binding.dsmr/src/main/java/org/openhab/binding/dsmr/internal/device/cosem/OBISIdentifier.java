@@ -13,7 +13,9 @@
 package org.openhab.binding.dsmr.internal.device.cosem;
 
 import java.text.ParseException;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -34,6 +36,21 @@ public class OBISIdentifier {
      */
     private static final Pattern OBIS_ID_PATTERN = Pattern.compile(OBISID_REGEX);
 
+    /**
+     * Largest group value that can be stored in the interned identifiers key
+     */
+    private static final int MAX_INTERNED_GROUP_VALUE = 0xFF;
+
+    /**
+     * Maximum number of interned identifiers. Corrupted telegram data must not fill the cache.
+     */
+    private static final int MAX_INTERNED_IDENTIFIERS = 1024;
+
+    /**
+     * Interned identifiers, the key contains all group values and whether group B and F are present
+     */
+    private static final Map<Long, OBISIdentifier> INTERNED_IDENTIFIERS = new ConcurrentHashMap<>();
+
     /* the six individual group values of the OBIS ID */
     private int groupA;
     private Integer groupB;
@@ -42,6 +59,11 @@ public class OBISIdentifier {
     private int groupE;
     private Integer groupF;
 
+    /**
+     * Cached reduced identifier of interned identifiers
+     */
+    private OBISIdentifier reducedOBISIdentifier;
+
     /**
      * Constructs a new OBIS Identifier (A-B:C.D.E.F)
      *
@@ -99,6 +121,134 @@ public class OBISIdentifier {
         }
     }
 
+    /**
+     * Returns the interned {@link OBISIdentifier} of the OBIS ID in the given ASCII bytes. The bytes are parsed without
+     * creating intermediate Strings and the same instance is returned for the same OBIS ID, so the identifiers of
+     * telegrams that are received every few seconds don't need to be allocated over and over again.
+     *
+     * @param data bytes containing the OBIS ID in the format A-B:C.D.E*F, as accepted by
+     *            {@link #OBISIdentifier(String)}
+     * @param offset offset of the OBIS ID in the data
+     * @param length length of the OBIS ID
+     * @return the identifier or null if the data is not a valid OBIS Identifier
+     */
+    public static OBISIdentifier intern(byte[] data, int offset, int length) {
+        final int end = offset + length;
+        // Parsed values, -1 means not present
+        int a = -1;
+        int b = -1;
+        int e = -1;
+        int f = -1;
+        int pos = offset;
+        int value = 0;
+
+        // Groups A and B are optional, C and D are required
+        int start = pos;
+        for (; pos < end && isDigit(data[pos]); pos++) {
+            value = addDigit(value, data[pos]);
+        }
+        if (pos == start || pos == end) {
+            return null;
+        }
+        if (data[pos] == '-') {
+            a = value;
+            start = ++pos;
+            for (value = 0; pos < end && isDigit(data[pos]); pos++) {
+                value = addDigit(value, data[pos]);
+            }
+            if (pos == start || pos == end) {
+                return null;
+            }
+        }
+        if (data[pos] == ':') {
+            b = value;
+            start = ++pos;
+            for (value = 0; pos < end && isDigit(data[pos]); pos++) {
+                value = addDigit(value, data[pos]);
+            }
+            if (pos == start || pos == end) {
+                return null;
+            }
+        }
+        if (data[pos] != '.') {
+            return null;
+        }
+        final int c = value;
+        start = ++pos;
+        for (value = 0; pos < end && isDigit(data[pos]); pos++) {
+            value = addDigit(value, data[pos]);
+        }
+        if (pos == start) {
+            return null;
+        }
+        final int d = value;
+
+        // Group E is optional and separated by a '.', group F is optional and separated by any character
+        if (pos + 1 < end && data[pos] == '.' && isDigit(data[pos + 1])) {
+            pos++;
+            for (value = 0; pos < end && isDigit(data[pos]); pos++) {
+                value = addDigit(value, data[pos]);
+            }
+            e = value;
+        }
+        if (pos + 1 < end && isDigit(data[pos + 1])) {
+            pos++;
+            for (value = 0; pos < end && isDigit(data[pos]); pos++) {
+                value = addDigit(value, data[pos]);
+            }
+            f = value;
+        }
+        if (pos != end || a < -1 || b < -1 || c < 0 || d < 0 || e < -1 || f < -1) {
+            // Trailing characters or overflow
+            return null;
+        }
+        return intern(a == -1 ? 0 : a, b == -1 ? null : b, c, d, e == -1 ? 0 : e, f == -1 ? null : f);
+    }
+
+    private static boolean isDigit(byte c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * @return the value with the digit appended or Integer.MIN_VALUE on overflow
+     */
+    private static int addDigit(int value, byte digit) {
+        if (value < 0 || value > (Integer.MAX_VALUE - 9) / 10) {
+            return Integer.MIN_VALUE;
+        }
+        return value * 10 + (digit - '0');
+    }
+
+    private static OBISIdentifier intern(int groupA, Integer groupB, int groupC, int groupD, int groupE,
+            Integer groupF) {
+        if (groupA > MAX_INTERNED_GROUP_VALUE || (groupB != null && groupB > MAX_INTERNED_GROUP_VALUE)
+                || groupC > MAX_INTERNED_GROUP_VALUE || groupD > MAX_INTERNED_GROUP_VALUE
+                || groupE > MAX_INTERNED_GROUP_VALUE || (groupF != null && groupF > MAX_INTERNED_GROUP_VALUE)) {
+            return new OBISIdentifier(groupA, groupB, groupC, groupD, groupE, groupF);
+        }
+        long key = ((long) groupA << 40) | ((long) groupC << 24) | ((long) groupD << 16) | ((long) groupE << 8);
+        if (groupB != null) {
+            key |= (1L << 48) | ((long) groupB << 32);
+        }
+        if (groupF != null) {
+            key |= (1L << 49) | groupF;
+        }
+        OBISIdentifier obisId = INTERNED_IDENTIFIERS.get(key);
+
+        if (obisId == null) {
+            obisId = new OBISIdentifier(groupA, groupB, groupC, groupD, groupE, groupF);
+            if (INTERNED_IDENTIFIERS.size() < MAX_INTERNED_IDENTIFIERS) {
+                obisId.reducedOBISIdentifier = groupF == null ? obisId
+                        : intern(groupA, groupB, groupC, groupD, groupE, null);
+                OBISIdentifier existing = INTERNED_IDENTIFIERS.putIfAbsent(key, obisId);
+                if (existing != null) {
+                    obisId = existing;
+                }
+            }
+        }
+        return obisId;
+    }
+
     /**
      * @return the groupA
      */
@@ -220,6 +370,9 @@ public class OBISIdentifier {
      * @return reduced OBIS Identifer
      */
     public OBISIdentifier getReducedOBISIdentifier() {
+        if (reducedOBISIdentifier != null) {
+            return reducedOBISIdentifier;
+        }
         return new OBISIdentifier(groupA, groupB, groupC, groupD, groupE, null);
     }
 
@@ -12,9 +12,11 @@
  */
 package org.openhab.binding.dsmr.internal.device.p1telegram;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.dsmr.internal.device.cosem.CosemObject;
 
 /**
@@ -60,7 +62,8 @@ public class P1Telegram {
 
     private final List<CosemObject> cosemObjects;
     private final TelegramState telegramState;
-    private final String rawTelegram;
+    private @Nullable String rawTelegram;
+    private byte @Nullable [] rawTelegramData;
 
     public P1Telegram(List<CosemObject> cosemObjects, TelegramState telegramState, String rawTelegram) {
         this.cosemObjects = cosemObjects;
@@ -68,6 +71,20 @@ public class P1Telegram {
         this.rawTelegram = rawTelegram;
     }
 
+    /**
+     * Constructs a P1Telegram with the raw telegram as bytes. The bytes are only converted to a String when the raw
+     * telegram is requested.
+     *
+     * @param cosemObjects The list of CosemObjects
+     * @param telegramState The state of the telegram
+     * @param rawTelegramData The raw telegram data, ownership is passed to this object
+     */
+    public P1Telegram(List<CosemObject> cosemObjects, TelegramState telegramState, byte[] rawTelegramData) {
+        this.cosemObjects = cosemObjects;
+        this.telegramState = telegramState;
+        this.rawTelegramData = rawTelegramData;
+    }
+
     /**
      * @return The list of CosemObjects
      */
@@ -76,10 +93,18 @@ public class P1Telegram {
     }
 
     /**
-     * @return The raw telegram data
+     * @return The raw telegram data or an empty String if the raw telegram was not captured
      */
-    public String getRawTelegram() {
-        return rawTelegram;
+    public synchronized String getRawTelegram() {
+        String raw = rawTelegram;
+
+        if (raw == null) {
+            byte[] data = rawTelegramData;
+            raw = data == null ? "" : new String(data, StandardCharsets.UTF_8);
+            rawTelegram = raw;
+            rawTelegramData = null;
+        }
+        return raw;
     }
 
     /**
@@ -12,14 +12,17 @@
  */
 package org.openhab.binding.dsmr.internal.device.p1telegram;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Pattern;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.binding.dsmr.internal.device.cosem.CosemObject;
 import org.openhab.binding.dsmr.internal.device.cosem.CosemObjectFactory;
+import org.openhab.binding.dsmr.internal.device.cosem.OBISIdentifier;
 import org.openhab.binding.dsmr.internal.device.p1telegram.P1Telegram.TelegramState;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -59,16 +62,26 @@ public class P1TelegramParser {
     private final Logger logger = LoggerFactory.getLogger(P1TelegramParser.class);
 
     /**
-     * Pattern for the CRC-code
+     * Number of hexadecimal digits of the CRC-code
      */
-    private static final String CRC_PATTERN = "[0-9A-Z]{4}";
+    private static final int CRC_LENGTH = 4;
+
+    /**
+     * Initial size of the obisId buffer, OBIS identifiers are usually shorter.
+     */
+    private static final int OBIS_ID_BUFFER_SIZE = 32;
 
     /* internal state variables */
 
     /**
-     * current obisId buffer.
+     * current obisId buffer. The OBIS identifier is parsed from the bytes directly.
      */
-    private final StringBuilder obisId = new StringBuilder();
+    private byte[] obisId = new byte[OBIS_ID_BUFFER_SIZE];
+
+    /**
+     * Number of bytes in the current obisId buffer.
+     */
+    private int obisIdLength;
 
     /**
      * Current cosem object values buffer.
@@ -76,14 +89,19 @@ public class P1TelegramParser {
     private final StringBuilder cosemObjectValuesString = new StringBuilder();
 
     /**
-     * In lenient mode store raw data and log when a complete message is received.
+     * If raw telegram capture is enabled, the raw data of the current telegram.
      */
-    private final StringBuilder rawData = new StringBuilder();
+    private final ByteArrayOutputStream rawData = new ByteArrayOutputStream();
 
     /**
      * Current crc value read.
      */
-    private final StringBuilder crcValue = new StringBuilder();
+    private int crcValue;
+
+    /**
+     * Number of crc characters read, -1 if an invalid character was read.
+     */
+    private int crcLength;
 
     /**
      * CRC calculation helper
@@ -100,6 +118,11 @@ public class P1TelegramParser {
      */
     private volatile boolean lenientMode;
 
+    /**
+     * Capture the raw telegram data and pass it with the {@link P1Telegram}
+     */
+    private volatile boolean rawTelegramCapture;
+
     /**
      * Current telegram state
      */
@@ -144,18 +167,28 @@ public class P1TelegramParser {
      * @param length number of bytes to parse
      */
     public void parseData(byte[] data, int offset, int length) {
-        if (lenientMode || logger.isTraceEnabled()) {
-            String rawBlock = new String(data, offset, length, StandardCharsets.UTF_8);
+        parseData(ByteBuffer.wrap(data, offset, length));
+    }
 
-            if (lenientMode) {
-                rawData.append(rawBlock);
-            }
-            if (logger.isTraceEnabled()) {
-                logger.trace("Raw data: {}, Parser state entering parseData: {}", rawBlock, state);
-            }
+    /**
+     * Parses the remaining data of the buffer. The data is parsed in place, the buffer position is advanced to the
+     * limit of the buffer.
+     *
+     * @param data buffer with the data to parse
+     */
+    public void parseData(ByteBuffer data) {
+        if (logger.isTraceEnabled()) {
+            ByteBuffer rawBlock = data.duplicate();
+            byte[] rawBytes = new byte[rawBlock.remaining()];
+
+            rawBlock.get(rawBytes);
+            logger.trace("Raw data: {}, Parser state entering parseData: {}",
+                    new String(rawBytes, StandardCharsets.UTF_8), state);
         }
-        for (int i = offset; i < (offset + length); i++) {
-            char c = (char) data[i];
+        final boolean capture = rawTelegramCapture;
+
+        while (data.hasRemaining()) {
+            char c = (char) data.get();
 
             switch (state) {
                 case WAIT_FOR_START:
@@ -236,18 +269,20 @@ public class P1TelegramParser {
                      * P1 telegram is correctly finished
                      */
                     if (c == '\r' || c == '/') {
-                        logger.trace("telegramState {}, crcValue to check 0x{}", telegramState, crcValue);
+                        if (logger.isTraceEnabled()) {
+                            logger.trace("telegramState {}, crcValue to check 0x{}", telegramState,
+                                    String.format("%04X", crcValue));
+                        }
                         // Only perform CRC check if telegram is still ok
-                        if (telegramState == TelegramState.OK && crcValue.length() > 0) {
-                            if (Pattern.matches(CRC_PATTERN, crcValue)) {
-                                int crcP1Telegram = Integer.parseInt(crcValue.toString(), 16);
+                        if (telegramState == TelegramState.OK && crcLength != 0) {
+                            if (crcLength == CRC_LENGTH) {
                                 int calculatedCRC = crc.getCurrentCRCCode();
 
-                                if (logger.isDebugEnabled()) {
-                                    logger.trace("received CRC value: {}, calculated CRC value: 0x{}", crcValue,
-                                        String.format("%04X", calculatedCRC));
+                                if (logger.isTraceEnabled()) {
+                                    logger.trace("received CRC value: 0x{}, calculated CRC value: 0x{}",
+                                            String.format("%04X", crcValue), String.format("%04X", calculatedCRC));
                                 }
-                                if (crcP1Telegram != calculatedCRC) {
+                                if (crcValue != calculatedCRC) {
                                     logger.trace("CRC value does not match, p1 Telegram failed");
 
                                     telegramState = TelegramState.CRC_ERROR;
@@ -256,8 +291,9 @@ public class P1TelegramParser {
                                 telegramState = TelegramState.CRC_ERROR;
                             }
                         }
-                        telegramListener.telegramReceived(
-                            new P1Telegram(new ArrayList<>(cosemObjects), telegramState, rawData.toString()));
+                        telegramListener.telegramReceived(capture
+                                ? new P1Telegram(new ArrayList<>(cosemObjects), telegramState, rawData.toByteArray())
+                                : new P1Telegram(new ArrayList<>(cosemObjects), telegramState, ""));
                         setState(State.WAIT_FOR_START);
                         if (c == '/') {
                             /*
@@ -271,6 +307,9 @@ public class P1TelegramParser {
             }
 
             handleCharacter(c);
+            if (capture && state != State.WAIT_FOR_START) {
+                rawData.write(c);
+            }
         }
         logger.trace("State after parsing: {}", state);
     }
@@ -310,7 +349,10 @@ public class P1TelegramParser {
                 crc.processByte((byte) c);
                 break;
             case DATA_OBIS_ID:
-                obisId.append(c);
+                if (obisIdLength == obisId.length) {
+                    obisId = Arrays.copyOf(obisId, obisId.length * 2);
+                }
+                obisId[obisIdLength++] = (byte) c;
                 crc.processByte((byte) c);
                 break;
             case DATA_OBIS_VALUE:
@@ -325,7 +367,7 @@ public class P1TelegramParser {
                 if (c == '!') {
                     crc.processByte((byte) c);
                 } else {
-                    crcValue.append(c);
+                    appendCrcCharacter(c);
                 }
                 // CRC data is not part of received data
                 break;
@@ -334,14 +376,31 @@ public class P1TelegramParser {
         }
     }
 
+    /**
+     * Adds a character of the received CRC code. The CRC code must consist of exactly 4 hexadecimal digits.
+     *
+     * @param c the character to process
+     */
+    private void appendCrcCharacter(char c) {
+        int digit = Character.digit(c, 16);
+
+        if (crcLength < 0 || crcLength >= CRC_LENGTH || digit < 0 || Character.isLowerCase(c)) {
+            crcLength = -1;
+        } else {
+            crcValue = (crcValue << 4) | digit;
+            crcLength++;
+        }
+    }
+
     /**
      * Clears all internal state
      */
     private void clearInternalData() {
-        obisId.setLength(0);
+        obisIdLength = 0;
         cosemObjectValuesString.setLength(0);
-        rawData.setLength(0);
-        crcValue.setLength(0);
+        rawData.reset();
+        crcValue = 0;
+        crcLength = 0;
         crc.initialize();
         cosemObjects.clear();
     }
@@ -353,7 +412,7 @@ public class P1TelegramParser {
      * - current OBIS data object
      */
     private void clearObisData() {
-        obisId.setLength(0);
+        obisIdLength = 0;
         cosemObjectValuesString.setLength(0);
     }
 
@@ -361,10 +420,17 @@ public class P1TelegramParser {
      * Store the current CosemObject in the list of received cosem Objects
      */
     private void storeCurrentCosemObject() {
-        String obisIdString = obisId.toString();
+        if (obisIdLength > 0) {
+            OBISIdentifier obisIdentifier = OBISIdentifier.intern(obisId, 0, obisIdLength);
 
-        if (!obisIdString.isEmpty()) {
-            CosemObject cosemObject = factory.getCosemObject(obisIdString, cosemObjectValuesString.toString());
+            if (obisIdentifier == null) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Received invalid OBIS identifier: {}",
+                            new String(obisId, 0, obisIdLength, StandardCharsets.US_ASCII));
+                }
+                return;
+            }
+            CosemObject cosemObject = factory.getCosemObject(obisIdentifier, cosemObjectValuesString.toString());
 
             if (cosemObject != null) {
                 logger.trace("Adding {} to list of Cosem Objects", cosemObject);
@@ -412,4 +478,14 @@ public class P1TelegramParser {
     public void setLenientMode(boolean lenientMode) {
         this.lenientMode = lenientMode;
     }
+
+    /**
+     * Enables capturing of the raw telegram data. If enabled the raw data is available via
+     * {@link P1Telegram#getRawTelegram()}. Disabled by default, as it's only needed for diagnostics.
+     *
+     * @param rawTelegramCapture true to capture the raw telegram data
+     */
+    public void setRawTelegramCapture(boolean rawTelegramCapture) {
+        this.rawTelegramCapture = rawTelegramCapture;
+    }
 }
@@ -12,7 +12,11 @@
  */
 package org.openhab.binding.enocean.internal.eep;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.EnumMap;
+import java.util.Map;
 
 import org.eclipse.smarthome.core.util.HexUtils;
 import org.openhab.binding.enocean.internal.eep.Base.UTEResponse;
@@ -35,28 +39,71 @@ public class EEPFactory {
 
     private static final Logger logger = LoggerFactory.getLogger(EEPFactory.class);
 
-    public static EEP createEEP(EEPType eepType) {
+    private static final MethodType DEFAULT_CONSTRUCTOR = MethodType.methodType(EEP.class);
+    private static final MethodType PACKET_CONSTRUCTOR = MethodType.methodType(EEP.class, ERP1Message.class);
 
-        try {
+    /**
+     * Constructors of all implemented EEPs, resolved once instead of being looked up by reflection for every
+     * received telegram.
+     */
+    private static final Map<EEPType, MethodHandle> DEFAULT_CONSTRUCTORS = new EnumMap<>(EEPType.class);
+    private static final Map<EEPType, MethodHandle> PACKET_CONSTRUCTORS = new EnumMap<>(EEPType.class);
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        for (EEPType eepType : EEPType.values()) {
             Class<? extends EEP> cl = eepType.getEEPClass();
             if (cl == null) {
-                throw new IllegalArgumentException("Message " + eepType + " not implemented");
+                continue;
+            }
+
+            MethodHandle constructor = findConstructor(lookup, cl, DEFAULT_CONSTRUCTOR);
+            if (constructor != null) {
+                DEFAULT_CONSTRUCTORS.put(eepType, constructor);
             }
-            return cl.newInstance();
-        } catch (IllegalAccessException | InstantiationException e) {
+
+            constructor = findConstructor(lookup, cl, PACKET_CONSTRUCTOR);
+            if (constructor != null) {
+                PACKET_CONSTRUCTORS.put(eepType, constructor);
+            }
+        }
+    }
+
+    private static MethodHandle findConstructor(MethodHandles.Lookup lookup, Class<? extends EEP> cl,
+            MethodType type) {
+        try {
+            return lookup.findConstructor(cl, type.changeReturnType(void.class)).asType(type);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            // abstract classes and EEPs without such a constructor cannot be created this way
+            return null;
+        }
+    }
+
+    public static EEP createEEP(EEPType eepType) {
+        MethodHandle constructor = DEFAULT_CONSTRUCTORS.get(eepType);
+        if (constructor == null) {
+            throw new IllegalArgumentException("Message " + eepType + " not implemented");
+        }
+
+        try {
+            return (EEP) constructor.invokeExact();
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
             throw new IllegalArgumentException(e);
         }
     }
 
     public static EEP buildEEP(EEPType eepType, ERP1Message packet) {
+        MethodHandle constructor = PACKET_CONSTRUCTORS.get(eepType);
         try {
-            Class<? extends EEP> cl = eepType.getEEPClass();
-            if (cl == null) {
+            if (constructor == null) {
                 throw new IllegalArgumentException("Message " + eepType + " not implemented");
             }
-            return cl.getConstructor(ERP1Message.class).newInstance(packet);
-        } catch (IllegalAccessException | InstantiationException | IllegalArgumentException | InvocationTargetException
-                | NoSuchMethodException | SecurityException e) {
+            return (EEP) constructor.invokeExact(packet);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
             logger.error("Cannot instantiate EEP {}-{}-{}: {}",
                     HexUtils.bytesToHex(new byte[] { eepType.getRORG().getValue() }),
                     HexUtils.bytesToHex(new byte[] { (byte) eepType.getFunc() }),
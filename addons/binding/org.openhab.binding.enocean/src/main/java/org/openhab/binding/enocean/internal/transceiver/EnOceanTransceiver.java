@@ -195,6 +195,8 @@ public abstract class EnOceanTransceiver {
 
     protected abstract int read(byte[] buffer, int length);
 
+    // both buffers are only used by the reading task and reused for every telegram
+    byte[] readingBuffer = new byte[Helper.ENOCEAN_MAX_DATA];
     byte[] dataBuffer = new byte[Helper.ENOCEAN_MAX_DATA];
     ReadingState state = ReadingState.WaitingForSyncByte; // we already received sync byte when we get called
     int currentPosition = 0;
@@ -204,7 +206,6 @@ public abstract class EnOceanTransceiver {
 
     private void processMessage(byte firstByte) {
 
-        byte[] readingBuffer = new byte[Helper.ENOCEAN_MAX_DATA];
         int bytesRead = -1;
         byte _byte;
 
@@ -212,7 +213,8 @@ public abstract class EnOceanTransceiver {
 
             readingBuffer[0] = firstByte;
 
-            bytesRead = this.inputStream.read(readingBuffer, 1, inputStream.available());
+            bytesRead = this.inputStream.read(readingBuffer, 1,
+                    Math.min(inputStream.available(), readingBuffer.length - 1));
             if (bytesRead == -1) {
                 throw new IOException("could not read from inputstream");
             }
@@ -294,12 +296,15 @@ public abstract class EnOceanTransceiver {
                                         case RADIO_ERP1: {
                                             ERP1Message msg = (ERP1Message) packet;
 
-                                            byte[] d = new byte[dataLength + optionalLength];
-                                            System.arraycopy(dataBuffer, 0, d, 0, d.length);
+                                            if (logger.isDebugEnabled()) {
+                                                byte[] d = new byte[dataLength + optionalLength];
+                                                System.arraycopy(dataBuffer, 0, d, 0, d.length);
 
-                                            logger.debug("{} with RORG {} for {} payload {} received",
-                                                    packet.getPacketType().name(), msg.getRORG().name(),
-                                                    HexUtils.bytesToHex(msg.getSenderId()), HexUtils.bytesToHex(d));
+                                                logger.debug("{} with RORG {} for {} payload {} received",
+                                                        packet.getPacketType().name(), msg.getRORG().name(),
+                                                        HexUtils.bytesToHex(msg.getSenderId()),
+                                                        HexUtils.bytesToHex(d));
+                                            }
 
                                             informListeners(msg);
                                         }
@@ -313,13 +318,15 @@ public abstract class EnOceanTransceiver {
                                         case REMOTE_MAN_COMMAND:
                                             break;
                                         case RESPONSE: {
-                                            byte[] d = new byte[dataLength + optionalLength];
-                                            System.arraycopy(dataBuffer, 0, d, 0, d.length);
-
-                                            logger.debug("{} with code {} payload {} received",
-                                                    packet.getPacketType().name(),
-                                                    ((Response) packet).getResponseType().name(),
-                                                    HexUtils.bytesToHex(d));
+                                            if (logger.isDebugEnabled()) {
+                                                byte[] d = new byte[dataLength + optionalLength];
+                                                System.arraycopy(dataBuffer, 0, d, 0, d.length);
+
+                                                logger.debug("{} with code {} payload {} received",
+                                                        packet.getPacketType().name(),
+                                                        ((Response) packet).getResponseType().name(),
+                                                        HexUtils.bytesToHex(d));
+                                            }
 
                                             if (currentRequest != null) {
                                                 if (currentRequest.ResponseListener != null) {
@@ -344,9 +351,11 @@ public abstract class EnOceanTransceiver {
                                     }
                                 } else {
                                     logger.trace("Unknown ESP3Packet");
-                                    byte[] d = new byte[dataLength + optionalLength];
-                                    System.arraycopy(dataBuffer, 0, d, 0, d.length);
-                                    logger.trace("{}", HexUtils.bytesToHex(d));
+                                    if (logger.isTraceEnabled()) {
+                                        byte[] d = new byte[dataLength + optionalLength];
+                                        System.arraycopy(dataBuffer, 0, d, 0, d.length);
+                                        logger.trace("{}", HexUtils.bytesToHex(d));
+                                    }
                                 }
                             } else {
                                 state = _byte == Helper.ENOCEAN_SYNC_BYTE ? ReadingState.ReadingHeader
@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.openhab.binding.knx.client.ReadPriority;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+
+/**
+ *
+ * @author agent - initial contribution
+ *
+ */
+public class ReadDatapointQueueTest {
+
+    private final ReadDatapointQueue queue = new ReadDatapointQueue();
+
+    private ReadDatapoint read(int subGroup, ReadPriority priority) {
+        return new ReadDatapoint(new CommandDP(new GroupAddress(1, 1, subGroup), "test", 0, "1.001"), 3, priority);
+    }
+
+    @Test
+    public void testPoll_byPriorityAndOrder() {
+        queue.add(read(1, ReadPriority.PERIODIC));
+        queue.add(read(2, ReadPriority.STARTUP));
+        queue.add(read(3, ReadPriority.STARTUP));
+        queue.add(read(4, ReadPriority.USER));
+
+        assertEquals(new GroupAddress(1, 1, 4), queue.poll().getDatapoint().getMainAddress());
+        assertEquals(new GroupAddress(1, 1, 2), queue.poll().getDatapoint().getMainAddress());
+        assertEquals(new GroupAddress(1, 1, 3), queue.poll().getDatapoint().getMainAddress());
+        assertEquals(new GroupAddress(1, 1, 1), queue.poll().getDatapoint().getMainAddress());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testAdd_duplicateGroupAddressCoalesced() {
+        assertTrue(queue.add(read(1, ReadPriority.STARTUP)));
+        assertFalse(queue.add(read(1, ReadPriority.STARTUP)));
+        assertFalse(queue.add(read(1, ReadPriority.PERIODIC)));
+
+        assertEquals(1, queue.size());
+        assertEquals(ReadPriority.STARTUP, queue.find(new GroupAddress(1, 1, 1)).getPriority());
+    }
+
+    @Test
+    public void testAdd_higherPriorityRaisesQueuedRead() {
+        queue.add(read(1, ReadPriority.PERIODIC));
+        queue.add(read(2, ReadPriority.STARTUP));
+        assertFalse(queue.add(read(1, ReadPriority.USER)));
+
+        assertEquals(2, queue.size());
+        assertEquals(new GroupAddress(1, 1, 1), queue.poll().getDatapoint().getMainAddress());
+        assertEquals(1, queue.size());
+    }
+
+}
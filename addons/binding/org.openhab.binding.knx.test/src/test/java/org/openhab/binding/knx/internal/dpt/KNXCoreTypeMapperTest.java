@@ -15,8 +15,14 @@ package org.openhab.binding.knx.internal.dpt;
 import static org.junit.Assert.assertEquals;
 
 import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.PercentType;
 import org.junit.Test;
 
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
 /**
  *
  * @author Simon Kaufmann - initial contribution and API
@@ -30,4 +36,16 @@ public class KNXCoreTypeMapperTest {
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3.0"), "17.001"));
     }
 
+    @Test
+    public void testToType_translatorReused() {
+        KNXCoreTypeMapper typeMapper = new KNXCoreTypeMapper();
+        Datapoint switchDatapoint = new CommandDP(new GroupAddress(1, 2, 3), "test", 0, "1.001");
+        Datapoint scalingDatapoint = new CommandDP(new GroupAddress(1, 2, 4), "test", 0, "5.001");
+
+        assertEquals(OnOffType.ON, typeMapper.toType(switchDatapoint, new byte[] { 1 }));
+        assertEquals(new PercentType(100), typeMapper.toType(scalingDatapoint, new byte[] { (byte) 0xFF }));
+        assertEquals(OnOffType.OFF, typeMapper.toType(switchDatapoint, new byte[] { 0 }));
+        assertEquals(new PercentType(0), typeMapper.toType(scalingDatapoint, new byte[] { 0 }));
+    }
+
 }
@@ -86,6 +86,10 @@ public class KNXBindingConstants {
 
     public static final String CHANNEL_RESET = "reset";
 
+    // Bridge Channel IDs
+    public static final String CHANNEL_READ_QUEUE_SIZE = "read-queue-size";
+    public static final String CHANNEL_READ_RATE = "read-rate";
+
     // Channel Configuration parameters
     public static final String GA = "ga";
     public static final String HSB_GA = "hsb";
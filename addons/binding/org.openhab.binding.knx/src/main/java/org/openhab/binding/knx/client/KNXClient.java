@@ -63,6 +63,9 @@ public interface KNXClient {
     /**
      * Register the given listener to be informed on KNX bus traffic.
      *
+     * The group addresses the listener listens to are determined when telegrams are received and are cached until
+     * a listener is registered or removed. A listener whose group addresses changed has to be registered again.
+     *
      * @param listener the listener
      * @return {@code true} if it wasn't registered before
      */
@@ -77,11 +80,27 @@ public interface KNXClient {
     boolean unregisterGroupAddressListener(GroupAddressListener listener);
 
     /**
-     * Schedule the given data point for asynchronous reading.
+     * Schedule the given data point for asynchronous reading. A group address is queued only once, a request with a
+     * higher priority raises the priority of the queued read.
      *
      * @param datapoint the datapoint
+     * @param priority the priority of the read request
+     */
+    void readDatapoint(Datapoint datapoint, ReadPriority priority);
+
+    /**
+     * Returns the number of datapoints waiting to be read.
+     *
+     * @return the number of queued datapoints
+     */
+    int getReadQueueSize();
+
+    /**
+     * Returns the number of read requests sent to the KNX bus since the client has been created.
+     *
+     * @return the number of read requests
      */
-    void readDatapoint(Datapoint datapoint);
+    long getReadCount();
 
     /**
      * Write a command to the KNX bus.
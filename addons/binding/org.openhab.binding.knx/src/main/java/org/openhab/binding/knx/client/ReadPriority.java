@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.client;
+
+/**
+ * The priority of a read request. Queued read requests are sent in the order of their priorities, highest first.
+ *
+ * @author agent - initial contribution.
+ *
+ */
+public enum ReadPriority {
+
+    /**
+     * Refresh requested by the user, e.g. by linking a channel
+     */
+    USER,
+
+    /**
+     * Initial read of a state when a thing is initialized
+     */
+    STARTUP,
+
+    /**
+     * Read triggered by the read interval of a thing
+     */
+    PERIODIC;
+
+    /**
+     * Checks whether this priority is higher than the given one.
+     *
+     * @param other the priority to compare with
+     * @return {@code true} if requests of this priority are sent before those of the other priority
+     */
+    public boolean isHigherThan(ReadPriority other) {
+        return ordinal() < other.ordinal();
+    }
+
+}
@@ -28,7 +28,8 @@ import tuwien.auto.calimero.GroupAddress;
 public interface GroupAddressListener extends BusMessageListener {
 
     /**
-     * Called to verify if the GroupAddressListener has an interest in the given GroupAddress
+     * Called to verify if the GroupAddressListener has an interest in the given GroupAddress.
+     * The result is cached by the client until a listener is (re-)registered.
      *
      * @param destination
      */
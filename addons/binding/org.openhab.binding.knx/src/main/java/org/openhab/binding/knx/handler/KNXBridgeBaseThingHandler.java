@@ -12,13 +12,18 @@
  */
 package org.openhab.binding.knx.handler;
 
+import static org.openhab.binding.knx.KNXBindingConstants.*;
+
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.thing.Bridge;
 import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.thing.ThingStatus;
@@ -41,9 +46,13 @@ import tuwien.auto.calimero.mgmt.Destination;
 @NonNullByDefault
 public abstract class KNXBridgeBaseThingHandler extends BaseBridgeHandler implements StatusUpdateCallback {
 
+    private static final long STATISTICS_INTERVAL = 10; // seconds
+
     protected ConcurrentHashMap<IndividualAddress, Destination> destinations = new ConcurrentHashMap<>();
     private final ScheduledExecutorService knxScheduler = ThreadPoolManager.getScheduledPool("knx");
     private final ScheduledExecutorService backgroundScheduler = Executors.newSingleThreadScheduledExecutor();
+    private @Nullable ScheduledFuture<?> statisticsJob;
+    private long lastReadCount;
 
     public KNXBridgeBaseThingHandler(Bridge bridge) {
         super(bridge);
@@ -72,11 +81,43 @@ public abstract class KNXBridgeBaseThingHandler extends BaseBridgeHandler implem
     @Override
     public void updateStatus(ThingStatus status) {
         super.updateStatus(status);
+        updateStatisticsJob(status);
     }
 
     @Override
     public void updateStatus(ThingStatus status, ThingStatusDetail statusDetail, @Nullable String description) {
         super.updateStatus(status, statusDetail, description);
+        updateStatisticsJob(status);
+    }
+
+    @Override
+    public void dispose() {
+        updateStatisticsJob(ThingStatus.OFFLINE);
+        super.dispose();
+    }
+
+    /**
+     * Updates the read statistics channels periodically while the bridge is online.
+     */
+    private synchronized void updateStatisticsJob(ThingStatus status) {
+        ScheduledFuture<?> statisticsJob = this.statisticsJob;
+        if (status == ThingStatus.ONLINE && statisticsJob == null) {
+            lastReadCount = getClient().getReadCount();
+            this.statisticsJob = knxScheduler.scheduleWithFixedDelay(() -> updateStatistics(), STATISTICS_INTERVAL,
+                    STATISTICS_INTERVAL, TimeUnit.SECONDS);
+        } else if (status != ThingStatus.ONLINE && statisticsJob != null) {
+            statisticsJob.cancel(false);
+            this.statisticsJob = null;
+        }
+    }
+
+    private void updateStatistics() {
+        KNXClient client = getClient();
+        long readCount = client.getReadCount();
+        long readRate = Math.max(0, readCount - lastReadCount) * TimeUnit.MINUTES.toSeconds(1) / STATISTICS_INTERVAL;
+        lastReadCount = readCount;
+        updateState(CHANNEL_READ_QUEUE_SIZE, new DecimalType(client.getReadQueueSize()));
+        updateState(CHANNEL_READ_RATE, new DecimalType(readRate));
     }
 
 }
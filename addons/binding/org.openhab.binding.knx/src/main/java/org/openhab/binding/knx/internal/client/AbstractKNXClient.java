@@ -12,12 +12,17 @@
  */
 package org.openhab.binding.knx.internal.client;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -30,6 +35,7 @@ import org.openhab.binding.knx.KNXTypeMapper;
 import org.openhab.binding.knx.client.DeviceInfoClient;
 import org.openhab.binding.knx.client.KNXClient;
 import org.openhab.binding.knx.client.OutboundSpec;
+import org.openhab.binding.knx.client.ReadPriority;
 import org.openhab.binding.knx.client.StatusUpdateCallback;
 import org.openhab.binding.knx.handler.GroupAddressListener;
 import org.openhab.binding.knx.internal.dpt.KNXCoreTypeMapper;
@@ -69,6 +75,11 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
     private static final int MAX_SEND_ATTEMPTS = 2;
 
+    /**
+     * Weight of the latest read in the average read latency
+     */
+    private static final double READ_LATENCY_WEIGHT = 0.2;
+
     private final Logger logger = LoggerFactory.getLogger(AbstractKNXClient.class);
     private final KNXTypeMapper typeHelper = new KNXCoreTypeMapper();
 
@@ -90,7 +101,20 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private @Nullable ScheduledFuture<?> connectJob;
 
     private final Set<GroupAddressListener> groupAddressListeners = new CopyOnWriteArraySet<>();
-    private final LinkedBlockingQueue<ReadDatapoint> readDatapoints = new LinkedBlockingQueue<>();
+    /**
+     * The listeners by the group addresses they listen to. It is filled when a telegram for a group address is
+     * received for the first time and replaced whenever a listener is (un)registered.
+     */
+    private volatile Map<GroupAddress, List<GroupAddressListener>> groupAddressListenerIndex = new ConcurrentHashMap<>();
+    private final ReadDatapointQueue readDatapoints = new ReadDatapointQueue();
+    private final AtomicLong readCount = new AtomicLong();
+
+    /*
+     * The pacing of the reads, only accessed by the bus job
+     */
+    private double averageReadLatency;
+    private long fastestReadLatency = Long.MAX_VALUE;
+    private long nextReadTime;
 
     @FunctionalInterface
     private interface ListenerNotification {
@@ -226,6 +250,9 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private void releaseConnection() {
         logger.debug("Bridge {} is disconnecting from the KNX bus", thingUID);
         readDatapoints.clear();
+        averageReadLatency = 0;
+        fastestReadLatency = Long.MAX_VALUE;
+        nextReadTime = 0;
         busJob = nullify(busJob, j -> j.cancel(true));
         deviceInfoClient = null;
         managementProcedures = nullify(managementProcedures, mp -> mp.detach());
@@ -253,11 +280,39 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         IndividualAddress source = event.getSourceAddr();
         byte[] asdu = event.getASDU();
         logger.trace("Received a {} telegram from '{}' to '{}' with value '{}'", task, source, destination, asdu);
+        List<GroupAddressListener> listeners = groupAddressListenerIndex.computeIfAbsent(destination,
+                this::findGroupAddressListeners);
+        if (listeners.isEmpty()) {
+            return;
+        }
+        knxScheduler.execute(() -> {
+            for (GroupAddressListener listener : listeners) {
+                try {
+                    action.apply(listener, source, destination, asdu);
+                } catch (RuntimeException e) {
+                    logger.warn("An error occurred processing a {} telegram to '{}': {}", task, destination,
+                            e.getMessage(), e);
+                }
+            }
+        });
+    }
+
+    private List<GroupAddressListener> findGroupAddressListeners(GroupAddress destination) {
+        List<GroupAddressListener> listeners = new ArrayList<>();
         for (GroupAddressListener listener : groupAddressListeners) {
             if (listener.listensTo(destination)) {
-                knxScheduler.schedule(() -> action.apply(listener, source, destination, asdu), 0, TimeUnit.SECONDS);
+                listeners.add(listener);
             }
         }
+        return listeners.isEmpty() ? Collections.emptyList() : listeners;
+    }
+
+    /**
+     * Discards the index of the group address listeners. A new map is used, so that a telegram being processed
+     * concurrently cannot add entries computed from the previous listeners.
+     */
+    private void invalidateGroupAddressListenerIndex() {
+        groupAddressListenerIndex = new ConcurrentHashMap<>();
     }
 
     /**
@@ -277,15 +332,19 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
             return;
         }
         ProcessCommunicator processCommunicator = this.processCommunicator;
-        if (processCommunicator == null) {
+        if (processCommunicator == null || System.currentTimeMillis() < nextReadTime) {
             return;
         }
         ReadDatapoint datapoint = readDatapoints.poll();
         if (datapoint != null) {
             datapoint.incrementRetries();
+            readCount.incrementAndGet();
             try {
-                logger.trace("Sending a Group Read Request telegram for {}", datapoint.getDatapoint().getMainAddress());
+                logger.trace("Sending a Group Read Request telegram for {} ({} queued)",
+                        datapoint.getDatapoint().getMainAddress(), readDatapoints.size());
+                long start = System.currentTimeMillis();
                 processCommunicator.read(datapoint.getDatapoint());
+                updateReadPacing(System.currentTimeMillis() - start);
             } catch (KNXException e) {
                 if (datapoint.getRetries() < datapoint.getLimit()) {
                     readDatapoints.add(datapoint);
@@ -302,6 +361,27 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         }
     }
 
+    /**
+     * Delays the next read if the responses to the reads become slow, which indicates a busy bus.
+     *
+     * The bus job already waits for the response and then for the reading pause, so only the latency in excess of
+     * the fastest response seen since connecting is added to the pause.
+     *
+     * @param latency the time it took to receive the response to the last read in milliseconds
+     */
+    private void updateReadPacing(long latency) {
+        averageReadLatency = averageReadLatency == 0 ? latency
+                : (1 - READ_LATENCY_WEIGHT) * averageReadLatency + READ_LATENCY_WEIGHT * latency;
+        fastestReadLatency = Math.min(fastestReadLatency, latency);
+        long delay = Math.min(Math.round(averageReadLatency) - fastestReadLatency,
+                TimeUnit.SECONDS.toMillis(responseTimeout));
+        nextReadTime = delay > 0 ? System.currentTimeMillis() + readingPause + delay : 0;
+        if (delay > 0) {
+            logger.trace("Read responses take {} ms on average ({} ms at best), delaying the next read by {} ms",
+                    Math.round(averageReadLatency), fastestReadLatency, delay);
+        }
+    }
+
     public void dispose() {
         cancelReconnectJob(true);
         disconnect(null);
@@ -366,23 +446,32 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     }
 
     @Override
-    public void readDatapoint(Datapoint datapoint) {
-        synchronized (this) {
-            ReadDatapoint retryDatapoint = new ReadDatapoint(datapoint, readRetriesLimit);
-            if (!readDatapoints.contains(retryDatapoint)) {
-                readDatapoints.add(retryDatapoint);
-            }
-        }
+    public void readDatapoint(Datapoint datapoint, ReadPriority priority) {
+        readDatapoints.add(new ReadDatapoint(datapoint, readRetriesLimit, priority));
+    }
+
+    @Override
+    public int getReadQueueSize() {
+        return readDatapoints.size();
+    }
+
+    @Override
+    public long getReadCount() {
+        return readCount.get();
     }
 
     @Override
     public final boolean registerGroupAddressListener(GroupAddressListener listener) {
-        return groupAddressListeners.add(listener);
+        boolean added = groupAddressListeners.add(listener);
+        invalidateGroupAddressListenerIndex();
+        return added;
     }
 
     @Override
     public final boolean unregisterGroupAddressListener(GroupAddressListener listener) {
-        return groupAddressListeners.remove(listener);
+        boolean removed = groupAddressListeners.remove(listener);
+        invalidateGroupAddressListenerIndex();
+        return removed;
     }
 
     @Override
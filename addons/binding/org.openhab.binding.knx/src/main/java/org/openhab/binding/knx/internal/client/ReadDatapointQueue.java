@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.knx.client.ReadPriority;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Queue of the datapoints to be read from the KNX bus.
+ *
+ * Each group address is queued only once, no matter how many things request it. Datapoints are taken from the queue
+ * by priority and in the order they were added within a priority. Requesting a queued group address with a higher
+ * priority moves it to the higher priority.
+ *
+ * @author agent - initial contribution.
+ *
+ */
+@NonNullByDefault
+class ReadDatapointQueue {
+
+    private final Map<ReadPriority, LinkedHashMap<GroupAddress, ReadDatapoint>> queues = new EnumMap<>(
+            ReadPriority.class);
+    private int size;
+
+    ReadDatapointQueue() {
+        for (ReadPriority priority : ReadPriority.values()) {
+            queues.put(priority, new LinkedHashMap<>());
+        }
+    }
+
+    /**
+     * Adds a datapoint with its priority to the queue, unless its group address is queued already.
+     *
+     * @param datapoint the datapoint to read
+     * @return {@code true} if the datapoint was added, {@code false} if the group address was queued already
+     */
+    synchronized boolean add(ReadDatapoint datapoint) {
+        GroupAddress address = datapoint.getDatapoint().getMainAddress();
+        ReadDatapoint queued = find(address);
+        if (queued == null) {
+            queues.get(datapoint.getPriority()).put(address, datapoint);
+            size++;
+            return true;
+        }
+        if (datapoint.getPriority().isHigherThan(queued.getPriority())) {
+            queues.get(queued.getPriority()).remove(address);
+            queued.setPriority(datapoint.getPriority());
+            queues.get(queued.getPriority()).put(address, queued);
+        }
+        return false;
+    }
+
+    /**
+     * Takes the datapoint with the highest priority from the queue.
+     *
+     * @return the datapoint or {@code null} if the queue is empty
+     */
+    synchronized @Nullable ReadDatapoint poll() {
+        for (LinkedHashMap<GroupAddress, ReadDatapoint> queue : queues.values()) {
+            Iterator<ReadDatapoint> iterator = queue.values().iterator();
+            if (iterator.hasNext()) {
+                ReadDatapoint datapoint = iterator.next();
+                iterator.remove();
+                size--;
+                return datapoint;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the queued datapoint of a group address.
+     *
+     * @param address the group address
+     * @return the datapoint or {@code null} if the group address is not queued
+     */
+    synchronized @Nullable ReadDatapoint find(GroupAddress address) {
+        for (LinkedHashMap<GroupAddress, ReadDatapoint> queue : queues.values()) {
+            ReadDatapoint datapoint = queue.get(address);
+            if (datapoint != null) {
+                return datapoint;
+            }
+        }
+        return null;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    synchronized void clear() {
+        queues.values().forEach(Map::clear);
+        size = 0;
+    }
+
+}
@@ -24,6 +24,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.smarthome.core.library.types.DateTimeType;
 import org.eclipse.smarthome.core.library.types.DecimalType;
@@ -95,6 +96,12 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
     private static final String TIME_DAY_FORMAT = new String("EEE, HH:mm:ss");
     private static final String DATE_FORMAT = new String("yyyy-MM-dd");
 
+    /**
+     * stores one reusable translator per datapoint type id. The main number is part of the id.
+     * Translators are not thread-safe, so their data is only set and read in {@link #toType(Datapoint, byte[])}.
+     */
+    private final Map<String, DPTXlator> translators = new ConcurrentHashMap<>();
+
     /**
      * stores the openHAB type class for (supported) KNX datapoint types in a generic way.
      * dptTypeMap stores more specific type class and exceptions.
@@ -587,7 +594,7 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
         }
 
         try {
-            DPTXlator translator = TranslatorTypes.createTranslator(mainNumber, dptID);
+            DPTXlator translator = getTranslator(mainNumber, dptID);
             dpt = translator.getType();
         } catch (KNXException e) {
             return null;
@@ -665,9 +672,9 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
     }
 
     @Override
-    public Type toType(Datapoint datapoint, byte[] data) {
+    public synchronized Type toType(Datapoint datapoint, byte[] data) {
         try {
-            DPTXlator translator = TranslatorTypes.createTranslator(datapoint.getMainNumber(), datapoint.getDPT());
+            DPTXlator translator = getTranslator(datapoint.getMainNumber(), datapoint.getDPT());
             translator.setData(data);
             String value = translator.getValue();
 
@@ -853,6 +860,27 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
         return null;
     }
 
+    /**
+     * Returns the translator for the given datapoint type, creating it on first use.
+     * The translator must not be used outside of the calling method, as it is reused for the next conversion.
+     *
+     * @param mainNumber the main number of the datapoint type or 0
+     * @param dptID the datapoint type id
+     * @return the translator
+     * @throws KNXException if no translator is available for the datapoint type
+     */
+    private DPTXlator getTranslator(int mainNumber, String dptID) throws KNXException {
+        DPTXlator translator = translators.get(dptID);
+        if (translator == null) {
+            translator = TranslatorTypes.createTranslator(mainNumber, dptID);
+            DPTXlator existing = translators.putIfAbsent(dptID, translator);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return translator;
+    }
+
     /**
      * Converts a datapoint type id into an openHAB type class
      *
@@ -14,9 +14,16 @@ package org.openhab.binding.kodi.internal.protocol;
 
 import java.io.IOException;
 import java.net.URI;
-import java.util.concurrent.CountDownLatch;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.jetty.websocket.api.Session;
 import org.eclipse.jetty.websocket.api.annotations.OnWebSocketClose;
@@ -29,6 +36,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
@@ -46,9 +54,9 @@ public class KodiClientSocket {
     private final ScheduledExecutorService scheduler;
     private static final int REQUEST_TIMEOUT_MS = 60000;
 
-    private CountDownLatch commandLatch = null;
-    private JsonObject commandResponse = null;
-    private int nextMessageId = 1;
+    // requests waiting for their response, correlated by the JSON-RPC id
+    private final Map<Integer, PendingRequest> pendingRequests = new ConcurrentHashMap<>();
+    private final AtomicInteger nextMessageId = new AtomicInteger(1);
 
     private boolean connected = false;
 
@@ -123,13 +131,25 @@ public class KodiClientSocket {
         @OnWebSocketMessage
         public void onMessage(String message) {
             logger.debug("Message received from server: {}", message);
-            final JsonObject json = parser.parse(message).getAsJsonObject();
-            if (json.has("id")) {
-                int messageId = json.get("id").getAsInt();
-                if (messageId == nextMessageId - 1) {
-                    commandResponse = json;
-                    commandLatch.countDown();
+            final JsonElement element = parser.parse(message);
+            if (element.isJsonArray()) {
+                // response to a batch request
+                for (JsonElement response : element.getAsJsonArray()) {
+                    if (response.isJsonObject()) {
+                        handleResponse(response.getAsJsonObject());
+                    } else {
+                        logger.debug("Invalid response received from server: {}", response);
+                    }
                 }
+                return;
+            }
+            if (!element.isJsonObject()) {
+                logger.debug("Invalid message received from server: {}", element);
+                return;
+            }
+            final JsonObject json = element.getAsJsonObject();
+            if (json.has("id")) {
+                handleResponse(json);
             } else {
                 logger.debug("Event received from server: {}", json);
                 if (eventHandler != null) {
@@ -150,6 +170,10 @@ public class KodiClientSocket {
             logger.debug("Closing a WebSocket due to {}", reason);
             session = null;
             connected = false;
+            // there will be no responses to the requests still waiting
+            for (Integer messageId : pendingRequests.keySet()) {
+                completeRequest(messageId, null);
+            }
             if (eventHandler != null) {
                 scheduler.submit(() -> {
                     try {
@@ -162,7 +186,7 @@ public class KodiClientSocket {
         }
     }
 
-    private void sendMessage(String str) throws IOException {
+    private synchronized void sendMessage(String str) throws IOException {
         if (isConnected()) {
             logger.debug("send message: {}", str);
             session.getRemote().sendString(str);
@@ -171,44 +195,167 @@ public class KodiClientSocket {
         }
     }
 
+    private void handleResponse(JsonObject json) {
+        JsonElement id = json.get("id");
+        if (id == null || id.isJsonNull()) {
+            logger.debug("Error received from server: {}", json.get("error"));
+            return;
+        }
+        if (json.has("result")) {
+            completeRequest(id.getAsInt(), json.get("result"));
+        } else {
+            JsonElement error = json.get("error");
+            logger.debug("Error received from server: {}", error);
+            completeRequest(id.getAsInt(), null);
+        }
+    }
+
+    private static class PendingRequest {
+        final CompletableFuture<JsonElement> result = new CompletableFuture<>();
+        final String methodName;
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(REQUEST_TIMEOUT_MS);
+
+        PendingRequest(String methodName) {
+            this.methodName = methodName;
+        }
+    }
+
+    private void completeRequest(int messageId, JsonElement result) {
+        PendingRequest request = pendingRequests.remove(messageId);
+        if (request != null) {
+            request.result.complete(result);
+        } else {
+            logger.debug("Response received for unknown or timed out request {}", messageId);
+        }
+    }
+
+    private JsonObject createRequest(int messageId, String methodName, JsonObject params) {
+        JsonObject payloadObject = new JsonObject();
+        payloadObject.addProperty("jsonrpc", "2.0");
+        payloadObject.addProperty("id", messageId);
+        payloadObject.addProperty("method", methodName);
+
+        if (params != null) {
+            payloadObject.add("params", params);
+        }
+        return payloadObject;
+    }
+
+    /**
+     * Registers a request which is about to be sent. Its future completes with the result of the request, or with
+     * null if the server returned an error, the request timed out in {@link #getResult(CompletableFuture)} or the
+     * connection was closed.
+     */
+    private CompletableFuture<JsonElement> registerRequest(int messageId, String methodName) {
+        PendingRequest request = new PendingRequest(methodName);
+        pendingRequests.put(messageId, request);
+        return request.result;
+    }
+
+    /**
+     * Waits for the result of a request sent by {@link #callMethodAsync(String, JsonObject)} or a {@link Batch}.
+     * The request times out 60 seconds after it was sent, so the requests of a batch share one timeout.
+     * The timeout is handled by the waiting thread itself and does not depend on a free scheduler thread.
+     *
+     * @param request the future of the request
+     * @return the result of the request, null if the request failed or timed out
+     */
+    public JsonElement getResult(CompletableFuture<JsonElement> request) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(REQUEST_TIMEOUT_MS);
+        for (PendingRequest pending : pendingRequests.values()) {
+            if (pending.result == request) {
+                deadline = pending.deadline;
+                break;
+            }
+        }
+        try {
+            return request.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            for (Map.Entry<Integer, PendingRequest> entry : pendingRequests.entrySet()) {
+                if (entry.getValue().result == request) {
+                    logger.debug("Timeout during callMethod({})", entry.getValue().methodName);
+                    completeRequest(entry.getKey(), null);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.debug("Error during callMethod: {}", e.getMessage(), e);
+        }
+        return null;
+    }
+
     public JsonElement callMethod(String methodName) {
         return callMethod(methodName, null);
     }
 
-    public synchronized JsonElement callMethod(String methodName, JsonObject params) {
+    public JsonElement callMethod(String methodName, JsonObject params) {
+        JsonElement result = getResult(callMethodAsync(methodName, params));
+        logger.debug("callMethod returns {}", result);
+        return result;
+    }
+
+    /**
+     * Sends a request without waiting for its response, so several requests can be outstanding at the same time.
+     *
+     * @param methodName the JSON-RPC method
+     * @param params the parameters of the method or null
+     * @return the future result of the request, null if the request failed
+     */
+    public CompletableFuture<JsonElement> callMethodAsync(String methodName, JsonObject params) {
+        int messageId = nextMessageId.getAndIncrement();
+        CompletableFuture<JsonElement> request = registerRequest(messageId, methodName);
         try {
-            JsonObject payloadObject = new JsonObject();
-            payloadObject.addProperty("jsonrpc", "2.0");
-            payloadObject.addProperty("id", nextMessageId);
-            payloadObject.addProperty("method", methodName);
+            sendMessage(mapper.toJson(createRequest(messageId, methodName, params)));
+        } catch (Exception e) {
+            logger.debug("Error during callMethod({}): {}", methodName, e.getMessage(), e);
+            completeRequest(messageId, null);
+        }
+        return request;
+    }
 
-            if (params != null) {
-                payloadObject.add("params", params);
-            }
+    /**
+     * Creates a batch to send several requests to Kodi in a single message.
+     *
+     * @return a new, empty batch
+     */
+    public Batch createBatch() {
+        return new Batch();
+    }
 
-            String message = mapper.toJson(payloadObject);
-
-            commandLatch = new CountDownLatch(1);
-            commandResponse = null;
-            nextMessageId++;
-
-            sendMessage(message);
-            if (commandLatch.await(REQUEST_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
-                logger.debug("callMethod returns {}", commandResponse);
-                if (commandResponse.has("result")) {
-                    return commandResponse.get("result");
-                } else {
-                    JsonElement error = commandResponse.get("error");
-                    logger.debug("Error received from server: {}", error);
-                    return null;
+    /**
+     * A JSON-RPC batch. The requests are collected with {@link #add(String, JsonObject)} and sent as one JSON array
+     * by {@link #send()}, the responses are assigned to the futures of the requests by their id.
+     */
+    public class Batch {
+        private final JsonArray payload = new JsonArray();
+        private final List<Integer> messageIds = new ArrayList<>();
+        private final List<String> methodNames = new ArrayList<>();
+
+        private Batch() {
+        }
+
+        public CompletableFuture<JsonElement> add(String methodName, JsonObject params) {
+            int messageId = nextMessageId.getAndIncrement();
+            CompletableFuture<JsonElement> request = registerRequest(messageId, methodName);
+            payload.add(createRequest(messageId, methodName, params));
+            messageIds.add(messageId);
+            methodNames.add(methodName);
+            return request;
+        }
+
+        public void send() {
+            if (messageIds.isEmpty()) {
+                return;
+            }
+            try {
+                sendMessage(mapper.toJson(payload));
+            } catch (Exception e) {
+                logger.debug("Error during callMethods({}): {}", methodNames, e.getMessage(), e);
+                for (Integer messageId : messageIds) {
+                    completeRequest(messageId, null);
                 }
-            } else {
-                logger.debug("Timeout during callMethod({}, {})", methodName, params);
-                return null;
             }
-        } catch (Exception e) {
-            logger.debug("Error during callMethod({}): {}", methodName, e.getMessage(), e);
-            return null;
         }
     }
 }
@@ -19,7 +19,10 @@ import java.net.URISyntaxException;
 import java.net.URLEncoder;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
@@ -72,6 +75,12 @@ public class KodiConnection implements KodiClientSocketEventListener {
     private static final String PROPERTY_CANSHUTDOWN = "canshutdown";
     private static final String PROPERTY_CANSUSPEND = "cansuspend";
 
+    private static final String[] SPEED_PROPERTIES = { "speed" };
+    private static final String[] ITEM_PROPERTIES = { "title", "album", "artist", "director", "thumbnail", "file",
+            "fanart", "showtitle", "streamdetails", "channel", "channeltype", "genre" };
+    private static final String[] PLAYER_PROPERTIES = { PROPERTY_CURRENTAUDIOSTREAM, PROPERTY_CURRENTVIDEOSTREAM,
+            PROPERTY_PERCENTAGE, PROPERTY_TIME, PROPERTY_TOTALTIME };
+
     private final Logger logger = LoggerFactory.getLogger(KodiConnection.class);
 
     private static final int VOLUMESTEP = 10;
@@ -88,11 +97,13 @@ public class KodiConnection implements KodiClientSocketEventListener {
     private String hostname;
     private URI wsUri;
     private URI imageUri;
-    private KodiClientSocket socket;
+    private volatile KodiClientSocket socket;
 
-    private int volume = 0;
+    // commands and refreshes are not serialized, so they can be in flight at the same time
+    private volatile int volume = 0;
+    private final Object stateLock = new Object();
     private KodiState currentState = KodiState.STOP;
-    private KodiPlaylistState currentPlaylistState = KodiPlaylistState.CLEAR;
+    private volatile KodiPlaylistState currentPlaylistState = KodiPlaylistState.CLEAR;
 
     private final KodiEventListener listener;
     private final WebSocketClient webSocketClient;
@@ -141,11 +152,23 @@ public class KodiConnection implements KodiClientSocketEventListener {
     }
 
     public int getActivePlaylist() {
+        // request the items of all playlists in a single round trip
+        KodiClientSocket.Batch batch = socket.createBatch();
+        Map<Integer, CompletableFuture<JsonElement>> playlistsItems = new LinkedHashMap<>();
         for (JsonElement element : getPlaylistsInternal()) {
             JsonObject playlist = (JsonObject) element;
             if (playlist.has("playlistid")) {
                 int playlistID = playlist.get("playlistid").getAsInt();
-                JsonObject playlistItems = getPlaylistItemsInternal(playlistID);
+                playlistsItems.put(playlistID, batch.add("Playlist.GetItems", getPlaylistItemsParams(playlistID)));
+            }
+        }
+        batch.send();
+
+        for (Map.Entry<Integer, CompletableFuture<JsonElement>> entry : playlistsItems.entrySet()) {
+            JsonElement response = socket.getResult(entry.getValue());
+            if (response instanceof JsonObject) {
+                int playlistID = entry.getKey();
+                JsonObject playlistItems = response.getAsJsonObject();
                 if (playlistItems.has("limits") && playlistItems.get("limits") instanceof JsonObject) {
                     JsonObject limits = playlistItems.get("limits").getAsJsonObject();
                     if (limits.has("total") && limits.get("total").getAsInt() > 0) {
@@ -167,7 +190,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         return -1;
     }
 
-    private synchronized JsonArray getPlaylistsInternal() {
+    private JsonArray getPlaylistsInternal() {
         String method = "Playlist.GetPlaylists";
         String hash = hostname + '#' + method;
         JsonElement response = REQUEST_CACHE.putIfAbsentAndGet(hash, () -> {
@@ -181,19 +204,13 @@ public class KodiConnection implements KodiClientSocketEventListener {
         }
     }
 
-    private synchronized JsonObject getPlaylistItemsInternal(int playlistID) {
+    private JsonObject getPlaylistItemsParams(int playlistID) {
         JsonObject params = new JsonObject();
         params.addProperty("playlistid", playlistID);
-        JsonElement response = socket.callMethod("Playlist.GetItems", params);
-
-        if (response instanceof JsonObject) {
-            return response.getAsJsonObject();
-        } else {
-            return null;
-        }
+        return params;
     }
 
-    public synchronized void playerPlayPause() {
+    public void playerPlayPause() {
         int activePlayer = getActivePlayer();
 
         JsonObject params = new JsonObject();
@@ -201,7 +218,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         socket.callMethod("Player.PlayPause", params);
     }
 
-    public synchronized void playerStop() {
+    public void playerStop() {
         int activePlayer = getActivePlayer();
 
         JsonObject params = new JsonObject();
@@ -209,13 +226,13 @@ public class KodiConnection implements KodiClientSocketEventListener {
         socket.callMethod("Player.Stop", params);
     }
 
-    public synchronized void playerNext() {
+    public void playerNext() {
         goToInternal("next");
 
         updatePlayerStatus();
     }
 
-    public synchronized void playerPrevious() {
+    public void playerPrevious() {
         goToInternal("previous");
 
         updatePlayerStatus();
@@ -230,13 +247,13 @@ public class KodiConnection implements KodiClientSocketEventListener {
         socket.callMethod("Player.GoTo", params);
     }
 
-    public synchronized void playerRewind() {
+    public void playerRewind() {
         setSpeedInternal(calcNextSpeed(-1));
 
         updatePlayerStatus();
     }
 
-    public synchronized void playerFastForward() {
+    public void playerFastForward() {
         setSpeedInternal(calcNextSpeed(1));
 
         updatePlayerStatus();
@@ -267,7 +284,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         socket.callMethod("Player.SetSpeed", params);
     }
 
-    public synchronized void playlistAdd(int playlistID, String uri) {
+    public void playlistAdd(int playlistID, String uri) {
         currentPlaylistState = KodiPlaylistState.ADD;
 
         JsonObject item = new JsonObject();
@@ -279,7 +296,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         socket.callMethod("Playlist.Add", params);
     }
 
-    public synchronized void playlistClear(int playlistID) {
+    public void playlistClear(int playlistID) {
         currentPlaylistState = KodiPlaylistState.CLEAR;
 
         JsonObject params = new JsonObject();
@@ -287,7 +304,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         socket.callMethod("Playlist.Clear", params);
     }
 
-    public synchronized void playlistInsert(int playlistID, String uri, int position) {
+    public void playlistInsert(int playlistID, String uri, int position) {
         currentPlaylistState = KodiPlaylistState.INSERT;
 
         JsonObject item = new JsonObject();
@@ -300,7 +317,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         socket.callMethod("Playlist.Insert", params);
     }
 
-    public synchronized void playlistPlay(int playlistID, int position) {
+    public void playlistPlay(int playlistID, int position) {
         JsonObject item = new JsonObject();
         item.addProperty("playlistid", playlistID);
         item.addProperty("position", position);
@@ -308,7 +325,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         playInternal(item);
     }
 
-    public synchronized void playlistRemove(int playlistID, int position) {
+    public void playlistRemove(int playlistID, int position) {
         currentPlaylistState = KodiPlaylistState.REMOVE;
 
         JsonObject params = new JsonObject();
@@ -322,7 +339,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
      *
      * @return a list of {@link KodiFavorite}
      */
-    public synchronized List<KodiFavorite> getFavorites() {
+    public List<KodiFavorite> getFavorites() {
         String method = "Favourites.GetFavourites";
         String hash = hostname + '#' + method;
         JsonElement response = REQUEST_CACHE.putIfAbsentAndGet(hash, () -> {
@@ -379,7 +396,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
      *
      * @param window the window
      */
-    public synchronized void activateWindow(final String window) {
+    public void activateWindow(final String window) {
         activateWindow(window, null);
     }
 
@@ -389,7 +406,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
      * @param window the window
      * @param windowParameter list of parameters of the window
      */
-    public synchronized void activateWindow(final String window, @Nullable final String[] windowParameter) {
+    public void activateWindow(final String window, @Nullable final String[] windowParameter) {
         JsonObject params = new JsonObject();
         params.addProperty("window", window);
         if (windowParameter != null) {
@@ -398,15 +415,15 @@ public class KodiConnection implements KodiClientSocketEventListener {
         socket.callMethod("GUI.ActivateWindow", params);
     }
 
-    public synchronized void increaseVolume() {
+    public void increaseVolume() {
         setVolumeInternal(this.volume + VOLUMESTEP);
     }
 
-    public synchronized void decreaseVolume() {
+    public void decreaseVolume() {
         setVolumeInternal(this.volume - VOLUMESTEP);
     }
 
-    public synchronized void setVolume(int volume) {
+    public void setVolume(int volume) {
         setVolumeInternal(volume);
     }
 
@@ -420,20 +437,24 @@ public class KodiConnection implements KodiClientSocketEventListener {
         return volume;
     }
 
-    public synchronized void setMute(boolean mute) {
+    public void setMute(boolean mute) {
         JsonObject params = new JsonObject();
         params.addProperty("mute", mute);
         socket.callMethod("Application.SetMute", params);
     }
 
-    private int getSpeed(int activePlayer) {
-        final String[] properties = { "speed" };
-
+    private JsonObject getPlayerParams(int activePlayer, String[] properties) {
         JsonObject params = new JsonObject();
         params.addProperty("playerid", activePlayer);
         params.add("properties", getJsonArray(properties));
-        JsonElement response = socket.callMethod("Player.GetProperties", params);
+        return params;
+    }
+
+    private int getSpeed(int activePlayer) {
+        return getSpeed(socket.callMethod("Player.GetProperties", getPlayerParams(activePlayer, SPEED_PROPERTIES)));
+    }
 
+    private int getSpeed(JsonElement response) {
         if (response instanceof JsonObject) {
             JsonObject result = response.getAsJsonObject();
             if (result.has("speed")) {
@@ -443,11 +464,21 @@ public class KodiConnection implements KodiClientSocketEventListener {
         return 0;
     }
 
-    public synchronized void updatePlayerStatus() {
+    public void updatePlayerStatus() {
         if (socket.isConnected()) {
             int activePlayer = getActivePlayer();
             if (activePlayer >= 0) {
-                int speed = getSpeed(activePlayer);
+                // request speed, item and properties of the player in a single round trip
+                KodiClientSocket.Batch batch = socket.createBatch();
+                CompletableFuture<JsonElement> speedResponse = batch.add("Player.GetProperties",
+                        getPlayerParams(activePlayer, SPEED_PROPERTIES));
+                CompletableFuture<JsonElement> itemResponse = batch.add("Player.GetItem",
+                        getPlayerParams(activePlayer, ITEM_PROPERTIES));
+                CompletableFuture<JsonElement> propertiesResponse = batch.add("Player.GetProperties",
+                        getPlayerParams(activePlayer, PLAYER_PROPERTIES));
+                batch.send();
+
+                int speed = getSpeed(socket.getResult(speedResponse));
                 if (speed == 0) {
                     updateState(KodiState.STOP);
                 } else if (speed == 1) {
@@ -457,7 +488,8 @@ public class KodiConnection implements KodiClientSocketEventListener {
                 } else {
                     updateState(KodiState.FASTFORWARD);
                 }
-                requestPlayerUpdate(activePlayer);
+                updatePlayerItem(socket.getResult(itemResponse));
+                updatePlayerProperties(socket.getResult(propertiesResponse));
             } else {
                 updateState(KodiState.STOP);
             }
@@ -465,19 +497,19 @@ public class KodiConnection implements KodiClientSocketEventListener {
     }
 
     private void requestPlayerUpdate(int activePlayer) {
-        requestPlayerItemUpdate(activePlayer);
-        requestPlayerPropertiesUpdate(activePlayer);
-    }
-
-    private void requestPlayerItemUpdate(int activePlayer) {
-        final String[] properties = { "title", "album", "artist", "director", "thumbnail", "file", "fanart",
-                "showtitle", "streamdetails", "channel", "channeltype", "genre" };
+        // request item and properties of the player in a single round trip
+        KodiClientSocket.Batch batch = socket.createBatch();
+        CompletableFuture<JsonElement> itemResponse = batch.add("Player.GetItem",
+                getPlayerParams(activePlayer, ITEM_PROPERTIES));
+        CompletableFuture<JsonElement> propertiesResponse = batch.add("Player.GetProperties",
+                getPlayerParams(activePlayer, PLAYER_PROPERTIES));
+        batch.send();
 
-        JsonObject params = new JsonObject();
-        params.addProperty("playerid", activePlayer);
-        params.add("properties", getJsonArray(properties));
-        JsonElement response = socket.callMethod("Player.GetItem", params);
+        updatePlayerItem(socket.getResult(itemResponse));
+        updatePlayerProperties(socket.getResult(propertiesResponse));
+    }
 
+    private void updatePlayerItem(JsonElement response) {
         if (response instanceof JsonObject) {
             JsonObject result = response.getAsJsonObject();
             if (result.has("item")) {
@@ -554,15 +586,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         }
     }
 
-    private void requestPlayerPropertiesUpdate(int activePlayer) {
-        final String[] properties = { PROPERTY_CURRENTAUDIOSTREAM, PROPERTY_CURRENTVIDEOSTREAM, PROPERTY_PERCENTAGE,
-                PROPERTY_TIME, PROPERTY_TOTALTIME };
-
-        JsonObject params = new JsonObject();
-        params.addProperty("playerid", activePlayer);
-        params.add("properties", getJsonArray(properties));
-        JsonElement response = socket.callMethod("Player.GetProperties", params);
-
+    private void updatePlayerProperties(JsonElement response) {
         if (response instanceof JsonObject) {
             JsonObject result = response.getAsJsonObject();
 
@@ -671,7 +695,9 @@ public class KodiConnection implements KodiClientSocketEventListener {
     }
 
     public KodiState getState() {
-        return currentState;
+        synchronized (stateLock) {
+            return currentState;
+        }
     }
 
     public KodiPlaylistState getPlaylistState() {
@@ -679,30 +705,32 @@ public class KodiConnection implements KodiClientSocketEventListener {
     }
 
     private void updateState(KodiState state) {
-        // sometimes get a Pause immediately after a Stop - so just ignore
-        if (currentState.equals(KodiState.STOP) && state.equals(KodiState.PAUSE)) {
-            return;
-        }
-        listener.updatePlayerState(state);
-        // if this is a Stop then clear everything else
-        if (state == KodiState.STOP) {
-            listener.updateAlbum("");
-            listener.updateTitle("");
-            listener.updateShowTitle("");
-            listener.updateArtistList(null);
-            listener.updateMediaType("");
-            listener.updateGenreList(null);
-            listener.updatePVRChannel("");
-            listener.updateThumbnail(null);
-            listener.updateFanart(null);
-            listener.updateAudioCodec(null);
-            listener.updateVideoCodec(null);
-            listener.updateCurrentTimePercentage(-1);
-            listener.updateCurrentTime(-1);
-            listener.updateDuration(-1);
+        synchronized (stateLock) {
+            // sometimes get a Pause immediately after a Stop - so just ignore
+            if (currentState.equals(KodiState.STOP) && state.equals(KodiState.PAUSE)) {
+                return;
+            }
+            listener.updatePlayerState(state);
+            // if this is a Stop then clear everything else
+            if (state == KodiState.STOP) {
+                listener.updateAlbum("");
+                listener.updateTitle("");
+                listener.updateShowTitle("");
+                listener.updateArtistList(null);
+                listener.updateMediaType("");
+                listener.updateGenreList(null);
+                listener.updatePVRChannel("");
+                listener.updateThumbnail(null);
+                listener.updateFanart(null);
+                listener.updateAudioCodec(null);
+                listener.updateVideoCodec(null);
+                listener.updateCurrentTimePercentage(-1);
+                listener.updateCurrentTime(-1);
+                listener.updateDuration(-1);
+            }
+            // keep track of our current state
+            currentState = state;
         }
-        // keep track of our current state
-        currentState = state;
     }
 
     @Override
@@ -857,14 +885,14 @@ public class KodiConnection implements KodiClientSocketEventListener {
         }
     }
 
-    public synchronized void playURI(String uri) {
+    public void playURI(String uri) {
         JsonObject item = new JsonObject();
         item.addProperty("file", uri);
 
         playInternal(item);
     }
 
-    public synchronized List<KodiPVRChannelGroup> getPVRChannelGroups(final String pvrChannelType) {
+    public List<KodiPVRChannelGroup> getPVRChannelGroups(final String pvrChannelType) {
         String method = "PVR.GetChannelGroups";
         String hash = hostname + '#' + method + "#channeltype=" + pvrChannelType;
         JsonElement response = REQUEST_CACHE.putIfAbsentAndGet(hash, () -> {
@@ -904,7 +932,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         return pvrChannelGroups.isEmpty() ? 0 : pvrChannelGroups.get(0).getId();
     }
 
-    public synchronized List<KodiPVRChannel> getPVRChannels(final int pvrChannelGroupId) {
+    public List<KodiPVRChannel> getPVRChannels(final int pvrChannelGroupId) {
         String method = "PVR.GetChannels";
         String hash = hostname + '#' + method + "#channelgroupid=" + pvrChannelGroupId;
         JsonElement response = REQUEST_CACHE.putIfAbsentAndGet(hash, () -> {
@@ -942,7 +970,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         return 0;
     }
 
-    public synchronized void playPVRChannel(final int pvrChannelId) {
+    public void playPVRChannel(final int pvrChannelId) {
         JsonObject item = new JsonObject();
         item.addProperty("channelid", pvrChannelId);
 
@@ -955,7 +983,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         socket.callMethod("Player.Open", params);
     }
 
-    public synchronized void showNotification(String message) {
+    public void showNotification(String message) {
         JsonObject params = new JsonObject();
         params.addProperty("title", "openHAB");
         params.addProperty("message", message);
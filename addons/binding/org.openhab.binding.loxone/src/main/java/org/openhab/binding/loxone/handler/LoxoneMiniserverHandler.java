@@ -327,71 +327,82 @@ public class LoxoneMiniserverHandler extends BaseThingHandler implements LxServe
     }
 
     @Override
-    public void onControlStateUpdate(LxControl control, String stateName) {
+    public void onControlStateUpdate(LxControl control, Set<String> stateNames) {
         ChannelUID channelId = getChannelIdForControl(control, 0);
+        int handledStates = 0;
 
         if (control instanceof LxControlLightController
-                && LxControlLightController.STATE_SCENE_LIST.equals(stateName)) {
+                && stateNames.contains(LxControlLightController.STATE_SCENE_LIST)) {
             LxControlLightController controller = (LxControlLightController) control;
             setStateDescription(channelId, null, false, controller.getSceneNames(), BigDecimal.ZERO,
                     new BigDecimal((LxControlLightController.NUM_OF_SCENES - 1)));
+            handledStates++;
+        } else if (control instanceof LxControlLightControllerV2
+                && stateNames.contains(LxControlLightControllerV2.STATE_MOODS_LIST)) {
+            updateMoods(channelId, (LxControlLightControllerV2) control);
+            handledStates++;
+        }
+        // for all state updates not handled above just update the channel state the regular way
+        if (stateNames.size() > handledStates) {
+            updateChannelStates(channelId, control);
+        }
+    }
+
+    /**
+     * A new list of moods arrived as state update - we update dynamic state description for the channel that
+     * represents single mood selection and we create new channels per mood and remove any obsolete mood channels for
+     * this controller
+     *
+     * @param channelId
+     *            channel of the mood selection
+     * @param controller
+     *            light controller the moods belong to
+     */
+    private void updateMoods(ChannelUID channelId, LxControlLightControllerV2 controller) {
+        Map<LxUuid, LxControlMood> moods = controller.getMoods();
+        if (moods == null) {
+            logger.debug("Moods list state was received, but mood list is null.");
             return;
-        } else if (control instanceof LxControlLightControllerV2) {
-            LxControlLightControllerV2 controller = (LxControlLightControllerV2) control;
+        }
 
-            if (LxControlLightControllerV2.STATE_MOODS_LIST.equals(stateName)) {
-                // A new list of moods arrived as state update - we update dynamic state description for the channel
-                // that represents single mood selection and we create new channels per mood and remove any obsolete
-                // mood channels for this controller
-                Map<LxUuid, LxControlMood> moods = controller.getMoods();
-                if (moods == null) {
-                    logger.debug("Moods list state was received, but mood list is null.");
-                    return;
-                }
+        // convert all moods to options list for state description
+        List<StateOption> optionsList = moods.values().stream()
+                .map(mood -> new StateOption(mood.getId().toString(), mood.getName()))
+                .collect(Collectors.toList());
+
+        // for all moods but 'all off' mood create and store channels
+        Map<Channel, LxControlMood> newChannels = new HashMap<>();
+        moods.values().stream().filter(mood -> !mood.isAllOffMood()).forEach(
+                mood -> createChannelsForControl(mood).forEach(channel -> newChannels.put(channel, mood)));
+
+        dynamicStateDescriptionProvider.setDescription(channelId,
+                new StateDescription(new BigDecimal(controller.getMinMoodId()),
+                        new BigDecimal(controller.getMaxMoodId()), BigDecimal.ONE, null, false, optionsList));
+
+        // collect all moods that currently belong to this controller
+        List<ChannelUID> toRemove = new ArrayList<>();
+        controls.forEach((k, v) -> {
+            if (v instanceof LxControlMood
+                    && controller.getUuid().equals(((LxControlMood) v).getControllerUuid())
+                    && !newChannels.containsKey(k)) {
+                toRemove.add(k);
+            }
+        });
 
-                // convert all moods to options list for state description
-                List<StateOption> optionsList = moods.values().stream()
-                        .map(mood -> new StateOption(mood.getId().toString(), mood.getName()))
-                        .collect(Collectors.toList());
+        // remove the collected mood channels from the thing and controls
+        ThingBuilder builder = editThing();
+        toRemove.forEach(k -> {
+            builder.withoutChannel(k);
+            controls.remove(k);
+        });
 
-                // for all moods but 'all off' mood create and store channels
-                Map<Channel, LxControlMood> newChannels = new HashMap<>();
-                moods.values().stream().filter(mood -> !mood.isAllOffMood()).forEach(
-                        mood -> createChannelsForControl(mood).forEach(channel -> newChannels.put(channel, mood)));
-
-                dynamicStateDescriptionProvider.setDescription(channelId,
-                        new StateDescription(new BigDecimal(controller.getMinMoodId()),
-                                new BigDecimal(controller.getMaxMoodId()), BigDecimal.ONE, null, false, optionsList));
-
-                // collect all moods that currently belong to this controller
-                List<ChannelUID> toRemove = new ArrayList<>();
-                controls.forEach((k, v) -> {
-                    if (v instanceof LxControlMood
-                            && controller.getUuid().equals(((LxControlMood) v).getControllerUuid())
-                            && !newChannels.containsKey(k)) {
-                        toRemove.add(k);
-                    }
-                });
-
-                // remove the collected mood channels from the thing and controls
-                ThingBuilder builder = editThing();
-                toRemove.forEach(k -> {
-                    builder.withoutChannel(k);
-                    controls.remove(k);
-                });
-
-                // add channels for the new moods
-                newChannels.forEach((k, v) -> {
-                    builder.withChannel(k);
-                    controls.put(k.getUID(), v);
-                });
-
-                updateThing(builder.build());
-                return;
-            }
-        }
-        // for all state updates not handled above just update the channel state the regular way
-        updateChannelStates(channelId, control);
+        // add channels for the new moods
+        newChannels.forEach((k, v) -> {
+            builder.withChannel(k);
+            controls.put(k.getUID(), v);
+        });
+
+        updateThing(builder.build());
     }
 
     @Override
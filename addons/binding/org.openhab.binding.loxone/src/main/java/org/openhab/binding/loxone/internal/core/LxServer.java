@@ -15,9 +15,12 @@ package org.openhab.binding.loxone.internal.core;
 import java.net.InetAddress;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
@@ -448,25 +451,9 @@ public class LxServer {
                     }
                     break;
                 case STATE_UPDATE:
-                    LxWsStateUpdateEvent update = (LxWsStateUpdateEvent) wsMsg.getObject();
-                    Map<LxUuid, LxControlState> perStateUuid = findState(update.getUuid());
-                    if (perStateUuid != null) {
-                        perStateUuid.forEach((controlUuid, state) -> {
-                            state.setValue(update.getValue(), update.getText());
-                            LxControl control = state.getControl();
-                            if (control != null) {
-                                logger.debug("[{}] State update {} ({}:{}) to value {}, text '{}'", debugId,
-                                        update.getUuid(), control.getName(), state.getName(), update.getValue(),
-                                        update.getText());
-                                for (LxServerListener listener : listeners) {
-                                    listener.onControlStateUpdate(control, state.getName().toLowerCase());
-                                }
-                            } else {
-                                logger.debug("[{}] State update {} ({}) of unknown control", debugId, update.getUuid(),
-                                        state.getName());
-                            }
-                        });
-                    }
+                    @SuppressWarnings("unchecked")
+                    List<LxWsStateUpdateEvent> updates = (List<LxWsStateUpdateEvent>) wsMsg.getObject();
+                    processStateUpdates(updates);
                     break;
                 case SERVER_ONLINE:
                     for (LxServerListener listener : listeners) {
@@ -510,6 +497,45 @@ public class LxServer {
             return true;
         }
 
+        /**
+         * Applies all state updates of an event table and notifies the listeners once per control with the names of
+         * all its updated states.
+         *
+         * @param updates
+         *            state updates decoded from one event table
+         */
+        private void processStateUpdates(List<LxWsStateUpdateEvent> updates) {
+            Map<LxControl, Set<String>> updatedControls = new LinkedHashMap<>();
+            for (LxWsStateUpdateEvent update : updates) {
+                Map<LxUuid, LxControlState> perStateUuid = findState(update.getUuid());
+                if (perStateUuid == null) {
+                    continue;
+                }
+                perStateUuid.forEach((controlUuid, state) -> {
+                    state.setValue(update.getValue(), update.getText());
+                    LxControl control = state.getControl();
+                    if (control != null) {
+                        if (logger.isDebugEnabled()) {
+                            logger.debug("[{}] State update {} ({}:{}) to value {}, text '{}'", debugId,
+                                    update.getUuid(), control.getName(), state.getName(), update.getValue(),
+                                    update.getText());
+                        }
+                        updatedControls.computeIfAbsent(control, k -> new HashSet<>())
+                                .add(state.getName().toLowerCase());
+                    } else {
+                        logger.debug("[{}] State update {} ({}) of unknown control", debugId, update.getUuid(),
+                                state.getName());
+                    }
+                });
+            }
+            logger.trace("[{}] Applied {} state updates to {} controls", debugId, updates.size(),
+                    updatedControls.size());
+            updatedControls.forEach((control, stateNames) -> {
+                for (LxServerListener listener : listeners) {
+                    listener.onControlStateUpdate(control, stateNames);
+                }
+            });
+        }
     }
 
     /**
@@ -46,8 +46,8 @@ class LxServerEvent {
          */
         RECEIVED_CONFIG,
         /**
-         * Received control's state value or text update from Miniserver. There is a {@link LxWsStateUpdateEvent} object
-         * associated.
+         * Received controls' state values or text updates from Miniserver. There is a list of
+         * {@link LxWsStateUpdateEvent} objects associated, decoded from one event table.
          */
         STATE_UPDATE,
         /**
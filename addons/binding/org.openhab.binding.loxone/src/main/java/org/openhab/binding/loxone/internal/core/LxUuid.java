@@ -20,14 +20,23 @@ import java.nio.ByteOrder;
  * <p>
  * It is defined by the Miniserver. UUID can represent a control, room, category, etc. and provides a unique ID space
  * across all objects residing on the Miniserver.
+ * <p>
+ * UUIDs in the standard Miniserver format (8-4-4-16 hex digits) are compared by their two 64-bit halves. This allows
+ * to look up UUIDs received in binary state updates without formatting them into strings. Other identifiers, e.g. of
+ * moods, are compared by their string representation.
  *
  * @author Pawel Pieczul - initial contribution
  *
  */
 public class LxUuid {
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
     private String uuid;
     private String uuidOriginal;
     private boolean updated;
+    private boolean compact;
+    private long mostSignificantBits;
+    private long leastSignificantBits;
 
     /**
      * Create a new {@link LxUuid} object from an UUID on a Miniserver.
@@ -39,20 +48,66 @@ public class LxUuid {
         init(uuid);
     }
 
+    /**
+     * Create a new {@link LxUuid} object from a binary UUID received from the Miniserver. The string representation
+     * is created only when it is needed.
+     *
+     * @param data
+     *            buffer with binary message received from Miniserver
+     * @param offset
+     *            offset in buffer where the 16 bytes of the UUID are expected
+     */
     public LxUuid(byte data[], int offset) {
-        String id = String.format("%08x-%04x-%04x-%02x%02x%02x%02x%02x%02x%02x%02x",
-                ByteBuffer.wrap(data, offset, 4).order(ByteOrder.LITTLE_ENDIAN).getInt(),
-                ByteBuffer.wrap(data, offset + 4, 2).order(ByteOrder.LITTLE_ENDIAN).getShort(),
-                ByteBuffer.wrap(data, offset + 6, 2).order(ByteOrder.LITTLE_ENDIAN).getShort(), data[offset + 8],
-                data[offset + 9], data[offset + 10], data[offset + 11], data[offset + 12], data[offset + 13],
-                data[offset + 14], data[offset + 15]);
-        init(id);
+        ByteBuffer buffer = ByteBuffer.wrap(data, offset, 16).order(ByteOrder.LITTLE_ENDIAN);
+        mostSignificantBits = (buffer.getInt(offset) & 0xffffffffL) << 32
+                | (buffer.getShort(offset + 4) & 0xffffL) << 16 | (buffer.getShort(offset + 6) & 0xffffL);
+        leastSignificantBits = buffer.order(ByteOrder.BIG_ENDIAN).getLong(offset + 8);
+        compact = true;
+        updated = true;
     }
 
     private void init(String uuid) {
         uuidOriginal = uuid;
         this.uuid = uuidOriginal.replaceAll("[^a-zA-Z0-9-]", "-").toUpperCase();
         updated = true;
+        if (this.uuid.length() == 35 && this.uuid.charAt(8) == '-' && this.uuid.charAt(13) == '-'
+                && this.uuid.charAt(18) == '-') {
+            try {
+                mostSignificantBits = Long.parseUnsignedLong(
+                        this.uuid.substring(0, 8) + this.uuid.substring(9, 13) + this.uuid.substring(14, 18), 16);
+                leastSignificantBits = Long.parseUnsignedLong(this.uuid.substring(19), 16);
+                compact = true;
+            } catch (NumberFormatException e) {
+                compact = false;
+            }
+        }
+    }
+
+    /**
+     * Formats a compact UUID the way the Miniserver does, in lower case hex digits.
+     */
+    private String format() {
+        char[] chars = new char[35];
+        int pos = 0;
+        for (int i = 15; i >= 0; i--) {
+            chars[pos++] = HEX_DIGITS[(int) (mostSignificantBits >>> (i * 4)) & 0xf];
+            if (i == 8 || i == 4) {
+                chars[pos++] = '-';
+            }
+        }
+        chars[pos++] = '-';
+        for (int i = 15; i >= 0; i--) {
+            chars[pos++] = HEX_DIGITS[(int) (leastSignificantBits >>> (i * 4)) & 0xf];
+        }
+        return new String(chars);
+    }
+
+    private String getUuid() {
+        if (uuid == null) {
+            uuidOriginal = format();
+            uuid = uuidOriginal.toUpperCase();
+        }
+        return uuid;
     }
 
     @Override
@@ -67,17 +122,24 @@ public class LxUuid {
             return false;
         }
         LxUuid id = (LxUuid) o;
+        if (compact || id.compact) {
+            return compact == id.compact && mostSignificantBits == id.mostSignificantBits
+                    && leastSignificantBits == id.leastSignificantBits;
+        }
         return uuid.equals(id.uuid);
     }
 
     @Override
     public int hashCode() {
+        if (compact) {
+            return Long.hashCode(mostSignificantBits ^ leastSignificantBits);
+        }
         return uuid.hashCode();
     }
 
     @Override
     public String toString() {
-        return uuid;
+        return getUuid();
     }
 
     /**
@@ -88,6 +150,7 @@ public class LxUuid {
      */
 
     public String getOriginalString() {
+        getUuid();
         return uuidOriginal;
     }
 
@@ -19,6 +19,8 @@ import java.net.HttpURLConnection;
 import java.net.InetAddress;
 import java.net.URI;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -628,6 +630,7 @@ class LxWsClient {
                 String s = Hex.encodeHexString(data);
                 logger.trace("[{}] Binary message: length {}: {}", debugId, length, s);
             }
+            MessageType eventTableType = null;
             stateMachineLock.lock();
             try {
                 if (state != ClientState.RUNNING) {
@@ -655,20 +658,10 @@ class LxWsClient {
                     switch (header.type) {
                         case EVENT_TABLE_OF_VALUE_STATES:
                             stopResponseTimeout();
-                            while (length > 0) {
-                                LxWsStateUpdateEvent event = new LxWsStateUpdateEvent(true, data, offset);
-                                offset += event.getSize();
-                                length -= event.getSize();
-                                notifyMaster(EventType.STATE_UPDATE, null, event);
-                            }
+                            eventTableType = header.type;
                             break;
                         case EVENT_TABLE_OF_TEXT_STATES:
-                            while (length > 0) {
-                                LxWsStateUpdateEvent event = new LxWsStateUpdateEvent(false, data, offset);
-                                offset += event.getSize();
-                                length -= event.getSize();
-                                notifyMaster(EventType.STATE_UPDATE, null, event);
-                            }
+                            eventTableType = header.type;
                             break;
                         case KEEPALIVE_RESPONSE:
                         case TEXT_MESSAGE:
@@ -683,6 +676,47 @@ class LxWsClient {
             } finally {
                 stateMachineLock.unlock();
             }
+            if (eventTableType != null) {
+                // the event table does not depend on the client state and is decoded without holding the lock
+                List<LxWsStateUpdateEvent> events = decodeEventTable(
+                        eventTableType == MessageType.EVENT_TABLE_OF_VALUE_STATES, data, offset, length);
+                if (!events.isEmpty()) {
+                    notifyMaster(EventType.STATE_UPDATE, null, events);
+                }
+            }
+        }
+
+        /**
+         * Decodes all state updates of an event table, so they can be passed to the {@link LxServer} at once.
+         *
+         * @param isValueEvent
+         *            true if the table contains value states, false for text states
+         * @param data
+         *            buffer with binary message received from Miniserver
+         * @param offset
+         *            offset in buffer where the table starts
+         * @param length
+         *            length of the table in bytes
+         * @return
+         *         decoded state updates, up to the first malformed one
+         */
+        private List<LxWsStateUpdateEvent> decodeEventTable(boolean isValueEvent, byte data[], int offset,
+                int length) {
+            List<LxWsStateUpdateEvent> events = new ArrayList<>(isValueEvent ? length / 24 : 16);
+            int pos = offset;
+            int remaining = length;
+            try {
+                while (remaining > 0) {
+                    LxWsStateUpdateEvent event = new LxWsStateUpdateEvent(isValueEvent, data, pos);
+                    pos += event.getSize();
+                    remaining -= event.getSize();
+                    events.add(event);
+                }
+            } catch (IndexOutOfBoundsException e) {
+                logger.debug("[{}] malformed binary message received, discarded after {} states", debugId,
+                        events.size());
+            }
+            return events;
         }
 
         @OnWebSocketMessage
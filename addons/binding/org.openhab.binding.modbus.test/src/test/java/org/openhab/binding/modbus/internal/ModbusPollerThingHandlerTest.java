@@ -22,6 +22,7 @@ import static org.mockito.hamcrest.MockitoHamcrest.argThat;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
@@ -54,6 +55,7 @@ import org.openhab.binding.modbus.internal.handler.ModbusDataThingHandler;
 import org.openhab.binding.modbus.internal.handler.ModbusPollerThingHandler;
 import org.openhab.binding.modbus.internal.handler.ModbusPollerThingHandlerImpl;
 import org.openhab.binding.modbus.internal.handler.ModbusTcpThingHandler;
+import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
 import org.openhab.io.transport.modbus.BitArray;
 import org.openhab.io.transport.modbus.ModbusManager;
 import org.openhab.io.transport.modbus.ModbusReadCallback;
@@ -826,4 +828,70 @@ public class ModbusPollerThingHandlerTest {
         verify(modbusManager).submitOneTimePoll(any());
 
     }
+
+    @SuppressWarnings("null")
+    @Test
+    public void testChangesOnlyPassedToAffectedChildDataThings()
+            throws IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
+        Configuration pollerConfig = new Configuration();
+        pollerConfig.put("refresh", 150L);
+        pollerConfig.put("start", 5);
+        pollerConfig.put("length", 3);
+        pollerConfig.put("type", "holding");
+        pollerConfig.put("changesOnly", true);
+        pollerConfig.put("forcedRefreshMillis", 0L);
+        poller = createPollerThingBuilder("poller").withConfiguration(pollerConfig).withBridge(endpoint.getUID())
+                .build();
+        registerThingToMockRegistry(poller);
+
+        hookStatusUpdates(poller);
+
+        ModbusPollerThingHandlerImpl thingHandler = new ModbusPollerThingHandlerImpl(poller, () -> modbusManager);
+        thingHandler.setCallback(thingCallback);
+        poller.setHandler(thingHandler);
+        hookItemRegistry(thingHandler);
+
+        thingHandler.initialize();
+        assertThat(poller.getStatus(), is(equalTo(ThingStatus.ONLINE)));
+
+        ArgumentCaptor<PollTask> pollTaskCapturer = ArgumentCaptor.forClass(PollTask.class);
+        verify(modbusManager).registerRegularPoll(pollTaskCapturer.capture(), eq(150l), eq(0L));
+        ModbusReadCallback readCallback = pollTaskCapturer.getValue().getCallback();
+        ModbusReadRequestBlueprint request = pollTaskCapturer.getValue().getRequest();
+
+        ModbusDataThingHandler child1 = Mockito.mock(ModbusDataThingHandler.class);
+        ModbusDataThingHandler child2 = Mockito.mock(ModbusDataThingHandler.class);
+        // child1 reads the first register, child2 the last one
+        when(child1.isReadDataChanged(any())).then(invocation -> ((BitSet) invocation.getArgument(0)).get(0));
+        when(child2.isReadDataChanged(any())).then(invocation -> ((BitSet) invocation.getArgument(0)).get(2));
+        thingHandler.childHandlerInitialized(child1, Mockito.mock(Thing.class));
+        thingHandler.childHandlerInitialized(child2, Mockito.mock(Thing.class));
+
+        // first data is passed to all children
+        ModbusRegisterArray registers = new BasicModbusRegisterArray(1, 2, 3);
+        readCallback.onRegisters(request, registers);
+        verify(child1).onRegisters(request, registers);
+        verify(child2).onRegisters(request, registers);
+
+        // unchanged data is not passed
+        ModbusRegisterArray sameRegisters = new BasicModbusRegisterArray(1, 2, 3);
+        readCallback.onRegisters(request, sameRegisters);
+        verify(child1, never()).onRegisters(request, sameRegisters);
+        verify(child2, never()).onRegisters(request, sameRegisters);
+
+        // only child reading the last register is affected
+        ModbusRegisterArray changedRegisters = new BasicModbusRegisterArray(1, 2, 4);
+        readCallback.onRegisters(request, changedRegisters);
+        verify(child1, never()).onRegisters(request, changedRegisters);
+        verify(child2).onRegisters(request, changedRegisters);
+
+        // after error, all children receive the data again
+        Exception error = new Exception("fail");
+        readCallback.onError(request, error);
+        verify(child1).onError(request, error);
+        verify(child2).onError(request, error);
+        readCallback.onRegisters(request, changedRegisters);
+        verify(child1).onRegisters(request, changedRegisters);
+        verify(child2, times(2)).onRegisters(request, changedRegisters);
+    }
 }
@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.smarthome.core.transform.TransformationService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceEvent;
+import org.osgi.framework.ServiceListener;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TransformationTest {
+
+    private final AtomicInteger serviceCalls = new AtomicInteger();
+
+    private final TransformationService countingService = (function, source) -> {
+        serviceCalls.incrementAndGet();
+        return function + source;
+    };
+
+    private BundleContext mockContext(String name) throws InvalidSyntaxException {
+        BundleContext context = mock(BundleContext.class);
+        doReturn(Arrays.asList(new Object[] { null })).when(context).getServiceReferences(TransformationService.class,
+                "(smarthome.transform=" + name + ")");
+        doReturn(countingService).when(context).getService(any());
+        return context;
+    }
+
+    @Test
+    public void testServiceLookedUpOnce() throws InvalidSyntaxException {
+        BundleContext context = mockContext("MULTIPLY");
+        Transformation transformation = new Transformation("MULTIPLY(10)");
+
+        assertThat(transformation.transform(context, "3"), is(equalTo("103")));
+        assertThat(transformation.transform(context, "3"), is(equalTo("103")));
+
+        // not memoizable, service called every time
+        assertThat(serviceCalls.get(), is(equalTo(2)));
+        verify(context, times(1)).getServiceReferences(TransformationService.class,
+                "(smarthome.transform=MULTIPLY)");
+    }
+
+    @Test
+    public void testMemoizedService() throws InvalidSyntaxException {
+        BundleContext context = mockContext("MAP");
+        Transformation transformation = new Transformation("MAP(foo.map)");
+
+        assertThat(transformation.transform(context, "1"), is(equalTo("foo.map1")));
+        assertThat(transformation.transform(context, "1"), is(equalTo("foo.map1")));
+        assertThat(transformation.transform(context, "2"), is(equalTo("foo.map2")));
+
+        assertThat(serviceCalls.get(), is(equalTo(2)));
+    }
+
+    @Test
+    public void testServiceChangeInvalidatesCaches() throws InvalidSyntaxException {
+        BundleContext context = mockContext("MAP");
+        Transformation transformation = new Transformation("MAP(foo.map)");
+        assertThat(transformation.transform(context, "1"), is(equalTo("foo.map1")));
+
+        ArgumentCaptor<ServiceListener> listener = ArgumentCaptor.forClass(ServiceListener.class);
+        verify(context).addServiceListener(listener.capture(), any());
+        listener.getValue().serviceChanged(mock(ServiceEvent.class));
+
+        assertThat(transformation.transform(context, "1"), is(equalTo("foo.map1")));
+        assertThat(serviceCalls.get(), is(equalTo(2)));
+        verify(context, times(2)).getServiceReferences(TransformationService.class, "(smarthome.transform=MAP)");
+    }
+}
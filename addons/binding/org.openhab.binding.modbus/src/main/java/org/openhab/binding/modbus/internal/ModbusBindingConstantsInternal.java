@@ -48,6 +48,14 @@ public class ModbusBindingConstantsInternal {
     public static final String CHANNEL_LAST_READ_ERROR = "lastReadError";
     public static final String CHANNEL_LAST_WRITE_SUCCESS = "lastWriteSuccess";
     public static final String CHANNEL_LAST_WRITE_ERROR = "lastWriteError";
+    public static final String CHANNEL_OPERATION_COUNT = "operationCount";
+    public static final String CHANNEL_ERROR_COUNT = "errorCount";
+    public static final String CHANNEL_RETRY_COUNT = "retryCount";
+    public static final String CHANNEL_CONNECTION_ERROR_COUNT = "connectionErrorCount";
+    public static final String CHANNEL_PENDING_OPERATIONS = "pendingOperations";
+    public static final String CHANNEL_BORROW_WAIT_P95 = "borrowWaitP95";
+    public static final String CHANNEL_TRANSACTION_TIME_P95 = "transactionTimeP95";
+    public static final String CHANNEL_EFFECTIVE_POLL_PERIOD = "effectivePollPeriod";
 
     public static final String[] DATA_CHANNELS = { CHANNEL_SWITCH, CHANNEL_CONTACT, CHANNEL_DATETIME, CHANNEL_DIMMER,
             CHANNEL_NUMBER, CHANNEL_STRING, CHANNEL_ROLLERSHUTTER };
@@ -59,6 +67,8 @@ public class ModbusBindingConstantsInternal {
     public static final String[] DATA_CHANNELS_TO_DELEGATE_COMMAND_FROM_READWRITE_TO_WRITE = { CHANNEL_SWITCH,
             CHANNEL_CONTACT, CHANNEL_DATETIME, CHANNEL_DIMMER, CHANNEL_NUMBER, CHANNEL_STRING, CHANNEL_ROLLERSHUTTER };
 
+    public static final long METRICS_UPDATE_INTERVAL_MILLIS = 10_000;
+
     public static final String WRITE_TYPE_COIL = "coil";
     public static final String WRITE_TYPE_HOLDING = "holding";
 
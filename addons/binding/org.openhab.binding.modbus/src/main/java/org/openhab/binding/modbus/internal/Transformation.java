@@ -15,8 +15,13 @@ package org.openhab.binding.modbus.internal;
 import static org.apache.commons.lang.StringUtils.isEmpty;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -29,7 +34,6 @@ import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.library.types.OnOffType;
 import org.eclipse.smarthome.core.library.types.OpenClosedType;
 import org.eclipse.smarthome.core.transform.TransformationException;
-import org.eclipse.smarthome.core.transform.TransformationHelper;
 import org.eclipse.smarthome.core.transform.TransformationService;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.State;
@@ -65,6 +69,29 @@ public class Transformation {
         DEFAULT_TYPES.add(OnOffType.class);
     }
 
+    /**
+     * Transformation services that are pure functions of the parameter and input. Results of these are memoized.
+     */
+    private static final Set<String> MEMOIZABLE_SERVICES = new HashSet<>(Arrays.asList("MAP", "REGEX", "JSONPATH"));
+    private static final int MEMO_MAX_SIZE = 128;
+    /**
+     * Memoized results are re-used at most this long, so that e.g. changes in MAP files are eventually noticed
+     */
+    private static final long MEMO_MAX_AGE_MILLIS = 10_000;
+
+    /**
+     * Memoized transformation result
+     */
+    private static class MemoizedResult {
+        private final String result;
+        private final long createdMillis;
+
+        public MemoizedResult(String result, long createdMillis) {
+            this.result = result;
+            this.createdMillis = createdMillis;
+        }
+    }
+
     private final Logger logger = LoggerFactory.getLogger(Transformation.class);
 
     private static StandardToStringStyle toStringStyle = new StandardToStringStyle();
@@ -80,6 +107,15 @@ public class Transformation {
     @Nullable
     private final String transformationServiceParam;
 
+    /**
+     * LRU cache from input to transformation output, used with memoizable transformation services. Guarded by itself.
+     */
+    private final @Nullable Map<String, MemoizedResult> memo;
+    /**
+     * Generation of the {@link TransformationServiceCache} the memoized results were computed with. Guarded by memo.
+     */
+    private long memoGeneration;
+
     /**
      *
      * @param transformation either FUN(VAL) (standard transformation syntax), default (identity transformation
@@ -110,6 +146,7 @@ public class Transformation {
                 transformationServiceParam = null;
             }
         }
+        memo = createMemo(transformationServiceName);
     }
 
     /**
@@ -124,6 +161,56 @@ public class Transformation {
         this.transformation = transformation;
         this.transformationServiceName = transformationServiceName;
         this.transformationServiceParam = transformationServiceParam;
+        this.memo = createMemo(transformationServiceName);
+    }
+
+    private static @Nullable Map<String, MemoizedResult> createMemo(@Nullable String transformationServiceName) {
+        if (transformationServiceName == null || !MEMOIZABLE_SERVICES.contains(transformationServiceName)) {
+            return null;
+        }
+        return new LinkedHashMap<String, MemoizedResult>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.@Nullable Entry<String, MemoizedResult> eldest) {
+                return size() > MEMO_MAX_SIZE;
+            }
+        };
+    }
+
+    private @Nullable String getMemoized(long generation, String value) {
+        Map<String, MemoizedResult> memo = this.memo;
+        if (memo == null) {
+            return null;
+        }
+        synchronized (memo) {
+            if (memoGeneration != generation) {
+                // transformation services have changed
+                memo.clear();
+                memoGeneration = generation;
+                return null;
+            }
+            MemoizedResult memoized = memo.get(value);
+            if (memoized == null) {
+                return null;
+            } else if (System.currentTimeMillis() - memoized.createdMillis > MEMO_MAX_AGE_MILLIS) {
+                memo.remove(value);
+                return null;
+            }
+            return memoized.result;
+        }
+    }
+
+    private void memoize(long generation, String value, String result) {
+        Map<String, MemoizedResult> memo = this.memo;
+        if (memo == null) {
+            return;
+        }
+        synchronized (memo) {
+            if (memoGeneration == generation) {
+                memo.put(value, new MemoizedResult(result, System.currentTimeMillis()));
+            }
+        }
     }
 
     public String transform(BundleContext context, String value) {
@@ -137,11 +224,20 @@ public class Transformation {
                     throw new TransformationException(
                             "transformation service parameter is missing! Invalid transform?");
                 }
+                TransformationServiceCache serviceCache = TransformationServiceCache.forContext(context);
+                long generation = serviceCache.getGeneration();
+                String memoized = getMemoized(generation, value);
+                if (memoized != null) {
+                    return memoized;
+                }
                 @Nullable
-                TransformationService transformationService = TransformationHelper.getTransformationService(context,
+                TransformationService transformationService = serviceCache.getTransformationService(context,
                         transformationServiceName);
                 if (transformationService != null) {
                     transformedResponse = transformationService.transform(transformationServiceParam, value);
+                    if (transformedResponse != null) {
+                        memoize(generation, value, transformedResponse);
+                    }
                 } else {
                     transformedResponse = value;
                     logger.warn("couldn't transform response because transformationService of type '{}' is unavailable",
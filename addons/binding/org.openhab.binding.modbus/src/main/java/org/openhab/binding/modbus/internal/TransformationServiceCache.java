@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.transform.TransformationHelper;
+import org.eclipse.smarthome.core.transform.TransformationService;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceEvent;
+import org.osgi.framework.ServiceListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of {@link TransformationService}s by service name, to avoid service registry lookups with every
+ * transformation.
+ *
+ * The cache is cleared whenever some transformation service is registered, modified or unregistered.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class TransformationServiceCache implements ServiceListener {
+
+    private static final String FILTER = "(objectClass=" + TransformationService.class.getName() + ")";
+
+    /**
+     * Caches per bundle context. Weak keys so that stale contexts (e.g. after bundle restart) are not retained.
+     */
+    private static final Map<BundleContext, TransformationServiceCache> CACHES = Collections
+            .synchronizedMap(new WeakHashMap<>());
+
+    private final Logger logger = LoggerFactory.getLogger(TransformationServiceCache.class);
+
+    private final Map<String, TransformationService> services = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Get cache for the given bundle context, registering the cache as service listener on first call
+     *
+     * @param context bundle context used to look up the services
+     * @return cache for the context
+     */
+    public static TransformationServiceCache forContext(BundleContext context) {
+        synchronized (CACHES) {
+            TransformationServiceCache cache = CACHES.get(context);
+            if (cache == null) {
+                cache = new TransformationServiceCache();
+                try {
+                    context.addServiceListener(cache, FILTER);
+                } catch (InvalidSyntaxException e) {
+                    // Should not happen, the filter is constant
+                    throw new IllegalStateException(e);
+                }
+                CACHES.put(context, cache);
+            }
+            return cache;
+        }
+    }
+
+    /**
+     * Get transformation service by name
+     *
+     * @param context bundle context used to look up the service, in case it is not cached
+     * @param name name of the transformation service, e.g. MAP
+     * @return transformation service, or null if the service is not available
+     */
+    public @Nullable TransformationService getTransformationService(BundleContext context, String name) {
+        TransformationService service = services.get(name);
+        if (service == null) {
+            long generationBeforeLookup = generation.get();
+            service = TransformationHelper.getTransformationService(context, name);
+            // Do not cache services looked up while the services were changing
+            if (service != null && generation.get() == generationBeforeLookup) {
+                services.put(name, service);
+            }
+        }
+        return service;
+    }
+
+    /**
+     * Get generation of the cache. The generation is increased every time the cache is cleared, and can be used to
+     * invalidate data derived from the services.
+     *
+     * @return current generation
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    @Override
+    public void serviceChanged(@Nullable ServiceEvent event) {
+        logger.trace("Transformation services changed, clearing cached services");
+        generation.incrementAndGet();
+        services.clear();
+    }
+}
@@ -30,6 +30,8 @@ public class ModbusPollerConfiguration {
     private String type;
     private int maxTries = 3;// backwards compatibility and tests
     private long cacheMillis = 50L;
+    private boolean changesOnly;
+    private long forcedRefreshMillis = 60000L;
 
     /**
      * Gets refresh period in milliseconds
@@ -117,4 +119,28 @@ public class ModbusPollerConfiguration {
         this.cacheMillis = cacheMillis;
     }
 
+    /**
+     * Gets whether polled data is passed only to data things reading changed registers, coils or discrete inputs
+     */
+    public boolean isChangesOnly() {
+        return changesOnly;
+    }
+
+    public void setChangesOnly(boolean changesOnly) {
+        this.changesOnly = changesOnly;
+    }
+
+    /**
+     * Gets interval for passing polled data to all data things, even when the data has not changed.
+     *
+     * Only applicable when {@link #isChangesOnly()}. Zero or negative value means that unchanged data is never passed.
+     */
+    public long getForcedRefreshMillis() {
+        return forcedRefreshMillis;
+    }
+
+    public void setForcedRefreshMillis(long forcedRefreshMillis) {
+        this.forcedRefreshMillis = forcedRefreshMillis;
+    }
+
 }
@@ -12,10 +12,15 @@
  */
 package org.openhab.binding.modbus.internal.handler;
 
+import static org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal.*;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.thing.Bridge;
 import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.thing.ThingStatus;
@@ -24,6 +29,7 @@ import org.eclipse.smarthome.core.thing.binding.BaseBridgeHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.openhab.binding.modbus.handler.ModbusEndpointThingHandler;
 import org.openhab.binding.modbus.internal.ModbusConfigurationException;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
 import org.openhab.io.transport.modbus.ModbusManager;
 import org.openhab.io.transport.modbus.ModbusManagerListener;
 import org.openhab.io.transport.modbus.endpoint.EndpointPoolConfiguration;
@@ -50,6 +56,8 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
     protected Supplier<ModbusManager> managerRef;
     @Nullable
     protected volatile EndpointPoolConfiguration poolConfiguration;
+    @Nullable
+    private volatile ScheduledFuture<?> metricsJob;
     private final Logger logger = LoggerFactory.getLogger(AbstractModbusEndpointThingHandler.class);
 
     public AbstractModbusEndpointThingHandler(Bridge bridge, Supplier<ModbusManager> managerRef) {
@@ -75,6 +83,8 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
                 managerRef.get().addListener(this);
                 managerRef.get().setEndpointPoolConfiguration(endpoint, poolConfiguration);
                 updateStatus(ThingStatus.ONLINE);
+                metricsJob = scheduler.scheduleWithFixedDelay(this::updateMetrics, METRICS_UPDATE_INTERVAL_MILLIS,
+                        METRICS_UPDATE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
             } catch (ModbusConfigurationException e) {
                 logger.debug("Exception during initialization", e);
                 updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR, String.format(
@@ -87,9 +97,42 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
 
     @Override
     public void dispose() {
+        ScheduledFuture<?> metricsJob = this.metricsJob;
+        if (metricsJob != null) {
+            metricsJob.cancel(false);
+            this.metricsJob = null;
+        }
         managerRef.get().removeListener(this);
     }
 
+    /**
+     * Update metrics channels with the current metrics of the endpoint
+     */
+    protected void updateMetrics() {
+        E endpoint = this.endpoint;
+        if (endpoint == null) {
+            return;
+        }
+        ModbusEndpointMetrics metrics = managerRef.get().getEndpointMetrics(endpoint);
+        if (metrics == null) {
+            return;
+        }
+        logger.trace("Updating metrics of {}: {}", endpoint, metrics);
+        updateMetricsChannel(CHANNEL_OPERATION_COUNT, metrics.getOperationCount());
+        updateMetricsChannel(CHANNEL_ERROR_COUNT, metrics.getErrorCount());
+        updateMetricsChannel(CHANNEL_RETRY_COUNT, metrics.getRetryCount());
+        updateMetricsChannel(CHANNEL_CONNECTION_ERROR_COUNT, metrics.getConnectionErrorCount());
+        updateMetricsChannel(CHANNEL_PENDING_OPERATIONS, metrics.getPendingOperations());
+        updateMetricsChannel(CHANNEL_BORROW_WAIT_P95, metrics.getBorrowWait().getP95Millis());
+        updateMetricsChannel(CHANNEL_TRANSACTION_TIME_P95, metrics.getTransactionTime().getP95Millis());
+    }
+
+    private void updateMetricsChannel(String channelId, long value) {
+        if (isLinked(channelId)) {
+            updateState(channelId, new DecimalType(value));
+        }
+    }
+
     @Override
     public @Nullable ModbusSlaveEndpoint asSlaveEndpoint() {
         return endpoint;
@@ -17,6 +17,7 @@ import static org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -634,6 +635,29 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
         });
     }
 
+    /**
+     * Check whether the data read by this thing has changed
+     *
+     * @param changed indices of changed registers, coils or discrete inputs, relative to the start of the poll
+     * @return whether any of the registers, coils or discrete inputs read by this thing are changed. Always true when
+     *         it cannot be determined, e.g. when the thing is not initialized.
+     */
+    public boolean isReadDataChanged(BitSet changed) {
+        ValueType readValueType = this.readValueType;
+        Optional<Integer> readIndex = this.readIndex;
+        if (!isReadEnabled || readValueType == null || !readIndex.isPresent()) {
+            return true;
+        }
+        int first = readIndex.get() - pollStart;
+        if (first < 0) {
+            return true;
+        }
+        // with less than 16 bit types, the value is within single register (or coil/discrete input)
+        int count = Math.max(1, readValueType.getBits() / 16);
+        int nextChanged = changed.nextSetBit(first);
+        return nextChanged >= 0 && nextChanged < first + count;
+    }
+
     @Override
     public synchronized void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
         if (hasConfigurationError()) {
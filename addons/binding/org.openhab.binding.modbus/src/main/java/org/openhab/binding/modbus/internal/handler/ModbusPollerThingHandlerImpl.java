@@ -13,8 +13,10 @@
 package org.openhab.binding.modbus.internal.handler;
 
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -23,6 +25,7 @@ import org.apache.commons.lang.StringUtils;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.thing.Bridge;
 import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.thing.Thing;
@@ -76,6 +79,13 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
         private volatile @Nullable AtomicStampedKeyValue<ModbusReadRequestBlueprint, BitArray> lastCoils;
         private volatile @Nullable AtomicStampedKeyValue<ModbusReadRequestBlueprint, Exception> lastError;
 
+        /**
+         * Last data passed to children, used to detect changes. Guarded by this instance.
+         */
+        private @Nullable ModbusReadRequestBlueprint lastDispatchedRequest;
+        private @Nullable Object lastDispatchedData;
+        private long lastFullDispatchMillis;
+
         @Override
         public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
             // Ignore all incoming data and errors if configuration is not correct
@@ -92,7 +102,13 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
             }
             logger.debug("Thing {} received registers {} for request {}", thing.getUID(), registers, request);
             resetCommunicationError();
-            childCallbacks.forEach(handler -> handler.onRegisters(request, registers));
+            BitSet changed = config.isChangesOnly() ? updateDispatchedData(request, registers) : null;
+            childCallbacks.forEach(handler -> {
+                if (isChangeRelevant(handler, changed)) {
+                    handler.onRegisters(request, registers);
+                }
+            });
+            updateEffectivePollPeriod();
         }
 
         @Override
@@ -111,7 +127,13 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
             }
             logger.debug("Thing {} received coils {} for request {}", thing.getUID(), coils, request);
             resetCommunicationError();
-            childCallbacks.forEach(handler -> handler.onBits(request, coils));
+            BitSet changed = config.isChangesOnly() ? updateDispatchedData(request, coils) : null;
+            childCallbacks.forEach(handler -> {
+                if (isChangeRelevant(handler, changed)) {
+                    handler.onBits(request, coils);
+                }
+            });
+            updateEffectivePollPeriod();
         }
 
         @Override
@@ -129,9 +151,78 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
                 }
             }
             logger.debug("Thing {} received error {} for request {}", thing.getUID(), error, request);
+            // Children go offline on error, make sure they receive the next data
+            resetDispatchedData();
             childCallbacks.forEach(handler -> handler.onError(request, error));
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR,
                     String.format("Error with read: %s: %s", error.getClass().getName(), error.getMessage()));
+            updateEffectivePollPeriod();
+        }
+
+        /**
+         * Store the data passed to children, and determine what has changed since the previous data
+         *
+         * @param request request of the data
+         * @param data registers or bits
+         * @return indices of changed registers or bits, relative to the start of poll. Null when all children should
+         *         receive the data: on first data, after errors, when the request changed, or when it is time for
+         *         forced refresh.
+         */
+        private synchronized @Nullable BitSet updateDispatchedData(ModbusReadRequestBlueprint request, Object data) {
+            long now = System.currentTimeMillis();
+            ModbusReadRequestBlueprint previousRequest = lastDispatchedRequest;
+            Object previousData = lastDispatchedData;
+            lastDispatchedRequest = request;
+            lastDispatchedData = data;
+
+            long forcedRefreshMillis = config.getForcedRefreshMillis();
+            if (previousRequest == null || previousData == null || !previousRequest.equals(request)
+                    || (forcedRefreshMillis > 0 && now - lastFullDispatchMillis >= forcedRefreshMillis)) {
+                lastFullDispatchMillis = now;
+                return null;
+            }
+            BitSet changed = new BitSet();
+            if (data instanceof ModbusRegisterArray && previousData instanceof ModbusRegisterArray) {
+                ModbusRegisterArray registers = (ModbusRegisterArray) data;
+                ModbusRegisterArray previousRegisters = (ModbusRegisterArray) previousData;
+                if (registers.size() != previousRegisters.size()) {
+                    lastFullDispatchMillis = now;
+                    return null;
+                }
+                for (int i = 0; i < registers.size(); i++) {
+                    if (registers.getUnsignedShort(i) != previousRegisters.getUnsignedShort(i)) {
+                        changed.set(i);
+                    }
+                }
+            } else if (data instanceof BitArray && previousData instanceof BitArray) {
+                BitArray bits = (BitArray) data;
+                BitArray previousBits = (BitArray) previousData;
+                if (bits.size() != previousBits.size()) {
+                    lastFullDispatchMillis = now;
+                    return null;
+                }
+                for (int i = 0; i < bits.size(); i++) {
+                    if (bits.getBit(i) != previousBits.getBit(i)) {
+                        changed.set(i);
+                    }
+                }
+            } else {
+                lastFullDispatchMillis = now;
+                return null;
+            }
+            return changed;
+        }
+
+        private synchronized void resetDispatchedData() {
+            lastDispatchedRequest = null;
+            lastDispatchedData = null;
+        }
+
+        private boolean isChangeRelevant(ModbusReadCallback handler, @Nullable BitSet changed) {
+            if (changed == null || !(handler instanceof ModbusDataThingHandler)) {
+                return true;
+            }
+            return ((ModbusDataThingHandler) handler).isReadDataChanged(changed);
         }
 
         private void resetCommunicationError() {
@@ -216,6 +307,7 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
             lastRegisters = null;
             lastCoils = null;
             lastError = null;
+            resetDispatchedData();
         }
     }
 
@@ -265,7 +357,7 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
 
     @Override
     public void handleCommand(ChannelUID channelUID, Command command) {
-        // No channels, no commands
+        // Only read-only channels, no commands
     }
 
     private @Nullable ModbusEndpointThingHandler getEndpointThingHandler() {
@@ -401,6 +493,8 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
     public void childHandlerInitialized(ThingHandler childHandler, Thing childThing) {
         if (childHandler instanceof ModbusReadCallback) {
             this.childCallbacks.add((ModbusReadCallback) childHandler);
+            // new child should receive the next data, changed or not
+            this.callbackDelegator.resetDispatchedData();
         }
     }
 
@@ -412,6 +506,21 @@ public class ModbusPollerThingHandlerImpl extends BaseBridgeHandler implements M
         }
     }
 
+    /**
+     * Update the effective poll period channel, if linked
+     */
+    private void updateEffectivePollPeriod() {
+        PollTask pollTask = this.pollTask;
+        if (pollTask == null || !isLinked(ModbusBindingConstantsInternal.CHANNEL_EFFECTIVE_POLL_PERIOD)) {
+            return;
+        }
+        OptionalLong effectivePollPeriod = managerRef.get().getEffectivePollPeriodMillis(pollTask);
+        if (effectivePollPeriod.isPresent()) {
+            updateState(ModbusBindingConstantsInternal.CHANNEL_EFFECTIVE_POLL_PERIOD,
+                    new DecimalType(effectivePollPeriod.getAsLong()));
+        }
+    }
+
     @Override
     public Supplier<ModbusManager> getManagerRef() {
         return managerRef;
@@ -59,6 +59,9 @@ public class ModbusSerialThingHandler
         this.poolConfiguration = poolConfiguration;
         poolConfiguration.setConnectMaxTries(config.getConnectMaxTries());
         poolConfiguration.setConnectTimeoutMillis(config.getConnectTimeoutMillis());
+        poolConfiguration.setCoalescePolls(config.isCoalescePolls());
+        poolConfiguration.setCoalescingMaxGap(config.getCoalescingMaxGap());
+        poolConfiguration.setAdaptivePolling(config.isAdaptivePolling());
         poolConfiguration.setInterTransactionDelayMillis(config.getTimeBetweenTransactionsMillis());
 
         // Never reconnect serial connections "automatically"
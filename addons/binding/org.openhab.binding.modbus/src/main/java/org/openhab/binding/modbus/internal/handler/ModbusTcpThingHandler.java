@@ -53,6 +53,10 @@ public class ModbusTcpThingHandler
         this.poolConfiguration = poolConfiguration;
         poolConfiguration.setConnectMaxTries(config.getConnectMaxTries());
         poolConfiguration.setConnectTimeoutMillis(config.getConnectTimeoutMillis());
+        poolConfiguration.setCoalescePolls(config.isCoalescePolls());
+        poolConfiguration.setCoalescingMaxGap(config.getCoalescingMaxGap());
+        poolConfiguration.setMaxInFlight(config.getMaxInFlight());
+        poolConfiguration.setAdaptivePolling(config.isAdaptivePolling());
         poolConfiguration.setInterConnectDelayMillis(config.getTimeBetweenReconnectMillis());
         poolConfiguration.setInterTransactionDelayMillis(config.getTimeBetweenTransactionsMillis());
         poolConfiguration.setReconnectAfterMillis(config.getReconnectAfterMillis());
@@ -0,0 +1,192 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.network.internal.discovery.SubnetSweep.AddressRange;
+
+/**
+ * Tests cases for {@see SubnetSweep}
+ *
+ * @author agent - Initial contribution
+ */
+public class SubnetSweepTest {
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Fake responder: Answers each host asynchronously after a millisecond and records
+     * the scanned addresses and the number of hosts being scanned at the same time.
+     */
+    private class FakeResponder implements SubnetSweep.HostScanner {
+        final Set<String> scanned = ConcurrentHashMap.newKeySet();
+        final AtomicInteger duplicates = new AtomicInteger();
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        @Override
+        public void scan(String ipAddress, Runnable finished) {
+            if (!scanned.add(ipAddress)) {
+                duplicates.incrementAndGet();
+            }
+            int now = running.incrementAndGet();
+            maxRunning.accumulateAndGet(now, Math::max);
+            scheduler.schedule(() -> {
+                running.decrementAndGet();
+                finished.run();
+            }, 1, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Before
+    public void setUp() {
+        scheduler = Executors.newScheduledThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void parseRange() {
+        AddressRange range = SubnetSweep.parseRange("192.168.1.77/24", 0);
+        assertThat(SubnetSweep.toIPv4String(range.first), is("192.168.1.1"));
+        assertThat(SubnetSweep.toIPv4String(range.last), is("192.168.1.254"));
+
+        range = SubnetSweep.parseRange("10.0.17.3/20", 0);
+        assertThat(SubnetSweep.toIPv4String(range.first), is("10.0.16.1"));
+        assertThat(SubnetSweep.toIPv4String(range.last), is("10.0.31.254"));
+        assertThat(range.size(), is(4094L));
+
+        range = SubnetSweep.parseRange("10.0.17.3/20", 100);
+        assertThat(range.size(), is(100L));
+
+        assertNull(SubnetSweep.parseRange("fe80::1/64", 0));
+        assertNull(SubnetSweep.parseRange("192.168.1.300/24", 0));
+        assertNull(SubnetSweep.parseRange("192.168.1.1", 0));
+    }
+
+    @Test
+    public void sweepSlash20WithConcurrencyLimit() throws InterruptedException {
+        SubnetSweep sweep = new SubnetSweep(Collections.singleton("10.0.17.3/20"), 0);
+        FakeResponder responder = new FakeResponder();
+        CountDownLatch done = new CountDownLatch(1);
+
+        long start = System.nanoTime();
+        // No rate limit, to measure the throughput of the pipeline itself
+        sweep.start(responder, scheduler, 6, 0, 64, 5000, done::countDown);
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        long elapsedMS = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(responder.scanned.size(), is(4094));
+        assertThat(responder.duplicates.get(), is(0));
+        assertTrue("Concurrency limit exceeded: " + responder.maxRunning.get(), responder.maxRunning.get() <= 64);
+        assertThat(sweep.getCompletedCount(), is(4094L));
+        assertTrue(sweep.isComplete());
+        // A sequential scan would take at least 4094ms with a 1ms responder
+        assertTrue("Sweep took " + elapsedMS + "ms", elapsedMS < 4094);
+    }
+
+    @Test
+    public void rateLimit() throws InterruptedException {
+        // 30 hosts, 2 probes each, 600 probes per second: at least 100ms
+        SubnetSweep sweep = new SubnetSweep(Collections.singleton("192.168.1.1/27"), 0);
+        FakeResponder responder = new FakeResponder();
+        CountDownLatch done = new CountDownLatch(1);
+
+        long start = System.nanoTime();
+        sweep.start(responder, scheduler, 2, 600, 64, 5000, done::countDown);
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        long elapsedMS = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(responder.scanned.size(), is(30));
+        assertTrue("Sweep took only " + elapsedMS + "ms", elapsedMS >= 90);
+    }
+
+    @Test
+    public void sweepDoesNotOccupySchedulerThread() throws InterruptedException {
+        ScheduledExecutorService singleThread = Executors.newSingleThreadScheduledExecutor();
+        try {
+            // 30 hosts, 10 probes per second: the sweep takes several seconds
+            SubnetSweep sweep = new SubnetSweep(Collections.singleton("192.168.1.1/27"), 0);
+            sweep.start((ip, finished) -> finished.run(), singleThread, 1, 10, 64, 5000, () -> {
+            });
+            CountDownLatch otherTask = new CountDownLatch(1);
+            singleThread.schedule(otherTask::countDown, 10, TimeUnit.MILLISECONDS);
+            assertTrue(otherTask.await(1, TimeUnit.SECONDS));
+            sweep.abort();
+        } finally {
+            singleThread.shutdownNow();
+        }
+    }
+
+    @Test
+    public void hostTimeout() throws InterruptedException {
+        SubnetSweep sweep = new SubnetSweep(Collections.singleton("192.168.1.1/29"), 0);
+        CountDownLatch done = new CountDownLatch(1);
+
+        // A scanner that never reports a host as done
+        sweep.start((ip, finished) -> {
+        }, scheduler, 1, 0, 2, 10, done::countDown);
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertTrue(sweep.isComplete());
+        assertThat(sweep.getCompletedCount(), is(6L));
+    }
+
+    @Test
+    public void abortAndResume() throws InterruptedException {
+        SubnetSweep sweep = new SubnetSweep(Collections.singleton("192.168.0.1/23"), 0);
+        FakeResponder responder = new FakeResponder();
+        CountDownLatch aborted = new CountDownLatch(1);
+
+        // 510 hosts at 1000 per second: abort in the middle
+        sweep.start(responder, scheduler, 1, 1000, 8, 5000, aborted::countDown);
+        Thread.sleep(100);
+        sweep.abort();
+        assertTrue(aborted.await(10, TimeUnit.SECONDS));
+        assertFalse(sweep.isComplete());
+        long completed = sweep.getCompletedCount();
+        assertThat(completed > 0 && completed < 510, is(true));
+
+        CountDownLatch done = new CountDownLatch(1);
+        sweep.start(responder, scheduler, 1, 0, 8, 5000, done::countDown);
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertTrue(sweep.isComplete());
+        assertThat(sweep.getCompletedCount(), is(510L));
+        assertThat(responder.scanned.size(), is(510));
+        // Only hosts being scanned at the time of abort are scanned twice
+        assertTrue(responder.duplicates.get() <= 8);
+    }
+
+    @Test
+    public void covers() {
+        SubnetSweep sweep = new SubnetSweep(Collections.singleton("192.168.1.1/24"), 0);
+        assertTrue(sweep.covers(Collections.singleton("192.168.1.77/24"), 0));
+        assertFalse(sweep.covers(Collections.singleton("192.168.2.1/24"), 0));
+        assertFalse(sweep.covers(Collections.singleton("192.168.1.1/24"), 100));
+    }
+}
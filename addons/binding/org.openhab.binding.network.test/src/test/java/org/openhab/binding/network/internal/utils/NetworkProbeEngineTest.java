@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Tests cases for {@see NetworkProbeEngine}
+ *
+ * @author agent - Initial contribution
+ */
+public class NetworkProbeEngineTest {
+    NetworkProbeEngine subject = new NetworkProbeEngine();
+
+    @Test
+    public void identicalProbesAreExecutedOnce() throws InterruptedException, ExecutionException, TimeoutException {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+
+        CompletableFuture<Double> first = subject.submit("icmp 192.168.0.1", 1000, () -> {
+            executions.incrementAndGet();
+            release.await();
+            return true;
+        });
+        CompletableFuture<Double> second = subject.submit("icmp 192.168.0.1", 1000, () -> {
+            executions.incrementAndGet();
+            return true;
+        });
+        assertThat(subject.getOutstandingProbeCount(), is(1));
+
+        release.countDown();
+        assertTrue(first.get(1, TimeUnit.SECONDS) >= 0);
+        assertThat(second.get(1, TimeUnit.SECONDS), is(first.get()));
+        assertThat(executions.get(), is(1));
+
+        // Finished probes are not shared
+        CompletableFuture<Double> third = subject.submit("icmp 192.168.0.1", 1000, () -> false);
+        assertThat(third.get(1, TimeUnit.SECONDS), is(NetworkProbeEngine.NOT_REACHABLE));
+        assertThat(subject.getOutstandingProbeCount(), is(0));
+    }
+
+    @Test
+    public void probesWithDifferentTimeoutsAreNotShared() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            subject.submit("icmp 192.168.0.1", 1000, () -> release.await(1, TimeUnit.SECONDS));
+            subject.submit("icmp 192.168.0.1", 2000, () -> release.await(1, TimeUnit.SECONDS));
+            assertThat(subject.getOutstandingProbeCount(), is(2));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void blockingProbesRunConcurrently() throws InterruptedException, ExecutionException, TimeoutException {
+        CountDownLatch started = new CountDownLatch(NetworkProbeEngine.MAX_CONCURRENT_BLOCKING_PROBES);
+        CountDownLatch release = new CountDownLatch(1);
+        List<CompletableFuture<Double>> running = new ArrayList<>();
+        try {
+            for (int i = 0; i < NetworkProbeEngine.MAX_CONCURRENT_BLOCKING_PROBES; ++i) {
+                running.add(subject.submit("icmp 10.0.0." + i, 1000, () -> {
+                    started.countDown();
+                    return release.await(2, TimeUnit.SECONDS);
+                }));
+            }
+            assertTrue(started.await(1, TimeUnit.SECONDS));
+            assertFalse(subject.hasQueuedProbes());
+
+            release.countDown();
+            for (CompletableFuture<Double> probe : running) {
+                assertTrue(probe.get(1, TimeUnit.SECONDS) >= 0);
+            }
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void cancelledQueuedProbesAreDropped() throws InterruptedException, ExecutionException, TimeoutException {
+        CountDownLatch release = new CountDownLatch(1);
+        List<CompletableFuture<Double>> running = new ArrayList<>();
+        try {
+            // Occupy all execution slots
+            for (int i = 0; running.size() < NetworkProbeEngine.MAX_CONCURRENT_BLOCKING_PROBES; ++i) {
+                running.add(subject.submit("icmp 10.0.0." + i, 1000, () -> release.await(2, TimeUnit.SECONDS)));
+            }
+            AtomicInteger executions = new AtomicInteger();
+            CompletableFuture<Double> queued = subject.submit("icmp 192.168.0.1", 1000,
+                    () -> executions.incrementAndGet() > 0);
+            assertTrue(subject.hasQueuedProbes());
+
+            queued.cancel(false);
+            assertFalse(subject.hasQueuedProbes());
+            assertThat(subject.getOutstandingProbeCount(), is(NetworkProbeEngine.MAX_CONCURRENT_BLOCKING_PROBES));
+
+            release.countDown();
+            for (CompletableFuture<Double> probe : running) {
+                assertTrue(probe.get(1, TimeUnit.SECONDS) >= 0);
+            }
+            assertThat(executions.get(), is(0));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void servicePingReachable() throws IOException, InterruptedException, ExecutionException, TimeoutException {
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            double latency = subject.servicePing("127.0.0.1", serverSocket.getLocalPort(), 1000).get(2,
+                    TimeUnit.SECONDS);
+            assertTrue(latency >= 0);
+        }
+    }
+
+    @Test
+    public void servicePingRefused() throws IOException, InterruptedException, ExecutionException, TimeoutException {
+        int port;
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            port = serverSocket.getLocalPort();
+        }
+        double latency = subject.servicePing("127.0.0.1", port, 1000).get(2, TimeUnit.SECONDS);
+        assertThat(latency, is(NetworkProbeEngine.NOT_REACHABLE));
+    }
+}
@@ -28,11 +28,15 @@ public class NetworkBindingConfiguration {
     public Boolean allowDHCPlisten = true;
     public BigDecimal cacheDeviceStateTimeInMS = BigDecimal.valueOf(2000);
     public String arpPingToolPath = "arping";
+    public BigDecimal discoveryProbesPerSecond = BigDecimal.valueOf(200);
+    public BigDecimal discoveryMaxHostsPerInterface = BigDecimal.valueOf(4096);
 
     public void update(NetworkBindingConfiguration newConfiguration) {
         this.allowSystemPings = newConfiguration.allowSystemPings;
         this.allowDHCPlisten = newConfiguration.allowDHCPlisten;
         this.cacheDeviceStateTimeInMS = newConfiguration.cacheDeviceStateTimeInMS;
         this.arpPingToolPath = newConfiguration.arpPingToolPath;
+        this.discoveryProbesPerSecond = newConfiguration.discoveryProbesPerSecond;
+        this.discoveryMaxHostsPerInterface = newConfiguration.discoveryMaxHostsPerInterface;
     }
 }
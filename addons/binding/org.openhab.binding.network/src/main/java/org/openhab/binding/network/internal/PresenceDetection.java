@@ -12,18 +12,21 @@
  */
 package org.openhab.binding.network.internal;
 
-import java.io.IOException;
 import java.net.Inet4Address;
 import java.net.InetAddress;
 import java.net.SocketException;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 import org.apache.commons.lang.StringUtils;
@@ -32,6 +35,8 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.network.internal.dhcp.DHCPListenService;
 import org.openhab.binding.network.internal.dhcp.IPRequestReceivedCallback;
 import org.openhab.binding.network.internal.toberemoved.cache.ExpiringCacheAsync;
+import org.openhab.binding.network.internal.utils.NetworkProbeEngine;
+import org.openhab.binding.network.internal.utils.NetworkProbeEngine.BlockingProbe;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
 import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
 import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
@@ -46,8 +51,9 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class PresenceDetection implements IPRequestReceivedCallback {
-    public static final double NOT_REACHABLE = -1;
+    public static final double NOT_REACHABLE = NetworkProbeEngine.NOT_REACHABLE;
     NetworkUtils networkUtils = new NetworkUtils();
+    NetworkProbeEngine probeEngine = NetworkProbeEngine.getInstance();
     private final Logger logger = LoggerFactory.getLogger(PresenceDetection.class);
 
     /// Configuration variables
@@ -71,7 +77,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     ExpiringCacheAsync<PresenceDetectionValue> cache;
     private final PresenceDetectionListener updateListener;
     private @Nullable ScheduledFuture<?> refreshJob;
-    protected @Nullable ExecutorService executorService;
+    protected volatile @Nullable List<CompletableFuture<?>> ongoingProbes;
     private String dhcpState = "off";
     Integer currentCheck = 0;
     int detectionChecks;
@@ -150,6 +156,37 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         }
     }
 
+    /**
+     * Sets the ping method without a feature test, for example a method already determined
+     * by {@link NetworkUtils#determinePingMethod()}.
+     *
+     * @param pingMethod The ping method, or null to disable ICMP pings.
+     */
+    public void setIcmpPingMethod(@Nullable IpPingMethodEnum pingMethod) {
+        this.pingMethod = pingMethod;
+        ipPingState = pingMethod == null ? "Disabled" : pingMethod.name();
+    }
+
+    /**
+     * Enables ARP pings with the given arp ping tool, without a feature test. Will be disabled if
+     * the destination is not an IPv4 address, or the tool is unknown.
+     *
+     * @param arpPingMethod The tool, as determined by {@link NetworkUtils#determineNativeARPpingMethod(String)}
+     * @param arpPingUtilPath The file path to the utility
+     */
+    public void setArpPingMethod(ArpPingUtilEnum arpPingMethod, String arpPingUtilPath) {
+        this.arpPingUtilPath = arpPingUtilPath;
+        if (arpPingMethod == ArpPingUtilEnum.UNKNOWN_TOOL) {
+            arpPingState = "Disabled";
+            this.arpPingMethod = null;
+        } else if (destination == null || !(destination instanceof Inet4Address)) {
+            arpPingState = "Destination is IPv4";
+            this.arpPingMethod = null;
+        } else {
+            this.arpPingMethod = arpPingMethod;
+        }
+    }
+
     /**
      * Enables or disables ARP pings. Will be automatically disabled if the destination
      * is not an IPv4 address. If the feature test for the native arping utility fails,
@@ -218,14 +255,10 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         cache.getValue(callback);
     }
 
-    public ExecutorService getThreadsFor(int threadCount) {
-        return Executors.newFixedThreadPool(threadCount);
-    }
-
     /**
      * Perform a presence detection with ICMP-, ARP ping and
-     * TCP connection attempts simultaneously. A fixed thread pool will be created with as many
-     * thread as necessary to perform all tests at once.
+     * TCP connection attempts simultaneously. The probes are executed by the {@link NetworkProbeEngine} shared by
+     * all presence detections.
      *
      * This is a NO-OP, if there is already an ongoing detection or if the cached value
      * is not expired yet.
@@ -239,7 +272,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * @return Return true if a presence detection is performed and false otherwise.
      */
     public boolean performPresenceDetection(boolean waitForDetectionToFinish) {
-        if (executorService != null) {
+        if (ongoingProbes != null) {
             logger.debug(
                     "There is already an ongoing presence discovery for {} and a new one was issued by the scheduler! TCP Port {}",
                     hostname, tcpPorts);
@@ -266,39 +299,23 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             return false;
         }
 
-        final ExecutorService executorService = getThreadsFor(detectionChecks);
-        this.executorService = executorService;
+        final List<CompletableFuture<?>> probes = new ArrayList<>(detectionChecks);
+        this.ongoingProbes = probes;
 
         for (Integer tcpPort : tcpPorts) {
-            executorService.execute(() -> {
-                Thread.currentThread().setName("presenceDetectionTCP_" + hostname + " " + String.valueOf(tcpPort));
-                performServicePing(tcpPort);
-                checkIfFinished();
-            });
+            addProbe(probes, performServicePing(tcpPort));
         }
 
-        // ARP ping for IPv4 addresses. Use an own executor for each network interface
+        // ARP ping for IPv4 addresses. Use an own probe for each network interface
         if (interfaceNames != null) {
             for (final String interfaceName : interfaceNames) {
-                executorService.execute(() -> {
-                    Thread.currentThread().setName("presenceDetectionARP_" + hostname + " " + interfaceName);
-                    performARPping(interfaceName);
-                    checkIfFinished();
-                });
+                addProbe(probes, performARPping(interfaceName));
             }
         }
 
         // ICMP ping
         if (pingMethod != null) {
-            executorService.execute(() -> {
-                if (pingMethod != IpPingMethodEnum.JAVA_PING) {
-                    Thread.currentThread().setName("presenceDetectionICMP_" + hostname);
-                    performSystemPing();
-                } else {
-                    performJavaPing();
-                }
-                checkIfFinished();
-            });
+            addProbe(probes, pingMethod != IpPingMethodEnum.JAVA_PING ? performSystemPing() : performJavaPing());
         }
 
         if (waitForDetectionToFinish) {
@@ -308,22 +325,30 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         return true;
     }
 
+    /**
+     * Track a probe of the presence detection. The probe is cancelled when the detection process finishes.
+     */
+    private void addProbe(List<CompletableFuture<?>> probes, CompletableFuture<?> probe) {
+        probes.add(probe);
+        probe.whenComplete((result, error) -> checkIfFinished(probes));
+    }
+
     /**
      * Calls updateListener.finalDetectionResult() with a final result value.
      * Safe to be called from different threads. After a call to this method,
-     * the presence detection process is finished and all threads are forcefully
-     * shut down.
+     * the presence detection process is finished and results of still running
+     * probes are ignored.
      */
     private synchronized void submitFinalResult() {
         // Do nothing if we are not in a detection process
-        ExecutorService service = executorService;
-        if (service == null) {
+        List<CompletableFuture<?>> probes = ongoingProbes;
+        if (probes == null) {
             return;
         }
         // Finish the detection process
-        service.shutdownNow();
-        executorService = null;
+        ongoingProbes = null;
         detectionChecks = 0;
+        probes.forEach(probe -> probe.cancel(false));
 
         PresenceDetectionValue v;
 
@@ -346,7 +371,11 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * happen way before the "timeoutInMS", if all checks were successful.
      * Thread safe.
      */
-    private synchronized void checkIfFinished() {
+    private synchronized void checkIfFinished(List<CompletableFuture<?>> probes) {
+        if (ongoingProbes != probes) {
+            // Late result of an already finished detection process
+            return;
+        }
         currentCheck += 1;
         if (currentCheck < detectionChecks) {
             return;
@@ -355,23 +384,41 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     }
 
     /**
-     * Waits for the presence detection threads to finish. Returns immediately
+     * Waits for the presence detection probes to finish. Returns immediately
      * if no presence detection is performed right now.
      */
     public void waitForPresenceDetection() {
-        ExecutorService service = executorService;
-        if (service == null) {
+        List<CompletableFuture<?>> probes = ongoingProbes;
+        if (probes == null) {
             return;
         }
+        CompletableFuture<Void> allProbes = CompletableFuture.allOf(probes.toArray(new CompletableFuture<?>[0]));
         try {
             // We may get interrupted here by cancelRefreshJob().
-            service.awaitTermination(timeoutInMS + 100, TimeUnit.MILLISECONDS);
-            submitFinalResult();
+            while (true) {
+                try {
+                    allProbes.get(timeoutInMS + 100, TimeUnit.MILLISECONDS);
+                    break;
+                } catch (TimeoutException e) {
+                    // The timeout of a queued probe only starts when it is executed
+                    if (!probeEngine.hasQueuedProbes()) {
+                        break;
+                    }
+                }
+            }
+        } catch (ExecutionException e) {
+            // Failed probes are logged already, and timed out probes are just not reachable
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt(); // Reset interrupt flag
-            service.shutdownNow();
-            executorService = null;
+            synchronized (this) {
+                if (ongoingProbes == probes) {
+                    ongoingProbes = null;
+                }
+            }
+            probes.forEach(probe -> probe.cancel(false));
+            return;
         }
+        submitFinalResult();
     }
 
     /**
@@ -399,20 +446,25 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         return v;
     }
 
-    protected void performServicePing(int tcpPort) {
+    /**
+     * Performs a TCP connection attempt to the given port.
+     *
+     * @param tcpPort The tcp port
+     * @return Completes when the probe has finished
+     */
+    protected CompletableFuture<?> performServicePing(int tcpPort) {
         logger.trace("Perform TCP presence detection for {} on port: {}", hostname, tcpPort);
-        try {
-            double pingTime = System.nanoTime();
-            if (networkUtils.servicePing(destination.getHostAddress(), tcpPort, timeoutInMS)) {
-                final double latency = Math.round((System.nanoTime() - pingTime) / 1000000.0f);
-                PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.TCP_CONNECTION, latency);
-                v.addReachableTcpService(tcpPort);
-                updateListener.partialDetectionResult(v);
-            }
-        } catch (IOException e) {
-            // This should not happen and might be a user configuration issue, we log a warning message therefore.
-            logger.warn("Could not create a socket connection", e);
-        }
+        return onProbeResult(probeEngine.servicePing(destination.getHostAddress(), tcpPort, timeoutInMS),
+                (latency, error) -> {
+                    if (error != null) {
+                        // This should not happen and might be a user configuration issue, we log a warning therefore.
+                        logger.warn("Could not create a socket connection", error);
+                    } else if (latency >= 0) {
+                        PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.TCP_CONNECTION, latency);
+                        v.addReachableTcpService(tcpPort);
+                        updateListener.partialDetectionResult(v);
+                    }
+                });
     }
 
     /**
@@ -422,26 +474,28 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      *
      * @param interfaceName The interface name. You can request a list of interface names
      *            from {@see NetworkUtils.getInterfaceNames()} for example.
+     * @return Completes when the probe has finished
      */
-    protected void performARPping(String interfaceName) {
-        try {
-            logger.trace("Perform ARP ping presence detection for {} on interface: {}", hostname, interfaceName);
-            if (iosDevice) {
-                networkUtils.wakeUpIOS(destination);
-                Thread.sleep(50);
-            }
-            double pingTime = System.nanoTime();
-            if (networkUtils.nativeARPPing(arpPingMethod, arpPingUtilPath, interfaceName, destination.getHostAddress(),
-                    timeoutInMS)) {
-                final double latency = Math.round((System.nanoTime() - pingTime) / 1000000.0f);
+    protected CompletableFuture<?> performARPping(String interfaceName) {
+        logger.trace("Perform ARP ping presence detection for {} on interface: {}", hostname, interfaceName);
+        final String hostAddress = destination.getHostAddress();
+        CompletableFuture<Double> probe = probeEngine.submit("arp " + interfaceName + " " + hostAddress, timeoutInMS,
+                () -> {
+                    if (iosDevice) {
+                        networkUtils.wakeUpIOS(destination);
+                        Thread.sleep(50);
+                    }
+                    return networkUtils.nativeARPPing(arpPingMethod, arpPingUtilPath, interfaceName, hostAddress,
+                            timeoutInMS);
+                });
+        return onProbeResult(probe, (latency, error) -> {
+            if (error != null) {
+                logger.trace("Failed to execute an arp ping for ip {}", hostname, error);
+            } else if (latency >= 0) {
                 PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ARP_PING, latency);
                 updateListener.partialDetectionResult(v);
             }
-        } catch (IOException e) {
-            logger.trace("Failed to execute an arp ping for ip {}", hostname, e);
-        } catch (InterruptedException ignored) {
-            // This can be ignored, the thread will end anyway
-        }
+        });
     }
 
     /**
@@ -449,35 +503,54 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * and will not work on windows systems reliably and will fall back from ICMP pings to
      * the TCP echo service on port 7 which barely no device or server supports nowadays.
      * (http://docs.oracle.com/javase/7/docs/api/java/net/InetAddress.html#isReachable%28int%29)
+     *
+     * @return Completes when the probe has finished
      */
-    protected void performJavaPing() {
-        try {
-            logger.trace("Perform java ping presence detection for {}", hostname);
-            double pingTime = System.nanoTime();
-            if (destination.isReachable(timeoutInMS)) {
-                final double latency = Math.round((System.nanoTime() - pingTime) / 1000000.0f);
+    protected CompletableFuture<?> performJavaPing() {
+        logger.trace("Perform java ping presence detection for {}", hostname);
+        CompletableFuture<Double> probe = probeEngine.submit("java " + destination.getHostAddress(), timeoutInMS,
+                () -> destination.isReachable(timeoutInMS));
+        return onProbeResult(probe, (latency, error) -> {
+            if (error != null) {
+                logger.trace("Failed to execute a java ping for ip {}", hostname, error);
+            } else if (latency >= 0) {
                 PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ICMP_PING, latency);
                 updateListener.partialDetectionResult(v);
             }
-        } catch (IOException e) {
-            logger.trace("Failed to execute a java ping for ip {}", hostname, e);
-        }
+        });
     }
 
-    protected void performSystemPing() {
-        try {
-            logger.trace("Perform native ping presence detection for {}", hostname);
-            double pingTime = System.nanoTime();
-            if (networkUtils.nativePing(pingMethod, destination.getHostAddress(), timeoutInMS)) {
-                final double latency = Math.round((System.nanoTime() - pingTime) / 1000000.0f);
+    /**
+     * Performs a ping with the native ping utility.
+     *
+     * @return Completes when the probe has finished
+     */
+    protected CompletableFuture<?> performSystemPing() {
+        logger.trace("Perform native ping presence detection for {}", hostname);
+        final String hostAddress = destination.getHostAddress();
+        BlockingProbe probe = () -> networkUtils.nativePing(pingMethod, hostAddress, timeoutInMS);
+        return onProbeResult(probeEngine.submit("icmp " + hostAddress, timeoutInMS, probe), (latency, error) -> {
+            if (error != null) {
+                logger.trace("Failed to execute a native ping for ip {}", hostname, error);
+            } else if (latency >= 0) {
                 PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ICMP_PING, latency);
                 updateListener.partialDetectionResult(v);
             }
-        } catch (IOException e) {
-            logger.trace("Failed to execute a native ping for ip {}", hostname, e);
-        } catch (InterruptedException e) {
-            // This can be ignored, the thread will end anyway
-        }
+        });
+    }
+
+    /**
+     * Run the given action when the probe has completed. Cancelling the returned stage cancels the probe as well.
+     */
+    private static CompletableFuture<?> onProbeResult(CompletableFuture<Double> probe,
+            BiConsumer<Double, @Nullable Throwable> action) {
+        CompletableFuture<Double> stage = probe.whenComplete(action);
+        stage.whenComplete((latency, error) -> {
+            if (stage.isCancelled()) {
+                probe.cancel(false);
+            }
+        });
+        return stage;
     }
 
     @Override
@@ -20,8 +20,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -37,7 +35,10 @@ import org.openhab.binding.network.internal.NetworkBindingConfiguration;
 import org.openhab.binding.network.internal.PresenceDetection;
 import org.openhab.binding.network.internal.PresenceDetectionListener;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
+import org.openhab.binding.network.internal.utils.NetworkProbeEngine;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
+import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
@@ -57,7 +58,10 @@ import org.slf4j.LoggerFactory;
 @Component(service = DiscoveryService.class, immediate = true, configurationPid = "discovery.network")
 public class NetworkDiscoveryService extends AbstractDiscoveryService implements PresenceDetectionListener {
     static final int PING_TIMEOUT_IN_MS = 500;
-    static final int MAXIMUM_IPS_PER_INTERFACE = 255;
+    /// A host is considered done after this time, even if not all probes have returned
+    static final int HOST_TIMEOUT_IN_MS = 5000;
+    /// The native ping utilities take about a second for a host that does not respond
+    private static final int UNREACHABLE_HOST_DURATION_IN_MS = 1000;
     private static final long DISCOVERY_RESULT_TTL = TimeUnit.MINUTES.toSeconds(10);
     private final Logger logger = LoggerFactory.getLogger(NetworkDiscoveryService.class);
 
@@ -66,15 +70,13 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     // TCP port 1025 (Xbox / MS-RPC)
     private Set<Integer> tcpServicePorts = Collections
             .unmodifiableSet(Stream.of(80, 548, 554, 1025).collect(Collectors.toSet()));
-    private Integer scannedIPcount = 0;
-    private @Nullable ExecutorService executorService = null;
+    private @Nullable SubnetSweep sweep;
     private final NetworkBindingConfiguration configuration = new NetworkBindingConfiguration();
     private final NetworkUtils networkUtils = new NetworkUtils();
 
     public NetworkDiscoveryService() {
-        super(SUPPORTED_THING_TYPES_UIDS, (int) Math.round(
-                new NetworkUtils().getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE).size() * (PING_TIMEOUT_IN_MS / 1000.0)),
-                false);
+        // The scan timeout depends on the configuration, see getScanTimeout()
+        super(SUPPORTED_THING_TYPES_UIDS, 0, false);
     }
 
     @Override
@@ -118,67 +120,121 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Starts the DiscoveryThread for each IP on each interface on the network
+     * Return how long a full sweep takes, assuming that most hosts do not respond. The sweep is limited by the
+     * configured probe rate and by the number of hosts that are scanned at the same time.
+     */
+    @Override
+    public int getScanTimeout() {
+        long hosts = new SubnetSweep(networkUtils.getInterfaceIPs(),
+                configuration.discoveryMaxHostsPerInterface.intValue()).getTotalCount();
+        int arpInterfaces = networkUtils.getInterfaceNames().size();
+        double probesPerSecond = Math.max(1, configuration.discoveryProbesPerSecond.doubleValue());
+        double rateLimitedSeconds = hosts * getProbesPerHost(arpInterfaces) / probesPerSecond;
+        double concurrencyLimitedSeconds = hosts * UNREACHABLE_HOST_DURATION_IN_MS / 1000.0
+                / getMaxConcurrentHosts(arpInterfaces);
+        return (int) Math.ceil(Math.max(rateLimitedSeconds, concurrencyLimitedSeconds)) + HOST_TIMEOUT_IN_MS / 1000;
+    }
+
+    private int getProbesPerHost(int arpInterfaces) {
+        // TCP service pings + ICMP ping + ARP ping per interface
+        return tcpServicePorts.size() + 1 + arpInterfaces;
+    }
+
+    /**
+     * ICMP and ARP pings of a host are executed in parallel by the probe engine. Scan only as many hosts at the same
+     * time as the engine executes, so that the host timeout is not spent waiting in the probe queue.
+     */
+    private int getMaxConcurrentHosts(int arpInterfaces) {
+        return Math.max(1, NetworkProbeEngine.MAX_CONCURRENT_BLOCKING_PROBES / (1 + arpInterfaces));
+    }
+
+    /**
+     * Sweeps all IPs on each interface on the network. A previously aborted sweep of the same networks is resumed.
      */
     @Override
     protected void startScan() {
-        final ExecutorService service = executorService;
-        if (service == null) {
-            return;
+        final Set<String> interfaceIPs = networkUtils.getInterfaceIPs();
+        final int maxHostsPerInterface = configuration.discoveryMaxHostsPerInterface.intValue();
+        SubnetSweep sweep = this.sweep;
+        if (sweep == null || sweep.isComplete() || !sweep.covers(interfaceIPs, maxHostsPerInterface)) {
+            removeOlderResults(getTimestampOfLastScan(), null);
+            sweep = new SubnetSweep(interfaceIPs, maxHostsPerInterface);
+            this.sweep = sweep;
         }
-        removeOlderResults(getTimestampOfLastScan(), null);
         logger.trace("Starting Network Device Discovery");
 
-        final Set<String> networkIPs = networkUtils.getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE);
-        executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
-        scannedIPcount = 0;
-
-        for (String ip : networkIPs) {
-            final PresenceDetection s = new PresenceDetection(this, 2000);
-            try {
-                s.setHostname(ip);
-            } catch (UnknownHostException unknownHostException) {
-                logger.trace("Skip IP that cannot be converted to a InetAddress", unknownHostException);
-                continue;
-            }
-            s.setIOSDevice(true);
-            s.setUseDhcpSniffing(false);
-            s.setTimeout(PING_TIMEOUT_IN_MS);
-            // Ping devices
-            s.setUseIcmpPing(true);
-            s.setUseArpPing(true, configuration.arpPingToolPath);
-            // TCP devices
-            s.setServicePorts(tcpServicePorts);
-
-            service.execute(() -> {
-                Thread.currentThread().setName("Discovery thread " + ip);
-                s.performPresenceDetection(true);
-                synchronized (scannedIPcount) {
-                    scannedIPcount += 1;
-                    if (scannedIPcount == networkIPs.size()) {
-                        logger.trace("Scan of {} IPs successful", scannedIPcount);
+        // Feature tests are done once per sweep instead of once per host
+        final IpPingMethodEnum pingMethod = networkUtils.determinePingMethod();
+        final ArpPingUtilEnum arpPingMethod = networkUtils
+                .determineNativeARPpingMethod(configuration.arpPingToolPath);
+        final int arpInterfaces = arpPingMethod == ArpPingUtilEnum.UNKNOWN_TOOL ? 0
+                : networkUtils.getInterfaceNames().size();
+
+        final SubnetSweep startedSweep = sweep;
+        sweep.start((ip, finished) -> scanHost(ip, pingMethod, arpPingMethod, finished), scheduler,
+                getProbesPerHost(arpInterfaces), configuration.discoveryProbesPerSecond.doubleValue(),
+                getMaxConcurrentHosts(arpInterfaces), HOST_TIMEOUT_IN_MS, () -> {
+                    if (startedSweep.isComplete()) {
+                        logger.trace("Scan of {} IPs successful", startedSweep.getCompletedCount());
                         stopScan();
                     }
-                }
-            });
+                });
+    }
+
+    /**
+     * Start the presence detection of a single host. Does not block.
+     *
+     * @param ip The IP address of the host
+     * @param pingMethod The ping method
+     * @param arpPingMethod The arp ping tool
+     * @param finished Called when the presence detection has finished
+     */
+    private void scanHost(String ip, IpPingMethodEnum pingMethod, ArpPingUtilEnum arpPingMethod,
+            Runnable finished) {
+        final PresenceDetection s = new PresenceDetection(new PresenceDetectionListener() {
+            @Override
+            public void partialDetectionResult(PresenceDetectionValue value) {
+                NetworkDiscoveryService.this.partialDetectionResult(value);
+            }
+
+            @Override
+            public void finalDetectionResult(PresenceDetectionValue value) {
+                finished.run();
+            }
+        }, 2000);
+        try {
+            s.setHostname(ip);
+        } catch (UnknownHostException unknownHostException) {
+            logger.trace("Skip IP that cannot be converted to a InetAddress", unknownHostException);
+            finished.run();
+            return;
+        }
+        s.setIOSDevice(true);
+        s.setUseDhcpSniffing(false);
+        s.setTimeout(PING_TIMEOUT_IN_MS);
+        // Ping devices
+        s.setIcmpPingMethod(pingMethod);
+        s.setArpPingMethod(arpPingMethod, configuration.arpPingToolPath);
+        // TCP devices
+        s.setServicePorts(tcpServicePorts);
+
+        if (!s.performPresenceDetection(false)) {
+            finished.run();
         }
     }
 
     @Override
     protected synchronized void stopScan() {
         super.stopScan();
-        final ExecutorService service = executorService;
-        if (service == null) {
+        final SubnetSweep sweep = this.sweep;
+        if (sweep == null) {
             return;
         }
-
-        try {
-            service.awaitTermination(PING_TIMEOUT_IN_MS, TimeUnit.MILLISECONDS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt(); // Reset interrupt flag
+        sweep.abort();
+        if (!sweep.isComplete()) {
+            logger.debug("Network scan stopped after {} of {} IPs, the next scan resumes from there",
+                    sweep.getCompletedCount(), sweep.getTotalCount());
         }
-        service.shutdown();
-        executorService = null;
     }
 
     public static ThingUID createServiceUID(String ip, int tcpPort) {
@@ -0,0 +1,412 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sweeps the IPv4 host addresses of one or more subnets, with a limited probe rate and a limited number of hosts
+ * being scanned at the same time.
+ *
+ * Hosts are scanned asynchronously: the {@link HostScanner} starts all probes of a host and reports when the host is
+ * done. Hosts not reported done within the host timeout are considered done anyway, so that a lost result cannot stall
+ * the sweep.
+ *
+ * An aborted sweep can be resumed by starting it again. The sweep then continues from the first host that was not
+ * finished, so that at most the hosts being scanned at the time of abort are scanned twice.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SubnetSweep {
+
+    /**
+     * Scans a single host
+     */
+    @FunctionalInterface
+    public interface HostScanner {
+        /**
+         * Start scanning the host. Must not block.
+         *
+         * @param ipAddress The IPv4 address of the host
+         * @param finished To be called when all probes of the host have finished
+         */
+        void scan(String ipAddress, Runnable finished);
+    }
+
+    /**
+     * Range of IPv4 addresses, inclusive
+     */
+    static class AddressRange {
+        final long first;
+        final long last;
+
+        AddressRange(long first, long last) {
+            this.first = first;
+            this.last = last;
+        }
+
+        long size() {
+            return last - first + 1;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            return obj instanceof AddressRange && ((AddressRange) obj).first == first
+                    && ((AddressRange) obj).last == last;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(first) * 31 + Long.hashCode(last);
+        }
+    }
+
+    private static final int PROGRESS_LOG_STEPS = 10;
+
+    private final Logger logger = LoggerFactory.getLogger(SubnetSweep.class);
+    private final List<AddressRange> ranges;
+    private final long totalCount;
+
+    /// Offset of the first host that is not known to be finished. Used to resume an aborted sweep.
+    private volatile long resumeOffset;
+    private final ConcurrentSkipListSet<Long> unfinishedOffsets = new ConcurrentSkipListSet<>();
+    private final AtomicLong completedCount = new AtomicLong();
+    private volatile boolean aborted;
+    /// Incremented on each start, so that late results of an aborted run are not counted
+    private volatile int generation;
+    private @Nullable Run run;
+
+    /**
+     * Create a sweep of the host addresses of the given subnets
+     *
+     * @param interfaceIPs Subnets in the format ip/prefix-length, as returned by
+     *            {@link org.openhab.binding.network.internal.utils.NetworkUtils#getInterfaceIPs()}. Non IPv4 entries
+     *            are ignored.
+     * @param maximumPerInterface The maximum of IP addresses per subnet or 0 to sweep all.
+     */
+    public SubnetSweep(Set<String> interfaceIPs, int maximumPerInterface) {
+        List<AddressRange> ranges = new ArrayList<>();
+        for (String interfaceIP : interfaceIPs) {
+            AddressRange range = parseRange(interfaceIP, maximumPerInterface);
+            if (range != null && !ranges.contains(range)) {
+                ranges.add(range);
+            }
+        }
+        this.ranges = Collections.unmodifiableList(ranges);
+        this.totalCount = ranges.stream().mapToLong(AddressRange::size).sum();
+    }
+
+    /**
+     * Parse the host address range of a subnet given as ip/prefix-length
+     *
+     * @return The range or null if the subnet is not an IPv4 subnet
+     */
+    static @Nullable AddressRange parseRange(String interfaceIP, int maximumPerInterface) {
+        String[] parts = interfaceIP.split("/");
+        if (parts.length != 2) {
+            return null;
+        }
+        String[] octets = parts[0].split("\\.");
+        if (octets.length != 4) {
+            return null;
+        }
+        long address = 0;
+        int prefixLength;
+        try {
+            for (String octet : octets) {
+                int value = Integer.parseInt(octet);
+                if (value < 0 || value > 255) {
+                    return null;
+                }
+                address = (address << 8) | value;
+            }
+            prefixLength = Integer.parseInt(parts[1]);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (prefixLength < 0 || prefixLength > 32) {
+            return null;
+        }
+        long mask = (0xFFFFFFFFL << (32 - prefixLength)) & 0xFFFFFFFFL;
+        long network = address & mask;
+        long broadcast = network | (~mask & 0xFFFFFFFFL);
+        long first = network;
+        long last = broadcast;
+        if (prefixLength < 31) {
+            // Exclude network and broadcast addresses
+            first += 1;
+            last -= 1;
+        }
+        if (maximumPerInterface > 0) {
+            last = Math.min(last, first + maximumPerInterface - 1);
+        }
+        return new AddressRange(first, last);
+    }
+
+    static String toIPv4String(long address) {
+        return ((address >> 24) & 0xFF) + "." + ((address >> 16) & 0xFF) + "." + ((address >> 8) & 0xFF) + "."
+                + (address & 0xFF);
+    }
+
+    private String addressAt(long offset) {
+        long remaining = offset;
+        for (AddressRange range : ranges) {
+            if (remaining < range.size()) {
+                return toIPv4String(range.first + remaining);
+            }
+            remaining -= range.size();
+        }
+        throw new IndexOutOfBoundsException("No host with offset " + offset);
+    }
+
+    /**
+     * Return the number of hosts to sweep in total
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Return the number of hosts scanned, including hosts scanned before the sweep was resumed
+     */
+    public long getCompletedCount() {
+        return completedCount.get();
+    }
+
+    /**
+     * Return true if all hosts have been scanned
+     */
+    public boolean isComplete() {
+        return resumeOffset >= totalCount && unfinishedOffsets.isEmpty();
+    }
+
+    /**
+     * Return true if the given subnets result in the same hosts as swept by this sweep
+     */
+    public boolean covers(Set<String> interfaceIPs, int maximumPerInterface) {
+        return new SubnetSweep(interfaceIPs, maximumPerInterface).ranges.equals(ranges);
+    }
+
+    /**
+     * Start or resume the sweep. NO-OP if the sweep is already running.
+     *
+     * The sweep does not occupy a thread of the scheduler while waiting. Hosts are started when a scanned host has
+     * finished or when the probe rate allows the next host.
+     *
+     * @param scanner Scans individual hosts
+     * @param scheduler Runs the rate limiting ticks and the host timeouts
+     * @param probesPerHost How many probes are sent to each host, used for the rate limiting
+     * @param probesPerSecond Maximum probe rate
+     * @param maxConcurrentHosts Maximum number of hosts being scanned at the same time
+     * @param hostTimeoutInMS Time after which a host is considered done even if not reported done
+     * @param finished Called when the sweep has finished or has been aborted
+     */
+    public void start(HostScanner scanner, ScheduledExecutorService scheduler, int probesPerHost,
+            double probesPerSecond, int maxConcurrentHosts, long hostTimeoutInMS, Runnable finished) {
+        Run run;
+        synchronized (this) {
+            Run running = this.run;
+            if (running != null && !running.isDone()) {
+                return;
+            }
+            aborted = false;
+            generation += 1;
+            // Resume from the first host not finished during the previous run. All hosts before it are finished.
+            Long firstUnfinished = unfinishedOffsets.isEmpty() ? null : unfinishedOffsets.first();
+            if (firstUnfinished != null) {
+                resumeOffset = firstUnfinished;
+                completedCount.set(firstUnfinished);
+                unfinishedOffsets.clear();
+            }
+            long startOffset = resumeOffset;
+            if (startOffset > 0) {
+                logger.debug("Resuming network sweep at host {} of {}", startOffset, totalCount);
+            }
+            long nanosPerHost = probesPerSecond > 0
+                    ? (long) (TimeUnit.SECONDS.toNanos(1) * Math.max(1, probesPerHost) / probesPerSecond)
+                    : 0;
+            run = new Run(scanner, scheduler, generation, startOffset, nanosPerHost, Math.max(1, maxConcurrentHosts),
+                    hostTimeoutInMS, finished);
+            this.run = run;
+        }
+        run.dispatch();
+    }
+
+    /**
+     * Stop dispatching new hosts. Hosts being scanned are allowed to finish.
+     */
+    public void abort() {
+        aborted = true;
+        Run running;
+        synchronized (this) {
+            running = run;
+        }
+        if (running != null) {
+            running.dispatch();
+        }
+    }
+
+    /**
+     * A single run of the sweep, from its start until it has finished or has been aborted
+     */
+    private class Run {
+        private final HostScanner scanner;
+        private final ScheduledExecutorService scheduler;
+        private final int runGeneration;
+        private final long nanosPerHost;
+        private final int maxConcurrentHosts;
+        private final long hostTimeoutInMS;
+        private final Runnable finished;
+        private final long progressStep = Math.max(1, totalCount / PROGRESS_LOG_STEPS);
+
+        // guarded by this
+        private long nextOffset;
+        private long nextDispatchNanos = System.nanoTime();
+        private int activeHosts;
+        private boolean dispatching;
+        private boolean done;
+        private @Nullable ScheduledFuture<?> tick;
+
+        Run(HostScanner scanner, ScheduledExecutorService scheduler, int runGeneration, long startOffset,
+                long nanosPerHost, int maxConcurrentHosts, long hostTimeoutInMS, Runnable finished) {
+            this.scanner = scanner;
+            this.scheduler = scheduler;
+            this.runGeneration = runGeneration;
+            this.nextOffset = startOffset;
+            this.nanosPerHost = nanosPerHost;
+            this.maxConcurrentHosts = maxConcurrentHosts;
+            this.hostTimeoutInMS = hostTimeoutInMS;
+            this.finished = finished;
+        }
+
+        synchronized boolean isDone() {
+            return done;
+        }
+
+        /**
+         * Start as many hosts as the concurrency limit and the probe rate allow. Reports the end of the run if all
+         * hosts have been scanned or the sweep has been aborted.
+         */
+        void dispatch() {
+            if (dispatchHosts()) {
+                logger.debug("Network sweep {}: {} of {} hosts scanned", aborted ? "aborted" : "finished",
+                        completedCount.get(), totalCount);
+                finished.run();
+            }
+        }
+
+        /**
+         * @return true if the run has ended with this call
+         */
+        private synchronized boolean dispatchHosts() {
+            if (done || dispatching) {
+                return false;
+            }
+            if (aborted || (nextOffset >= totalCount && activeHosts == 0)) {
+                // Aborted: unfinished hosts are scanned again when the sweep is resumed
+                done = true;
+                ScheduledFuture<?> pendingTick = tick;
+                if (pendingTick != null) {
+                    pendingTick.cancel(false);
+                    tick = null;
+                }
+                return true;
+            }
+            if (tick != null) {
+                // The next host is started by the pending tick
+                return false;
+            }
+            dispatching = true;
+            try {
+                while (nextOffset < totalCount && activeHosts < maxConcurrentHosts && !aborted) {
+                    long now = System.nanoTime();
+                    long waitNanos = nextDispatchNanos - now;
+                    if (waitNanos > 0) {
+                        tick = scheduler.schedule(this::onTick, waitNanos, TimeUnit.NANOSECONDS);
+                        break;
+                    }
+                    // Do not accumulate a burst allowance if dispatching was held back by concurrency
+                    nextDispatchNanos = now + nanosPerHost;
+                    startHost(nextOffset++);
+                }
+            } finally {
+                dispatching = false;
+            }
+            // Hosts may have finished synchronously while dispatching
+            if (nextOffset >= totalCount && activeHosts == 0) {
+                done = true;
+                return true;
+            }
+            return false;
+        }
+
+        private void onTick() {
+            synchronized (this) {
+                tick = null;
+            }
+            dispatch();
+        }
+
+        private void startHost(long hostOffset) {
+            final AtomicBoolean hostDone = new AtomicBoolean();
+            final AtomicReference<@Nullable ScheduledFuture<?>> timeout = new AtomicReference<>();
+            final Runnable hostFinished = () -> {
+                if (!hostDone.compareAndSet(false, true)) {
+                    return;
+                }
+                ScheduledFuture<?> timeoutFuture = timeout.get();
+                if (timeoutFuture != null) {
+                    timeoutFuture.cancel(false);
+                }
+                if (generation == runGeneration) {
+                    unfinishedOffsets.remove(hostOffset);
+                    long completed = completedCount.incrementAndGet();
+                    if (completed % progressStep == 0) {
+                        logger.debug("Network sweep progress: {} of {} hosts scanned", completed, totalCount);
+                    }
+                }
+                // Counted last, so that the sweep is only reported finished after all hosts are accounted
+                synchronized (this) {
+                    activeHosts--;
+                }
+                dispatch();
+            };
+            activeHosts++;
+            unfinishedOffsets.add(hostOffset);
+            resumeOffset = hostOffset + 1;
+            timeout.set(scheduler.schedule(hostFinished, hostTimeoutInMS, TimeUnit.MILLISECONDS));
+            try {
+                scanner.scan(addressAt(hostOffset), hostFinished);
+            } catch (RuntimeException e) {
+                logger.debug("Failed to scan host {}", addressAt(hostOffset), e);
+                hostFinished.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,461 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.NoRouteToHostException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.UnresolvedAddressException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shared engine for executing the presence probes of all hosts.
+ *
+ * TCP service pings are performed in-process with non-blocking sockets, all of them handled by a single selector
+ * thread. ICMP and ARP pings require the native utilities. They are queued and executed in a dedicated thread pool,
+ * limiting the number of concurrently running processes. The timeout of a queued probe starts when the probe is
+ * executed, not when it is queued. The timeouts are watched from a separate scheduler, which is never blocked by the
+ * probes.
+ *
+ * Outstanding probes are tracked in one place: a probe requested while an identical probe is still running or queued
+ * is not executed again, but shares the result of that probe. A queued probe is dropped if all its requesters cancel
+ * their result.
+ *
+ * Probe results are latencies in milliseconds, or {@link #NOT_REACHABLE} if the host did not respond.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class NetworkProbeEngine {
+    public static final double NOT_REACHABLE = -1;
+
+    /**
+     * Probe that blocks until the host has responded or the probe has timed out
+     */
+    @FunctionalInterface
+    public interface BlockingProbe {
+        /**
+         * @return true if the host responded
+         */
+        boolean execute() throws IOException, InterruptedException;
+    }
+
+    /**
+     * A probe with all of its requesters
+     */
+    private static class Probe {
+        final String key;
+        final CompletableFuture<Double> result = new CompletableFuture<>();
+        // guarded by the engine
+        int requesters;
+        boolean started;
+
+        Probe(String key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * A blocking probe waiting for execution
+     */
+    private static class QueuedProbe extends Probe {
+        final BlockingProbe probe;
+        final int timeoutInMS;
+
+        QueuedProbe(String key, BlockingProbe probe, int timeoutInMS) {
+            super(key);
+            this.probe = probe;
+            this.timeoutInMS = timeoutInMS;
+        }
+    }
+
+    private static class PendingConnect {
+        final SocketChannel channel;
+        final CompletableFuture<Double> result;
+        final long startNanos;
+        final long deadlineNanos;
+
+        PendingConnect(SocketChannel channel, CompletableFuture<Double> result, long startNanos, long timeoutInMS) {
+            this.channel = channel;
+            this.result = result;
+            this.startNanos = startNanos;
+            this.deadlineNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(timeoutInMS);
+        }
+
+        void finish(double latency) {
+            closeQuietly(channel);
+            result.complete(latency);
+        }
+    }
+
+    public static final String THREAD_POOL_NAME = "networkProbe";
+    private static final String SELECTOR_THREAD_POOL_NAME = "networkProbeSelector";
+    public static final int MAX_CONCURRENT_BLOCKING_PROBES = 16;
+    private static final int MAX_QUEUED_BLOCKING_PROBES = 1024;
+    /// Grace period for blocking probes to return after their own timeout
+    private static final long BLOCKING_PROBE_GRACE_MS = 1000;
+    private static final long SELECT_TIMEOUT_MS = 50;
+    private static final long IDLE_THREAD_TIMEOUT_S = 60;
+
+    private static @Nullable NetworkProbeEngine instance;
+
+    private final Logger logger = LoggerFactory.getLogger(NetworkProbeEngine.class);
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(THREAD_POOL_NAME);
+    // one thread per running blocking probe, the threads terminate when idle
+    private final ThreadPoolExecutor blockingExecutor = createBlockingExecutor();
+    private final ExecutorService selectorExecutor = ThreadPoolManager.getPool(SELECTOR_THREAD_POOL_NAME);
+    // guarded by this
+    private final Map<String, Probe> outstandingProbes = new HashMap<>();
+    private final Deque<QueuedProbe> queuedProbes = new ArrayDeque<>();
+    private int runningProbes;
+    private final Queue<PendingConnect> pendingConnects = new ConcurrentLinkedQueue<>();
+    private @Nullable Selector selector;
+
+    /**
+     * Return the engine shared by all presence detections
+     */
+    public static synchronized NetworkProbeEngine getInstance() {
+        NetworkProbeEngine engine = instance;
+        if (engine == null) {
+            engine = new NetworkProbeEngine();
+            instance = engine;
+        }
+        return engine;
+    }
+
+    /**
+     * Return the number of probes currently executing or waiting for execution
+     */
+    public synchronized int getOutstandingProbeCount() {
+        return outstandingProbes.size();
+    }
+
+    /**
+     * Return true if blocking probes are waiting for execution
+     */
+    public synchronized boolean hasQueuedProbes() {
+        return !queuedProbes.isEmpty();
+    }
+
+    /**
+     * Execute a blocking probe, e.g. a native ping, in the shared thread pool. The probe is queued if too many
+     * blocking probes are running already.
+     *
+     * @param probeKey Identifies the probe, including the probed host and the probe method. If a probe with the same
+     *            key and timeout is already running or queued, its result is returned instead of executing the probe
+     *            again.
+     * @param timeoutInMS The timeout of the probe. Starts when the probe is executed. The result is
+     *            {@link #NOT_REACHABLE} if the probe did not return within the timeout and a short grace period.
+     * @param probe The probe
+     * @return Latency of the probe or {@link #NOT_REACHABLE}. Completes exceptionally if the probe could not be
+     *         executed. Cancel the result to drop the probe from the queue, if nobody else waits for it.
+     */
+    public CompletableFuture<Double> submit(String probeKey, int timeoutInMS, BlockingProbe probe) {
+        String key = probeKey + " " + timeoutInMS;
+        return request(key, () -> new QueuedProbe(key, probe, timeoutInMS), this::enqueue);
+    }
+
+    /**
+     * Try to establish a tcp connection to the given port, without blocking the caller.
+     *
+     * @param host The IP address
+     * @param port The tcp port. Must be not 0.
+     * @param timeoutInMS Timeout in ms
+     * @return Latency of establishing the connection or {@link #NOT_REACHABLE} if a timeout occurred or the connection
+     *         was denied. Completes exceptionally on other errors.
+     */
+    public CompletableFuture<Double> servicePing(String host, int port, int timeoutInMS) {
+        String key = "tcp " + host + ":" + port + " " + timeoutInMS;
+        return request(key, () -> new Probe(key), probe -> {
+            probe.started = true;
+            connect(probe.result, host, port, timeoutInMS);
+        });
+    }
+
+    /**
+     * Return a result for the probe with the given key, starting the probe if it is not outstanding yet
+     */
+    private <P extends Probe> CompletableFuture<Double> request(String key, Supplier<P> factory, Consumer<P> starter) {
+        P created = null;
+        Probe probe;
+        synchronized (this) {
+            probe = outstandingProbes.get(key);
+            if (probe == null) {
+                created = factory.get();
+                probe = created;
+                outstandingProbes.put(key, probe);
+            } else {
+                logger.trace("Probe {} is already outstanding, sharing its result", key);
+            }
+            probe.requesters++;
+        }
+
+        final Probe shared = probe;
+        CompletableFuture<Double> result = new CompletableFuture<>();
+        result.whenComplete((latency, error) -> {
+            if (result.isCancelled()) {
+                cancel(shared);
+            }
+        });
+        shared.result.whenComplete((latency, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(latency);
+            }
+        });
+
+        if (created != null) {
+            created.result.whenComplete((latency, error) -> finished(shared));
+            starter.accept(created);
+        }
+        return result;
+    }
+
+    /**
+     * A requester is no longer interested in the result. Drop the probe if it was not started yet and nobody else
+     * waits for it.
+     */
+    private void cancel(Probe probe) {
+        synchronized (this) {
+            probe.requesters--;
+            if (probe.requesters > 0 || probe.started) {
+                return;
+            }
+            queuedProbes.remove(probe);
+        }
+        probe.result.cancel(false);
+    }
+
+    private synchronized void finished(Probe probe) {
+        outstandingProbes.remove(probe.key, probe);
+    }
+
+    private void enqueue(QueuedProbe probe) {
+        synchronized (this) {
+            if (queuedProbes.size() < MAX_QUEUED_BLOCKING_PROBES) {
+                queuedProbes.add(probe);
+                dispatch();
+                return;
+            }
+        }
+        probe.result.completeExceptionally(new RejectedExecutionException("Too many outstanding network probes"));
+    }
+
+    /**
+     * Start queued probes as long as the limit of running probes is not reached
+     */
+    private synchronized void dispatch() {
+        QueuedProbe probe;
+        while (runningProbes < MAX_CONCURRENT_BLOCKING_PROBES && (probe = queuedProbes.poll()) != null) {
+            probe.started = true;
+            runningProbes++;
+            final QueuedProbe next = probe;
+            blockingExecutor.execute(() -> execute(next));
+        }
+    }
+
+    private static ThreadPoolExecutor createBlockingExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_CONCURRENT_BLOCKING_PROBES,
+                MAX_CONCURRENT_BLOCKING_PROBES, IDLE_THREAD_TIMEOUT_S, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, THREAD_POOL_NAME + "-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private void execute(QueuedProbe probe) {
+        CompletableFuture<Double> result = probe.result;
+        ScheduledFuture<?> timeout = scheduler.schedule(() -> {
+            if (result.complete(NOT_REACHABLE)) {
+                logger.debug("Probe {} did not return in time", probe.key);
+            }
+        }, probe.timeoutInMS + BLOCKING_PROBE_GRACE_MS, TimeUnit.MILLISECONDS);
+        try {
+            long startNanos = System.nanoTime();
+            result.complete(probe.probe.execute() ? latencySince(startNanos) : NOT_REACHABLE);
+        } catch (IOException | RuntimeException e) {
+            result.completeExceptionally(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Reset interrupt flag
+            result.complete(NOT_REACHABLE);
+        } finally {
+            timeout.cancel(false);
+            synchronized (this) {
+                runningProbes--;
+                dispatch();
+            }
+        }
+    }
+
+    private void connect(CompletableFuture<Double> result, String host, int port, int timeoutInMS) {
+        SocketChannel channel = null;
+        try {
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            long startNanos = System.nanoTime();
+            if (channel.connect(new InetSocketAddress(host, port))) {
+                closeQuietly(channel);
+                result.complete(latencySince(startNanos));
+                return;
+            }
+            pendingConnects.add(new PendingConnect(channel, result, startNanos, timeoutInMS));
+            wakeUpSelector();
+        } catch (ConnectException | NoRouteToHostException | UnresolvedAddressException e) {
+            closeQuietly(channel);
+            result.complete(NOT_REACHABLE);
+        } catch (IOException e) {
+            closeQuietly(channel);
+            result.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Wake up the selector thread to register new connections, starting the thread if not running
+     */
+    private synchronized void wakeUpSelector() throws IOException {
+        Selector selector = this.selector;
+        if (selector != null) {
+            selector.wakeup();
+            return;
+        }
+        Selector newSelector = Selector.open();
+        this.selector = newSelector;
+        selectorExecutor.execute(() -> runSelector(newSelector));
+    }
+
+    /**
+     * Stop the selector thread if there is nothing to do
+     *
+     * @return true if the thread should stop
+     */
+    private synchronized boolean stopSelectorIfIdle(Selector selector) {
+        if (!selector.keys().isEmpty() || !pendingConnects.isEmpty()) {
+            return false;
+        }
+        this.selector = null;
+        try {
+            selector.close();
+        } catch (IOException ignored) {
+        }
+        return true;
+    }
+
+    private void runSelector(Selector selector) {
+        try {
+            while (true) {
+                PendingConnect pending;
+                while ((pending = pendingConnects.poll()) != null) {
+                    try {
+                        pending.channel.register(selector, SelectionKey.OP_CONNECT, pending);
+                    } catch (ClosedChannelException e) {
+                        pending.finish(NOT_REACHABLE);
+                    }
+                }
+
+                long now = System.nanoTime();
+                for (SelectionKey key : selector.keys()) {
+                    PendingConnect connect = (PendingConnect) key.attachment();
+                    if (key.isValid() && now - connect.deadlineNanos >= 0) {
+                        key.cancel();
+                        connect.finish(NOT_REACHABLE);
+                    }
+                }
+
+                if (stopSelectorIfIdle(selector)) {
+                    return;
+                }
+
+                selector.select(SELECT_TIMEOUT_MS);
+                Iterator<SelectionKey> selected = selector.selectedKeys().iterator();
+                while (selected.hasNext()) {
+                    SelectionKey key = selected.next();
+                    selected.remove();
+                    PendingConnect connect = (PendingConnect) key.attachment();
+                    key.cancel();
+                    try {
+                        connect.channel.finishConnect();
+                        connect.finish(latencySince(connect.startNanos));
+                    } catch (IOException e) {
+                        connect.finish(NOT_REACHABLE);
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Network probe selector failed, pending service pings are not answered", e);
+            synchronized (this) {
+                if (this.selector == selector) {
+                    this.selector = null;
+                }
+            }
+            if (selector.isOpen()) {
+                for (SelectionKey key : selector.keys()) {
+                    ((PendingConnect) key.attachment()).finish(NOT_REACHABLE);
+                }
+                try {
+                    selector.close();
+                } catch (IOException ignored) {
+                }
+            }
+            PendingConnect pending;
+            while ((pending = pendingConnects.poll()) != null) {
+                pending.finish(NOT_REACHABLE);
+            }
+        }
+    }
+
+    private static double latencySince(long startNanos) {
+        return Math.round((System.nanoTime() - startNanos) / 1000000.0f);
+    }
+
+    private static void closeQuietly(@Nullable SocketChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
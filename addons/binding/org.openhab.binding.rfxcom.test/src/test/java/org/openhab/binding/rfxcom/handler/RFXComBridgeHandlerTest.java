@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.rfxcom.handler;
+
+import static org.junit.Assert.*;
+import static org.openhab.binding.rfxcom.RFXComBindingConstants.BRIDGE_MANUAL;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.eclipse.smarthome.core.thing.binding.builder.BridgeBuilder;
+import org.eclipse.smarthome.core.util.HexUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.rfxcom.internal.DeviceMessageListener;
+import org.openhab.binding.rfxcom.internal.exceptions.RFXComException;
+import org.openhab.binding.rfxcom.internal.messages.RFXComBaseMessage.PacketType;
+import org.openhab.binding.rfxcom.internal.messages.RFXComDeviceMessage;
+import org.openhab.binding.rfxcom.internal.messages.RFXComMessageFactory;
+
+/**
+ * Test for the routing of device messages by the {@link RFXComBridgeHandler}
+ *
+ * @author agent - Initial contribution
+ */
+public class RFXComBridgeHandlerTest {
+    /**
+     * Temperature sensor with device id 1
+     */
+    private static final String KNOWN_DEVICE_MESSAGE = "08500110000180BC69";
+    /**
+     * Temperature sensor with device id 64257
+     */
+    private static final String UNKNOWN_DEVICE_MESSAGE = "0850021DFB0100D770";
+
+    private static class RecordingListener implements DeviceMessageListener {
+        private final List<RFXComDeviceMessage> messages = new ArrayList<>();
+
+        @Override
+        public void onDeviceMessageReceived(ThingUID bridge, RFXComDeviceMessage message) {
+            messages.add(message);
+        }
+    }
+
+    private RFXComBridgeHandler handler;
+    private RecordingListener deviceListener;
+    private RecordingListener otherDeviceListener;
+    private RecordingListener discoveryListener;
+
+    @Before
+    public void setUp() {
+        handler = new RFXComBridgeHandler(BridgeBuilder.create(BRIDGE_MANUAL, "bridge").build());
+        deviceListener = new RecordingListener();
+        otherDeviceListener = new RecordingListener();
+        discoveryListener = new RecordingListener();
+        handler.registerDeviceStatusListener(discoveryListener);
+        handler.registerDeviceMessageListener(PacketType.TEMPERATURE, "1", deviceListener);
+        handler.registerDeviceMessageListener(PacketType.TEMPERATURE, "2", otherDeviceListener);
+    }
+
+    private static RFXComDeviceMessage message(String hexMessage) throws RFXComException {
+        return (RFXComDeviceMessage) RFXComMessageFactory.createMessage(HexUtils.hexToBytes(hexMessage));
+    }
+
+    @Test
+    public void testKnownDeviceReachesOnlyItsListener() throws RFXComException {
+        RFXComDeviceMessage message = message(KNOWN_DEVICE_MESSAGE);
+
+        handler.dispatchDeviceMessage(message);
+
+        assertEquals(1, deviceListener.messages.size());
+        assertSame(message, deviceListener.messages.get(0));
+        assertTrue(otherDeviceListener.messages.isEmpty());
+        assertTrue(discoveryListener.messages.isEmpty());
+    }
+
+    @Test
+    public void testUnknownDeviceReachesDiscovery() throws RFXComException {
+        RFXComDeviceMessage message = message(UNKNOWN_DEVICE_MESSAGE);
+
+        handler.dispatchDeviceMessage(message);
+
+        assertEquals(1, discoveryListener.messages.size());
+        assertSame(message, discoveryListener.messages.get(0));
+        assertTrue(deviceListener.messages.isEmpty());
+        assertTrue(otherDeviceListener.messages.isEmpty());
+    }
+
+    @Test
+    public void testUnregisteredDeviceIsNotRouted() throws RFXComException {
+        assertTrue(handler.unregisterDeviceStatusListener(deviceListener));
+
+        handler.dispatchDeviceMessage(message(KNOWN_DEVICE_MESSAGE));
+
+        assertTrue(deviceListener.messages.isEmpty());
+        assertEquals(1, discoveryListener.messages.size());
+    }
+
+    @Test
+    public void testReregisteredListenerIsBoundToNewDeviceOnly() throws RFXComException {
+        handler.registerDeviceMessageListener(PacketType.TEMPERATURE, "64257", deviceListener);
+
+        handler.dispatchDeviceMessage(message(KNOWN_DEVICE_MESSAGE));
+        handler.dispatchDeviceMessage(message(UNKNOWN_DEVICE_MESSAGE));
+
+        assertEquals(1, deviceListener.messages.size());
+        assertEquals("64257", deviceListener.messages.get(0).getDeviceId());
+        assertEquals(1, discoveryListener.messages.size());
+        assertEquals("1", discoveryListener.messages.get(0).getDeviceId());
+    }
+}
@@ -13,8 +13,11 @@
 package org.openhab.binding.rfxcom.handler;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledFuture;
@@ -39,6 +42,7 @@ import org.openhab.binding.rfxcom.internal.connector.RFXComTcpConnector;
 import org.openhab.binding.rfxcom.internal.exceptions.RFXComException;
 import org.openhab.binding.rfxcom.internal.exceptions.RFXComMessageNotImplementedException;
 import org.openhab.binding.rfxcom.internal.messages.RFXComBaseMessage;
+import org.openhab.binding.rfxcom.internal.messages.RFXComBaseMessage.PacketType;
 import org.openhab.binding.rfxcom.internal.messages.RFXComDeviceMessage;
 import org.openhab.binding.rfxcom.internal.messages.RFXComInterfaceControlMessage;
 import org.openhab.binding.rfxcom.internal.messages.RFXComInterfaceMessage;
@@ -65,8 +69,18 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
     private RFXComConnectorInterface connector = null;
     private MessageListener eventListener = new MessageListener();
 
+    /**
+     * Listeners which are not bound to a single device (e.g. the discovery service). They only receive the messages
+     * which are not claimed by any device listener.
+     */
     private List<DeviceMessageListener> deviceStatusListeners = new CopyOnWriteArrayList<>();
 
+    /**
+     * Listeners of a single device, indexed by packet type and device id so that a received message is handed only to
+     * the handlers of the device which sent it.
+     */
+    private Map<PacketType, Map<String, List<DeviceMessageListener>>> deviceMessageListeners = new ConcurrentHashMap<>();
+
     private RFXComBridgeConfiguration configuration = null;
     private ScheduledFuture<?> connectorTask;
 
@@ -124,6 +138,7 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
         for (DeviceMessageListener deviceStatusListener : deviceStatusListeners) {
             unregisterDeviceStatusListener(deviceStatusListener);
         }
+        deviceMessageListeners.clear();
 
         if (connector != null) {
             connector.removeEventListener(eventListener);
@@ -290,15 +305,7 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
 
                     transmitQueue.sendNext();
                 } else if (message instanceof RFXComDeviceMessage) {
-                    for (DeviceMessageListener deviceStatusListener : deviceStatusListeners) {
-                        try {
-                            deviceStatusListener.onDeviceMessageReceived(getThing().getUID(),
-                                    (RFXComDeviceMessage) message);
-                        } catch (Exception e) {
-                            // catch all exceptions give all handlers a fair chance of handling the messages
-                            logger.error("An exception occurred while calling the DeviceStatusListener", e);
-                        }
-                    }
+                    dispatchDeviceMessage((RFXComDeviceMessage) message);
                 } else {
                     logger.warn("The received message cannot be processed, please create an "
                             + "issue at the relevant tracker. Received message: {}", message);
@@ -319,7 +326,29 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
         }
     }
 
-    public boolean registerDeviceStatusListener(DeviceMessageListener deviceStatusListener) {
+    /**
+     * Passes a device message to the listeners of the device which sent it, or to the listeners which are not bound
+     * to a single device if no thing is known for the device.
+     *
+     * @param deviceMessage the received message
+     */
+    void dispatchDeviceMessage(RFXComDeviceMessage deviceMessage) {
+        List<DeviceMessageListener> listeners = getDeviceMessageListeners(deviceMessage);
+        if (listeners.isEmpty()) {
+            // no thing known for this device, let the discovery have a look at it
+            listeners = deviceStatusListeners;
+        }
+        for (DeviceMessageListener deviceStatusListener : listeners) {
+            try {
+                deviceStatusListener.onDeviceMessageReceived(getThing().getUID(), deviceMessage);
+            } catch (Exception e) {
+                // catch all exceptions give all handlers a fair chance of handling the messages
+                logger.error("An exception occurred while calling the DeviceStatusListener", e);
+            }
+        }
+    }
+
+    public synchronized boolean registerDeviceStatusListener(DeviceMessageListener deviceStatusListener) {
         if (deviceStatusListener == null) {
             throw new IllegalArgumentException("It's not allowed to pass a null deviceStatusListener.");
         }
@@ -327,11 +356,47 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
                 : deviceStatusListeners.add(deviceStatusListener);
     }
 
-    public boolean unregisterDeviceStatusListener(DeviceMessageListener deviceStatusListener) {
+    public synchronized boolean unregisterDeviceStatusListener(DeviceMessageListener deviceStatusListener) {
         if (deviceStatusListener == null) {
             throw new IllegalArgumentException("It's not allowed to pass a null deviceStatusListener.");
         }
-        return deviceStatusListeners.remove(deviceStatusListener);
+        boolean removed = deviceStatusListeners.remove(deviceStatusListener);
+        for (Map<String, List<DeviceMessageListener>> listenersById : deviceMessageListeners.values()) {
+            for (List<DeviceMessageListener> listeners : listenersById.values()) {
+                removed |= listeners.remove(deviceStatusListener);
+            }
+            listenersById.values().removeIf(List::isEmpty);
+        }
+        return removed;
+    }
+
+    /**
+     * Registers a listener for the messages of a single device. Messages of other devices are not passed to it.
+     *
+     * @param packetType the packet type of the device
+     * @param deviceId the id of the device as reported by {@link RFXComDeviceMessage#getDeviceId()}
+     * @param deviceMessageListener the listener to register
+     * @return true if the listener was not registered for this device before
+     */
+    public synchronized boolean registerDeviceMessageListener(PacketType packetType, String deviceId,
+            DeviceMessageListener deviceMessageListener) {
+        if (packetType == null || deviceId == null || deviceMessageListener == null) {
+            throw new IllegalArgumentException("It's not allowed to pass a null packetType, deviceId or listener.");
+        }
+        // a listener is bound to one device only, drop a registration left over from a previous configuration
+        unregisterDeviceStatusListener(deviceMessageListener);
+
+        List<DeviceMessageListener> listeners = deviceMessageListeners
+                .computeIfAbsent(packetType, type -> new ConcurrentHashMap<>())
+                .computeIfAbsent(deviceId, id -> new CopyOnWriteArrayList<>());
+        return listeners.add(deviceMessageListener);
+    }
+
+    private List<DeviceMessageListener> getDeviceMessageListeners(RFXComDeviceMessage message) {
+        Map<String, List<DeviceMessageListener>> listenersById = deviceMessageListeners.get(message.getPacketType());
+        String deviceId = listenersById == null ? null : message.getDeviceId();
+        List<DeviceMessageListener> listeners = deviceId == null ? null : listenersById.get(deviceId);
+        return listeners == null ? Collections.emptyList() : listeners;
     }
 
     public RFXComBridgeConfiguration getConfiguration() {
@@ -12,18 +12,26 @@
  */
 package org.openhab.binding.smartmeter;
 
+import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Supplier;
 
 import javax.measure.Quantity;
 
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.io.transport.serial.SerialPortManager;
 import org.junit.Test;
 import org.mockito.ArgumentMatchers;
@@ -35,6 +43,7 @@ import org.openhab.binding.smartmeter.internal.MeterValue;
 import org.openhab.binding.smartmeter.internal.MeterValueListener;
 import org.openhab.binding.smartmeter.internal.helper.ProtocolMode;
 
+import io.reactivex.FlowableEmitter;
 import io.reactivex.disposables.Disposable;
 import io.reactivex.functions.Consumer;
 import io.reactivex.plugins.RxJavaPlugins;
@@ -131,6 +140,65 @@ public class TestMeterReading {
         }
     }
 
+    @Test
+    public void testStreamingForwardsChangesOutsideDeadband() throws Exception {
+        List<String> pushed = Arrays.asList("100", "100.05", "101", "101", "102.5");
+        Semaphore processed = new Semaphore(0);
+        ConnectorBase<Object> connector = getStreamingConnector((emitter) -> {
+            for (String value : pushed) {
+                emitter.onNext(value);
+                // emit the next value only after this one has been processed, so that no value is dropped
+                assertTrue(processed.tryAcquire(5, TimeUnit.SECONDS));
+            }
+        });
+        MeterDevice<Object> meter = getStreamingMeterDevice(connector, processed);
+        meter.setValueDeadband(0.1);
+        RecordingListener changeListener = new RecordingListener("102.5");
+        meter.addValueChangeListener(changeListener);
+        Disposable disposable = meter.readValues(5000, Executors.newScheduledThreadPool(2), Duration.ofSeconds(1));
+        try {
+            assertTrue(changeListener.received.await(5, TimeUnit.SECONDS));
+            assertEquals(Arrays.asList("100", "101", "102.5"), changeListener.values);
+            assertTrue(changeListener.errors.isEmpty());
+        } finally {
+            disposable.dispose();
+        }
+    }
+
+    @Test
+    public void testStreamingDropsValuesForSlowListeners() throws Exception {
+        final int valueCount = 10000;
+        CountDownLatch finished = new CountDownLatch(1);
+        ConnectorBase<Object> connector = getStreamingConnector((emitter) -> {
+            for (int i = 1; i <= valueCount; i++) {
+                emitter.onNext(String.valueOf(i));
+            }
+            finished.countDown();
+        });
+        MeterDevice<Object> meter = getStreamingMeterDevice(connector, new Semaphore(0));
+        RecordingListener changeListener = new RecordingListener(String.valueOf(valueCount)) {
+            @Override
+            public <Q extends Quantity<Q>> void valueChanged(MeterValue<Q> value) {
+                super.valueChanged(value);
+                try {
+                    // block the listener until the connector has emitted all values
+                    finished.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                }
+            }
+        };
+        meter.addValueChangeListener(changeListener);
+        Disposable disposable = meter.readValues(5000, Executors.newScheduledThreadPool(2), Duration.ofSeconds(1));
+        try {
+            // the connector must not be blocked by the slow listener
+            assertTrue(finished.await(5, TimeUnit.SECONDS));
+            assertTrue(changeListener.received.await(5, TimeUnit.SECONDS));
+            assertTrue(changeListener.values.size() < valueCount);
+        } finally {
+            disposable.dispose();
+        }
+    }
+
     MockMeterReaderConnector getMockedConnector(boolean applyRetry, Supplier<Object> readNextSupplier) {
         return new MockMeterReaderConnector("Test port", applyRetry, readNextSupplier);
     }
@@ -153,4 +221,93 @@ public class TestMeterReading {
 
         };
     }
+
+    MeterDevice<Object> getStreamingMeterDevice(ConnectorBase<Object> connector, Semaphore processed) {
+        return new MeterDevice<Object>(() -> mock(SerialPortManager.class), "id", "port", null, 9600, 0,
+                ProtocolMode.SML_STREAMING) {
+
+            @Override
+            protected @NonNull IMeterReaderConnector<Object> createConnector(
+                    @NonNull Supplier<@NonNull SerialPortManager> serialPortManagerSupplier, @NonNull String serialPort,
+                    int baudrate, int baudrateChangeDelay, @NonNull ProtocolMode protocolMode) {
+                return connector;
+            }
+
+            @Override
+            protected <Q extends @NonNull Quantity<Q>> void populateValueCache(Object smlFile) {
+                addObisCache(new MeterValue("123", smlFile.toString(), null));
+                processed.release();
+            }
+
+        };
+    }
+
+    ConnectorBase<Object> getStreamingConnector(StreamingSource source) {
+        return new ConnectorBase<Object>("Test port") {
+
+            @Override
+            public void openConnection() throws IOException {
+            }
+
+            @Override
+            public void closeConnection() {
+            }
+
+            @Override
+            protected @Nullable Object readNext(byte @Nullable [] initMessage) throws IOException {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            protected void emitValues(byte @Nullable [] initMessage, FlowableEmitter<@Nullable Object> emitter)
+                    throws IOException {
+                try {
+                    source.emit(emitter);
+                } catch (InterruptedException e) {
+                }
+            }
+
+            @Override
+            protected boolean applyPeriod() {
+                return false;
+            }
+
+            @Override
+            public boolean isStreaming() {
+                return true;
+            }
+        };
+    }
+
+    interface StreamingSource {
+        void emit(FlowableEmitter<@Nullable Object> emitter) throws InterruptedException;
+    }
+
+    static class RecordingListener implements MeterValueListener {
+        final List<String> values = new CopyOnWriteArrayList<>();
+        final List<Throwable> errors = new CopyOnWriteArrayList<>();
+        final CountDownLatch received = new CountDownLatch(1);
+        private final String awaitedValue;
+
+        RecordingListener(String awaitedValue) {
+            this.awaitedValue = awaitedValue;
+        }
+
+        @Override
+        public void errorOccurred(Throwable e) {
+            errors.add(e);
+        }
+
+        @Override
+        public <Q extends Quantity<Q>> void valueChanged(MeterValue<Q> value) {
+            values.add(value.getValue());
+            if (awaitedValue.equals(value.getValue())) {
+                received.countDown();
+            }
+        }
+
+        @Override
+        public <Q extends Quantity<Q>> void valueRemoved(MeterValue<Q> value) {
+        }
+    }
 }
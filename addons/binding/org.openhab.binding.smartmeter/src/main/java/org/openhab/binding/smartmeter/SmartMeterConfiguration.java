@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.smartmeter;
 
+import java.math.BigDecimal;
+
 /**
  * The {@link SmartMeterConfiguration} is the class used to match the
  * thing configuration.
@@ -27,4 +29,5 @@ public class SmartMeterConfiguration {
     public String baudrate;
     public String mode;
     public String conformity;
+    public BigDecimal deadband;
 }
@@ -122,10 +122,14 @@ public abstract class ConnectorBase<T> implements IMeterReaderConnector<T> {
     public Publisher<T> getMeterValues(byte @Nullable [] initMessage, Duration period, ExecutorService executor) {
         Flowable<T> itemPublisher = Flowable.<T> create((emitter) -> {
             emitValues(initMessage, emitter);
-        }, BackpressureStrategy.DROP);
+        }, isStreaming() ? BackpressureStrategy.LATEST : BackpressureStrategy.DROP);
 
         Flowable<T> result;
-        if (applyPeriod()) {
+        if (isStreaming()) {
+            // The values are read in a blocking loop as long as the connection is open, which shall not block
+            // the executor. If the values are not consumed fast enough, only the latest one is kept.
+            result = itemPublisher.subscribeOn(Schedulers.io());
+        } else if (applyPeriod()) {
             result = Flowable.timer(period.toMillis(), TimeUnit.MILLISECONDS, Schedulers.from(executor))
                     .flatMap(event -> itemPublisher).repeat();
         } else {
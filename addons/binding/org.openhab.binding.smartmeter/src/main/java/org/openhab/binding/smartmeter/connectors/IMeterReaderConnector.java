@@ -52,4 +52,14 @@ public interface IMeterReaderConnector<T> {
      *
      */
     void closeConnection();
+
+    /**
+     * Whether the connector keeps the connection open and continuously emits values as they are pushed by the
+     * device, instead of reading them once per period.
+     *
+     * @return whether the connector is streaming.
+     */
+    default boolean isStreaming() {
+        return false;
+    }
 }
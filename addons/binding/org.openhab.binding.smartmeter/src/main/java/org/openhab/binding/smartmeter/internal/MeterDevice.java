@@ -19,6 +19,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -72,6 +74,16 @@ public abstract class MeterDevice<T> {
      */
     IMeterReaderConnector<T> connector;
     private List<MeterValueListener> valueChangeListeners;
+    /**
+     * Numeric values are only forwarded to the listeners if they differ more than this from the last forwarded value.
+     * Negative if every read value is forwarded.
+     */
+    private double valueDeadband = -1;
+    /**
+     * The values last forwarded to the listeners, used to apply the deadband. Updated by the reading thread, cleared
+     * on errors from other threads.
+     */
+    private final Map<String, MeterValue<?>> forwardedValues = new ConcurrentHashMap<>();
 
     public MeterDevice(Supplier<SerialPortManager> serialPortManagerSupplier, String deviceId, String serialPort,
             byte @Nullable [] initMessage, int baudrate, int baudrateChangeDelay, ProtocolMode protocolMode) {
@@ -161,7 +173,7 @@ public abstract class MeterDevice<T> {
      *
      */
     public Disposable readValues(long timeout, ScheduledExecutorService executorService, Duration period) {
-        return Flowable.fromPublisher(connector.getMeterValues(initMessage, period, executorService))
+        Flowable<T> values = Flowable.fromPublisher(connector.getMeterValues(initMessage, period, executorService))
                 .timeout(timeout + period.toMillis(), TimeUnit.MILLISECONDS, Schedulers.from(executorService))
                 .doOnSubscribe(sub -> {
                     logger.info("Opening connection to {}", getDeviceId());
@@ -178,16 +190,33 @@ public abstract class MeterDevice<T> {
                 }).doOnCancel(connector::closeConnection).doOnComplete(connector::closeConnection).share()
                 .retryWhen(
                         publisher -> publisher.delay(RETRY_DELAY, TimeUnit.SECONDS, Schedulers.from(executorService)))
-                .subscribeOn(Schedulers.from(executorService), true).subscribe((value) -> {
-                    Map<String, MeterValue<?>> obisCodes = new HashMap<>(valueCache);
-                    clearValueCache();
-                    populateValueCache(value);
-                    printInfo();
-                    Collection<String> newObisCodes = getObisCodes();
-                    // notify every removed obis code.
-                    obisCodes.values().stream().filter((val) -> !newObisCodes.contains(val.getObisCode()))
-                            .forEach((val) -> notifyValuesRemoved(val));
-                });
+                .subscribeOn(Schedulers.from(executorService), true);
+        if (connector.isStreaming()) {
+            // Values are processed on the executor, while the connector keeps on reading. Only the latest value is
+            // kept if the processing is slower than the device, so that no backlog can build up.
+            values = values.onBackpressureLatest().observeOn(Schedulers.from(executorService), false, 1);
+        }
+        return values.subscribe((value) -> {
+            Map<String, MeterValue<?>> obisCodes = new HashMap<>(valueCache);
+            clearValueCache();
+            populateValueCache(value);
+            printInfo();
+            Collection<String> newObisCodes = getObisCodes();
+            // notify every removed obis code.
+            obisCodes.values().stream().filter((val) -> !newObisCodes.contains(val.getObisCode()))
+                    .forEach((val) -> notifyValuesRemoved(val));
+        });
+    }
+
+    /**
+     * Sets the deadband for numeric values. A value is then only forwarded to the {@link MeterValueListener}s if it
+     * differs more than the deadband from the value forwarded last, or if its unit or status changed. Non numeric values
+     * are forwarded if they changed.
+     *
+     * @param valueDeadband The deadband, 0 to forward changed values only or negative to forward every read value.
+     */
+    public void setValueDeadband(double valueDeadband) {
+        this.valueDeadband = valueDeadband;
     }
 
     /**
@@ -213,8 +242,12 @@ public abstract class MeterDevice<T> {
      * @param value The value to add.
      */
     protected <Q extends Quantity<Q>> void addObisCache(MeterValue<Q> value) {
-        logger.debug("Value changed: {}", value);
         this.valueCache.put(value.getObisCode(), value);
+        if (!isOutsideDeadband(value)) {
+            return;
+        }
+        logger.debug("Value changed: {}", value);
+        this.forwardedValues.put(value.getObisCode(), value);
         this.valueChangeListeners.forEach((listener) -> {
             try {
                 listener.valueChanged(value);
@@ -224,6 +257,20 @@ public abstract class MeterDevice<T> {
         });
     }
 
+    private boolean isOutsideDeadband(MeterValue<?> value) {
+        MeterValue<?> forwardedValue = forwardedValues.get(value.getObisCode());
+        if (valueDeadband < 0 || forwardedValue == null || !Objects.equals(value.getUnit(), forwardedValue.getUnit())
+                || !Objects.equals(value.getStatus(), forwardedValue.getStatus())) {
+            return true;
+        }
+        try {
+            return Math.abs(Double.parseDouble(value.getValue())
+                    - Double.parseDouble(forwardedValue.getValue())) > valueDeadband;
+        } catch (NumberFormatException e) {
+            return !value.getValue().equals(forwardedValue.getValue());
+        }
+    }
+
     @Override
     public String toString() {
         StringBuilder stringBuilder = new StringBuilder();
@@ -257,10 +304,13 @@ public abstract class MeterDevice<T> {
     }
 
     private <Q extends Quantity<Q>> void notifyValuesRemoved(MeterValue<Q> value) {
+        this.forwardedValues.remove(value.getObisCode());
         this.valueChangeListeners.forEach((listener) -> listener.valueRemoved(value));
     }
 
     private void notifyReadingError(Throwable e) {
+        // Forward all values again after an error, so that listeners can recover from it
+        this.forwardedValues.clear();
         this.valueChangeListeners.forEach((listener) -> listener.errorOccurred(e));
     }
 
@@ -52,8 +52,9 @@ public class MeterDeviceFactory {
                 return new Iec62056_21MeterReader(serialPortManagerSupplier, deviceId, serialPort, initMessage,
                         baudrate, baudrateChangeDelay, protocolMode);
             case SML:
+            case SML_STREAMING:
                 return SmlMeterReader.createInstance(serialPortManagerSupplier, deviceId, serialPort, initMessage,
-                        baudrate, baudrateChangeDelay);
+                        baudrate, baudrateChangeDelay, protocolMode == ProtocolMode.SML_STREAMING);
             default:
                 return null;
         }
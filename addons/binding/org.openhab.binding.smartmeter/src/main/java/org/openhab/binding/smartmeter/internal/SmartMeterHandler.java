@@ -54,6 +54,7 @@ import org.openhab.binding.smartmeter.SmartMeterBindingConstants;
 import org.openhab.binding.smartmeter.SmartMeterConfiguration;
 import org.openhab.binding.smartmeter.internal.conformity.Conformity;
 import org.openhab.binding.smartmeter.internal.helper.Baudrate;
+import org.openhab.binding.smartmeter.internal.helper.ProtocolMode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -114,6 +115,12 @@ public class SmartMeterHandler extends BaseThingHandler {
             updateStatus(ThingStatus.UNKNOWN, ThingStatusDetail.HANDLER_CONFIGURATION_PENDING,
                     "Waiting for messages from device");
 
+            if (config.deadband != null) {
+                smlDevice.setValueDeadband(config.deadband.doubleValue());
+            } else if (ProtocolMode.SML_STREAMING.name().equalsIgnoreCase(config.mode)) {
+                // Meters push values every few seconds, only forward changes
+                smlDevice.setValueDeadband(0);
+            }
             smlDevice.addValueChangeListener(channelTypeProvider);
 
             updateOBISValue();
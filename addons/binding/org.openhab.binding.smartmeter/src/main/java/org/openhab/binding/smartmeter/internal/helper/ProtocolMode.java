@@ -24,7 +24,8 @@ public enum ProtocolMode {
 
     ABC("A,B,C"),
     D("D"),
-    SML("SML");
+    SML("SML"),
+    SML_STREAMING("SML (streaming)");
 
     private String label;
 
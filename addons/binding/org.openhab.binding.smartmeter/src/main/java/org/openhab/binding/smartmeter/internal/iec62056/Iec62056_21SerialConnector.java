@@ -111,6 +111,7 @@ public class Iec62056_21SerialConnector extends ConnectorBase<DataMessage> {
                 }
                 break;
             case SML:
+            case SML_STREAMING:
                 throw new IOException("SML mode not supported");
         }
     }
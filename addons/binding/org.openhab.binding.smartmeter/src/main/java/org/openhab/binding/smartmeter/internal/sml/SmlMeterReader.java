@@ -54,11 +54,13 @@ public final class SmlMeterReader extends MeterDevice<SmlFile> {
      * @param serialPort the port where the device is connected as defined in openHAB configuration.
      * @param serialParameter
      * @param initMessage
+     * @param streaming whether the serial port is kept open and SML files are processed as soon as they arrive.
      */
     public static SmlMeterReader createInstance(Supplier<SerialPortManager> serialPortManagerSupplier, String deviceId,
-            String serialPort, byte @Nullable [] initMessage, int baudrate, int baudrateChangeDelay) {
+            String serialPort, byte @Nullable [] initMessage, int baudrate, int baudrateChangeDelay,
+            boolean streaming) {
         SmlMeterReader device = new SmlMeterReader(serialPortManagerSupplier, deviceId, serialPort, initMessage,
-                baudrate, baudrateChangeDelay, ProtocolMode.SML);
+                baudrate, baudrateChangeDelay, streaming ? ProtocolMode.SML_STREAMING : ProtocolMode.SML);
 
         return device;
     }
@@ -152,7 +154,8 @@ public final class SmlMeterReader extends MeterDevice<SmlFile> {
     @Override
     protected IMeterReaderConnector<SmlFile> createConnector(Supplier<SerialPortManager> serialPortManagerSupplier,
             String serialPort, int baudrate, int baudrateChangeDelay, ProtocolMode protocolMode) {
-        return new SmlSerialConnector(serialPortManagerSupplier, serialPort, baudrate, baudrateChangeDelay);
+        return new SmlSerialConnector(serialPortManagerSupplier, serialPort, baudrate, baudrateChangeDelay,
+                protocolMode == ProtocolMode.SML_STREAMING);
     }
 
     @Override
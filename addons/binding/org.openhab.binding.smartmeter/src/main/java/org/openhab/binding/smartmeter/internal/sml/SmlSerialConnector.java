@@ -35,6 +35,8 @@ import org.openhab.binding.smartmeter.internal.helper.SerialParameter;
 import org.openmuc.jsml.structures.SmlFile;
 import org.openmuc.jsml.transport.Transport;
 
+import io.reactivex.FlowableEmitter;
+
 /**
  * Represents a serial SML device connector.
  *
@@ -54,6 +56,7 @@ public final class SmlSerialConnector extends ConnectorBase<SmlFile> {
     @Nullable
     private DataOutputStream os;
     private int baudrate;
+    private boolean streaming;
 
     /**
      * Constructor to create a serial connector instance.
@@ -78,6 +81,19 @@ public final class SmlSerialConnector extends ConnectorBase<SmlFile> {
         this.baudrate = baudrate;
     }
 
+    /**
+     * Constructor to create a serial connector instance with a specific serial parameter.
+     *
+     * @param portName the port where the device is connected as defined in openHAB configuration.
+     * @param baudrate
+     * @param streaming whether the port is kept open and every SML file is emitted as soon as it is received.
+     */
+    public SmlSerialConnector(Supplier<SerialPortManager> serialPortManagerSupplier, String portName, int baudrate,
+            int baudrateChangeDelay, boolean streaming) {
+        this(serialPortManagerSupplier, portName, baudrate, baudrateChangeDelay);
+        this.streaming = streaming;
+    }
+
     @Override
     protected SmlFile readNext(byte @Nullable [] initMessage) throws IOException {
         if (initMessage != null) {
@@ -101,6 +117,37 @@ public final class SmlSerialConnector extends ConnectorBase<SmlFile> {
         return smlFiles.pop();
     }
 
+    /**
+     * In streaming mode the SML files are decoded as their bytes arrive and emitted one by one, until the emitter is
+     * cancelled. Otherwise the most recent SML file is read once.
+     */
+    @Override
+    protected void emitValues(byte @Nullable [] initMessage, FlowableEmitter<@Nullable SmlFile> emitter)
+            throws IOException {
+        if (!streaming) {
+            super.emitValues(initMessage, emitter);
+            return;
+        }
+        if (initMessage != null && os != null) {
+            logger.debug("Writing init message: {}", HexUtils.bytesToHex(initMessage, " "));
+            os.write(initMessage);
+            os.flush();
+        }
+        try {
+            while (!emitter.isCancelled()) {
+                SmlFile smlFile = TRANSPORT.getSMLFile(is);
+                if (emitter.requested() == 0) {
+                    logger.trace("{} : Previous SML file not yet processed, keeping only the latest", getPortName());
+                }
+                emitter.onNext(smlFile);
+            }
+        } catch (IOException e) {
+            if (!emitter.isCancelled()) {
+                throw e;
+            }
+        }
+    }
+
     @Override
     public void openConnection() throws IOException {
         closeConnection();
@@ -167,7 +214,12 @@ public final class SmlSerialConnector extends ConnectorBase<SmlFile> {
 
     @Override
     protected boolean applyPeriod() {
-        return true;
+        return !streaming;
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return streaming;
     }
 
 }
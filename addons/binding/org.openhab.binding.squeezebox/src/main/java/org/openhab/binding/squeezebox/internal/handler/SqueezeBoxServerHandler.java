@@ -31,6 +31,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
@@ -92,6 +93,9 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
     private Map<String, SqueezeBoxPlayer> players = Collections
             .synchronizedMap(new HashMap<String, SqueezeBoxPlayer>());
 
+    // player handlers by MAC address, so a player update reaches only the handler of that player
+    private Map<String, SqueezeBoxPlayerHandler> playerHandlers = new ConcurrentHashMap<>();
+
     // client socket and listener thread
     private Socket clientSocket;
     private SqueezeServerListener listener;
@@ -488,21 +492,24 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
         }
 
         private void handlePlayersList(String message) {
-            // Split out players
-            String[] playersList = message.split("playerindex\\S*\\s");
-            for (String playerParams : playersList) {
-
-                // For each player, split out parameters and decode parameter
-                String[] parameterList = playerParams.split("\\s");
-                for (int i = 0; i < parameterList.length; i++) {
-                    parameterList[i] = decode(parameterList[i]);
+            // Split out players, each one starts with its playerindex parameter
+            List<List<String>> playersList = new ArrayList<>();
+            List<String> playerParams = new ArrayList<>();
+            for (String parameter : tokenize(message)) {
+                if (parameter.startsWith("playerindex")) {
+                    playerParams = new ArrayList<>();
+                    playersList.add(playerParams);
+                } else {
+                    playerParams.add(parameter);
                 }
+            }
 
+            for (List<String> parameterList : playersList) {
                 // parse out the MAC address first
                 String macAddress = null;
                 for (String parameter : parameterList) {
-                    if (parameter.contains("playerid")) {
-                        macAddress = parameter.substring(parameter.indexOf(":") + 1);
+                    if (parameter.startsWith("playerid%3A")) {
+                        macAddress = decode(parameter.substring("playerid%3A".length()));
                         break;
                     }
                 }
@@ -516,14 +523,14 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                 player.setMacAddress(macAddress);
                 // populate the player state
                 for (String parameter : parameterList) {
-                    if (parameter.contains("ip")) {
-                        player.setIpAddr(parameter.substring(parameter.indexOf(":") + 1));
-                    } else if (parameter.contains("uuid")) {
-                        player.setUuid(parameter.substring(parameter.indexOf(":") + 1));
-                    } else if (parameter.contains("name")) {
-                        player.setName(parameter.substring(parameter.indexOf(":") + 1));
-                    } else if (parameter.contains("model")) {
-                        player.setModel(parameter.substring(parameter.indexOf(":") + 1));
+                    if (parameter.startsWith("ip%3A")) {
+                        player.setIpAddr(decode(parameter.substring("ip%3A".length())));
+                    } else if (parameter.startsWith("uuid%3A")) {
+                        player.setUuid(decode(parameter.substring("uuid%3A".length())));
+                    } else if (parameter.startsWith("name%3A")) {
+                        player.setName(decode(parameter.substring("name%3A".length())));
+                    } else if (parameter.startsWith("model%3A")) {
+                        player.setModel(decode(parameter.substring("model%3A".length())));
                     }
                 }
 
@@ -543,7 +550,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
         }
 
         private void handlePlayerUpdate(String message) {
-            String[] messageParts = message.split("\\s");
+            String[] messageParts = tokenize(message);
             if (messageParts.length < 2) {
                 logger.warn("Invalid message - expecting at least 2 parts. Ignoring.");
                 return;
@@ -568,7 +575,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                     break;
                 case "ir":
                     final String ircode = messageParts[2];
-                    updatePlayer(new PlayerUpdateEvent() {
+                    updatePlayer(mac, new PlayerUpdateEvent() {
                         @Override
                         public void updateListener(SqueezeBoxPlayerEventListener listener) {
                             listener.irCodeChangeEvent(mac, ircode);
@@ -591,7 +598,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                 case "volume":
                     String volumeStringValue = decode(messageParts[3]);
 
-                    updatePlayer(new PlayerUpdateEvent() {
+                    updatePlayer(mac, new PlayerUpdateEvent() {
                         @Override
                         public void updateListener(SqueezeBoxPlayerEventListener listener) {
                             try {
@@ -627,7 +634,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                 // Parameter Power
                 if (messagePart.startsWith("power%3A")) {
                     final boolean power = "1".matches(messagePart.substring("power%3A".length()));
-                    updatePlayer(new PlayerUpdateEvent() {
+                    updatePlayer(mac, new PlayerUpdateEvent() {
                         @Override
                         public void updateListener(SqueezeBoxPlayerEventListener listener) {
                             listener.powerChangeEvent(mac, power);
@@ -638,7 +645,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                 else if (messagePart.startsWith("mixer%20volume%3A")) {
                     String value = messagePart.substring("mixer%20volume%3A".length());
                     final int volume = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
+                    updatePlayer(mac, new PlayerUpdateEvent() {
                         @Override
                         public void updateListener(SqueezeBoxPlayerEventListener listener) {
                             listener.absoluteVolumeChangeEvent(mac, volume);
@@ -648,7 +655,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                 // Parameter Mode
                 else if (messagePart.startsWith("mode%3A")) {
                     final String mode = messagePart.substring("mode%3A".length());
-                    updatePlayer(new PlayerUpdateEvent() {
+                    updatePlayer(mac, new PlayerUpdateEvent() {
                         @Override
                         public void updateListener(SqueezeBoxPlayerEventListener listener) {
                             listener.modeChangeEvent(mac, mode);
@@ -659,7 +666,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                 else if (messagePart.startsWith("time%3A")) {
                     String value = messagePart.substring("time%3A".length());
                     final int time = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
+                    updatePlayer(mac, new PlayerUpdateEvent() {
                         @Override
                         public void updateListener(SqueezeBoxPlayerEventListener listener) {
                             listener.currentPlayingTimeEvent(mac, time);
@@ -670,7 +677,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                 else if (messagePart.startsWith("duration%3A")) {
                     String value = messagePart.substring("duration%3A".length());
                     final int duration = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
+                    updatePlayer(mac, new PlayerUpdateEvent() {
                         @Override
                         public void updateListener(SqueezeBoxPlayerEventListener listener) {
                             listener.durationEvent(mac, duration);
@@ -681,7 +688,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                 else if (messagePart.startsWith("playlist_cur_index%3A")) {
                     String value = messagePart.substring("playlist_cur_index%3A".length());
                     final int index = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
+                    updatePlayer(mac, new PlayerUpdateEvent() {
                         @Override
                         public void updateListener(SqueezeBoxPlayerEventListener listener) {
                             listener.currentPlaylistIndexEvent(mac, index);
@@ -692,7 +699,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                 else if (messagePart.startsWith("playlist_tracks%3A")) {
                     String value = messagePart.substring("playlist_tracks%3A".length());
                     final int track = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
+                    updatePlayer(mac, new PlayerUpdateEvent() {
                         @Override
                         public void updateListener(SqueezeBoxPlayerEventListener listener) {
                             listener.numberPlaylistTracksEvent(mac, track);
@@ -703,7 +710,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                 else if (messagePart.startsWith("playlist%20repeat%3A")) {
                     String value = messagePart.substring("playlist%20repeat%3A".length());
                     final int repeat = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
+                    updatePlayer(mac, new PlayerUpdateEvent() {
                         @Override
                         public void updateListener(SqueezeBoxPlayerEventListener listener) {
                             listener.currentPlaylistRepeatEvent(mac, repeat);
@@ -714,7 +721,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                 else if (messagePart.startsWith("playlist%20shuffle%3A")) {
                     String value = messagePart.substring("playlist%20shuffle%3A".length());
                     final int shuffle = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
+                    updatePlayer(mac, new PlayerUpdateEvent() {
                         @Override
                         public void updateListener(SqueezeBoxPlayerEventListener listener) {
                             listener.currentPlaylistShuffleEvent(mac, shuffle);
@@ -724,7 +731,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                 // Parameter Title
                 else if (messagePart.startsWith("title%3A")) {
                     final String value = messagePart.substring("title%3A".length());
-                    updatePlayer(new PlayerUpdateEvent() {
+                    updatePlayer(mac, new PlayerUpdateEvent() {
                         @Override
                         public void updateListener(SqueezeBoxPlayerEventListener listener) {
                             listener.titleChangeEvent(mac, decode(value));
@@ -775,7 +782,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
             final String finalGenre = genre;
             final String finalYear = year;
 
-            updatePlayer(new PlayerUpdateEvent() {
+            updatePlayer(mac, new PlayerUpdateEvent() {
                 @Override
                 public void updateListener(SqueezeBoxPlayerEventListener listener) {
                     listener.coverArtChangeEvent(mac, finalUrl);
@@ -825,7 +832,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
             if (action.equals("newsong")) {
                 mode = "play";
                 // Set the track duration to 0
-                updatePlayer(new PlayerUpdateEvent() {
+                updatePlayer(mac, new PlayerUpdateEvent() {
                     @Override
                     public void updateListener(SqueezeBoxPlayerEventListener listener) {
                         listener.durationEvent(mac, 0);
@@ -844,7 +851,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                 return;
             }
             final String value = mode;
-            updatePlayer(new PlayerUpdateEvent() {
+            updatePlayer(mac, new PlayerUpdateEvent() {
 
                 @Override
                 public void updateListener(SqueezeBoxPlayerEventListener listener) {
@@ -866,7 +873,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
 
                 if (function.equals("power")) {
                     final boolean power = value.equals("1");
-                    updatePlayer(new PlayerUpdateEvent() {
+                    updatePlayer(mac, new PlayerUpdateEvent() {
                         @Override
                         public void updateListener(SqueezeBoxPlayerEventListener listener) {
                             listener.powerChangeEvent(mac, power);
@@ -874,7 +881,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                     });
                 } else if (function.equals("volume")) {
                     final int volume = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
+                    updatePlayer(mac, new PlayerUpdateEvent() {
 
                         @Override
                         public void updateListener(SqueezeBoxPlayerEventListener listener) {
@@ -889,7 +896,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
         private void handleFavorites(String message) {
             logger.trace("Handle favorites message: {}", message);
 
-            String[] messageParts = message.split("\\s");
+            String[] messageParts = tokenize(message);
             if (messageParts.length == 2 && "changed".equals(messageParts[1])) {
                 // LMS informing us that favorites have changed; request an update to the favorites list
                 requestFavorites();
@@ -973,6 +980,27 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
         }
     }
 
+    /**
+     * Splits a CLI message into its space separated, still URL encoded parameters in a single pass
+     *
+     * @param message
+     * @return
+     */
+    private static String[] tokenize(String message) {
+        List<String> tokens = new ArrayList<>();
+        int start = 0;
+        int length = message.length();
+        for (int i = 0; i <= length; i++) {
+            if (i == length || Character.isWhitespace(message.charAt(i))) {
+                if (i > start) {
+                    tokens.add(message.substring(start, i));
+                }
+                start = i + 1;
+            }
+        }
+        return tokens.toArray(new String[tokens.size()]);
+    }
+
     /**
      * Interface to allow us to pass function call-backs to SqueezeBox Player
      * Event Listeners
@@ -984,6 +1012,69 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
         void updateListener(SqueezeBoxPlayerEventListener listener);
     }
 
+    /**
+     * Update Listeners and the child Squeeze Player Thing of the given player
+     *
+     * @param mac
+     * @param event
+     */
+    private void updatePlayer(String mac, PlayerUpdateEvent event) {
+        // update listeners like disco services
+        synchronized (squeezeBoxPlayerListeners) {
+            for (SqueezeBoxPlayerEventListener listener : squeezeBoxPlayerListeners) {
+                event.updateListener(listener);
+            }
+        }
+        // update the child of this player only
+        SqueezeBoxPlayerHandler handler = findPlayerHandler(mac);
+        if (handler != null && !squeezeBoxPlayerListeners.contains(handler)) {
+            event.updateListener(handler);
+        }
+    }
+
+    /**
+     * Returns the handler of the player with the given MAC address, if there is a thing for the player.
+     *
+     * @param mac
+     * @return
+     */
+    private SqueezeBoxPlayerHandler findPlayerHandler(String mac) {
+        if (mac == null) {
+            return null;
+        }
+        SqueezeBoxPlayerHandler playerHandler = playerHandlers.get(mac);
+        if (playerHandler == null) {
+            // not indexed yet, e.g. the handler was initialized before this bridge handler
+            for (Thing thing : getThing().getThings()) {
+                ThingHandler handler = thing.getHandler();
+                if (handler instanceof SqueezeBoxPlayerHandler
+                        && mac.equals(((SqueezeBoxPlayerHandler) handler).getMac())) {
+                    playerHandler = (SqueezeBoxPlayerHandler) handler;
+                    playerHandlers.put(mac, playerHandler);
+                    break;
+                }
+            }
+        }
+        return playerHandler;
+    }
+
+    @Override
+    public void childHandlerInitialized(ThingHandler childHandler, Thing childThing) {
+        if (childHandler instanceof SqueezeBoxPlayerHandler) {
+            String mac = ((SqueezeBoxPlayerHandler) childHandler).getMac();
+            if (mac != null) {
+                playerHandlers.put(mac, (SqueezeBoxPlayerHandler) childHandler);
+            }
+        }
+        super.childHandlerInitialized(childHandler, childThing);
+    }
+
+    @Override
+    public void childHandlerDisposed(ThingHandler childHandler, Thing childThing) {
+        playerHandlers.values().remove(childHandler);
+        super.childHandlerDisposed(childHandler, childThing);
+    }
+
     /**
      * Update Listeners and child Squeeze Player Things
      *
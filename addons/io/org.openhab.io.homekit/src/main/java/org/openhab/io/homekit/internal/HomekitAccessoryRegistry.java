@@ -12,15 +12,15 @@
  */
 package org.openhab.io.homekit.internal;
 
+import java.io.IOException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
-import org.openhab.io.homekit.internal.accessories.GroupedAccessory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -28,87 +28,156 @@ import com.beowulfe.hap.HomekitAccessory;
 import com.beowulfe.hap.HomekitRoot;
 
 /**
- * Stores the created HomekitAccessories. GroupedAccessories are also held here
- * in a pre-created pending state until all required characteristics are found.
+ * Stores the created HomekitAccessories by the name of their root item. GroupedAccessories are also held here
+ * in a pending state until all required characteristics are found.
+ *
+ * Every accessory is stored with a fingerprint of the items it was created from, so that changes to the
+ * item registry can be compared against it and only changed accessories are replaced.
  *
  * @author Andy Lintner
  */
 class HomekitAccessoryRegistry {
 
-    private HomekitRoot bridge;
-    private final List<HomekitAccessory> createdAccessories = new LinkedList<>();
-    private final Set<Integer> createdIds = new HashSet<>();
-    private final Map<String, GroupedAccessory> pendingGroupedAccessories = new HashMap<>();
-    private final List<HomekitTaggedItem> pendingCharacteristics = new LinkedList<>();
-
-    private final Logger logger = LoggerFactory.getLogger(HomekitAccessoryRegistry.class);
+    /**
+     * An accessory together with the items it was created from
+     */
+    static class RegisteredAccessory {
+        private final List<Object> fingerprint;
+        private final Set<String> itemNames;
+        private final HomekitAccessory accessory;
 
-    public void remove(HomekitTaggedItem taggedItem) {
-        Iterator<HomekitAccessory> i = createdAccessories.iterator();
-        while (i.hasNext()) {
-            HomekitAccessory accessory = i.next();
-            if (accessory.getId() == taggedItem.getId()) {
-                logger.debug("Removed accessory {}", accessory.getId());
-                bridge.removeAccessory(accessory);
-                i.remove();
-            }
+        /**
+         * @param fingerprint Describes the items the accessory was created from. Must only contain objects with
+         *            stable hash codes, as it is used to detect changes across restarts.
+         * @param itemNames The names of the root item and all characteristic items
+         * @param accessory The accessory or null, if it is a pending incomplete GroupedAccessory
+         */
+        RegisteredAccessory(List<Object> fingerprint, Set<String> itemNames, HomekitAccessory accessory) {
+            this.fingerprint = fingerprint;
+            this.itemNames = itemNames;
+            this.accessory = accessory;
         }
     }
 
-    public synchronized void clear() {
-        while (!createdAccessories.isEmpty()) {
-            bridge.removeAccessory(createdAccessories.remove(0));
-        }
-        createdIds.clear();
+    private HomekitRoot bridge;
+    private int configurationRevision = 1;
+    private final Map<String, RegisteredAccessory> accessories = new HashMap<>();
+    private final Map<String, Set<String>> accessoryNamesByItem = new HashMap<>();
+
+    private final Logger logger = LoggerFactory.getLogger(HomekitAccessoryRegistry.class);
+
+    /**
+     * Returns the names of the accessories the given item is part of, as root item or characteristic.
+     */
+    public synchronized Set<String> getAccessoryNames(String itemName) {
+        Set<String> names = accessoryNamesByItem.get(itemName);
+        return names == null ? Collections.emptySet() : new HashSet<>(names);
     }
 
-    public synchronized void setBridge(HomekitRoot bridge) {
-        this.bridge = bridge;
-        createdAccessories.forEach(accessory -> bridge.addAccessory(accessory));
+    /**
+     * Returns true if the accessory with the given name has been created from items with the given fingerprint.
+     */
+    public synchronized boolean isUnchanged(String accessoryName, List<Object> fingerprint) {
+        RegisteredAccessory registered = accessories.get(accessoryName);
+        return registered != null && registered.fingerprint.equals(fingerprint);
     }
 
-    public synchronized void addRootDevice(HomekitAccessory accessory) {
-        if (accessory instanceof GroupedAccessory) {
-            GroupedAccessory groupedAccessory = (GroupedAccessory) accessory;
-            pendingGroupedAccessories.put(groupedAccessory.getGroupName(), groupedAccessory);
-            for (HomekitTaggedItem characteristic : pendingCharacteristics) {
-                if (characteristic.getItem().getGroupNames().contains(groupedAccessory.getGroupName())) {
-                    addCharacteristicToGroup(groupedAccessory.getGroupName(), characteristic);
+    /**
+     * Applies a batch of changes. All removed and replaced accessories are removed from the bridge first, before the
+     * new accessories are added.
+     *
+     * @param changes The new accessories by their names, null values to remove an accessory
+     * @return True if the accessories exposed to HomeKit changed
+     */
+    public synchronized boolean apply(Map<String, RegisteredAccessory> changes) {
+        boolean changed = false;
+        for (String accessoryName : changes.keySet()) {
+            RegisteredAccessory registered = accessories.remove(accessoryName);
+            if (registered == null) {
+                continue;
+            }
+            for (String itemName : registered.itemNames) {
+                Set<String> names = accessoryNamesByItem.get(itemName);
+                if (names != null && names.remove(accessoryName) && names.isEmpty()) {
+                    accessoryNamesByItem.remove(itemName);
+                }
+            }
+            if (registered.accessory != null) {
+                if (bridge != null) {
+                    bridge.removeAccessory(registered.accessory);
                 }
+                logger.debug("Removed accessory {}", registered.accessory.getId());
+                changed = true;
             }
-        } else {
-            doAddDevice(accessory);
         }
+        for (Map.Entry<String, RegisteredAccessory> change : changes.entrySet()) {
+            RegisteredAccessory registered = change.getValue();
+            if (registered == null) {
+                continue;
+            }
+            accessories.put(change.getKey(), registered);
+            for (String itemName : registered.itemNames) {
+                accessoryNamesByItem.computeIfAbsent(itemName, k -> new HashSet<>()).add(change.getKey());
+            }
+            if (registered.accessory != null) {
+                if (bridge != null) {
+                    bridge.addAccessory(registered.accessory);
+                }
+                logger.debug("Added accessory {}", registered.accessory.getId());
+                changed = true;
+            } else {
+                logger.debug("Stored {} until all characteristics are ready", change.getKey());
+            }
+        }
+        return changed;
     }
 
-    public synchronized void addCharacteristic(HomekitTaggedItem item) {
-        for (String group : item.getItem().getGroupNames()) {
-            if (pendingGroupedAccessories.containsKey(group)) {
-                addCharacteristicToGroup(group, item);
-                logger.debug("Added {} to {}", item.getItem().getName(), group);
-                return;
+    /**
+     * Returns a hash of the accessories exposed to HomeKit, which is stable across restarts.
+     */
+    public synchronized int getDatabaseHash() {
+        Map<String, List<Object>> exposed = new TreeMap<>();
+        accessories.forEach((name, registered) -> {
+            if (registered.accessory != null) {
+                exposed.put(name, registered.fingerprint);
             }
-        }
-        pendingCharacteristics.add(item);
-        logger.debug("Stored {} until group is ready", item.getItem().getName());
+        });
+        return exposed.hashCode();
     }
 
-    private void addCharacteristicToGroup(String group, HomekitTaggedItem item) {
-        GroupedAccessory accessory = pendingGroupedAccessories.get(group);
-        accessory.addCharacteristic(item);
-        if (accessory.isComplete()) {
-            pendingGroupedAccessories.remove(group);
-            doAddDevice(accessory);
-        }
+    public synchronized void clear() {
+        accessories.values().forEach(registered -> {
+            if (registered.accessory != null && bridge != null) {
+                bridge.removeAccessory(registered.accessory);
+            }
+        });
+        accessories.clear();
+        accessoryNamesByItem.clear();
     }
 
-    private void doAddDevice(HomekitAccessory accessory) {
-        createdAccessories.add(accessory);
-        createdIds.add(accessory.getId());
+    public synchronized void setBridge(HomekitRoot bridge) {
+        this.bridge = bridge;
         if (bridge != null) {
-            bridge.addAccessory(accessory);
+            setConfigurationRevision(configurationRevision);
+            accessories.values().forEach(registered -> {
+                if (registered.accessory != null) {
+                    bridge.addAccessory(registered.accessory);
+                }
+            });
         }
-        logger.debug("Added accessory {}", accessory.getId());
     }
 
+    /**
+     * Sets the configuration number, which tells HomeKit controllers to reload the accessories if changed.
+     */
+    public synchronized void setConfigurationRevision(int configurationRevision) {
+        this.configurationRevision = configurationRevision;
+        if (bridge != null) {
+            try {
+                bridge.setConfigurationIndex(configurationRevision);
+            } catch (IOException e) {
+                logger.warn("Could not update the homekit configuration number: {}", e.getMessage());
+            }
+        }
+    }
 }
@@ -12,6 +12,7 @@
  */
 package org.openhab.io.homekit.internal;
 
+import java.util.ArrayList;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -74,6 +75,29 @@ public class HomekitAccessoryUpdater {
         });
     }
 
+    /**
+     * Moves the subscriptions of an item to its new instance. The item registry disposes the old instance of an
+     * updated item, which drops its state change listeners, while the accessory of the item is kept if it did not
+     * change.
+     */
+    public void resubscribe(Item oldItem, Item newItem) {
+        if (!(newItem instanceof GenericItem) || oldItem == newItem) {
+            return;
+        }
+        GenericItem item = (GenericItem) newItem;
+        for (ItemKey itemKey : new ArrayList<>(subscriptionsByName.keySet())) {
+            if (itemKey.item != oldItem) {
+                continue;
+            }
+            Subscription subscription = subscriptionsByName.remove(itemKey);
+            if (subscription != null) {
+                itemKey.item.removeStateChangeListener(subscription);
+                item.addStateChangeListener(subscription);
+                subscriptionsByName.put(new ItemKey(item, itemKey.key), subscription);
+            }
+        }
+    }
+
     @FunctionalInterface
     private static interface Subscription extends StateChangeListener {
 
@@ -12,61 +12,83 @@
  */
 package org.openhab.io.homekit.internal;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.eclipse.smarthome.core.items.GroupItem;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.items.ItemRegistry;
 import org.eclipse.smarthome.core.items.ItemRegistryChangeListener;
+import org.eclipse.smarthome.core.storage.Storage;
+import org.openhab.io.homekit.internal.HomekitAccessoryRegistry.RegisteredAccessory;
+import org.openhab.io.homekit.internal.accessories.GroupedAccessory;
 import org.openhab.io.homekit.internal.accessories.HomekitAccessoryFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.beowulfe.hap.HomekitAccessory;
 import com.beowulfe.hap.HomekitRoot;
 
 /**
  * Listens for changes to the item registry. When changes are detected, check
  * for Homekit tags and, if present, add the items to the HomekitAccessoryRegistry.
  *
+ * Changes are collected and applied in one batch after a short delay. Only accessories whose items
+ * actually changed are replaced, so that reloading an items file does not tear down the whole bridge.
+ *
  * @author Andy Lintner
  */
 public class HomekitChangeListener implements ItemRegistryChangeListener {
 
+    private static final long UPDATE_DELAY_MS = 500;
+    private static final String CONFIGURATION_REVISION_KEY = "configurationRevision";
+    private static final String CONFIGURATION_HASH_KEY = "configurationHash";
+    /** The configuration number must be in the range of 1 - 65535 */
+    private static final int MAX_CONFIGURATION_REVISION = 65535;
+
     private ItemRegistry itemRegistry;
     private HomekitAccessoryUpdater updater = new HomekitAccessoryUpdater();
     private Logger logger = LoggerFactory.getLogger(HomekitChangeListener.class);
     private final HomekitAccessoryRegistry accessoryRegistry = new HomekitAccessoryRegistry();
     private HomekitSettings settings;
+    private Storage<String> storage;
+
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("homekit");
+    private final Set<String> pendingItemNames = new HashSet<>();
+    private ScheduledFuture<?> pendingUpdate;
 
     @Override
     public synchronized void added(Item item) {
-        HomekitTaggedItem taggedItem = new HomekitTaggedItem(item, itemRegistry);
-        if (taggedItem.isTagged()) {
-            if (taggedItem.isRootDevice()) {
-                createRootDevice(taggedItem);
-            }
-            if (taggedItem.isCharacteristic()) {
-                createCharacteristic(taggedItem);
-            }
-        }
+        markChanged(item);
     }
 
     @Override
-    public void allItemsChanged(Collection<String> oldItemNames) {
-        clearAccessories();
+    public synchronized void allItemsChanged(Collection<String> oldItemNames) {
+        pendingItemNames.addAll(oldItemNames);
+        itemRegistry.getItems().forEach(item -> pendingItemNames.add(item.getName()));
+        scheduleUpdate();
     }
 
     @Override
     public synchronized void removed(Item item) {
-        HomekitTaggedItem taggedItem = new HomekitTaggedItem(item, itemRegistry);
-        if (taggedItem.isTagged()) {
-            accessoryRegistry.remove(taggedItem);
-        }
+        markChanged(item);
     }
 
     @Override
-    public void updated(Item oldElement, Item element) {
-        removed(oldElement);
-        added(element);
+    public synchronized void updated(Item oldElement, Item element) {
+        updater.resubscribe(oldElement, element);
+        markChanged(oldElement);
+        markChanged(element);
     }
 
     public synchronized void clearAccessories() {
@@ -80,7 +102,9 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
     public synchronized void setItemRegistry(ItemRegistry itemRegistry) {
         this.itemRegistry = itemRegistry;
         itemRegistry.addRegistryChangeListener(this);
-        itemRegistry.getAll().forEach(item -> added(item));
+        itemRegistry.getAll().forEach(item -> pendingItemNames.add(item.getName()));
+        applyPendingUpdates();
+        updateConfigurationRevision();
     }
 
     public void setUpdater(HomekitAccessoryUpdater updater) {
@@ -91,25 +115,189 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         this.settings = settings;
     }
 
-    public void stop() {
+    /**
+     * Sets the storage for the configuration number. Must be set before the item registry.
+     */
+    public synchronized void setStorage(Storage<String> storage) {
+        this.storage = storage;
+    }
+
+    public synchronized void stop() {
+        if (pendingUpdate != null) {
+            pendingUpdate.cancel(false);
+            pendingUpdate = null;
+        }
         if (this.itemRegistry != null) {
             this.itemRegistry.removeRegistryChangeListener(this);
         }
     }
 
-    private void createRootDevice(HomekitTaggedItem taggedItem) {
+    /**
+     * Marks the item and the items its accessory depends on as changed. Those are the groups of the item (for grouped
+     * characteristics) and the members of a group item (which are characteristics only if the group is tagged).
+     */
+    private void markChanged(Item item) {
+        pendingItemNames.add(item.getName());
+        pendingItemNames.addAll(item.getGroupNames());
+        if (item instanceof GroupItem) {
+            ((GroupItem) item).getMembers().forEach(member -> pendingItemNames.add(member.getName()));
+        }
+        scheduleUpdate();
+    }
+
+    private void scheduleUpdate() {
+        if (pendingUpdate == null) {
+            pendingUpdate = scheduler.schedule(this::applyPendingUpdates, UPDATE_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Computes the accessories of all changed items from a snapshot of the item registry and applies the changed
+     * ones in one batch.
+     */
+    private synchronized void applyPendingUpdates() {
+        pendingUpdate = null;
+        if (pendingItemNames.isEmpty() || itemRegistry == null) {
+            return;
+        }
+
+        Map<String, Item> items = new HashMap<>();
+        itemRegistry.getItems().forEach(item -> items.put(item.getName(), item));
+
+        // The accessories that might be affected: Those the changed items were part of and those they are now
+        Set<String> accessoryNames = new HashSet<>();
+        for (String itemName : pendingItemNames) {
+            accessoryNames.addAll(accessoryRegistry.getAccessoryNames(itemName));
+            Item item = items.get(itemName);
+            if (item == null) {
+                continue;
+            }
+            HomekitTaggedItem taggedItem = new HomekitTaggedItem(item, items::get);
+            if (taggedItem.isRootDevice()) {
+                accessoryNames.add(itemName);
+            } else if (taggedItem.isCharacteristic()) {
+                accessoryNames.addAll(item.getGroupNames());
+            }
+        }
+        pendingItemNames.clear();
+
+        Map<String, RegisteredAccessory> changes = new HashMap<>();
+        for (String accessoryName : accessoryNames) {
+            Item item = items.get(accessoryName);
+            HomekitTaggedItem taggedItem = item != null ? new HomekitTaggedItem(item, items::get) : null;
+            if (taggedItem == null || !taggedItem.isRootDevice() || !taggedItem.isTagged()) {
+                if (!accessoryRegistry.getAccessoryNames(accessoryName).isEmpty()) {
+                    changes.put(accessoryName, null);
+                }
+                continue;
+            }
+
+            List<HomekitTaggedItem> characteristics = getCharacteristics(item, items);
+            List<Object> fingerprint = getFingerprint(taggedItem, characteristics);
+            if (!accessoryRegistry.isUnchanged(accessoryName, fingerprint)) {
+                changes.put(accessoryName, createAccessory(taggedItem, characteristics, fingerprint));
+            }
+        }
+
+        if (!changes.isEmpty()) {
+            logger.debug("Updating {} homekit accessories", changes.size());
+            if (accessoryRegistry.apply(changes)) {
+                updateConfigurationRevision();
+            }
+        }
+    }
+
+    /**
+     * Returns the tagged characteristic items of a group, sorted by name.
+     */
+    private List<HomekitTaggedItem> getCharacteristics(Item item, Map<String, Item> items) {
+        List<HomekitTaggedItem> characteristics = new ArrayList<>();
+        if (item instanceof GroupItem) {
+            for (Item member : ((GroupItem) item).getMembers()) {
+                Item memberItem = items.get(member.getName());
+                if (memberItem == null) {
+                    continue;
+                }
+                HomekitTaggedItem taggedMember = new HomekitTaggedItem(memberItem, items::get);
+                if (taggedMember.isCharacteristic()) {
+                    characteristics.add(taggedMember);
+                }
+            }
+            characteristics.sort(Comparator.comparing(c -> c.getItem().getName()));
+        }
+        return characteristics;
+    }
+
+    /**
+     * Describes everything an accessory is created from. Consists of strings and numbers only, so that the hash is
+     * the same across restarts.
+     */
+    private List<Object> getFingerprint(HomekitTaggedItem taggedItem, List<HomekitTaggedItem> characteristics) {
+        List<Object> fingerprint = new ArrayList<>();
+        Item item = taggedItem.getItem();
+        fingerprint.add(taggedItem.getId());
+        fingerprint.add(taggedItem.getDeviceType().name());
+        fingerprint.add(item.getClass().getName());
+        fingerprint.add(String.valueOf(item.getLabel()));
+        for (HomekitTaggedItem characteristic : characteristics) {
+            fingerprint.add(characteristic.getItem().getName());
+            fingerprint.add(characteristic.getCharacteristicType().name());
+            fingerprint.add(characteristic.getItem().getClass().getName());
+        }
+        return fingerprint;
+    }
+
+    private RegisteredAccessory createAccessory(HomekitTaggedItem taggedItem,
+            List<HomekitTaggedItem> characteristics, List<Object> fingerprint) {
         try {
             logger.debug("Adding homekit device {}", taggedItem.getItem().getName());
-            accessoryRegistry
-                    .addRootDevice(HomekitAccessoryFactory.create(taggedItem, itemRegistry, updater, settings));
-            logger.debug("Added homekit device {}", taggedItem.getItem().getName());
+            HomekitAccessory accessory = HomekitAccessoryFactory.create(taggedItem, itemRegistry, updater, settings);
+            Set<String> itemNames = new HashSet<>();
+            itemNames.add(taggedItem.getItem().getName());
+            if (accessory instanceof GroupedAccessory) {
+                GroupedAccessory groupedAccessory = (GroupedAccessory) accessory;
+                for (HomekitTaggedItem characteristic : characteristics) {
+                    logger.debug("Adding grouped homekit characteristic {}", characteristic.getItem().getName());
+                    groupedAccessory.addCharacteristic(characteristic);
+                    itemNames.add(characteristic.getItem().getName());
+                }
+                if (!groupedAccessory.isComplete()) {
+                    accessory = null;
+                }
+            }
+            return new RegisteredAccessory(fingerprint, itemNames, accessory);
         } catch (Exception e) {
             logger.error("Could not add device: {}", e.getMessage(), e);
+            return null;
         }
     }
 
-    private void createCharacteristic(HomekitTaggedItem taggedItem) {
-        logger.debug("Adding grouped homekit characteristic {}", taggedItem.getItem().getName());
-        accessoryRegistry.addCharacteristic(taggedItem);
+    /**
+     * Increases the configuration number if the accessories changed since it has been stored.
+     */
+    private void updateConfigurationRevision() {
+        if (storage == null) {
+            return;
+        }
+        String hash = String.valueOf(accessoryRegistry.getDatabaseHash());
+        String storedHash = storage.get(CONFIGURATION_HASH_KEY);
+        int revision = 1;
+        try {
+            String storedRevision = storage.get(CONFIGURATION_REVISION_KEY);
+            if (storedRevision != null) {
+                revision = Integer.parseInt(storedRevision);
+            }
+        } catch (NumberFormatException e) {
+            logger.debug("Invalid homekit configuration number stored");
+        }
+        if (!hash.equals(storedHash)) {
+            if (storedHash != null) {
+                revision = revision >= MAX_CONFIGURATION_REVISION ? 1 : revision + 1;
+                logger.debug("Homekit accessories changed, configuration number is now {}", revision);
+            }
+            storage.put(CONFIGURATION_REVISION_KEY, String.valueOf(revision));
+            storage.put(CONFIGURATION_HASH_KEY, hash);
+        }
+        accessoryRegistry.setConfigurationRevision(revision);
     }
 }
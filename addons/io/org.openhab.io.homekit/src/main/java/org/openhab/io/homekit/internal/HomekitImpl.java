@@ -42,6 +42,7 @@ public class HomekitImpl implements Homekit {
 
     public void setStorageService(StorageService storageService) {
         this.storageService = storageService;
+        changeListener.setStorage(storageService.getStorage("homekit"));
     }
 
     public void setItemRegistry(ItemRegistry itemRegistry) {
@@ -101,7 +102,8 @@ public class HomekitImpl implements Homekit {
         homekit = new HomekitServer(settings.getNetworkInterface(), settings.getPort());
         bridge = homekit.createBridge(new HomekitAuthInfoImpl(storageService, settings.getPin()), settings.getName(),
                 settings.getManufacturer(), settings.getModel(), settings.getSerialNumber());
-        bridge.start();
+        // Add the accessories before the bridge is started, so that the accessory database isn't reset for each one
         changeListener.setBridge(bridge);
+        bridge.start();
     }
 }
@@ -14,6 +14,7 @@ package org.openhab.io.homekit.internal;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import org.apache.commons.lang.builder.HashCodeBuilder;
 import org.eclipse.smarthome.core.items.Item;
@@ -39,6 +40,15 @@ public class HomekitTaggedItem {
     private final int id;
 
     public HomekitTaggedItem(Item item, ItemRegistry itemRegistry) {
+        this(item, itemRegistry::get);
+    }
+
+    /**
+     * @param item The item to wrap
+     * @param itemLookup Looks up items by name, used to resolve the groups of the item. Allows to resolve
+     *            the groups of many items from a snapshot of the item registry.
+     */
+    public HomekitTaggedItem(Item item, Function<String, Item> itemLookup) {
         this.item = item;
         for (String tag : item.getTags()) {
 
@@ -53,7 +63,7 @@ public class HomekitTaggedItem {
              * This matches items with tags that require a parent group like the "TargetTemperature" in
              * thermostats
              */
-            if (isMemberOfRootGroup(item, itemRegistry)) {
+            if (isMemberOfRootGroup(item, itemLookup)) {
                 homekitCharacteristicType = HomekitCharacteristicType.valueOfTag(tag);
             }
 
@@ -124,9 +134,9 @@ public class HomekitTaggedItem {
         return id;
     }
 
-    private boolean isMemberOfRootGroup(Item item, ItemRegistry itemRegistry) {
+    private boolean isMemberOfRootGroup(Item item, Function<String, Item> itemLookup) {
         for (String groupName : item.getGroupNames()) {
-            Item groupItem = itemRegistry.get(groupName);
+            Item groupItem = itemLookup.apply(groupName);
             if (groupItem != null) {
                 for (String groupTag : groupItem.getTags()) {
                     if (HomekitDeviceType.valueOfTag(groupTag) != null) {
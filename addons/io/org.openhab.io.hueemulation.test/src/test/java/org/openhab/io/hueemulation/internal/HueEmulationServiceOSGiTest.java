@@ -299,6 +299,34 @@ public class HueEmulationServiceOSGiTest extends JavaOSGiTest {
         verify(eventPublisher).post(argThat(ce -> assertSatValue((ItemCommandEvent) ce, 50)));
     }
 
+    /**
+     * Amazon echos and Harmony hubs poll the lights. Unchanged lights are answered with an empty 304 response.
+     */
+    @Test
+    public void lightsETagTest() throws IOException {
+        hueService.ds.config.whitelist.put("testuser", new HueUserAuth("testUserLabel"));
+        hueService.ds.lights.put(2, new HueDevice(item, "switch", DeviceType.SwitchType));
+
+        HttpURLConnection c = (HttpURLConnection) new URL(host + "/api/testuser/lights").openConnection();
+        assertThat(c.getResponseCode(), is(200));
+        String etag = c.getHeaderField("ETag");
+        assertThat(etag, notNullValue());
+        assertThat(read(c), containsString("switch"));
+
+        // Unchanged lights: Empty response
+        c = (HttpURLConnection) new URL(host + "/api/testuser/lights").openConnection();
+        c.setRequestProperty("If-None-Match", etag);
+        assertThat(c.getResponseCode(), is(304));
+
+        // Changed lights: Full response with a new ETag
+        hueService.ds.lights.put(3, new HueDevice(item, "color", DeviceType.ColorType));
+        c = (HttpURLConnection) new URL(host + "/api/testuser/lights").openConnection();
+        c.setRequestProperty("If-None-Match", etag);
+        assertThat(c.getResponseCode(), is(200));
+        assertThat(c.getHeaderField("ETag"), not(etag));
+        assertThat(read(c), containsString("color"));
+    }
+
     /**
      * Amazon echos are setting ct only, if commanded to turn a light white.
      */
@@ -29,6 +29,7 @@ import org.eclipse.smarthome.core.events.EventPublisher;
 import org.eclipse.smarthome.core.items.GroupItem;
 import org.eclipse.smarthome.core.library.items.ColorItem;
 import org.eclipse.smarthome.core.library.items.SwitchItem;
+import org.eclipse.smarthome.core.library.types.OnOffType;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -41,6 +42,7 @@ import org.openhab.io.hueemulation.internal.dto.HueStatePlug;
 import org.openhab.io.hueemulation.internal.dto.HueUserAuth;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonParser;
 
 /**
  * Tests for {@link RESTApi}.
@@ -187,4 +189,62 @@ public class HueRestAPITest {
         assertThat(((HueStateColorBulb) ds.lights.get(2).state).toHSBType().getSaturation().intValue(), is(88));
         assertThat(((HueStateColorBulb) ds.lights.get(2).state).toHSBType().getBrightness().intValue(), is(78));
     }
+
+    @Test
+    public void cachedFullStateEqualsDataStore() throws IOException {
+        ds.config.whitelist.put("testuser", new HueUserAuth("testuser"));
+
+        StringWriter out = new StringWriter();
+        int result = restAPI.handle(HttpMethod.GET, "", out, Paths.get("/api/testuser"), false);
+        assertEquals(200, result);
+        JsonParser parser = new JsonParser();
+        assertThat(parser.parse(out.toString()), is(parser.parse(gson.toJson(ds))));
+    }
+
+    @Test
+    public void cachedLightsFollowItemState() throws IOException {
+        ds.config.whitelist.put("testuser", new HueUserAuth("testuser"));
+
+        StringWriter out = new StringWriter();
+        int result = restAPI.handle(HttpMethod.GET, "", out, Paths.get("/api/testuser/lights"), false);
+        assertEquals(200, result);
+        String before = out.toString();
+        assertThat(before, containsString("\"on\":false"));
+        assertThat(before, not(containsString("\"on\":true")));
+
+        // Nothing changed: Same response
+        out = new StringWriter();
+        restAPI.handle(HttpMethod.GET, "", out, Paths.get("/api/testuser/lights"), false);
+        assertThat(out.toString(), is(before));
+
+        // Changed item state: The light is rendered again
+        ((SwitchItem) ds.lights.get(1).item).setState(OnOffType.ON);
+        out = new StringWriter();
+        restAPI.handle(HttpMethod.GET, "", out, Paths.get("/api/testuser/lights"), false);
+        assertThat(out.toString(), containsString("\"on\":true"));
+
+        out = new StringWriter();
+        restAPI.handle(HttpMethod.GET, "", out, Paths.get("/api/testuser/lights/1"), false);
+        assertThat(out.toString(), containsString("\"on\":true"));
+
+        // Removed light
+        ds.lights.remove(1);
+        out = new StringWriter();
+        restAPI.handle(HttpMethod.GET, "", out, Paths.get("/api/testuser/lights"), false);
+        assertThat(out.toString(), not(containsString("\"on\":true")));
+        assertThat(new JsonParser().parse(out.toString()), is(new JsonParser().parse(gson.toJson(ds.lights))));
+    }
+
+    @Test
+    public void etagMatching() {
+        String etag = Utils.computeETag("{\"1\":{}}");
+        assertThat(etag, is(Utils.computeETag("{\"1\":{}}")));
+        assertThat(etag, not(Utils.computeETag("{\"2\":{}}")));
+
+        assertFalse(Utils.matchesETag(null, etag));
+        assertTrue(Utils.matchesETag(etag, etag));
+        assertTrue(Utils.matchesETag("\"abc\", W/" + etag, etag));
+        assertTrue(Utils.matchesETag("*", etag));
+        assertFalse(Utils.matchesETag("\"abc\"", etag));
+    }
 }
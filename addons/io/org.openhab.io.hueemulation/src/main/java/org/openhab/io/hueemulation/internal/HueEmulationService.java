@@ -201,7 +201,17 @@ public class HueEmulationService implements ReadyTracker {
                 }
 
                 resp.setStatus(statuscode);
-                httpOut.print(out.toString());
+                String responseBody = out.toString();
+                if (method == HttpMethod.GET && statuscode == 200 && !isDebug) {
+                    // Polling clients that already know the resource get an empty response
+                    String etag = Utils.computeETag(responseBody);
+                    resp.setHeader("ETag", etag);
+                    if (Utils.matchesETag(req.getHeader("If-None-Match"), etag)) {
+                        resp.setStatus(304);
+                        return;
+                    }
+                }
+                httpOut.print(responseBody);
 
             }
         }
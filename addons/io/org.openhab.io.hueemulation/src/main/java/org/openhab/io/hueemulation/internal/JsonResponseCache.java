@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.hueemulation.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.WeakHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.hueemulation.internal.dto.HueDataStore;
+import org.openhab.io.hueemulation.internal.dto.HueDevice;
+import org.openhab.io.hueemulation.internal.dto.HueGroup;
+
+import com.google.gson.Gson;
+
+/**
+ * Keeps pre-rendered JSON snapshots of the lights and groups of the {@link HueDataStore}.
+ *
+ * <p>
+ * Hue clients like Amazon Echos or Harmony hubs poll the full state and the lights every few seconds.
+ * Instead of serializing every exposed device again, only devices with a changed item state are serialized
+ * and the resource JSON is composed out of the per device snapshots.
+ * </p>
+ *
+ * <p>
+ * The snapshots validate themselves against the data store on every access, so that any modification
+ * of the data store (by {@link LightItems} or the REST API) is exposed without further notification.
+ * </p>
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JsonResponseCache {
+    private final HueDataStore ds;
+    private final Gson gson;
+
+    /** JSON of each device. Devices are compared by identity, a new device object is always rendered again */
+    private final Map<HueDevice, String> deviceJson = new WeakHashMap<>();
+
+    private List<Object> lightsKey = Collections.emptyList();
+    private @Nullable String lightsJson;
+
+    private List<Object> groupsKey = Collections.emptyList();
+    private @Nullable String groupsJson;
+
+    public JsonResponseCache(HueDataStore ds, Gson gson) {
+        this.ds = ds;
+        this.gson = gson;
+    }
+
+    /**
+     * Returns the JSON of a single light (/api/{username}/lights/{id}).
+     * The hue state is synchronized with the item state before.
+     *
+     * @param device The device
+     * @return The JSON of the device
+     */
+    public synchronized String getLight(HueDevice device) {
+        String json = deviceJson.get(device);
+        if (device.updateState() || json == null) {
+            json = gson.toJson(device);
+            deviceJson.put(device, json);
+        }
+        return json;
+    }
+
+    /**
+     * Returns the JSON of all lights (/api/{username}/lights), equal to serializing {@link HueDataStore#lights}.
+     * The hue states are synchronized with the item states before.
+     */
+    public synchronized String getLights() {
+        // The key consists of the hue IDs and device snapshots. Unchanged snapshots are the same objects and
+        // are compared in constant time.
+        List<Object> key = new ArrayList<>(ds.lights.size() * 2);
+        for (Entry<Integer, HueDevice> entry : ds.lights.entrySet()) {
+            key.add(entry.getKey());
+            key.add(getLight(entry.getValue()));
+        }
+
+        String json = lightsJson;
+        if (json == null || !key.equals(lightsKey)) {
+            StringBuilder b = new StringBuilder();
+            b.append('{');
+            for (int i = 0; i < key.size(); i += 2) {
+                if (i > 0) {
+                    b.append(',');
+                }
+                b.append('"').append(key.get(i)).append("\":").append(key.get(i + 1));
+            }
+            json = b.append('}').toString();
+            lightsJson = json;
+            lightsKey = key;
+        }
+        return json;
+    }
+
+    /**
+     * Returns the JSON of all groups (/api/{username}/groups), equal to serializing {@link HueDataStore#groups}.
+     * The group members are resolved before.
+     */
+    public synchronized String getGroups() {
+        List<Object> key = new ArrayList<>(ds.groups.size() * 4);
+        for (Entry<Integer, HueGroup> entry : ds.groups.entrySet()) {
+            HueGroup group = entry.getValue();
+            group.updateLights();
+            key.add(entry.getKey());
+            key.add(group);
+            key.add(group.name);
+            key.add(new ArrayList<>(group.lights));
+        }
+
+        String json = groupsJson;
+        if (json == null || !key.equals(groupsKey)) {
+            json = gson.toJson(ds.groups);
+            groupsJson = json;
+            groupsKey = key;
+        }
+        return json;
+    }
+
+    /**
+     * Returns the JSON of the full state (/api/{username}), equal to serializing the {@link HueDataStore}.
+     * Only the configuration, which contains the current time, is serialized on every call.
+     */
+    public String getFullState() {
+        StringBuilder b = new StringBuilder();
+        b.append("{\"config\":").append(gson.toJson(ds.config));
+        b.append(",\"lights\":").append(getLights());
+        b.append(",\"groups\":").append(getGroups());
+        b.append(",\"scenes\":").append(gson.toJson(ds.scenes));
+        b.append(",\"rules\":").append(gson.toJson(ds.rules));
+        b.append(",\"sensors\":").append(gson.toJson(ds.sensors));
+        b.append(",\"schedules\":").append(gson.toJson(ds.schedules));
+        b.append(",\"resourcelinks\":").append(gson.toJson(ds.resourcelinks));
+        return b.append('}').toString();
+    }
+}
@@ -19,6 +19,7 @@ import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -65,6 +66,7 @@ public class RESTApi {
     private final Gson gson;
     private final UserManagement userManagement;
     private final ConfigManagement configManagement;
+    private final JsonResponseCache jsonCache;
     private @NonNullByDefault({}) EventPublisher eventPublisher;
 
     public static enum HttpMethod {
@@ -79,6 +81,7 @@ public class RESTApi {
         this.userManagement = userManagement;
         this.configManagement = configManagement;
         this.gson = gson;
+        this.jsonCache = new JsonResponseCache(ds, gson);
     }
 
     public void setEventPublisher(@Nullable EventPublisher eventPublisher) {
@@ -168,7 +171,7 @@ public class RESTApi {
         if (remainingPath.getNameCount() == 0) { /** /api/{username} */
             switch (method) {
                 case GET:
-                    out.write(gson.toJson(ds));
+                    out.write(jsonCache.getFullState());
                     return 200;
                 default:
                     return 405;
@@ -274,8 +277,7 @@ public class RESTApi {
                             out.write("\n");
                         }
                     } else {
-                        ds.lights.values().forEach(v -> v.updateState());
-                        out.write(gson.toJson(ds.lights));
+                        out.write(jsonCache.getLights());
                     }
                     return 200;
                 case POST:
@@ -318,8 +320,7 @@ public class RESTApi {
 
         /** /api/{username}/lights/{id} */
         if (remainingPath.getNameCount() == 1) {
-            hueDevice.updateState();
-            out.write(gson.toJson(hueDevice));
+            out.write(jsonCache.getLight(hueDevice));
             return 200;
         }
 
@@ -341,7 +342,7 @@ public class RESTApi {
         if (remainingPath.getNameCount() == 0) {
             switch (method) {
                 case GET:
-                    out.write(gson.toJson(ds.groups));
+                    out.write(jsonCache.getGroups());
                     return 200;
                 case POST:
                     int hueid = ds.generateNextGroupHueID();
@@ -426,9 +427,12 @@ public class RESTApi {
 
     /**
      * Update changing parameters of the data store like the time.
+     * A real bridge reports the time in seconds resolution, which also keeps the full state stable within a second.
      */
     public void updateDataStore() {
-        ds.config.UTC = LocalDateTime.now(ZoneOffset.UTC).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-        ds.config.localtime = LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        ds.config.UTC = LocalDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.SECONDS)
+                .format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        ds.config.localtime = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS)
+                .format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
     }
 }
@@ -20,9 +20,10 @@ import java.nio.charset.StandardCharsets;
 import javax.servlet.http.HttpServletResponse;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 
 /**
- * Network utility methods
+ * Network and HTTP utility methods
  *
  * @author David Graeff - Initial contribution
  */
@@ -39,6 +40,44 @@ public class Utils {
         response.setHeader("Access-Control-Allow-Headers", "Origin, X-Requested-With, Content-Type, Accept");
     }
 
+    /**
+     * Computes a strong entity tag for the given response body.
+     *
+     * @param body The response body
+     * @return A quoted 64 bit FNV-1a hash of the body
+     */
+    static String computeETag(String body) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < body.length(); i++) {
+            hash ^= body.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return "\"" + Long.toHexString(hash) + "\"";
+    }
+
+    /**
+     * Checks if an If-None-Match request header matches the given entity tag.
+     *
+     * @param ifNoneMatch The header value, may be null
+     * @param etag The quoted entity tag of the current representation
+     * @return True if the client already has the current representation
+     */
+    static boolean matchesETag(@Nullable String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if ("*".equals(tag) || etag.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Try to get the ethernet interface MAC for the network interface that belongs to the given IP address.
      * Returns a default MAC on any failure.
@@ -14,6 +14,7 @@ package org.openhab.io.hueemulation.internal.dto;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -53,6 +54,14 @@ public class HueDevice {
     /** Associated item UID */
     public transient Item item;
     public transient DeviceType deviceType;
+    /**
+     * The item state the hue state got computed from. Only valid if {@link #stateChanged} is false.
+     */
+    private transient @Nullable State syncedItemState;
+    /**
+     * True if the hue state or name got changed without the item state being involved.
+     */
+    private transient boolean stateChanged = true;
 
     public static class Config {
         public final String archetype = "classicbulb";
@@ -154,6 +163,8 @@ public class HueDevice {
     }
 
     private void setState(State itemState) {
+        syncedItemState = itemState;
+        stateChanged = false;
         switch (deviceType) {
             case ColorType:
                 if (itemState instanceof HSBType) {
@@ -209,6 +220,7 @@ public class HueDevice {
             List<String> errorApplied) {
         // First synchronize the internal state information with the framework
         setState(item.getState());
+        stateChanged = true;
 
         Command command = null;
         if (newState.on != null) {
@@ -402,13 +414,21 @@ public class HueDevice {
         if (label != null) {
             name = label;
         }
+        stateChanged = true;
     }
 
     /**
-     * Synchronizes the item state with the hue state object
+     * Synchronizes the item state with the hue state object.
+     *
+     * @return Returns true if the hue state or name changed since the last call and need to be exposed again.
      */
-    public void updateState() {
-        setState(item.getState());
+    public boolean updateState() {
+        State itemState = item.getState();
+        if (!stateChanged && Objects.equals(itemState, syncedItemState)) {
+            return false;
+        }
+        setState(itemState);
+        return true;
     }
 
     @Override
@@ -52,23 +52,30 @@ public class HueGroup {
         groupItem = element;
     }
 
+    /**
+     * Computes the {@link HueGroup#lights} list by looking up all item members of the referenced groupItem and
+     * mapping them to either a known hue ID or filtering them out.
+     */
+    @SuppressWarnings("null")
+    public void updateLights() {
+        GroupItem item = groupItem;
+        if (item != null) {
+            lights = item.getMembers().stream().map(gitem -> itemUIDtoHueID.get(gitem.getUID()))
+                    .filter(id -> id != null).map(e -> String.valueOf(e)).collect(Collectors.toList());
+        }
+    }
+
     /**
      * This custom serializer computes the {@link HueGroup#lights} list, before serializing.
-     * It does so, by looking up all item members of the references groupItem and map them to
-     * either a known hue ID or filtering them out.
+     * See {@link HueGroup#updateLights()}.
      *
      */
     @NonNullByDefault({})
     public static class Serializer implements JsonSerializer<HueGroup> {
 
-        @SuppressWarnings("null")
         @Override
         public JsonElement serialize(HueGroup product, Type type, JsonSerializationContext jsc) {
-            GroupItem item = product.groupItem;
-            if (item != null) {
-                product.lights = item.getMembers().stream().map(gitem -> product.itemUIDtoHueID.get(gitem.getUID()))
-                        .filter(id -> id != null).map(e -> String.valueOf(e)).collect(Collectors.toList());
-            }
+            product.updateLights();
 
             JsonObject o = new JsonObject();
             o.addProperty("name", product.name);
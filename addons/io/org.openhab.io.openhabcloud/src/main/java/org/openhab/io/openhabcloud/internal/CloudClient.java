@@ -20,12 +20,13 @@ import java.net.URL;
 import java.net.URLEncoder;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.api.Request;
@@ -42,6 +43,7 @@ import org.eclipse.jetty.http.HttpStatus;
 import org.eclipse.jetty.util.BufferUtil;
 import org.eclipse.jetty.util.URIUtil;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.openhab.core.OpenHAB;
@@ -83,6 +85,28 @@ public class CloudClient {
      */
     private static final int HTTP_CLIENT_TIMEOUT = 30000;
 
+    /*
+     * This constant defines the maximum time a proxied request may stay without any
+     * traffic. It needs to be longer than the timeout of long polling requests.
+     */
+    private static final int HTTP_REQUEST_IDLE_TIMEOUT = 2 * HTTP_CLIENT_TIMEOUT;
+
+    /*
+     * This constant defines the maximum number of proxied requests which are running at the
+     * same time. Further requests are rejected until running requests finished.
+     */
+    private static final int MAX_RUNNING_REQUESTS = HTTP_CLIENT_MAX_CONNECTIONS_PER_DEST;
+
+    /*
+     * This constant defines the maximum size of a response content message sent to the openHAB Cloud
+     */
+    private static final int RESPONSE_CONTENT_CHUNK_SIZE = 16 * 1024;
+
+    /*
+     * The name of the thread pool for scheduled tasks
+     */
+    private static final String THREADPOOL_OPENHABCLOUD = "openhabcloud";
+
     /*
      * This variable holds base URL for the openHAB Cloud connections
      */
@@ -109,9 +133,16 @@ public class CloudClient {
     private HttpClient jettyClient;
 
     /*
-     * This hashmap holds HTTP requests to local openHAB which are currently running
+     * This map holds HTTP requests to local openHAB which are currently running. It is accessed
+     * by the Socket.IO and Jetty threads.
+     */
+    private final Map<Integer, Request> runningRequests = new ConcurrentHashMap<>();
+
+    /*
+     * These variables hold statistics of the requests proxied to local openHAB
      */
-    private HashMap<Integer, Request> runningRequests;
+    private final AtomicLong proxiedRequests = new AtomicLong();
+    private final AtomicLong proxiedBytes = new AtomicLong();
 
     /*
      * This variable indicates if connection to the openHAB Cloud is currently in an established state
@@ -142,6 +173,11 @@ public class CloudClient {
     private boolean remoteAccessEnabled;
     private Set<String> exposedItems;
 
+    /*
+     * This variable holds the batcher which coalesces item updates, null if updates are sent immediately
+     */
+    private ItemUpdateBatcher itemUpdateBatcher;
+
     /**
      * Constructor of CloudClient
      *
@@ -159,7 +195,6 @@ public class CloudClient {
         this.localBaseUrl = localBaseUrl;
         this.remoteAccessEnabled = remoteAccessEnabled;
         this.exposedItems = exposedItems;
-        runningRequests = new HashMap<Integer, Request>();
         jettyClient = new HttpClient();
         jettyClient.setMaxConnectionsPerDestination(HTTP_CLIENT_MAX_CONNECTIONS_PER_DEST);
         jettyClient.setConnectTimeout(HTTP_CLIENT_TIMEOUT);
@@ -272,9 +307,7 @@ public class CloudClient {
             }
         }
         // And clean up the list of running requests
-        if (runningRequests != null) {
-            runningRequests.clear();
-        }
+        runningRequests.clear();
     }
 
     /**
@@ -311,6 +344,12 @@ public class CloudClient {
             // Get unique request Id
             int requestId = data.getInt("id");
             logger.debug("Got request {}", requestId);
+            if (runningRequests.size() >= MAX_RUNNING_REQUESTS) {
+                logger.warn("Rejecting request {}, {} requests are already running", requestId,
+                        runningRequests.size());
+                sendResponseError(requestId, "openHAB is busy, too many running requests");
+                return;
+            }
             // Get request path
             String requestPath = data.getString("path");
             // Get request method
@@ -343,7 +382,8 @@ public class CloudClient {
             // Now perform the request to openHAB
             // If method is GET
             logger.debug("Request method is {}", requestMethod);
-            Request request = jettyClient.newRequest(requestUri);
+            Request request = jettyClient.newRequest(requestUri).idleTimeout(HTTP_REQUEST_IDLE_TIMEOUT,
+                    TimeUnit.MILLISECONDS);
             setRequestHeaders(request, requestHeadersJson);
             String proto = protocol;
             if (data.has("protocol")) {
@@ -365,10 +405,10 @@ public class CloudClient {
                 return;
             }
             ResponseListener listener = new ResponseListener(requestId);
-            request.onResponseHeaders(listener).onResponseContent(listener).onRequestFailure(listener).send(listener);
-            // If successfully submitted request to http client, add it to the list of currently
-            // running requests to be able to cancel it if needed
+            // Add the request to the list of currently running requests before it is sent, as it
+            // may complete before send() returns
             runningRequests.put(requestId, request);
+            request.onResponseHeaders(listener).onResponseContent(listener).onRequestFailure(listener).send(listener);
         } catch (JSONException e) {
             logger.error("{}", e.getMessage());
         } catch (IOException e) {
@@ -402,16 +442,26 @@ public class CloudClient {
             int requestId = data.getInt("id");
             logger.debug("Received cancel for request {}", requestId);
             // Find and abort running request
-            if (runningRequests.containsKey(requestId)) {
-                Request request = runningRequests.get(requestId);
+            Request request = runningRequests.remove(requestId);
+            if (request != null) {
                 request.abort(new InterruptedException());
-                runningRequests.remove(requestId);
             }
         } catch (JSONException e) {
             logger.error("{}", e.getMessage());
         }
     }
 
+    private void sendResponseError(int requestId, String statusText) {
+        JSONObject responseJson = new JSONObject();
+        try {
+            responseJson.put("id", requestId);
+            responseJson.put("responseStatusText", statusText);
+            socket.emit("responseError", responseJson);
+        } catch (JSONException e) {
+            logger.error("{}", e.getMessage());
+        }
+    }
+
     private void handleCommandEvent(JSONObject data) {
         String itemName = data.getString("item");
         if (exposedItems.contains(itemName)) {
@@ -510,6 +560,10 @@ public class CloudClient {
      *
      */
     public void sendItemUpdate(String itemName, String itemState) {
+        if (itemUpdateBatcher != null) {
+            itemUpdateBatcher.add(itemName, itemState);
+            return;
+        }
         if (isConnected()) {
             logger.debug("Sending update '{}' for item '{}'", itemState, itemName);
             JSONObject itemUpdateMessage = new JSONObject();
@@ -525,6 +579,51 @@ public class CloudClient {
         }
     }
 
+    /**
+     * Send a batch of item updates to openHAB Cloud as one message
+     *
+     * @param itemStates the updated item states by item names
+     *
+     */
+    private void sendItemUpdates(Map<String, String> itemStates) {
+        if (isConnected()) {
+            logger.debug("Sending updates for {} items", itemStates.size());
+            JSONArray itemUpdatesMessage = new JSONArray();
+            try {
+                for (Map.Entry<String, String> itemState : itemStates.entrySet()) {
+                    JSONObject itemUpdateMessage = new JSONObject();
+                    itemUpdateMessage.put("itemName", itemState.getKey());
+                    itemUpdateMessage.put("itemStatus", itemState.getValue());
+                    itemUpdatesMessage.put(itemUpdateMessage);
+                }
+                socket.emit("itemupdates", itemUpdatesMessage);
+            } catch (JSONException e) {
+                logger.error("{}", e.getMessage());
+            }
+        } else {
+            logger.debug("No connection, {} item updates are not sent", itemStates.size());
+        }
+    }
+
+    /**
+     * Enables batching of item updates. Updates of the same item within the batch interval are
+     * coalesced and sent as one "itemupdates" message.
+     *
+     * @param batchInterval maximum time in milliseconds an update is held back, 0 to send updates immediately
+     * @param maxBatchSize maximum number of items in one message
+     *
+     */
+    public void setItemUpdateBatching(long batchInterval, int maxBatchSize) {
+        if (itemUpdateBatcher != null) {
+            itemUpdateBatcher.shutdown();
+            itemUpdateBatcher = null;
+        }
+        if (batchInterval > 0) {
+            itemUpdateBatcher = new ItemUpdateBatcher(batchInterval, maxBatchSize,
+                    ThreadPoolManager.getScheduledPool(THREADPOOL_OPENHABCLOUD), this::sendItemUpdates);
+        }
+    }
+
     /**
      * Returns true if openHAB Cloud connection is active
      */
@@ -537,6 +636,9 @@ public class CloudClient {
      */
     public void shutdown() {
         logger.info("Shutting down openHAB Cloud service connection");
+        if (itemUpdateBatcher != null) {
+            itemUpdateBatcher.shutdown();
+        }
         try {
             jettyClient.stop();
         } catch (Exception e) {
@@ -563,9 +665,10 @@ public class CloudClient {
     private class ResponseListener
             implements Response.CompleteListener, HeadersListener, ContentListener, FailureListener {
 
-        private static final String THREADPOOL_OPENHABCLOUD = "openhabcloud";
         private int mRequestId;
         private boolean mHeadersSent = false;
+        private final long mStartTime = System.nanoTime();
+        private long mContentBytes;
 
         public ResponseListener(int requestId) {
             mRequestId = requestId;
@@ -587,6 +690,11 @@ public class CloudClient {
         public void onComplete(Result result) {
             // Remove this request from list of running requests
             runningRequests.remove(mRequestId);
+            long requests = proxiedRequests.incrementAndGet();
+            long bytes = proxiedBytes.addAndGet(mContentBytes);
+            logger.debug("Request {} finished after {} ms with {} bytes ({} requests with {} bytes proxied in total)",
+                    mRequestId, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - mStartTime), mContentBytes,
+                    requests, bytes);
             if ((result != null && result.isFailed())
                     && (result.getResponse() != null && result.getResponse().getStatus() != HttpStatus.OK_200)) {
                 if (result.getFailure() != null) {
@@ -620,27 +728,27 @@ public class CloudClient {
         @Override
         public synchronized void onFailure(Request request, Throwable failure) {
             logger.error("{}", failure.getMessage());
-            JSONObject responseJson = new JSONObject();
-            try {
-                responseJson.put("id", mRequestId);
-                responseJson.put("responseStatusText", "openHAB connection error: " + failure.getMessage());
-                socket.emit("responseError", responseJson);
-            } catch (JSONException e) {
-                logger.error("{}", e.getMessage());
-            }
+            sendResponseError(mRequestId, "openHAB connection error: " + failure.getMessage());
         }
 
         @Override
         public void onContent(Response response, ByteBuffer content) {
             logger.debug("Jetty received response content of size {}", String.valueOf(content.remaining()));
-            JSONObject responseJson = new JSONObject();
-            try {
-                responseJson.put("id", mRequestId);
-                responseJson.put("body", BufferUtil.toArray(content));
-                socket.emit("responseContentBinary", responseJson);
-                logger.debug("Sent content to request {}", mRequestId);
-            } catch (JSONException e) {
-                logger.error("{}", e.getMessage());
+            mContentBytes += content.remaining();
+            // Forward the content as it arrives, split into chunks of bounded size
+            while (content.hasRemaining()) {
+                ByteBuffer chunk = content.slice();
+                chunk.limit(Math.min(chunk.remaining(), RESPONSE_CONTENT_CHUNK_SIZE));
+                content.position(content.position() + chunk.remaining());
+                JSONObject responseJson = new JSONObject();
+                try {
+                    responseJson.put("id", mRequestId);
+                    responseJson.put("body", BufferUtil.toArray(chunk));
+                    socket.emit("responseContentBinary", responseJson);
+                    logger.debug("Sent content to request {}", mRequestId);
+                } catch (JSONException e) {
+                    logger.error("{}", e.getMessage());
+                }
             }
         }
 
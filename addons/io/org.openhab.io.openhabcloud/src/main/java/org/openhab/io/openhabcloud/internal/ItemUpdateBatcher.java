@@ -0,0 +1,190 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class coalesces item updates which are sent to the openHAB Cloud. Within a batch interval only the
+ * latest state of each item is kept and all pending states are handed over as one batch.
+ * A batch is sent at the latest after the batch interval or as soon as it holds the maximum number of items.
+ *
+ * Updates are counted per item and minute. Items exceeding {@link #NOISY_ITEM_UPDATES_PER_MINUTE} are reported
+ * once and their states are only sent every {@link #NOISY_ITEM_INTERVAL_MS} for the rest of the minute.
+ *
+ * @author agent - Initial contribution
+ */
+class ItemUpdateBatcher {
+    private final Logger logger = LoggerFactory.getLogger(ItemUpdateBatcher.class);
+
+    /*
+     * Number of updates per minute after which an item is throttled
+     */
+    static final int NOISY_ITEM_UPDATES_PER_MINUTE = 120;
+
+    /*
+     * Minimum interval between two updates of a throttled item
+     */
+    static final long NOISY_ITEM_INTERVAL_MS = 10000;
+
+    private static final long RATE_PERIOD_MS = TimeUnit.MINUTES.toMillis(1);
+
+    private final long batchInterval;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduler;
+    private final Consumer<Map<String, String>> sender;
+
+    /*
+     * The latest state of each item which has not been sent yet, in order of the first update
+     */
+    private final Map<String, String> pendingStates = new LinkedHashMap<>();
+    private final Map<String, ItemRate> rates = new HashMap<>();
+    private long ratePeriodStart;
+    private ScheduledFuture<?> flushJob;
+
+    /*
+     * Held while a batch is taken and sent, so that batches are sent in the order they were taken
+     */
+    private final Object sendLock = new Object();
+
+    /**
+     * Per item counters of the current minute
+     */
+    private static class ItemRate {
+        private int updates;
+        private long lastSent;
+        private boolean noisy;
+    }
+
+    /**
+     * Constructor of ItemUpdateBatcher
+     *
+     * @param batchInterval maximum time in milliseconds an update is held back
+     * @param maxBatchSize maximum number of items in a batch
+     * @param scheduler the scheduler for sending batches
+     * @param sender receives the batches, item states by item names
+     */
+    ItemUpdateBatcher(long batchInterval, int maxBatchSize, ScheduledExecutorService scheduler,
+            Consumer<Map<String, String>> sender) {
+        this.batchInterval = batchInterval;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.scheduler = scheduler;
+        this.sender = sender;
+    }
+
+    /**
+     * Adds an item update to the current batch, replacing a pending state of the same item
+     *
+     * @param itemName the name of the item
+     * @param itemState updated item state
+     */
+    public void add(String itemName, String itemState) {
+        boolean batchFull;
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            if (now - ratePeriodStart >= RATE_PERIOD_MS) {
+                rates.clear();
+                ratePeriodStart = now;
+            }
+            ItemRate rate = rates.computeIfAbsent(itemName, k -> new ItemRate());
+            rate.updates++;
+            if (!rate.noisy && rate.updates > NOISY_ITEM_UPDATES_PER_MINUTE) {
+                rate.noisy = true;
+                logger.info("Item '{}' updates more than {} times per minute, sending its state every {} ms only",
+                        itemName, NOISY_ITEM_UPDATES_PER_MINUTE, NOISY_ITEM_INTERVAL_MS);
+            }
+
+            pendingStates.put(itemName, itemState);
+            batchFull = pendingStates.size() >= maxBatchSize;
+            if (!batchFull && flushJob == null) {
+                flushJob = scheduler.schedule(this::flush, batchInterval, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (batchFull) {
+            synchronized (sendLock) {
+                Map<String, String> batch;
+                synchronized (this) {
+                    batch = takeBatch(System.currentTimeMillis());
+                    if (!pendingStates.isEmpty() && flushJob == null) {
+                        flushJob = scheduler.schedule(this::flush, batchInterval, TimeUnit.MILLISECONDS);
+                    }
+                }
+                send(batch);
+            }
+        }
+    }
+
+    /**
+     * Sends all pending updates which are not throttled
+     */
+    public void flush() {
+        synchronized (sendLock) {
+            Map<String, String> batch;
+            synchronized (this) {
+                flushJob = null;
+                batch = takeBatch(System.currentTimeMillis());
+                if (!pendingStates.isEmpty()) {
+                    // throttled items are sent with one of the next batches
+                    flushJob = scheduler.schedule(this::flush, batchInterval, TimeUnit.MILLISECONDS);
+                }
+            }
+            send(batch);
+        }
+    }
+
+    /**
+     * Drops all pending updates and stops sending batches
+     */
+    public synchronized void shutdown() {
+        if (flushJob != null) {
+            flushJob.cancel(false);
+            flushJob = null;
+        }
+        pendingStates.clear();
+        rates.clear();
+    }
+
+    private Map<String, String> takeBatch(long now) {
+        Map<String, String> batch = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, String>> iterator = pendingStates.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, String> entry = iterator.next();
+            ItemRate rate = rates.get(entry.getKey());
+            if (rate != null && rate.noisy && now - rate.lastSent < NOISY_ITEM_INTERVAL_MS) {
+                continue;
+            }
+            if (rate != null) {
+                rate.lastSent = now;
+            }
+            batch.put(entry.getKey(), entry.getValue());
+            iterator.remove();
+        }
+        return batch;
+    }
+
+    private void send(Map<String, String> batch) {
+        if (batch != null && !batch.isEmpty()) {
+            sender.accept(batch);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicPollTaskImpl;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSerialSlaveEndpoint;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.AdaptivePollScheduler;
+
+public class AdaptivePollSchedulerTest {
+
+    private static final ModbusReadCallback NOOP_CALLBACK = new ModbusReadCallback() {
+
+        @Override
+        public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+        }
+
+        @Override
+        public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+        }
+
+        @Override
+        public void onError(ModbusReadRequestBlueprint request, Exception error) {
+        }
+    };
+
+    private final ModbusSlaveEndpoint endpoint = new ModbusSerialSlaveEndpoint("/dev/ttyS0", 9600, 0, 0, 8, 1, 0,
+            "rtu", false, 1500);
+
+    private PollTask task(int start) {
+        return new BasicPollTaskImpl(endpoint, new BasicModbusReadRequestBlueprint(1,
+                ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, start, 1, 3), NOOP_CALLBACK);
+    }
+
+    @Test
+    public void testPeriodIsKeptWhenEndpointKeepsUp() {
+        AdaptivePollScheduler scheduler = new AdaptivePollScheduler(endpoint);
+        PollTask poll = task(0);
+        scheduler.register(poll, 1000);
+        scheduler.recordPoll(poll, 100, 0);
+
+        assertThat(scheduler.getEffectivePeriodMillis(poll), is(equalTo(1000L)));
+    }
+
+    @Test
+    public void testLongPeriodPollsAreStretchedFirst() {
+        AdaptivePollScheduler scheduler = new AdaptivePollScheduler(endpoint);
+        PollTask fast = task(0);
+        PollTask slow = task(1);
+        scheduler.register(fast, 100);
+        scheduler.register(slow, 1000);
+        // fast poll requires half of the capacity, and so does the slow poll
+        scheduler.recordPoll(fast, 50, 0);
+        scheduler.recordPoll(slow, 500, 0);
+
+        assertThat(scheduler.getEffectivePeriodMillis(fast), is(equalTo(100L)));
+        // slow poll gets the remaining 0.3 of the target utilization of 0.8
+        assertThat(scheduler.getEffectivePeriodMillis(slow), is(equalTo(1667L)));
+    }
+
+    @Test
+    public void testStretchedPollExecutionsAreSkipped() {
+        AdaptivePollScheduler scheduler = new AdaptivePollScheduler(endpoint);
+        PollTask fast = task(0);
+        PollTask slow = task(1);
+        scheduler.register(fast, 100);
+        scheduler.register(slow, 1000);
+        scheduler.recordPoll(fast, 50, 0);
+        scheduler.recordPoll(slow, 500, 0);
+
+        assertThat(scheduler.shouldExecute(slow, 0), is(equalTo(true)));
+        assertThat(scheduler.shouldExecute(slow, 1000), is(equalTo(false)));
+        assertThat(scheduler.shouldExecute(slow, 2000), is(equalTo(true)));
+        // unknown polls are never skipped
+        assertThat(scheduler.shouldExecute(task(2), 2000), is(equalTo(true)));
+    }
+
+    @Test
+    public void testUnregisteringPollReleasesCapacity() {
+        AdaptivePollScheduler scheduler = new AdaptivePollScheduler(endpoint);
+        PollTask fast = task(0);
+        PollTask slow = task(1);
+        scheduler.register(fast, 100);
+        scheduler.register(slow, 1000);
+        scheduler.recordPoll(fast, 50, 0);
+        scheduler.recordPoll(slow, 500, 0);
+        scheduler.unregister(fast);
+
+        assertThat(scheduler.getEffectivePeriodMillis(slow), is(equalTo(1000L)));
+        assertThat(scheduler.getEffectivePeriodMillis(fast), is(equalTo(-1L)));
+    }
+}
@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.BasicBitArray;
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
+import org.openhab.io.transport.modbus.BasicPollTaskImpl;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.CoalescedPollTask;
+
+public class CoalescedPollTaskTest {
+
+    private static class CollectingCallback implements ModbusReadCallback {
+
+        private final List<Object> received = new ArrayList<>();
+
+        @Override
+        public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+            received.add(registers.toHexString());
+        }
+
+        @Override
+        public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+            received.add(bits.toBinaryString());
+        }
+
+        @Override
+        public void onError(ModbusReadRequestBlueprint request, Exception error) {
+            received.add(error);
+        }
+    }
+
+    private final ModbusSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("localhost", 502);
+
+    private PollTask task(ModbusReadFunctionCode functionCode, int start, int length) {
+        return task(functionCode, start, length, new CollectingCallback());
+    }
+
+    private PollTask task(ModbusReadFunctionCode functionCode, int start, int length, ModbusReadCallback callback) {
+        return new BasicPollTaskImpl(endpoint,
+                new BasicModbusReadRequestBlueprint(1, functionCode, start, length, 3), callback);
+    }
+
+    @Test
+    public void testAdjacentRangesAreMerged() {
+        PollTask first = task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 2);
+        PollTask second = task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 2, 3);
+        List<PollTask> coalesced = CoalescedPollTask.coalesce(endpoint, Arrays.asList(second, first), 0);
+
+        assertThat(coalesced.size(), is(equalTo(1)));
+        assertThat(coalesced.get(0), is(instanceOf(CoalescedPollTask.class)));
+        assertThat(coalesced.get(0).getRequest().getReference(), is(equalTo(0)));
+        assertThat(coalesced.get(0).getRequest().getDataLength(), is(equalTo(5)));
+        assertThat(((CoalescedPollTask) coalesced.get(0)).getMembers(), is(equalTo(Arrays.asList(first, second))));
+    }
+
+    @Test
+    public void testGapsRespected() {
+        PollTask first = task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 2);
+        PollTask second = task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 4, 1);
+
+        assertThat(CoalescedPollTask.coalesce(endpoint, Arrays.asList(first, second), 0).size(), is(equalTo(2)));
+        assertThat(CoalescedPollTask.coalesce(endpoint, Arrays.asList(first, second), 1).size(), is(equalTo(2)));
+        List<PollTask> coalesced = CoalescedPollTask.coalesce(endpoint, Arrays.asList(first, second), 2);
+        assertThat(coalesced.size(), is(equalTo(1)));
+        assertThat(coalesced.get(0).getRequest().getDataLength(), is(equalTo(5)));
+    }
+
+    @Test
+    public void testDifferentFunctionCodesNotMerged() {
+        PollTask first = task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 2);
+        PollTask second = task(ModbusReadFunctionCode.READ_INPUT_REGISTERS, 2, 2);
+        List<PollTask> coalesced = CoalescedPollTask.coalesce(endpoint, Arrays.asList(first, second), 0);
+
+        // Unmerged tasks are returned as-is
+        assertThat(coalesced, is(equalTo(Arrays.asList(first, second))));
+    }
+
+    @Test
+    public void testProtocolLimitRespected() {
+        PollTask first = task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 100);
+        PollTask second = task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 100, 25);
+        PollTask third = task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 125, 1);
+        List<PollTask> coalesced = CoalescedPollTask.coalesce(endpoint, Arrays.asList(first, second, third), 0);
+
+        assertThat(coalesced.size(), is(equalTo(2)));
+        assertThat(coalesced.get(0).getRequest().getDataLength(), is(equalTo(125)));
+        assertThat(coalesced.get(1), is(equalTo(third)));
+
+        PollTask coils1 = task(ModbusReadFunctionCode.READ_COILS, 0, 1000);
+        PollTask coils2 = task(ModbusReadFunctionCode.READ_COILS, 1000, 1000);
+        assertThat(CoalescedPollTask.coalesce(endpoint, Arrays.asList(coils1, coils2), 0).size(), is(equalTo(1)));
+    }
+
+    @Test
+    public void testRegistersSlicedToMembers() {
+        CollectingCallback callback1 = new CollectingCallback();
+        CollectingCallback callback2 = new CollectingCallback();
+        PollTask first = task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 10, 2, callback1);
+        PollTask second = task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 11, 2, callback2);
+        CoalescedPollTask coalesced = (CoalescedPollTask) CoalescedPollTask
+                .coalesce(endpoint, Arrays.asList(first, second), 0).get(0);
+
+        coalesced.getCallback().onRegisters(coalesced.getRequest(), new BasicModbusRegisterArray(1, 2, 3));
+
+        assertThat(callback1.received, is(equalTo(Arrays.asList("00 01 00 02"))));
+        assertThat(callback2.received, is(equalTo(Arrays.asList("00 02 00 03"))));
+    }
+
+    @Test
+    public void testBitsSlicedToMembers() {
+        CollectingCallback callback1 = new CollectingCallback();
+        CollectingCallback callback2 = new CollectingCallback();
+        PollTask first = task(ModbusReadFunctionCode.READ_COILS, 0, 2, callback1);
+        PollTask second = task(ModbusReadFunctionCode.READ_COILS, 3, 2, callback2);
+        CoalescedPollTask coalesced = (CoalescedPollTask) CoalescedPollTask
+                .coalesce(endpoint, Arrays.asList(first, second), 1).get(0);
+
+        coalesced.getCallback().onBits(coalesced.getRequest(), new BasicBitArray(true, false, false, false, true));
+
+        assertThat(callback1.received, is(equalTo(Arrays.asList("10"))));
+        assertThat(callback2.received, is(equalTo(Arrays.asList("01"))));
+    }
+
+    @Test
+    public void testErrorsPassedToAllMembers() {
+        CollectingCallback callback1 = new CollectingCallback();
+        CollectingCallback callback2 = new CollectingCallback();
+        PollTask first = task(ModbusReadFunctionCode.READ_INPUT_REGISTERS, 0, 2, callback1);
+        PollTask second = task(ModbusReadFunctionCode.READ_INPUT_REGISTERS, 2, 2, callback2);
+        CoalescedPollTask coalesced = (CoalescedPollTask) CoalescedPollTask
+                .coalesce(endpoint, Arrays.asList(first, second), 0).get(0);
+
+        Exception error = new Exception("test");
+        coalesced.getCallback().onError(coalesced.getRequest(), error);
+
+        assertThat(callback1.received, is(equalTo(Arrays.asList(error))));
+        assertThat(callback2.received, is(equalTo(Arrays.asList(error))));
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.ModbusLatencyStatistics;
+import org.openhab.io.transport.modbus.internal.LatencyHistogram;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testEmpty() {
+        ModbusLatencyStatistics stats = new LatencyHistogram().snapshot();
+        assertThat(stats.getCount(), is(equalTo(0L)));
+        assertThat(stats.getMaxMillis(), is(equalTo(0L)));
+        assertThat(stats.getP99Millis(), is(equalTo(0L)));
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 100; i++) {
+            histogram.record(i < 50 ? 3 : 5);
+        }
+        ModbusLatencyStatistics stats = histogram.snapshot();
+        assertThat(stats.getCount(), is(equalTo(100L)));
+        assertThat(stats.getMeanMillis(), is(equalTo(4.0)));
+        assertThat(stats.getP50Millis(), is(equalTo(3L)));
+        assertThat(stats.getP95Millis(), is(equalTo(5L)));
+        assertThat(stats.getMaxMillis(), is(equalTo(5L)));
+    }
+
+    @Test
+    public void testPercentilesWithinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 10000; i++) {
+            histogram.record(i);
+        }
+        ModbusLatencyStatistics stats = histogram.snapshot();
+        assertThat(stats.getCount(), is(equalTo(10000L)));
+        assertThat(stats.getMaxMillis(), is(equalTo(10000L)));
+        assertWithinRelativeError(5000, stats.getP50Millis());
+        assertWithinRelativeError(9500, stats.getP95Millis());
+        assertWithinRelativeError(9900, stats.getP99Millis());
+    }
+
+    @Test
+    public void testPercentileNeverExceedsMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1000);
+        ModbusLatencyStatistics stats = histogram.snapshot();
+        assertThat(stats.getP50Millis(), is(equalTo(1000L)));
+        assertThat(stats.getP99Millis(), is(equalTo(1000L)));
+    }
+
+    @Test
+    public void testNegativeAndHugeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        ModbusLatencyStatistics stats = histogram.snapshot();
+        assertThat(stats.getCount(), is(equalTo(2L)));
+        assertThat(stats.getP50Millis(), is(equalTo(0L)));
+        assertThat(stats.getMaxMillis(), is(equalTo((long) Integer.MAX_VALUE)));
+    }
+
+    @Test
+    public void testValuesOfPreviousWindowAreIncluded() {
+        AtomicLong now = new AtomicLong(1000);
+        LatencyHistogram histogram = new LatencyHistogram(100, now::get);
+        histogram.record(50);
+        now.addAndGet(150);
+        histogram.record(10);
+        ModbusLatencyStatistics stats = histogram.snapshot();
+        assertThat(stats.getCount(), is(equalTo(2L)));
+        assertThat(stats.getMaxMillis(), is(equalTo(50L)));
+        assertThat(stats.getMeanMillis(), is(equalTo(30.0)));
+    }
+
+    @Test
+    public void testOldValuesExpire() {
+        AtomicLong now = new AtomicLong(1000);
+        LatencyHistogram histogram = new LatencyHistogram(100, now::get);
+        histogram.record(50);
+        now.addAndGet(100);
+        histogram.record(10);
+        now.addAndGet(100);
+        ModbusLatencyStatistics stats = histogram.snapshot();
+        assertThat(stats.getCount(), is(equalTo(1L)));
+        assertThat(stats.getMaxMillis(), is(equalTo(10L)));
+
+        now.addAndGet(100);
+        assertThat(histogram.snapshot().getCount(), is(equalTo(0L)));
+    }
+
+    @Test
+    public void testIdleWindowsExpireAllValues() {
+        AtomicLong now = new AtomicLong(1000);
+        LatencyHistogram histogram = new LatencyHistogram(100, now::get);
+        histogram.record(50);
+        now.addAndGet(250);
+        histogram.record(10);
+        ModbusLatencyStatistics stats = histogram.snapshot();
+        assertThat(stats.getCount(), is(equalTo(1L)));
+        assertThat(stats.getMaxMillis(), is(equalTo(10L)));
+    }
+
+    private static void assertWithinRelativeError(long expected, long actual) {
+        assertTrue(String.format("expected %d, got %d", expected, actual),
+                Math.abs(actual - expected) <= expected * 0.13);
+    }
+}
@@ -0,0 +1,168 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.BasicBitArray;
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicModbusWriteCoilRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicPollTaskImpl;
+import org.openhab.io.transport.modbus.BasicWriteTask;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.ModbusResponse;
+import org.openhab.io.transport.modbus.ModbusSlaveErrorResponseException;
+import org.openhab.io.transport.modbus.ModbusWriteCallback;
+import org.openhab.io.transport.modbus.ModbusWriteRequestBlueprint;
+import org.openhab.io.transport.modbus.endpoint.EndpointPoolConfiguration;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+
+import net.wimpi.modbus.procimg.SimpleDigitalOut;
+import net.wimpi.modbus.procimg.SimpleRegister;
+
+/**
+ * Tests for executing operations pipelined, with more than one request in flight
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class PipelinedExecutionTest extends IntegrationTestSupport {
+
+    private void generateData() {
+        for (int i = 0; i < 100; i++) {
+            spi.addRegister(new SimpleRegister(i));
+            spi.addDigitalOut(new SimpleDigitalOut(false));
+        }
+    }
+
+    private ModbusSlaveEndpoint getPipelinedEndpoint() {
+        ModbusSlaveEndpoint endpoint = getEndpoint();
+        EndpointPoolConfiguration configuration = new EndpointPoolConfiguration();
+        configuration.setMaxInFlight(2);
+        modbusManager.setEndpointPoolConfiguration(endpoint, configuration);
+        return endpoint;
+    }
+
+    private BasicPollTaskImpl pollTask(ModbusSlaveEndpoint endpoint, int start, int maxTries,
+            AtomicReference<Object> result, CountDownLatch callbackCalled) {
+        return new BasicPollTaskImpl(endpoint, new BasicModbusReadRequestBlueprint(SLAVE_UNIT_ID,
+                ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, start, 2, maxTries), new ModbusReadCallback() {
+
+                    @Override
+                    public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+                        result.set(registers);
+                        callbackCalled.countDown();
+                    }
+
+                    @Override
+                    public void onError(ModbusReadRequestBlueprint request, Exception error) {
+                        result.set(error);
+                        callbackCalled.countDown();
+                    }
+
+                    @Override
+                    public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+                        result.set(bits);
+                        callbackCalled.countDown();
+                    }
+                });
+    }
+
+    /**
+     * Concurrent polls are pipelined, each response should reach the poll with the matching request
+     */
+    @Test
+    public void testPipelinedPollsReceiveMatchingResponses() throws InterruptedException {
+        generateData();
+        ModbusSlaveEndpoint endpoint = getPipelinedEndpoint();
+
+        CountDownLatch callbackCalled = new CountDownLatch(3);
+        AtomicReference<Object> first = new AtomicReference<>();
+        AtomicReference<Object> second = new AtomicReference<>();
+        AtomicReference<Object> third = new AtomicReference<>();
+        modbusManager.submitOneTimePoll(pollTask(endpoint, 10, 1, first, callbackCalled));
+        modbusManager.submitOneTimePoll(pollTask(endpoint, 20, 1, second, callbackCalled));
+        modbusManager.submitOneTimePoll(pollTask(endpoint, 30, 1, third, callbackCalled));
+        assertTrue(callbackCalled.await(5, TimeUnit.SECONDS));
+
+        assertThat(((ModbusRegisterArray) first.get()).getRegister(0).toUnsignedShort(), is(equalTo(10)));
+        assertThat(((ModbusRegisterArray) second.get()).getRegister(0).toUnsignedShort(), is(equalTo(20)));
+        assertThat(((ModbusRegisterArray) third.get()).getRegister(0).toUnsignedShort(), is(equalTo(30)));
+        assertThat(modbustRequestCaptor.getAllReturnValues().size(), is(equalTo(3)));
+    }
+
+    /**
+     * Pipelined try of a failing poll counts against the maximum tries
+     */
+    @Test
+    public void testPipelinedTryIsCountedAgainstMaxTries() throws InterruptedException {
+        generateData();
+        ModbusSlaveEndpoint endpoint = getPipelinedEndpoint();
+
+        CountDownLatch callbackCalled = new CountDownLatch(1);
+        AtomicReference<Object> result = new AtomicReference<>();
+        // Out-of-bounds read, slave should return error
+        modbusManager.submitOneTimePoll(pollTask(endpoint, 300, 2, result, callbackCalled));
+        assertTrue(callbackCalled.await(5, TimeUnit.SECONDS));
+
+        assertTrue(String.valueOf(result.get()), result.get() instanceof ModbusSlaveErrorResponseException);
+        // One pipelined try and one sequential try
+        assertThat(modbustRequestCaptor.getAllReturnValues().size(), is(equalTo(2)));
+    }
+
+    /**
+     * Write rejected by the slave with an exception response is not sent again
+     */
+    @Test
+    public void testPipelinedWriteWithExceptionResponseIsNotResent() throws InterruptedException {
+        generateData();
+        ModbusSlaveEndpoint endpoint = getPipelinedEndpoint();
+
+        AtomicInteger unexpectedCount = new AtomicInteger();
+        CountDownLatch callbackCalled = new CountDownLatch(1);
+        AtomicReference<Exception> lastError = new AtomicReference<>();
+        BasicWriteTask task = new BasicWriteTask(endpoint,
+                new BasicModbusWriteCoilRequestBlueprint(SLAVE_UNIT_ID, 300, new BasicBitArray(true), false, 3),
+                new ModbusWriteCallback() {
+
+                    @Override
+                    public void onWriteResponse(ModbusWriteRequestBlueprint request, ModbusResponse response) {
+                        unexpectedCount.incrementAndGet();
+                        callbackCalled.countDown();
+                    }
+
+                    @Override
+                    public void onError(ModbusWriteRequestBlueprint request, Exception error) {
+                        lastError.set(error);
+                        callbackCalled.countDown();
+                    }
+                });
+        modbusManager.submitOneTimeWrite(task);
+        assertTrue(callbackCalled.await(5, TimeUnit.SECONDS));
+
+        assertThat(unexpectedCount.get(), is(equalTo(0)));
+        assertTrue(String.valueOf(lastError.get()), lastError.get() instanceof ModbusSlaveErrorResponseException);
+        assertThat(modbustRequestCaptor.getAllReturnValues().size(), is(equalTo(1)));
+    }
+}
@@ -0,0 +1,243 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.internal.PipelinedTransaction;
+
+import net.wimpi.modbus.Modbus;
+import net.wimpi.modbus.ModbusIOException;
+import net.wimpi.modbus.io.ModbusTransport;
+import net.wimpi.modbus.msg.ExceptionResponse;
+import net.wimpi.modbus.msg.ModbusMessage;
+import net.wimpi.modbus.msg.ModbusRequest;
+import net.wimpi.modbus.msg.ModbusResponse;
+import net.wimpi.modbus.msg.ReadMultipleRegistersRequest;
+import net.wimpi.modbus.msg.ReadMultipleRegistersResponse;
+import net.wimpi.modbus.net.TCPMasterConnection;
+import net.wimpi.modbus.procimg.Register;
+import net.wimpi.modbus.procimg.SimpleRegister;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class PipelinedTransactionTest {
+
+    /**
+     * Produces the next response read from the transport, given the requests written so far
+     */
+    private interface ResponseScript {
+        ModbusResponse respond(List<ModbusRequest> written) throws ModbusIOException;
+    }
+
+    /**
+     * Transport answering reads according to a script
+     */
+    private static class ScriptedTransport implements ModbusTransport {
+        private final List<ModbusRequest> written = new ArrayList<>();
+        private final Queue<ResponseScript> script;
+        private final int failOnWrite;
+
+        private ScriptedTransport(int failOnWrite, ResponseScript... script) {
+            this.failOnWrite = failOnWrite;
+            this.script = new LinkedList<>(Arrays.asList(script));
+        }
+
+        private ScriptedTransport(ResponseScript... script) {
+            this(-1, script);
+        }
+
+        @Override
+        public void close() throws IOException {
+        }
+
+        @Override
+        public void writeMessage(ModbusMessage msg) throws ModbusIOException {
+            if (written.size() == failOnWrite) {
+                throw new ModbusIOException("Broken pipe");
+            }
+            written.add((ModbusRequest) msg);
+        }
+
+        @Override
+        public ModbusRequest readRequest() throws ModbusIOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ModbusResponse readResponse() throws ModbusIOException {
+            ResponseScript next = script.poll();
+            if (next == null) {
+                throw new ModbusIOException("Read timed out");
+            }
+            return next.respond(written);
+        }
+    }
+
+    private static class ScriptedConnection extends TCPMasterConnection {
+        private final ModbusTransport transport;
+
+        private ScriptedConnection(ModbusTransport transport) {
+            super(InetAddress.getLoopbackAddress());
+            this.transport = transport;
+        }
+
+        @Override
+        public ModbusTransport getModbusTransport() {
+            return transport;
+        }
+    }
+
+    private static ResponseScript registerResponse(int requestIndex, int value) {
+        return written -> {
+            ModbusResponse response = new ReadMultipleRegistersResponse(new Register[] { new SimpleRegister(value) });
+            response.setTransactionID(written.get(requestIndex).getTransactionID());
+            return response;
+        };
+    }
+
+    private static ResponseScript exceptionResponse(int requestIndex, int exceptionCode) {
+        return written -> {
+            ModbusResponse response = new ExceptionResponse(Modbus.READ_MULTIPLE_REGISTERS, exceptionCode);
+            response.setTransactionID(written.get(requestIndex).getTransactionID());
+            return response;
+        };
+    }
+
+    private static ResponseScript ioError() {
+        return written -> {
+            throw new ModbusIOException("Connection reset");
+        };
+    }
+
+    private static List<ModbusRequest> requests(int count) {
+        List<ModbusRequest> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            requests.add(new ReadMultipleRegistersRequest(i, 1));
+        }
+        return requests;
+    }
+
+    private static int registerValue(ModbusResponse response) {
+        return ((ReadMultipleRegistersResponse) response).getRegisterValue(0);
+    }
+
+    @Test
+    public void testResponsesAreMatchedByTransactionId() throws ModbusIOException {
+        ScriptedTransport transport = new ScriptedTransport(registerResponse(2, 30), registerResponse(0, 10),
+                registerResponse(1, 20));
+        PipelinedTransaction transaction = new PipelinedTransaction(new ScriptedConnection(transport), requests(3));
+
+        ModbusResponse[] responses = transaction.execute();
+
+        assertThat(transport.written.size(), is(equalTo(3)));
+        assertThat(transaction.getRequestsWritten(), is(equalTo(3)));
+        assertThat(registerValue(responses[0]), is(equalTo(10)));
+        assertThat(registerValue(responses[1]), is(equalTo(20)));
+        assertThat(registerValue(responses[2]), is(equalTo(30)));
+    }
+
+    @Test
+    public void testTransactionIdsAreUnique() throws ModbusIOException {
+        ScriptedTransport transport = new ScriptedTransport(registerResponse(0, 0), registerResponse(1, 1),
+                registerResponse(2, 2));
+        new PipelinedTransaction(new ScriptedConnection(transport), requests(3)).execute();
+
+        int first = transport.written.get(0).getTransactionID();
+        int second = transport.written.get(1).getTransactionID();
+        int third = transport.written.get(2).getTransactionID();
+        assertThat(first, is(not(equalTo(second))));
+        assertThat(second, is(not(equalTo(third))));
+        assertThat(first, is(not(equalTo(third))));
+    }
+
+    @Test
+    public void testMissingResponse() throws ModbusIOException {
+        // Second read returns an unrelated transaction, leaving the second request unanswered
+        ScriptedTransport transport = new ScriptedTransport(registerResponse(0, 10), written -> {
+            ModbusResponse response = new ReadMultipleRegistersResponse(new Register[] { new SimpleRegister(99) });
+            response.setTransactionID(written.get(2).getTransactionID() + 1);
+            return response;
+        }, registerResponse(2, 30));
+        PipelinedTransaction transaction = new PipelinedTransaction(new ScriptedConnection(transport), requests(3));
+
+        ModbusResponse[] responses = transaction.execute();
+
+        assertThat(registerValue(responses[0]), is(equalTo(10)));
+        assertThat(responses[1], is(nullValue()));
+        assertThat(registerValue(responses[2]), is(equalTo(30)));
+    }
+
+    @Test
+    public void testExceptionResponseIsReturned() throws ModbusIOException {
+        ScriptedTransport transport = new ScriptedTransport(exceptionResponse(1, Modbus.ILLEGAL_ADDRESS_EXCEPTION),
+                registerResponse(0, 10));
+        PipelinedTransaction transaction = new PipelinedTransaction(new ScriptedConnection(transport), requests(2));
+
+        ModbusResponse[] responses = transaction.execute();
+
+        assertThat(registerValue(responses[0]), is(equalTo(10)));
+        assertThat(responses[1], is(instanceOf(ExceptionResponse.class)));
+        assertThat(((ExceptionResponse) responses[1]).getExceptionCode(),
+                is(equalTo(Modbus.ILLEGAL_ADDRESS_EXCEPTION)));
+    }
+
+    @Test
+    public void testResponsesBeforeReadErrorAreKept() {
+        ScriptedTransport transport = new ScriptedTransport(registerResponse(1, 20), ioError());
+        PipelinedTransaction transaction = new PipelinedTransaction(new ScriptedConnection(transport), requests(3));
+
+        try {
+            transaction.execute();
+            fail("Expected ModbusIOException");
+        } catch (ModbusIOException e) {
+            // expected
+        }
+
+        ModbusResponse[] responses = transaction.getResponses();
+        assertThat(transaction.getRequestsWritten(), is(equalTo(3)));
+        assertThat(responses[0], is(nullValue()));
+        assertThat(registerValue(responses[1]), is(equalTo(20)));
+        assertThat(responses[2], is(nullValue()));
+    }
+
+    @Test
+    public void testWriteErrorCountsRequestsWritten() {
+        ScriptedTransport transport = new ScriptedTransport(1, registerResponse(0, 10));
+        PipelinedTransaction transaction = new PipelinedTransaction(new ScriptedConnection(transport), requests(3));
+
+        try {
+            transaction.execute();
+            fail("Expected ModbusIOException");
+        } catch (ModbusIOException e) {
+            // expected
+        }
+
+        // The request whose write failed may have reached the slave, the last one did not
+        assertThat(transaction.getRequestsWritten(), is(equalTo(2)));
+        assertThat(transaction.getResponses()[0], is(nullValue()));
+    }
+}
@@ -30,6 +30,7 @@ import org.openhab.io.transport.modbus.BasicPollTaskImpl;
 import org.openhab.io.transport.modbus.BasicWriteTask;
 import org.openhab.io.transport.modbus.BitArray;
 import org.openhab.io.transport.modbus.ModbusConnectionException;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
 import org.openhab.io.transport.modbus.ModbusManagerListener;
 import org.openhab.io.transport.modbus.ModbusReadCallback;
 import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
@@ -905,4 +906,47 @@ public class SmokeTest extends IntegrationTestSupport {
         assertThat(modbusManager.getRegisteredRegularPolls(), is(equalTo(ImmutableSet.of(task2))));
 
     }
+
+    /**
+     * Metrics of the endpoint are discarded when the last regular poll of the endpoint is unregistered
+     *
+     * @throws InterruptedException
+     */
+    @Test
+    public void testMetricsDiscardedWithLastRegularPoll() throws InterruptedException {
+        generateData();
+        ModbusSlaveEndpoint endpoint = getEndpoint();
+
+        CountDownLatch callbackCalled = new CountDownLatch(1);
+        BasicPollTaskImpl task = new BasicPollTaskImpl(endpoint, new BasicModbusReadRequestBlueprint(SLAVE_UNIT_ID,
+                ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 1, 5, 1), new ModbusReadCallback() {
+
+                    @Override
+                    public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+                        callbackCalled.countDown();
+                    }
+
+                    @Override
+                    public void onError(ModbusReadRequestBlueprint request, Exception error) {
+                        callbackCalled.countDown();
+                    }
+
+                    @Override
+                    public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+                        callbackCalled.countDown();
+                    }
+                });
+        // Long period, so that only the initial poll is executed during the test
+        modbusManager.registerRegularPoll(task, 60_000, 0);
+        assertTrue(callbackCalled.await(5, TimeUnit.SECONDS));
+        waitForAssert(() -> {
+            ModbusEndpointMetrics metrics = modbusManager.getEndpointMetrics(endpoint);
+            assertNotNull(metrics);
+            assertThat(metrics.getOperationCount(), is(equalTo(1L)));
+            assertThat(metrics.getPendingOperations(), is(equalTo(0)));
+        }, 1000, 10);
+
+        modbusManager.unregisterRegularPoll(task);
+        assertNull(modbusManager.getEndpointMetrics(endpoint));
+    }
 }
@@ -13,9 +13,6 @@
 package org.openhab.io.transport.modbus;
 
 import java.math.BigDecimal;
-import java.math.BigInteger;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 import java.util.Optional;
 
@@ -108,94 +105,69 @@ public class ModbusBitUtilities {
         }
         switch (type) {
             case BIT:
-                return new DecimalType((registers.getRegister(index / 16).toUnsignedShort() >> (index % 16)) & 1);
+                return new DecimalType((registers.getUnsignedShort(index / 16) >> (index % 16)) & 1);
             case INT8:
-                return new DecimalType(registers.getRegister(index / 2).getBytes()[1 - (index % 2)]);
+                return new DecimalType((byte) (registers.getUnsignedShort(index / 2) >> (8 * (index % 2))));
             case UINT8:
-                return new DecimalType(
-                        (registers.getRegister(index / 2).toUnsignedShort() >> (8 * (index % 2))) & 0xff);
-            case INT16: {
-                ByteBuffer buff = ByteBuffer.allocate(2);
-                buff.put(registers.getRegister(index).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getShort(0));
-            }
+                return new DecimalType((registers.getUnsignedShort(index / 2) >> (8 * (index % 2))) & 0xff);
+            case INT16:
+                return new DecimalType((short) registers.getUnsignedShort(index));
             case UINT16:
-                return new DecimalType(registers.getRegister(index).toUnsignedShort());
-            case INT32: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getInt(0));
-            }
-            case UINT32: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.position(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0));
-            }
-            case FLOAT32: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getFloat(0));
-            }
-            case INT64: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 3).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0));
-            }
-            case UINT64: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 3).getBytes());
-                return new DecimalType(new BigDecimal(new BigInteger(1, buff.order(ByteOrder.BIG_ENDIAN).array())));
-            }
-            case INT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getInt(0));
-            }
-            case UINT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.position(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0));
-            }
-            case FLOAT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getFloat(0));
-            }
-            case INT64_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index + 3).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0));
-            }
-            case UINT64_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index + 3).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return new DecimalType(new BigDecimal(new BigInteger(1, buff.order(ByteOrder.BIG_ENDIAN).array())));
-            }
+                return new DecimalType(registers.getUnsignedShort(index));
+            case INT32:
+                return new DecimalType((int) registersToLong(registers, index, 2, false));
+            case UINT32:
+                return new DecimalType(registersToLong(registers, index, 2, false));
+            case FLOAT32:
+                return new DecimalType(Float.intBitsToFloat((int) registersToLong(registers, index, 2, false)));
+            case INT64:
+                return new DecimalType(registersToLong(registers, index, 4, false));
+            case UINT64:
+                return unsignedLongToDecimalType(registersToLong(registers, index, 4, false));
+            case INT32_SWAP:
+                return new DecimalType((int) registersToLong(registers, index, 2, true));
+            case UINT32_SWAP:
+                return new DecimalType(registersToLong(registers, index, 2, true));
+            case FLOAT32_SWAP:
+                return new DecimalType(Float.intBitsToFloat((int) registersToLong(registers, index, 2, true)));
+            case INT64_SWAP:
+                return new DecimalType(registersToLong(registers, index, 4, true));
+            case UINT64_SWAP:
+                return unsignedLongToDecimalType(registersToLong(registers, index, 4, true));
             default:
                 throw new IllegalArgumentException(type.getConfigValue());
         }
     }
 
+    /**
+     * Combine registers to a single primitive value, without creating any intermediate objects
+     *
+     * The registers are interpreted in big endian order, i.e. the first register contains the most significant 16
+     * bits. With <code>swap</code>, the order of registers is reversed.
+     *
+     * @param registers registers to read from
+     * @param index index of the first register
+     * @param count number of registers to combine, at most 4
+     * @param swap whether register order should be reversed
+     * @return bits of the registers, zero-extended to 64 bits
+     */
+    private static long registersToLong(ModbusRegisterArray registers, int index, int count, boolean swap) {
+        long value = 0;
+        for (int i = 0; i < count; i++) {
+            int registerIndex = swap ? index + count - 1 - i : index + i;
+            value = (value << 16) | registers.getUnsignedShort(registerIndex);
+        }
+        return value;
+    }
+
+    private static DecimalType unsignedLongToDecimalType(long value) {
+        if (value >= 0) {
+            return new DecimalType(value);
+        }
+        // Value does not fit to signed long. Highest bit is set, and we need to represent it as unsigned
+        return new DecimalType(new BigDecimal(Long.toUnsignedString(value)));
+    }
+
     /**
      * Read data from registers and convert the result to StringType
      * Strings should start the the first byte of a register, but could
@@ -27,6 +27,16 @@ import org.eclipse.jdt.annotation.Nullable;
 @NonNullByDefault
 public class ModbusConstants {
 
+    /**
+     * Maximum number of registers that can be read with single request (function codes 3 and 4)
+     */
+    public static final int MAX_REGISTERS_READ_COUNT = 125;
+
+    /**
+     * Maximum number of coils or discrete inputs that can be read with single request (function codes 1 and 2)
+     */
+    public static final int MAX_BITS_READ_COUNT = 2000;
+
     /**
      * Value types for different number types.
      *
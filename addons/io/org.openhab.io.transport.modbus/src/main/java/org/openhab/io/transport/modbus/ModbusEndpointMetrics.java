@@ -0,0 +1,149 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus;
+
+import org.apache.commons.lang.builder.StandardToStringStyle;
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Immutable snapshot of the operations executed with single endpoint
+ *
+ * Counters are cumulative since the first operation with the endpoint. Latency statistics cover the recent operations
+ * only, at least the last five minutes.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class ModbusEndpointMetrics {
+    private static StandardToStringStyle toStringStyle = new StandardToStringStyle();
+    static {
+        toStringStyle.setUseShortClassName(true);
+    }
+
+    private final long operationCount;
+    private final long errorCount;
+    private final long retryCount;
+    private final long connectionErrorCount;
+    private final int pendingOperations;
+    private final ModbusLatencyStatistics borrowWait;
+    private final ModbusLatencyStatistics transactionTime;
+    private final ModbusLatencyStatistics callbackTime;
+    private final ModbusLatencyStatistics totalTime;
+
+    public ModbusEndpointMetrics(long operationCount, long errorCount, long retryCount, long connectionErrorCount,
+            int pendingOperations, ModbusLatencyStatistics borrowWait, ModbusLatencyStatistics transactionTime,
+            ModbusLatencyStatistics callbackTime, ModbusLatencyStatistics totalTime) {
+        this.operationCount = operationCount;
+        this.errorCount = errorCount;
+        this.retryCount = retryCount;
+        this.connectionErrorCount = connectionErrorCount;
+        this.pendingOperations = pendingOperations;
+        this.borrowWait = borrowWait;
+        this.transactionTime = transactionTime;
+        this.callbackTime = callbackTime;
+        this.totalTime = totalTime;
+    }
+
+    /**
+     * Get number of completed read and write operations, including the failed ones
+     *
+     * @return number of operations
+     */
+    public long getOperationCount() {
+        return operationCount;
+    }
+
+    /**
+     * Get number of operations that failed after all tries
+     *
+     * @return number of failed operations
+     */
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Get number of retries, that is, tries after the first one
+     *
+     * @return number of retries
+     */
+    public long getRetryCount() {
+        return retryCount;
+    }
+
+    /**
+     * Get number of times connection to the endpoint could not be established
+     *
+     * @return number of connection errors
+     */
+    public long getConnectionErrorCount() {
+        return connectionErrorCount;
+    }
+
+    /**
+     * Get number of operations currently waiting for connection or executing
+     *
+     * @return number of pending operations
+     */
+    public int getPendingOperations() {
+        return pendingOperations;
+    }
+
+    /**
+     * Get time waited for connection from the pool. Includes the time waiting for other operations with the same
+     * endpoint, and the delays between transactions.
+     *
+     * @return latency statistics of borrowing connection
+     */
+    public ModbusLatencyStatistics getBorrowWait() {
+        return borrowWait;
+    }
+
+    /**
+     * Get time spent in transactions with the slave, per operation (all tries)
+     *
+     * @return latency statistics of transactions
+     */
+    public ModbusLatencyStatistics getTransactionTime() {
+        return transactionTime;
+    }
+
+    /**
+     * Get time spent calling the callbacks, per operation
+     *
+     * @return latency statistics of callbacks
+     */
+    public ModbusLatencyStatistics getCallbackTime() {
+        return callbackTime;
+    }
+
+    /**
+     * Get total time of operations
+     *
+     * @return latency statistics of complete operations
+     */
+    public ModbusLatencyStatistics getTotalTime() {
+        return totalTime;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, toStringStyle).append("operationCount", operationCount)
+                .append("errorCount", errorCount).append("retryCount", retryCount)
+                .append("connectionErrorCount", connectionErrorCount).append("pendingOperations", pendingOperations)
+                .append("borrowWait", borrowWait).append("transactionTime", transactionTime)
+                .append("callbackTime", callbackTime).append("totalTime", totalTime).toString();
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus;
+
+import org.apache.commons.lang.builder.StandardToStringStyle;
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Immutable snapshot of latency distribution of some Modbus related action, for example transactions with slave
+ *
+ * Percentiles are approximate, with relative error of less than 13%.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class ModbusLatencyStatistics {
+    private static StandardToStringStyle toStringStyle = new StandardToStringStyle();
+    static {
+        toStringStyle.setUseShortClassName(true);
+    }
+
+    public static final ModbusLatencyStatistics EMPTY = new ModbusLatencyStatistics(0, 0, 0, 0, 0, 0);
+
+    private final long count;
+    private final double meanMillis;
+    private final long maxMillis;
+    private final long p50Millis;
+    private final long p95Millis;
+    private final long p99Millis;
+
+    public ModbusLatencyStatistics(long count, double meanMillis, long maxMillis, long p50Millis, long p95Millis,
+            long p99Millis) {
+        this.count = count;
+        this.meanMillis = meanMillis;
+        this.maxMillis = maxMillis;
+        this.p50Millis = p50Millis;
+        this.p95Millis = p95Millis;
+        this.p99Millis = p99Millis;
+    }
+
+    /**
+     * Get number of recorded values
+     *
+     * @return number of recorded values
+     */
+    public long getCount() {
+        return count;
+    }
+
+    public double getMeanMillis() {
+        return meanMillis;
+    }
+
+    public long getMaxMillis() {
+        return maxMillis;
+    }
+
+    /**
+     * Get median
+     *
+     * @return median, in milliseconds
+     */
+    public long getP50Millis() {
+        return p50Millis;
+    }
+
+    /**
+     * Get 95th percentile
+     *
+     * @return 95th percentile, in milliseconds
+     */
+    public long getP95Millis() {
+        return p95Millis;
+    }
+
+    /**
+     * Get 99th percentile
+     *
+     * @return 99th percentile, in milliseconds
+     */
+    public long getP99Millis() {
+        return p99Millis;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, toStringStyle).append("count", count).append("meanMillis", meanMillis)
+                .append("maxMillis", maxMillis).append("p50Millis", p50Millis).append("p95Millis", p95Millis)
+                .append("p99Millis", p99Millis).toString();
+    }
+}
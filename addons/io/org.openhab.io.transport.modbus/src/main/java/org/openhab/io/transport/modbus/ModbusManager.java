@@ -12,6 +12,7 @@
  */
 package org.openhab.io.transport.modbus;
 
+import java.util.OptionalLong;
 import java.util.Set;
 import java.util.concurrent.ScheduledFuture;
 
@@ -41,6 +42,10 @@ public interface ModbusManager {
      * Register regularly polled task. The method returns immediately, and the execution of the poll task will happen in
      * the background.
      *
+     * In case coalescing is enabled for the endpoint (see {@link EndpointPoolConfiguration#isCoalescePolls()}), polls
+     * with the same period, slave id and function code might be merged to single larger read. The callback of each
+     * task still receives the data as requested by the task.
+     *
      * @param task
      * @return
      */
@@ -83,6 +88,29 @@ public interface ModbusManager {
      */
     public @Nullable EndpointPoolConfiguration getEndpointPoolConfiguration(ModbusSlaveEndpoint endpoint);
 
+    /**
+     * Get metrics of the operations executed with a given endpoint
+     *
+     * Metrics include operation, error and retry counts, and latency statistics of borrowing connection, transactions
+     * and callbacks. Counters are cumulative, latency statistics cover the recent operations. Metrics of an endpoint
+     * are discarded when its last regular poll is unregistered and no operations are pending.
+     *
+     * @param endpoint endpoint to query
+     * @return snapshot of the metrics, or null if no operations have been executed with the endpoint
+     */
+    public @Nullable ModbusEndpointMetrics getEndpointMetrics(ModbusSlaveEndpoint endpoint);
+
+    /**
+     * Get the period a regular poll is actually executed with
+     *
+     * The effective period equals the registered poll period, unless adaptive polling is enabled with the endpoint
+     * (see {@link EndpointPoolConfiguration#isAdaptivePolling()}) and the endpoint cannot keep up with the polls.
+     *
+     * @param task registered regular poll
+     * @return effective poll period in milliseconds, or empty if the poll is not registered
+     */
+    public OptionalLong getEffectivePollPeriodMillis(PollTask task);
+
     /**
      * Register listener for changes
      *
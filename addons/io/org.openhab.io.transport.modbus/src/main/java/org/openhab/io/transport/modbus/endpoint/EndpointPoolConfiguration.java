@@ -61,6 +61,29 @@ public class EndpointPoolConfiguration {
      */
     private int connectTimeoutMillis;
 
+    /**
+     * Whether regular polls with the same period should be merged into larger reads (same slave id and function code)
+     */
+    private boolean coalescePolls;
+
+    /**
+     * Maximum number of unrequested registers/bits allowed between two polls that are coalesced. Zero means that only
+     * overlapping or adjacent polls are merged.
+     */
+    private int coalescingMaxGap;
+
+    /**
+     * Maximum number of requests written to the connection before reading the responses (Modbus/TCP only). Default of
+     * 1 means that each request waits for the response before the next one is sent.
+     */
+    private int maxInFlight = 1;
+
+    /**
+     * Whether regular polls should be stretched automatically when the endpoint cannot keep up with the configured
+     * poll periods. Polls with shorter period are favoured over polls with longer period.
+     */
+    private boolean adaptivePolling;
+
     private static StandardToStringStyle toStringStyle = new StandardToStringStyle();
 
     static {
@@ -107,10 +130,44 @@ public class EndpointPoolConfiguration {
         this.connectTimeoutMillis = connectTimeoutMillis;
     }
 
+    public boolean isCoalescePolls() {
+        return coalescePolls;
+    }
+
+    public void setCoalescePolls(boolean coalescePolls) {
+        this.coalescePolls = coalescePolls;
+    }
+
+    public int getCoalescingMaxGap() {
+        return coalescingMaxGap;
+    }
+
+    public void setCoalescingMaxGap(int coalescingMaxGap) {
+        this.coalescingMaxGap = coalescingMaxGap;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    public boolean isAdaptivePolling() {
+        return adaptivePolling;
+    }
+
+    public void setAdaptivePolling(boolean adaptivePolling) {
+        this.adaptivePolling = adaptivePolling;
+    }
+
     @Override
     public int hashCode() {
         return new HashCodeBuilder(2149, 3117).append(interTransactionDelayMillis).append(interConnectDelayMillis)
-                .append(connectMaxTries).append(reconnectAfterMillis).append(connectTimeoutMillis).toHashCode();
+                .append(connectMaxTries).append(reconnectAfterMillis).append(connectTimeoutMillis)
+                .append(coalescePolls).append(coalescingMaxGap).append(maxInFlight).append(adaptivePolling)
+                .toHashCode();
     }
 
     @Override
@@ -119,7 +176,9 @@ public class EndpointPoolConfiguration {
                 .append("interTransactionDelayMillis", interTransactionDelayMillis)
                 .append("interConnectDelayMillis", interConnectDelayMillis).append("connectMaxTries", connectMaxTries)
                 .append("reconnectAfterMillis", reconnectAfterMillis)
-                .append("connectTimeoutMillis", connectTimeoutMillis).toString();
+                .append("connectTimeoutMillis", connectTimeoutMillis).append("coalescePolls", coalescePolls)
+                .append("coalescingMaxGap", coalescingMaxGap).append("maxInFlight", maxInFlight)
+                .append("adaptivePolling", adaptivePolling).toString();
     }
 
     @Override
@@ -137,7 +196,9 @@ public class EndpointPoolConfiguration {
         return new EqualsBuilder().append(interTransactionDelayMillis, rhs.interTransactionDelayMillis)
                 .append(interConnectDelayMillis, rhs.interConnectDelayMillis)
                 .append(connectMaxTries, rhs.connectMaxTries).append(reconnectAfterMillis, rhs.reconnectAfterMillis)
-                .append(connectTimeoutMillis, rhs.connectTimeoutMillis).isEquals();
+                .append(connectTimeoutMillis, rhs.connectTimeoutMillis).append(coalescePolls, rhs.coalescePolls)
+                .append(coalescingMaxGap, rhs.coalescingMaxGap).append(maxInFlight, rhs.maxInFlight)
+                .append(adaptivePolling, rhs.adaptivePolling).isEquals();
     }
 
 }
@@ -0,0 +1,243 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stretches the periods of regular polls of single endpoint when the endpoint cannot keep up with them.
+ *
+ * The time each poll occupies the endpoint is measured, and the share of the endpoint capacity required by the poll
+ * is computed by dividing that with the poll period. Capacity used by one-off operations (writes and one-off polls)
+ * is reserved first. The remaining capacity is given to the polls in the order of their period, shortest first.
+ * Polls that do not fit are stretched evenly so that they share whatever capacity is left.
+ *
+ * Polls are still scheduled with their configured period. Executions are skipped until the effective period has
+ * elapsed since the previous execution.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class AdaptivePollScheduler {
+
+    /**
+     * Share of the endpoint capacity that can be used by polls and one-off operations, leaving some headroom for
+     * bursts of one-off operations
+     */
+    static final double TARGET_UTILIZATION = 0.8;
+    /**
+     * Minimum share of the endpoint capacity given to the stretched polls, regardless of the other load. Ensures that
+     * the polls with long period are never starved completely.
+     */
+    static final double MIN_STRETCHED_SHARE = 0.05;
+    /**
+     * Weight of the latest measurement in the exponential moving averages
+     */
+    static final double SMOOTHING_FACTOR = 0.2;
+    /**
+     * Length of the window for measuring the capacity used by one-off operations
+     */
+    static final long ONE_OFF_WINDOW_MILLIS = 10_000;
+
+    private static class PollState {
+        private final long periodMillis;
+        private long effectivePeriodMillis;
+        /**
+         * Exponential moving average of the time the poll occupies the endpoint, or negative if not measured yet
+         */
+        private double busyMillis = -1;
+        private long lastExecutionMillis = Long.MIN_VALUE;
+
+        private PollState(long periodMillis) {
+            this.periodMillis = periodMillis;
+            this.effectivePeriodMillis = periodMillis;
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(AdaptivePollScheduler.class);
+    private final ModbusSlaveEndpoint endpoint;
+    private final Map<PollTask, PollState> polls = new LinkedHashMap<>();
+    private double oneOffUtilization;
+    private long oneOffBusyMillis;
+    private long oneOffWindowStartMillis = Long.MIN_VALUE;
+    private boolean oversubscribed;
+
+    public AdaptivePollScheduler(ModbusSlaveEndpoint endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Start tracking a regular poll
+     *
+     * @param task poll task, as executed by the manager
+     * @param periodMillis configured poll period
+     */
+    public synchronized void register(PollTask task, long periodMillis) {
+        polls.put(task, new PollState(Math.max(1, periodMillis)));
+        recompute();
+    }
+
+    /**
+     * Stop tracking a regular poll
+     *
+     * @param task poll task
+     */
+    public synchronized void unregister(PollTask task) {
+        if (polls.remove(task) != null) {
+            recompute();
+        }
+    }
+
+    public synchronized boolean isEmpty() {
+        return polls.isEmpty();
+    }
+
+    /**
+     * Check whether a scheduled execution of the poll should proceed. The execution is counted when this method returns
+     * true.
+     *
+     * An execution is allowed when the effective period has elapsed since previous execution, with tolerance of half
+     * the configured period to account for scheduling jitter.
+     *
+     * @param task poll task
+     * @param nowMillis current time
+     * @return whether to execute the poll now. Unknown polls are always executed.
+     */
+    public synchronized boolean shouldExecute(PollTask task, long nowMillis) {
+        @Nullable
+        PollState state = polls.get(task);
+        if (state == null) {
+            return true;
+        }
+        if (state.lastExecutionMillis != Long.MIN_VALUE
+                && nowMillis - state.lastExecutionMillis < state.effectivePeriodMillis - state.periodMillis / 2) {
+            return false;
+        }
+        state.lastExecutionMillis = nowMillis;
+        return true;
+    }
+
+    /**
+     * Record execution of a regular poll
+     *
+     * @param task poll task
+     * @param busyMillis time the poll occupied the endpoint, including the delay between transactions
+     * @param nowMillis current time
+     */
+    public synchronized void recordPoll(PollTask task, long busyMillis, long nowMillis) {
+        @Nullable
+        PollState state = polls.get(task);
+        if (state == null) {
+            return;
+        }
+        state.busyMillis = state.busyMillis < 0 ? busyMillis
+                : state.busyMillis + SMOOTHING_FACTOR * (busyMillis - state.busyMillis);
+        updateOneOffUtilization(nowMillis);
+        recompute();
+    }
+
+    /**
+     * Record execution of an one-off operation, e.g. write
+     *
+     * @param busyMillis time the operation occupied the endpoint, including the delay between transactions
+     * @param nowMillis current time
+     */
+    public synchronized void recordOneOff(long busyMillis, long nowMillis) {
+        updateOneOffUtilization(nowMillis);
+        oneOffBusyMillis += busyMillis;
+    }
+
+    /**
+     * Get the effective period of a regular poll
+     *
+     * @param task poll task
+     * @return effective period in milliseconds, or -1 if the poll is not tracked
+     */
+    public synchronized long getEffectivePeriodMillis(PollTask task) {
+        @Nullable
+        PollState state = polls.get(task);
+        return state == null ? -1 : state.effectivePeriodMillis;
+    }
+
+    private void updateOneOffUtilization(long nowMillis) {
+        if (oneOffWindowStartMillis == Long.MIN_VALUE) {
+            oneOffWindowStartMillis = nowMillis;
+            return;
+        }
+        long windowMillis = nowMillis - oneOffWindowStartMillis;
+        if (windowMillis < ONE_OFF_WINDOW_MILLIS) {
+            return;
+        }
+        double utilization = Math.min(1.0, (double) oneOffBusyMillis / windowMillis);
+        oneOffUtilization += SMOOTHING_FACTOR * (utilization - oneOffUtilization);
+        oneOffBusyMillis = 0;
+        oneOffWindowStartMillis = nowMillis;
+    }
+
+    private void recompute() {
+        List<PollState> byPeriod = new ArrayList<>(polls.values());
+        byPeriod.sort(Comparator.comparingLong(state -> state.periodMillis));
+
+        double remaining = TARGET_UTILIZATION - oneOffUtilization;
+        int firstStretched = byPeriod.size();
+        for (int i = 0; i < byPeriod.size(); i++) {
+            PollState state = byPeriod.get(i);
+            double demand = utilization(state);
+            if (demand > remaining) {
+                firstStretched = i;
+                break;
+            }
+            remaining -= demand;
+            state.effectivePeriodMillis = state.periodMillis;
+        }
+
+        double stretchedDemand = 0;
+        for (int i = firstStretched; i < byPeriod.size(); i++) {
+            stretchedDemand += utilization(byPeriod.get(i));
+        }
+        double stretch = stretchedDemand / Math.max(remaining, MIN_STRETCHED_SHARE);
+        for (int i = firstStretched; i < byPeriod.size(); i++) {
+            PollState state = byPeriod.get(i);
+            state.effectivePeriodMillis = (long) Math.ceil(state.periodMillis * Math.max(1.0, stretch));
+        }
+
+        boolean nowOversubscribed = firstStretched < byPeriod.size();
+        if (nowOversubscribed != oversubscribed) {
+            oversubscribed = nowOversubscribed;
+            if (nowOversubscribed) {
+                logger.warn(
+                        "Endpoint {} cannot keep up with the configured poll periods. Stretching {} poll(s) with period of {}ms or longer by factor of {}",
+                        endpoint, byPeriod.size() - firstStretched, byPeriod.get(firstStretched).periodMillis,
+                        String.format("%.1f", stretch));
+            } else {
+                logger.info("Endpoint {} keeps up with the configured poll periods again", endpoint);
+            }
+        }
+    }
+
+    private static double utilization(PollState state) {
+        return state.busyMillis < 0 ? 0 : state.busyMillis / state.periodMillis;
+    }
+}
@@ -0,0 +1,234 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusConstants;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Poll task that reads a single contiguous range covering the ranges of several member {@link PollTask}s.
+ *
+ * The response is sliced and passed to the callbacks of the members, each member receiving its own original request
+ * and the data it asked for. Errors are passed to all members.
+ *
+ * Two instances are considered equal only if they are the same instance.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class CoalescedPollTask implements PollTask, ModbusReadCallback {
+
+    private final Logger logger = LoggerFactory.getLogger(CoalescedPollTask.class);
+
+    private ModbusSlaveEndpoint endpoint;
+    private BasicModbusReadRequestBlueprint request;
+    private List<PollTask> members;
+
+    private CoalescedPollTask(ModbusSlaveEndpoint endpoint, BasicModbusReadRequestBlueprint request,
+            List<PollTask> members) {
+        this.endpoint = endpoint;
+        this.request = request;
+        this.members = Collections.unmodifiableList(members);
+    }
+
+    /**
+     * Merge poll tasks of the same endpoint to as few reads as possible
+     *
+     * Only tasks with the same slave id, function code and maximum tries are merged together. The merged range never
+     * exceeds the protocol limits ({@link ModbusConstants#MAX_REGISTERS_READ_COUNT} registers,
+     * {@link ModbusConstants#MAX_BITS_READ_COUNT} bits).
+     *
+     * @param endpoint endpoint shared by all the tasks
+     * @param tasks tasks to merge
+     * @param maxGap maximum number of unrequested registers/bits allowed between merged ranges
+     * @return poll tasks covering all the given tasks. Tasks that could not be merged with any other are returned
+     *         as-is, others are wrapped in {@link CoalescedPollTask}
+     */
+    public static List<PollTask> coalesce(ModbusSlaveEndpoint endpoint, Collection<PollTask> tasks, int maxGap) {
+        Map<List<Object>, List<PollTask>> groups = new LinkedHashMap<>();
+        for (PollTask task : tasks) {
+            ModbusReadRequestBlueprint taskRequest = task.getRequest();
+            List<Object> key = new ArrayList<>(4);
+            key.add(taskRequest.getUnitID());
+            key.add(taskRequest.getFunctionCode());
+            key.add(taskRequest.getProtocolID());
+            key.add(taskRequest.getMaxTries());
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(task);
+        }
+
+        List<PollTask> coalesced = new ArrayList<>();
+        for (List<PollTask> group : groups.values()) {
+            group.sort(Comparator.comparingInt((PollTask task) -> task.getRequest().getReference())
+                    .thenComparingInt(task -> task.getRequest().getDataLength()));
+            ModbusReadRequestBlueprint first = group.get(0).getRequest();
+            int limit = maxReadCount(first.getFunctionCode());
+
+            List<PollTask> block = new ArrayList<>();
+            int blockStart = 0;
+            int blockEnd = 0;
+            for (PollTask task : group) {
+                int start = task.getRequest().getReference();
+                int end = start + task.getRequest().getDataLength();
+                if (!block.isEmpty() && start <= blockEnd + Math.max(0, maxGap)
+                        && Math.max(blockEnd, end) - blockStart <= limit) {
+                    block.add(task);
+                    blockEnd = Math.max(blockEnd, end);
+                    continue;
+                }
+                if (!block.isEmpty()) {
+                    coalesced.add(createBlock(endpoint, block, blockStart, blockEnd));
+                }
+                block = new ArrayList<>();
+                block.add(task);
+                blockStart = start;
+                blockEnd = end;
+            }
+            coalesced.add(createBlock(endpoint, block, blockStart, blockEnd));
+        }
+        return coalesced;
+    }
+
+    private static int maxReadCount(ModbusReadFunctionCode functionCode) {
+        switch (functionCode) {
+            case READ_COILS:
+            case READ_INPUT_DISCRETES:
+                return ModbusConstants.MAX_BITS_READ_COUNT;
+            default:
+                return ModbusConstants.MAX_REGISTERS_READ_COUNT;
+        }
+    }
+
+    private static PollTask createBlock(ModbusSlaveEndpoint endpoint, List<PollTask> block, int start, int end) {
+        if (block.size() == 1) {
+            return block.get(0);
+        }
+        ModbusReadRequestBlueprint first = block.get(0).getRequest();
+        BasicModbusReadRequestBlueprint request = new BasicModbusReadRequestBlueprint(first.getUnitID(),
+                first.getFunctionCode(), start, end - start, first.getMaxTries());
+        return new CoalescedPollTask(endpoint, request, block);
+    }
+
+    /**
+     * Get the original poll tasks covered by this task
+     *
+     * @return unmodifiable list of poll tasks
+     */
+    public List<PollTask> getMembers() {
+        return members;
+    }
+
+    @Override
+    public ModbusReadRequestBlueprint getRequest() {
+        return request;
+    }
+
+    @Override
+    public ModbusSlaveEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    @Override
+    public ModbusReadCallback getCallback() {
+        return this;
+    }
+
+    @Override
+    public void onRegisters(ModbusReadRequestBlueprint blockRequest, ModbusRegisterArray registers) {
+        for (PollTask member : members) {
+            ModbusReadCallback callback = member.getCallback();
+            if (callback == null) {
+                continue;
+            }
+            ModbusReadRequestBlueprint memberRequest = member.getRequest();
+            int offset = memberRequest.getReference() - request.getReference();
+            int length = Math.max(0, Math.min(memberRequest.getDataLength(), registers.size() - offset));
+            invokeSafely(member, () -> callback.onRegisters(memberRequest,
+                    new RegisterArraySlice(registers, Math.min(offset, registers.size()), length)));
+        }
+    }
+
+    @Override
+    public void onBits(ModbusReadRequestBlueprint blockRequest, BitArray bits) {
+        for (PollTask member : members) {
+            ModbusReadCallback callback = member.getCallback();
+            if (callback == null) {
+                continue;
+            }
+            ModbusReadRequestBlueprint memberRequest = member.getRequest();
+            int offset = memberRequest.getReference() - request.getReference();
+            int length = Math.max(0, Math.min(memberRequest.getDataLength(), bits.size() - offset));
+            invokeSafely(member, () -> callback.onBits(memberRequest,
+                    new BitArraySlice(bits, Math.min(offset, bits.size()), length)));
+        }
+    }
+
+    @Override
+    public void onError(ModbusReadRequestBlueprint blockRequest, Exception error) {
+        for (PollTask member : members) {
+            ModbusReadCallback callback = member.getCallback();
+            if (callback == null) {
+                continue;
+            }
+            invokeSafely(member, () -> callback.onError(member.getRequest(), error));
+        }
+    }
+
+    /**
+     * Invoke callback of single member, making sure that a failing callback does not prevent the other members from
+     * receiving the data
+     */
+    private void invokeSafely(PollTask member, Runnable invocation) {
+        try {
+            invocation.run();
+        } catch (RuntimeException e) {
+            logger.error("Callback of coalesced poll task {} raised unexpected exception {} {}", member,
+                    e.getClass().getName(), e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(this);
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        return obj == this;
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder("CoalescedPollTask(request=").append(request).append(", endpoint=").append(endpoint)
+                .append(", members=").append(members.size()).append(')').toString();
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
+
+/**
+ * Collects metrics of the operations executed with single endpoint
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class EndpointMetricsCollector {
+
+    private final LongAdder operations = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder connectionErrors = new LongAdder();
+    private final AtomicInteger pendingOperations = new AtomicInteger();
+    private final LatencyHistogram borrowWait = new LatencyHistogram();
+    private final LatencyHistogram transactionTime = new LatencyHistogram();
+    private final LatencyHistogram callbackTime = new LatencyHistogram();
+    private final LatencyHistogram totalTime = new LatencyHistogram();
+
+    public void operationStarted() {
+        pendingOperations.incrementAndGet();
+    }
+
+    public void operationAborted() {
+        pendingOperations.decrementAndGet();
+    }
+
+    /**
+     * Record completed operation
+     *
+     * @param timer timing of the operation, with all stop watches suspended
+     * @param transactionExecuted whether transaction was executed with the slave
+     * @param failed whether the operation failed after all tries
+     */
+    public void operationEnded(AggregateStopWatch timer, boolean transactionExecuted, boolean failed) {
+        pendingOperations.decrementAndGet();
+        operations.increment();
+        if (failed) {
+            errors.increment();
+        }
+        if (transactionExecuted) {
+            transactionTime.record(timer.transaction.getTotalTimeMillis());
+        }
+        callbackTime.record(timer.callback.getTotalTimeMillis());
+        totalTime.record(timer.total.getTotalTimeMillis());
+    }
+
+    /**
+     * Whether no operations are being executed with the endpoint
+     */
+    public boolean isIdle() {
+        return pendingOperations.get() <= 0;
+    }
+
+    public void recordRetry() {
+        retries.increment();
+    }
+
+    public void recordConnectionError() {
+        connectionErrors.increment();
+    }
+
+    public void recordBorrowWait(long millis) {
+        borrowWait.record(millis);
+    }
+
+    public ModbusEndpointMetrics snapshot() {
+        return new ModbusEndpointMetrics(operations.sum(), errors.sum(), retries.sum(), connectionErrors.sum(),
+                Math.max(pendingOperations.get(), 0), borrowWait.snapshot(), transactionTime.snapshot(),
+                callbackTime.snapshot(), totalTime.snapshot());
+    }
+}
@@ -0,0 +1,182 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.transport.modbus.ModbusLatencyStatistics;
+
+/**
+ * Thread-safe histogram of recent latencies in milliseconds, with logarithmic buckets
+ *
+ * Values below {@link #SUB_BUCKET_COUNT} have buckets of their own. Larger values are grouped by their highest bit,
+ * and each such group is split linearly into {@link #SUB_BUCKET_COUNT} buckets. This keeps the relative error of
+ * the percentiles bounded (below 1/{@link #SUB_BUCKET_COUNT}) with fixed, small memory footprint.
+ *
+ * Values are recorded in intervals of the window length. When an interval ends, it replaces the previous interval
+ * and a new, empty interval is started. Snapshots cover the current and the previous interval, i.e. at least one
+ * window length of the most recent values.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class LatencyHistogram {
+
+    public static final long DEFAULT_WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private static final int SUB_BUCKET_BITS = 3;
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    /**
+     * Values larger than this are recorded as this value
+     */
+    private static final long MAX_TRACKABLE_VALUE = Integer.MAX_VALUE;
+    private static final int BUCKET_COUNT = bucketIndex(MAX_TRACKABLE_VALUE) + 1;
+
+    /**
+     * Values recorded during single interval
+     */
+    private static class Interval {
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+        private final LongAdder sum = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        private void record(long value) {
+            counts.incrementAndGet(bucketIndex(value));
+            sum.add(value);
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    private final long windowMillis;
+    private final LongSupplier clock;
+    private volatile Interval current = new Interval();
+    private volatile Interval previous = new Interval();
+    private volatile long currentStartMillis;
+
+    public LatencyHistogram() {
+        this(DEFAULT_WINDOW_MILLIS, System::currentTimeMillis);
+    }
+
+    /**
+     *
+     * @param windowMillis length of the intervals
+     * @param clock source of the current time in milliseconds
+     */
+    public LatencyHistogram(long windowMillis, LongSupplier clock) {
+        if (windowMillis <= 0) {
+            throw new IllegalArgumentException("windowMillis should be positive");
+        }
+        this.windowMillis = windowMillis;
+        this.clock = clock;
+        this.currentStartMillis = clock.getAsLong();
+    }
+
+    /**
+     * Record value
+     *
+     * @param millis value to record. Negative values are recorded as zero.
+     */
+    public void record(long millis) {
+        long value = Math.min(Math.max(millis, 0), MAX_TRACKABLE_VALUE);
+        rotateIfNeeded();
+        current.record(value);
+    }
+
+    /**
+     * Take snapshot of the recent values
+     *
+     * The snapshot is not atomic with respect to concurrent {@link #record(long)} calls, but it is always internally
+     * consistent enough for monitoring purposes.
+     *
+     * @return snapshot of the histogram
+     */
+    public ModbusLatencyStatistics snapshot() {
+        rotateIfNeeded();
+        Interval current = this.current;
+        Interval previous = this.previous;
+        long[] bucketCounts = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            bucketCounts[i] = current.counts.get(i) + previous.counts.get(i);
+            count += bucketCounts[i];
+        }
+        if (count == 0) {
+            return ModbusLatencyStatistics.EMPTY;
+        }
+        long maxValue = Math.max(current.max.get(), previous.max.get());
+        return new ModbusLatencyStatistics(count, (double) (current.sum.sum() + previous.sum.sum()) / count,
+                maxValue, percentile(bucketCounts, count, maxValue, 0.50),
+                percentile(bucketCounts, count, maxValue, 0.95), percentile(bucketCounts, count, maxValue, 0.99));
+    }
+
+    /**
+     * Start new interval if the current one has ended
+     */
+    private void rotateIfNeeded() {
+        long now = clock.getAsLong();
+        if (now - currentStartMillis < windowMillis) {
+            return;
+        }
+        synchronized (this) {
+            long elapsed = now - currentStartMillis;
+            if (elapsed < windowMillis) {
+                return;
+            }
+            // The current interval is outdated as well if no values were recorded during the whole last window
+            previous = elapsed < 2 * windowMillis ? current : new Interval();
+            current = new Interval();
+            currentStartMillis = now - elapsed % windowMillis;
+        }
+    }
+
+    private static long percentile(long[] bucketCounts, long count, long maxValue, double percentile) {
+        long rank = Math.max(1, (long) Math.ceil(percentile * count));
+        long cumulative = 0;
+        for (int i = 0; i < bucketCounts.length; i++) {
+            cumulative += bucketCounts[i];
+            if (cumulative >= rank) {
+                return Math.min(bucketUpperBound(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int highestBit = 63 - Long.numberOfLeadingZeros(value);
+        int shift = highestBit - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKET_COUNT - 1);
+        return SUB_BUCKET_COUNT + shift * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * Largest value belonging to the bucket
+     */
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+        int subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+        long lowerBound = (long) (SUB_BUCKET_COUNT + subBucket) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+}
@@ -13,21 +13,35 @@
 package org.openhab.io.transport.modbus.internal;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 import javax.imageio.IIOException;
 
+import org.apache.commons.lang.builder.EqualsBuilder;
+import org.apache.commons.lang.builder.HashCodeBuilder;
 import org.apache.commons.pool2.KeyedObjectPool;
 import org.apache.commons.pool2.SwallowedExceptionListener;
 import org.apache.commons.pool2.impl.GenericKeyedObjectPool;
@@ -37,6 +51,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.openhab.io.transport.modbus.ModbusCallback;
 import org.openhab.io.transport.modbus.ModbusConnectionException;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
 import org.openhab.io.transport.modbus.ModbusManager;
 import org.openhab.io.transport.modbus.ModbusManagerListener;
 import org.openhab.io.transport.modbus.ModbusReadCallback;
@@ -66,9 +81,11 @@ import net.wimpi.modbus.ModbusException;
 import net.wimpi.modbus.ModbusIOException;
 import net.wimpi.modbus.ModbusSlaveException;
 import net.wimpi.modbus.io.ModbusTransaction;
+import net.wimpi.modbus.msg.ExceptionResponse;
 import net.wimpi.modbus.msg.ModbusRequest;
 import net.wimpi.modbus.msg.ModbusResponse;
 import net.wimpi.modbus.net.ModbusSlaveConnection;
+import net.wimpi.modbus.net.TCPMasterConnection;
 
 /**
  * Main implementation of ModbusManager
@@ -91,6 +108,49 @@ public class ModbusManagerImpl implements ModbusManager {
         private static final long serialVersionUID = 6939730579178506885L;
     }
 
+    /**
+     * Key for regular polls that can be coalesced together: same endpoint and same poll period
+     */
+    private static class PollGroupKey {
+        private final ModbusSlaveEndpoint endpoint;
+        private final long pollPeriodMillis;
+
+        public PollGroupKey(ModbusSlaveEndpoint endpoint, long pollPeriodMillis) {
+            this.endpoint = endpoint;
+            this.pollPeriodMillis = pollPeriodMillis;
+        }
+
+        @Override
+        public int hashCode() {
+            return new HashCodeBuilder(37, 11).append(endpoint).append(pollPeriodMillis).toHashCode();
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (obj == null) {
+                return false;
+            }
+            if (obj == this) {
+                return true;
+            }
+            if (obj.getClass() != getClass()) {
+                return false;
+            }
+            PollGroupKey rhs = (PollGroupKey) obj;
+            return new EqualsBuilder().append(endpoint, rhs.endpoint).append(pollPeriodMillis, rhs.pollPeriodMillis)
+                    .isEquals();
+        }
+    }
+
+    /**
+     * Regular polls of single {@link PollGroupKey}, and the (possibly coalesced) poll tasks actually scheduled for
+     * them
+     */
+    private static class CoalescedPollGroup {
+        private final Set<PollTask> tasks = new LinkedHashSet<>();
+        private final Map<PollTask, ScheduledFuture<?>> scheduledBlocks = new HashMap<>();
+    }
+
     @FunctionalInterface
     private interface ModbusOperation<T> {
 
@@ -110,6 +170,31 @@ public class ModbusManagerImpl implements ModbusManager {
 
     }
 
+    /**
+     * Operation that can be executed pipelined with other operations, i.e. the request can be created and the
+     * response handled independently of the transaction.
+     */
+    private interface PipelinableOperation<T> extends ModbusOperation<T> {
+
+        /**
+         * Create library request for the task
+         *
+         * @param task task to execute
+         * @return request to send to the slave
+         */
+        public ModbusRequest createRequest(T task);
+
+        /**
+         * Call the callback of the task with successful response
+         *
+         * @param timer aggregate stop watch for performance profiling
+         * @param task executed task
+         * @param response response received from the slave
+         */
+        public void invokeCallback(AggregateStopWatch timer, T task, ModbusResponse response);
+
+    }
+
     /**
      * Check that transaction id of the response and request match
      *
@@ -140,17 +225,16 @@ public class ModbusManagerImpl implements ModbusManager {
      * @author Sami Salonen - Initial contribution
      *
      */
-    private class PollOperation implements ModbusOperation<PollTask> {
+    private class PollOperation implements PipelinableOperation<PollTask> {
         @Override
         public void accept(AggregateStopWatch timer, PollTask task, ModbusSlaveConnection connection)
                 throws ModbusException, ModbusUnexpectedTransactionIdException {
             ModbusSlaveEndpoint endpoint = task.getEndpoint();
             ModbusReadRequestBlueprint request = task.getRequest();
-            ModbusReadCallback callback = task.getCallback();
             String operationId = timer.operationId;
 
             ModbusTransaction transaction = ModbusLibraryWrapper.createTransactionForEndpoint(endpoint, connection);
-            ModbusRequest libRequest = ModbusLibraryWrapper.createRequest(request);
+            ModbusRequest libRequest = createRequest(task);
             transaction.setRequest(libRequest);
 
             logger.trace("Going execute transaction with request request (FC={}): {} [operation ID {}]",
@@ -162,6 +246,18 @@ public class ModbusManagerImpl implements ModbusManager {
             logger.trace("Response for read request (FC={}, transaction ID={}): {} [operation ID {}]",
                     response.getFunctionCode(), response.getTransactionID(), response.getHexMessage(), operationId);
             checkTransactionId(response, libRequest, task, operationId);
+            invokeCallback(timer, task, response);
+        }
+
+        @Override
+        public ModbusRequest createRequest(PollTask task) {
+            return ModbusLibraryWrapper.createRequest(task.getRequest());
+        }
+
+        @Override
+        public void invokeCallback(AggregateStopWatch timer, PollTask task, ModbusResponse response) {
+            ModbusReadRequestBlueprint request = task.getRequest();
+            ModbusReadCallback callback = task.getCallback();
             if (callback != null) {
                 timer.callback.timeRunnable(
                         () -> ModbusLibraryWrapper.invokeCallbackWithResponse(request, callback, response));
@@ -175,17 +271,16 @@ public class ModbusManagerImpl implements ModbusManager {
      * @author Sami Salonen - Initial contribution
      *
      */
-    private class WriteOperation implements ModbusOperation<WriteTask> {
+    private class WriteOperation implements PipelinableOperation<WriteTask> {
         @Override
         public void accept(AggregateStopWatch timer, WriteTask task, ModbusSlaveConnection connection)
                 throws ModbusException, ModbusUnexpectedTransactionIdException {
             ModbusSlaveEndpoint endpoint = task.getEndpoint();
             ModbusWriteRequestBlueprint request = task.getRequest();
-            ModbusWriteCallback callback = task.getCallback();
             String operationId = timer.operationId;
 
             ModbusTransaction transaction = ModbusLibraryWrapper.createTransactionForEndpoint(endpoint, connection);
-            ModbusRequest libRequest = ModbusLibraryWrapper.createRequest(request);
+            ModbusRequest libRequest = createRequest(task);
             transaction.setRequest(libRequest);
 
             logger.trace("Going execute transaction with read request (FC={}): {} [operation ID {}]",
@@ -199,6 +294,18 @@ public class ModbusManagerImpl implements ModbusManager {
                     response.getFunctionCode(), response.getTransactionID(), response.getHexMessage(), operationId);
 
             checkTransactionId(response, libRequest, task, operationId);
+            invokeCallback(timer, task, response);
+        }
+
+        @Override
+        public ModbusRequest createRequest(WriteTask task) {
+            return ModbusLibraryWrapper.createRequest(task.getRequest());
+        }
+
+        @Override
+        public void invokeCallback(AggregateStopWatch timer, WriteTask task, ModbusResponse response) {
+            ModbusWriteRequestBlueprint request = task.getRequest();
+            ModbusWriteCallback callback = task.getCallback();
             if (callback != null) {
                 timer.callback.timeRunnable(
                         () -> invokeCallbackWithResponse(request, callback, new ModbusResponseImpl(response)));
@@ -206,6 +313,113 @@ public class ModbusManagerImpl implements ModbusManager {
         }
     }
 
+    /**
+     * Operation waiting for pipelined execution
+     *
+     * @author agent - Initial contribution
+     *
+     */
+    private class PipelinedOperation<R extends ModbusRequestBlueprint, C extends ModbusCallback, T extends TaskWithEndpoint<R, C>> {
+        private final T task;
+        private final boolean oneOffTask;
+        private final PipelinableOperation<T> operation;
+        /**
+         * Completed when the pipelined execution has ended. True if the operation was handled, false if it failed
+         * and needs to be executed again sequentially.
+         */
+        private final CompletableFuture<Boolean> done = new CompletableFuture<>();
+        /**
+         * Number of times the request has been sent with pipelining, counted against the maximum tries of the task
+         */
+        private int tries;
+        /**
+         * Error of the latest pipelined try
+         */
+        private @Nullable Exception lastError;
+        /**
+         * Whether the request can be sent again after a failed try
+         */
+        private boolean resendable = true;
+
+        public PipelinedOperation(T task, boolean oneOffTask, PipelinableOperation<T> operation) {
+            this.task = task;
+            this.oneOffTask = oneOffTask;
+            this.operation = operation;
+        }
+
+        public ModbusRequest createRequest() {
+            return operation.createRequest(task);
+        }
+
+        public void invokeCallback(AggregateStopWatch timer, ModbusResponse response) {
+            operation.invokeCallback(timer, task, response);
+        }
+
+        /**
+         * Record a failed pipelined try of the request
+         *
+         * @param error error of the try
+         * @param resendable whether the request can be sent again
+         */
+        public void tryFailed(Exception error, boolean resendable) {
+            tries++;
+            lastError = error;
+            this.resendable &= resendable;
+        }
+
+        /**
+         * Whether the operation can be tried again after the failed pipelined execution
+         */
+        public boolean canRetry() {
+            return resendable && tries < task.getMaxTries();
+        }
+
+        /**
+         * Report the error of the latest pipelined try to the callback
+         */
+        public void invokeCallbackWithLastError(AggregateStopWatch timer) {
+            Exception error = lastError;
+            C callback = task.getCallback();
+            if (error != null && callback != null) {
+                timer.callback.timeRunnable(() -> invokeCallbackWithError(task.getRequest(), callback, error));
+            }
+        }
+
+        /**
+         * Execute the operation without pipelining, using the regular retry mechanism with the tries remaining
+         */
+        public void executeSequentially() {
+            executeOperation(task, oneOffTask, operation, false, tries, lastError);
+        }
+    }
+
+    /**
+     * Operations of single endpoint waiting for pipelined execution
+     */
+    private static class PipelineQueue {
+        private final Queue<PipelinedOperation<?, ?, ?>> operations = new ConcurrentLinkedQueue<>();
+        /**
+         * Whether some thread is currently executing a batch of the queued operations
+         */
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        /**
+         * Wake up threads waiting for their operations, after a batch has been executed
+         */
+        private synchronized void batchExecuted() {
+            notifyAll();
+        }
+
+        /**
+         * Wait until the operation has been executed, or the queue can be drained by the calling thread
+         */
+        private synchronized void awaitBatch(PipelinedOperation<?, ?, ?> operation) throws InterruptedException {
+            if (draining.get() && !operation.done.isDone()) {
+                wait(PIPELINE_WAIT_MILLIS);
+            }
+        }
+    }
+
     private final Logger logger = LoggerFactory.getLogger(ModbusManagerImpl.class);
     private final Logger pollMonitorLogger = LoggerFactory
             .getLogger(ModbusManagerImpl.class.getName() + ".PollMonitor");
@@ -247,6 +461,10 @@ public class ModbusManagerImpl implements ModbusManager {
      * Presumably slow callbacks can increase queue size with callbackThreadPool
      */
     private static final long WARN_QUEUE_SIZE = 500;
+    /**
+     * Maximum time to wait for a batch of pipelined operations before checking the queue again
+     */
+    private static final long PIPELINE_WAIT_MILLIS = 100;
     private static final long MONITOR_QUEUE_INTERVAL_MILLIS = 10000;
 
     private final PollOperation pollOperation = new PollOperation();
@@ -268,6 +486,33 @@ public class ModbusManagerImpl implements ModbusManager {
     @Nullable
     private volatile ModbusSlaveConnectionFactoryImpl connectionFactory;
     private volatile Map<PollTask, ScheduledFuture<?>> scheduledPollTasks = new ConcurrentHashMap<>();
+    /**
+     * Regular polls registered with coalescing enabled, grouped by endpoint and poll period.
+     *
+     * Modified only when holding lock of this instance.
+     */
+    private volatile Map<PollGroupKey, CoalescedPollGroup> coalescedPollGroups = new ConcurrentHashMap<>();
+    private volatile Map<PollTask, PollGroupKey> coalescedPollGroupKeys = new ConcurrentHashMap<>();
+    /**
+     * Scheduled {@link CoalescedPollTask}s, i.e. scheduled poll tasks that are not registered as such by the user
+     */
+    private volatile Set<PollTask> scheduledCoalescedPolls = ConcurrentHashMap.newKeySet();
+    /**
+     * Operations waiting for pipelined execution, per endpoint. Used only with endpoints allowing more than one
+     * request in flight.
+     */
+    private volatile Map<ModbusSlaveEndpoint, PipelineQueue> pipelineQueues = new ConcurrentHashMap<>();
+    private volatile Map<ModbusSlaveEndpoint, EndpointMetricsCollector> endpointMetrics = new ConcurrentHashMap<>();
+    /**
+     * Configured periods of the registered regular polls
+     */
+    private volatile Map<PollTask, Long> pollPeriods = new ConcurrentHashMap<>();
+    /**
+     * Schedulers of the endpoints with adaptive polling enabled.
+     *
+     * Modified only when holding lock of this instance.
+     */
+    private volatile Map<ModbusSlaveEndpoint, AdaptivePollScheduler> adaptiveSchedulers = new ConcurrentHashMap<>();
     /**
      * Executor for requests
      */
@@ -349,8 +594,9 @@ public class ModbusManagerImpl implements ModbusManager {
                 connection = Optional.empty();
             }
         }
-        logger.trace("borrowing connection (got {}) for endpoint {} took {} ms", connection, endpoint,
-                System.currentTimeMillis() - start);
+        long borrowMillis = System.currentTimeMillis() - start;
+        metricsFor(endpoint).recordBorrowWait(borrowMillis);
+        logger.trace("borrowing connection (got {}) for endpoint {} took {} ms", connection, endpoint, borrowMillis);
         return connection;
     }
 
@@ -427,6 +673,7 @@ public class ModbusManagerImpl implements ModbusManager {
             return Optional.empty();
         }
         if (!connection.isPresent()) {
+            metricsFor(endpoint).recordConnectionError();
             logger.warn("Could not connect to endpoint {} -- aborting request {} [operation ID {}]", endpoint, request,
                     operationId);
             if (callback != null) {
@@ -468,7 +715,7 @@ public class ModbusManagerImpl implements ModbusManager {
     }
 
     private void verifyTaskIsRegistered(PollTask task) throws PollTaskUnregistered {
-        if (!this.scheduledPollTasks.containsKey(task)) {
+        if (!this.scheduledPollTasks.containsKey(task) && !this.scheduledCoalescedPolls.contains(task)) {
             String msg = String.format("Poll task %s is unregistered", task);
             logger.debug(msg);
             throw new PollTaskUnregistered(msg);
@@ -491,6 +738,25 @@ public class ModbusManagerImpl implements ModbusManager {
      */
     private <R extends ModbusRequestBlueprint, C extends ModbusCallback, T extends TaskWithEndpoint<R, C>> void executeOperation(
             @NonNull T task, boolean oneOffTask, ModbusOperation<T> operation) {
+        executeOperation(task, oneOffTask, operation, true, 0, null);
+    }
+
+    /**
+     * Execute operation using a retry mechanism, or pipelined with other operations of the same endpoint.
+     *
+     * Pipelining is used with Modbus/TCP endpoints configured with more than one request in flight. If pipelined
+     * execution fails, the operation is executed again without pipelining, using the tries remaining.
+     *
+     * @param task
+     * @param oneOffTask
+     * @param operation
+     * @param allowPipelining whether the operation can be pipelined
+     * @param triesUsed number of tries already used by a failed pipelined execution
+     * @param previousError error of the failed pipelined execution, or null
+     */
+    private <R extends ModbusRequestBlueprint, C extends ModbusCallback, T extends TaskWithEndpoint<R, C>> void executeOperation(
+            @NonNull T task, boolean oneOffTask, ModbusOperation<T> operation, boolean allowPipelining, int triesUsed,
+            @Nullable Exception previousError) {
         AggregateStopWatch timer = new AggregateStopWatch();
         timer.total.resume();
         String operationId = timer.operationId;
@@ -505,10 +771,20 @@ public class ModbusManagerImpl implements ModbusManager {
         logTaskQueueInfo();
         R request = task.getRequest();
         ModbusSlaveEndpoint endpoint = task.getEndpoint();
+        int maxInFlight = Optional.ofNullable(connectionFactory.getEndpointPoolConfiguration(endpoint))
+                .map(cfg -> cfg.getMaxInFlight()).orElse(1);
+        if (allowPipelining && maxInFlight > 1 && endpoint instanceof ModbusTCPSlaveEndpoint
+                && operation instanceof PipelinableOperation) {
+            logger.trace("Queuing task {} (oneOff={}) for pipelined execution [operation ID {}]", task, oneOffTask,
+                    operationId);
+            executePipelined(endpoint,
+                    new PipelinedOperation<>(task, oneOffTask, (PipelinableOperation<T>) operation), maxInFlight);
+            return;
+        }
         @Nullable
         C callback = task.getCallback();
         int maxTries = task.getMaxTries();
-        AtomicReference<@Nullable Exception> lastError = new AtomicReference<>();
+        AtomicReference<@Nullable Exception> lastError = new AtomicReference<>(previousError);
         long retryDelay = Optional.ofNullable(connectionFactory.getEndpointPoolConfiguration(endpoint))
                 .map(cfg -> cfg.getInterTransactionDelayMillis()).orElse(0L);
 
@@ -516,6 +792,10 @@ public class ModbusManagerImpl implements ModbusManager {
             throw new IllegalArgumentException("maxTries should be positive");
         }
 
+        EndpointMetricsCollector metrics = metricsFor(endpoint);
+        metrics.operationStarted();
+        boolean transactionExecuted = false;
+        boolean aborted = false;
         Optional<ModbusSlaveConnection> connection = Optional.empty();
         try {
             logger.trace("Starting new operation with task {}. Trying to get connection [operation ID {}]", task,
@@ -533,10 +813,11 @@ public class ModbusManagerImpl implements ModbusManager {
             if (scheduledThreadPoolExecutor == null) {
                 logger.debug("Manager has been shut down, aborting proecssing request {} [operation ID {}]", request,
                         operationId);
+                aborted = true;
                 return;
             }
 
-            int tryIndex = 0;
+            int tryIndex = triesUsed;
             /**
              * last execution is tracked such that the endpoint is not spammed on retry. First retry can be executed
              * right away since getConnection ensures enough time has passed since last transaction. More precisely,
@@ -570,8 +851,12 @@ public class ModbusManagerImpl implements ModbusManager {
 
                 boolean willRetry = false;
                 try {
+                    if (tryIndex > 0) {
+                        metrics.recordRetry();
+                    }
                     tryIndex++;
                     willRetry = tryIndex < maxTries;
+                    transactionExecuted = true;
                     operation.accept(timer, task, connection.get());
                     lastError.set(null);
                     break;
@@ -675,10 +960,12 @@ public class ModbusManagerImpl implements ModbusManager {
         } catch (PollTaskUnregistered e) {
             logger.warn("Poll task was unregistered -- not executing/proceeding with the poll: {} [operation ID {}]",
                     e.getMessage(), operationId);
+            aborted = true;
             return;
         } catch (InterruptedException e) {
             logger.warn("Poll task was canceled -- not executing/proceeding with the poll: {} [operation ID {}]",
                     e.getMessage(), operationId);
+            aborted = true;
             // Invalidate connection, and empty (so that new connection is acquired before new retry)
             timer.connection.timeConsumer(c -> invalidate(endpoint, c), connection);
             connection = Optional.empty();
@@ -686,10 +973,259 @@ public class ModbusManagerImpl implements ModbusManager {
             timer.connection.timeConsumer(c -> returnConnection(endpoint, c), connection);
             logger.trace("Connection was returned to the pool, ending operation [operation ID {}]", operationId);
             timer.suspendAllRunning();
+            if (aborted) {
+                metrics.operationAborted();
+            } else {
+                metrics.operationEnded(timer, transactionExecuted, lastError.get() != null || !transactionExecuted);
+                if (transactionExecuted) {
+                    recordAdaptive(task, oneOffTask, timer.transaction.getTotalTimeMillis() + retryDelay);
+                }
+            }
             logger.debug("Modbus operation ended, timing info: {} [operation ID {}]", timer, operationId);
         }
     }
 
+    /**
+     * Queue operation for pipelined execution, and return when the operation has been executed.
+     *
+     * While the operation is waiting, the calling thread takes turns with other waiting threads of the same endpoint
+     * in executing the queued operations, one batch of at most maxInFlight operations at a time. A thread stops
+     * executing batches as soon as its own operation has been executed. If the pipelined execution of the operation
+     * fails, the calling thread executes it again without pipelining.
+     *
+     * @param endpoint endpoint of the operation
+     * @param operation operation to queue
+     * @param maxInFlight maximum number of requests written before reading the responses
+     */
+    private void executePipelined(ModbusSlaveEndpoint endpoint, PipelinedOperation<?, ?, ?> operation,
+            int maxInFlight) {
+        PipelineQueue queue = pipelineQueues.computeIfAbsent(endpoint, e -> new PipelineQueue());
+        if (!operation.oneOffTask && queue.operations.stream().anyMatch(queued -> queued.task == operation.task)) {
+            // Regular poll has not been executed since previous scheduling, no need to queue it twice
+            logger.debug("Poll task {} is already waiting for pipelined execution, skipping this poll",
+                    operation.task);
+            return;
+        }
+        metricsFor(endpoint).operationStarted();
+        queue.operations.add(operation);
+        try {
+            while (!operation.done.isDone()) {
+                if (queue.draining.compareAndSet(false, true)) {
+                    try {
+                        List<PipelinedOperation<?, ?, ?>> batch = takePipelinedBatch(queue, maxInFlight);
+                        if (!batch.isEmpty()) {
+                            executePipelinedBatch(endpoint, batch);
+                        }
+                    } finally {
+                        queue.draining.set(false);
+                        queue.batchExecuted();
+                    }
+                } else {
+                    queue.awaitBatch(operation);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (queue.operations.remove(operation)) {
+                logger.debug("Interrupted while waiting for pipelined execution of task {}", operation.task);
+                metricsFor(endpoint).operationAborted();
+            }
+            return;
+        }
+        if (!operation.done.join()) {
+            // Retry failed operation one by one, with the regular retry mechanism and error reporting
+            operation.executeSequentially();
+        }
+    }
+
+    private List<PipelinedOperation<?, ?, ?>> takePipelinedBatch(PipelineQueue queue, int maxInFlight) {
+        List<PipelinedOperation<?, ?, ?>> batch = new ArrayList<>(maxInFlight);
+        if (scheduledThreadPoolExecutor == null) {
+            // manager deactivated
+            PipelinedOperation<?, ?, ?> operation;
+            while ((operation = queue.operations.poll()) != null) {
+                metricsFor(operation.task.getEndpoint()).operationAborted();
+                operation.done.complete(true);
+            }
+            return batch;
+        }
+        while (batch.size() < maxInFlight) {
+            PipelinedOperation<?, ?, ?> operation = queue.operations.poll();
+            if (operation == null) {
+                break;
+            }
+            if (!operation.oneOffTask && operation.task instanceof PollTask) {
+                try {
+                    verifyTaskIsRegistered((PollTask) operation.task);
+                } catch (PollTaskUnregistered e) {
+                    logger.warn("Poll task was unregistered -- not executing/proceeding with the poll: {}",
+                            e.getMessage());
+                    metricsFor(operation.task.getEndpoint()).operationAborted();
+                    operation.done.complete(true);
+                    continue;
+                }
+            }
+            batch.add(operation);
+        }
+        return batch;
+    }
+
+    /**
+     * Execute operations with single connection, writing all the requests before reading the responses.
+     *
+     * Each request written counts as one try of the operation. Operations that fail (I/O error, exception response
+     * from slave, or no response) are completed as failed, to be executed again sequentially by the thread waiting for
+     * them. Operations without tries left, and writes rejected by the slave with an exception response, are not sent
+     * again; their error is reported to the callback right away.
+     *
+     * @param endpoint endpoint of the operations
+     * @param batch operations to execute
+     */
+    private void executePipelinedBatch(ModbusSlaveEndpoint endpoint, List<PipelinedOperation<?, ?, ?>> batch) {
+        AggregateStopWatch timer = new AggregateStopWatch();
+        timer.total.resume();
+        String operationId = timer.operationId;
+        List<PipelinedOperation<?, ?, ?>> failed = new ArrayList<>();
+        List<PipelinedOperation<?, ?, ?>> exhausted = new ArrayList<>();
+        List<PipelinedOperation<?, ?, ?>> succeeded = new ArrayList<>();
+
+        logger.trace("Executing {} operations pipelined with endpoint {}. Waiting for connection [operation ID {}]",
+                batch.size(), endpoint, operationId);
+        Optional<ModbusSlaveConnection> connection = timer.connection.timeSupplier(() -> borrowConnection(endpoint));
+        try {
+            if (!connection.isPresent() || !(connection.get() instanceof TCPMasterConnection)) {
+                // Connection errors are reported by the sequential execution
+                failed.addAll(batch);
+                return;
+            }
+            List<ModbusRequest> requests = new ArrayList<>(batch.size());
+            batch.forEach(operation -> requests.add(operation.createRequest()));
+            PipelinedTransaction transaction = new PipelinedTransaction((TCPMasterConnection) connection.get(),
+                    requests);
+            @Nullable
+            ModbusIOException ioError = null;
+            timer.transaction.resume();
+            try {
+                transaction.execute();
+            } catch (ModbusIOException e) {
+                ioError = e;
+                logger.warn(
+                        "Pipelined execution of {} requests with endpoint {} failed with I/O error, so reseting the connection and executing the unanswered requests one by one. Error details: {} {} [operation ID {}]",
+                        batch.size(), endpoint, e.getClass().getName(), e.getMessage(), operationId);
+            } finally {
+                timer.transaction.suspend();
+            }
+
+            @Nullable
+            ModbusResponse[] responses = transaction.getResponses();
+            boolean responsesMissing = false;
+            for (int i = 0; i < batch.size(); i++) {
+                PipelinedOperation<?, ?, ?> operation = batch.get(i);
+                ModbusResponse response = responses[i];
+                if (i >= transaction.getRequestsWritten()) {
+                    // Request never reached the slave, no try used
+                    failed.add(operation);
+                    continue;
+                }
+                if (response == null) {
+                    responsesMissing = true;
+                    operation.tryFailed(new ModbusSlaveIOExceptionImpl(ioError != null ? ioError
+                            : new ModbusIOException("No response received for pipelined request")), true);
+                } else if (response instanceof ExceptionResponse) {
+                    int exceptionCode = ((ExceptionResponse) response).getExceptionCode();
+                    logger.debug("Slave returned exception response ({}) for request {} [operation ID {}]",
+                            exceptionCode, operation.task.getRequest(), operationId);
+                    // Slave rejected the write, sending it again would not help
+                    operation.tryFailed(
+                            new ModbusSlaveErrorResponseExceptionImpl(new ModbusSlaveException(exceptionCode)),
+                            !(operation.task instanceof WriteTask));
+                } else {
+                    operation.invokeCallback(timer, response);
+                    succeeded.add(operation);
+                    continue;
+                }
+                if (operation.canRetry()) {
+                    failed.add(operation);
+                } else {
+                    logger.debug("Pipelined request {} failed and will not be tried again [operation ID {}]",
+                            operation.task.getRequest(), operationId);
+                    operation.invokeCallbackWithLastError(timer);
+                    exhausted.add(operation);
+                }
+            }
+            if (responsesMissing) {
+                logger.warn(
+                        "Did not receive response for all pipelined requests with endpoint {}, so reseting the connection [operation ID {}]",
+                        endpoint, operationId);
+                timer.connection.timeConsumer(c -> invalidate(endpoint, c), connection);
+                connection = Optional.empty();
+            }
+        } finally {
+            timer.connection.timeConsumer(c -> returnConnection(endpoint, c), connection);
+            timer.suspendAllRunning();
+            EndpointMetricsCollector metrics = metricsFor(endpoint);
+            succeeded.forEach(operation -> metrics.operationEnded(timer, true, false));
+            exhausted.forEach(operation -> metrics.operationEnded(timer, true, true));
+            if (!succeeded.isEmpty()) {
+                // Requests of the batch share the endpoint, split the transaction time evenly
+                long busyMillis = timer.transaction.getTotalTimeMillis() / succeeded.size();
+                succeeded.forEach(operation -> recordAdaptive(operation.task, operation.oneOffTask, busyMillis));
+            }
+            // Failed operations are accounted again when executed sequentially
+            failed.forEach(operation -> metrics.operationAborted());
+            logger.debug("Pipelined Modbus operations ended, timing info: {} [operation ID {}]", timer, operationId);
+            succeeded.forEach(operation -> operation.done.complete(true));
+            exhausted.forEach(operation -> operation.done.complete(true));
+            // Including operations not reached due to unexpected errors
+            batch.forEach(operation -> operation.done.complete(false));
+        }
+    }
+
+    /**
+     * Account the time the operation occupied the endpoint, for endpoints with adaptive polling
+     *
+     * @param task executed task
+     * @param oneOffTask whether the task was one-off task
+     * @param busyMillis time the endpoint was occupied
+     */
+    private void recordAdaptive(TaskWithEndpoint<?, ?> task, boolean oneOffTask, long busyMillis) {
+        AdaptivePollScheduler scheduler = adaptiveSchedulers.get(task.getEndpoint());
+        if (scheduler == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (!oneOffTask && task instanceof PollTask) {
+            scheduler.recordPoll((PollTask) task, busyMillis, now);
+        } else {
+            scheduler.recordOneOff(busyMillis, now);
+        }
+    }
+
+    private EndpointMetricsCollector metricsFor(ModbusSlaveEndpoint endpoint) {
+        return endpointMetrics.computeIfAbsent(endpoint, e -> new EndpointMetricsCollector());
+    }
+
+    /**
+     * Discard the metrics of the endpoint, if it has no regular polls registered and no operations pending
+     *
+     * @param endpoint endpoint whose poll was unregistered
+     */
+    private void removeUnusedMetrics(ModbusSlaveEndpoint endpoint) {
+        if (scheduledPollTasks.keySet().stream().anyMatch(task -> task.getEndpoint().equals(endpoint))) {
+            return;
+        }
+        EndpointMetricsCollector metrics = endpointMetrics.get(endpoint);
+        if (metrics != null && metrics.isIdle() && endpointMetrics.remove(endpoint, metrics)) {
+            logger.debug("Discarded metrics of endpoint {} without regular polls", endpoint);
+        }
+    }
+
+    @Override
+    public @Nullable ModbusEndpointMetrics getEndpointMetrics(ModbusSlaveEndpoint endpoint) {
+        EndpointMetricsCollector metrics = endpointMetrics.get(endpoint);
+        return metrics == null ? null : metrics.snapshot();
+    }
+
     @Override
     public ScheduledFuture<?> submitOneTimePoll(PollTask task) {
         ScheduledExecutorService executor = scheduledThreadPoolExecutor;
@@ -709,30 +1245,156 @@ public class ModbusManagerImpl implements ModbusManager {
     public void registerRegularPoll(@NonNull PollTask task, long pollPeriodMillis, long initialDelayMillis) {
         synchronized (this) {
             ScheduledExecutorService executor = scheduledThreadPoolExecutor;
+            ModbusSlaveConnectionFactoryImpl factory = this.connectionFactory;
             Objects.requireNonNull(executor, "Not activated!");
+            Objects.requireNonNull(factory, "Not activated!");
             logger.trace("Registering poll task {} with period {} using initial delay {}", task, pollPeriodMillis,
                     initialDelayMillis);
             if (scheduledPollTasks.containsKey(task)) {
                 logger.trace("Unregistering previous poll task (possibly with different period)");
                 unregisterRegularPoll(task);
             }
-            ScheduledFuture<?> future = executor.scheduleWithFixedDelay(() -> {
-                long started = System.currentTimeMillis();
-                logger.debug("Executing scheduled ({}ms) poll task {}. Current millis: {}", pollPeriodMillis, task,
-                        started);
-                executeOperation(task, false, pollOperation);
-                long finished = System.currentTimeMillis();
-                logger.debug(
-                        "Execution of scheduled ({}ms) poll task {} finished at {}. Was started at millis: {} (=duration of {} millis)",
-                        pollPeriodMillis, task, finished, started, finished - started);
-            }, initialDelayMillis, pollPeriodMillis, TimeUnit.MILLISECONDS);
-
-            scheduledPollTasks.put(task, future);
+            EndpointPoolConfiguration configuration = factory.getEndpointPoolConfiguration(task.getEndpoint());
+            if (configuration != null && configuration.isCoalescePolls()) {
+                PollGroupKey key = new PollGroupKey(task.getEndpoint(), pollPeriodMillis);
+                coalescedPollGroups.computeIfAbsent(key, k -> new CoalescedPollGroup()).tasks.add(task);
+                coalescedPollGroupKeys.put(task, key);
+                rescheduleCoalescedPolls(executor, factory, key, initialDelayMillis);
+            } else {
+                ScheduledFuture<?> future = schedulePoll(executor, factory, task, pollPeriodMillis,
+                        initialDelayMillis);
+                scheduledPollTasks.put(task, future);
+            }
+            pollPeriods.put(task, pollPeriodMillis);
             logger.trace("Registered poll task {} with period {} using initial delay {}", task, pollPeriodMillis,
                     initialDelayMillis);
         }
     }
 
+    /**
+     * Schedule poll task for regular execution
+     *
+     * With endpoints using adaptive polling, the poll is registered to the endpoint scheduler and scheduled executions
+     * are skipped as instructed by it.
+     *
+     * @param executor executor to schedule the poll with
+     * @param factory connection factory, for querying the endpoint configuration
+     * @param task poll task to execute
+     * @param pollPeriodMillis configured poll period
+     * @param initialDelayMillis initial delay
+     * @return future of the scheduled poll
+     */
+    private ScheduledFuture<?> schedulePoll(ScheduledExecutorService executor, ModbusSlaveConnectionFactoryImpl factory,
+            PollTask task, long pollPeriodMillis, long initialDelayMillis) {
+        EndpointPoolConfiguration configuration = factory.getEndpointPoolConfiguration(task.getEndpoint());
+        @Nullable
+        AdaptivePollScheduler scheduler = null;
+        if (configuration != null && configuration.isAdaptivePolling()) {
+            scheduler = adaptiveSchedulers.computeIfAbsent(task.getEndpoint(), AdaptivePollScheduler::new);
+            scheduler.register(task, pollPeriodMillis);
+        }
+        @Nullable
+        AdaptivePollScheduler adaptiveScheduler = scheduler;
+        return executor.scheduleWithFixedDelay(() -> {
+            long started = System.currentTimeMillis();
+            if (adaptiveScheduler != null && !adaptiveScheduler.shouldExecute(task, started)) {
+                logger.trace("Skipping scheduled ({}ms) poll task {}, effective period is {}ms", pollPeriodMillis,
+                        task, adaptiveScheduler.getEffectivePeriodMillis(task));
+                return;
+            }
+            logger.debug("Executing scheduled ({}ms) poll task {}. Current millis: {}", pollPeriodMillis, task,
+                    started);
+            executeOperation(task, false, pollOperation);
+            long finished = System.currentTimeMillis();
+            logger.debug(
+                    "Execution of scheduled ({}ms) poll task {} finished at {}. Was started at millis: {} (=duration of {} millis)",
+                    pollPeriodMillis, task, finished, started, finished - started);
+        }, initialDelayMillis, pollPeriodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop tracking the executions of a scheduled poll with adaptive polling
+     *
+     * @param task poll task that was scheduled
+     */
+    private void unregisterAdaptive(PollTask task) {
+        AdaptivePollScheduler scheduler = adaptiveSchedulers.get(task.getEndpoint());
+        if (scheduler != null) {
+            scheduler.unregister(task);
+            if (scheduler.isEmpty()) {
+                adaptiveSchedulers.remove(task.getEndpoint());
+            }
+        }
+    }
+
+    private static List<PollTask> getMembers(PollTask task) {
+        return task instanceof CoalescedPollTask ? ((CoalescedPollTask) task).getMembers()
+                : Collections.singletonList(task);
+    }
+
+    /**
+     * Re-compute the coalesced poll tasks of a group after a poll has been added or removed to it.
+     *
+     * Scheduled polls that are not affected by the change keep running undisturbed. Changed ones are re-scheduled,
+     * continuing with the remaining delay of the earliest member poll.
+     *
+     * @param executor executor to schedule the polls with
+     * @param factory connection factory, for querying the endpoint configuration
+     * @param key group to re-compute
+     * @param initialDelayMillis initial delay for polls that were not scheduled before
+     */
+    private void rescheduleCoalescedPolls(ScheduledExecutorService executor, ModbusSlaveConnectionFactoryImpl factory,
+            PollGroupKey key, long initialDelayMillis) {
+        CoalescedPollGroup group = coalescedPollGroups.get(key);
+        if (group == null) {
+            return;
+        }
+        EndpointPoolConfiguration configuration = factory.getEndpointPoolConfiguration(key.endpoint);
+        int maxGap = configuration == null ? 0 : configuration.getCoalescingMaxGap();
+        List<PollTask> blocks = new ArrayList<>(CoalescedPollTask.coalesce(key.endpoint, group.tasks, maxGap));
+
+        Map<PollTask, Long> remainingDelays = new HashMap<>();
+        Iterator<Entry<PollTask, ScheduledFuture<?>>> iterator = group.scheduledBlocks.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry<PollTask, ScheduledFuture<?>> entry = iterator.next();
+            PollTask previousBlock = entry.getKey();
+            ScheduledFuture<?> future = entry.getValue();
+            Optional<PollTask> unchanged = blocks.stream()
+                    .filter(block -> block.getRequest().equals(previousBlock.getRequest())
+                            && getMembers(block).equals(getMembers(previousBlock)))
+                    .findFirst();
+            if (unchanged.isPresent()) {
+                // keep the previous block as-is
+                blocks.remove(unchanged.get());
+                continue;
+            }
+            long remainingDelay = Math.max(0, future.getDelay(TimeUnit.MILLISECONDS));
+            getMembers(previousBlock).forEach(member -> remainingDelays.put(member, remainingDelay));
+            logger.trace("Canceling coalesced poll task {}", previousBlock);
+            // Let ongoing poll finish
+            future.cancel(false);
+            unregisterAdaptive(previousBlock);
+            scheduledCoalescedPolls.remove(previousBlock);
+            iterator.remove();
+        }
+
+        for (PollTask block : blocks) {
+            long delay = getMembers(block).stream()
+                    .mapToLong(member -> remainingDelays.getOrDefault(member, initialDelayMillis)).min()
+                    .orElse(initialDelayMillis);
+            logger.debug("Scheduling coalesced poll task {} covering polls {}", block, getMembers(block));
+            if (block instanceof CoalescedPollTask) {
+                scheduledCoalescedPolls.add(block);
+            }
+            ScheduledFuture<?> future = schedulePoll(executor, factory, block, key.pollPeriodMillis, delay);
+            group.scheduledBlocks.put(block, future);
+            getMembers(block).forEach(member -> scheduledPollTasks.put(member, future));
+        }
+        if (group.tasks.isEmpty()) {
+            coalescedPollGroups.remove(key);
+        }
+    }
+
     @SuppressWarnings({ "null", "unused" })
     @Override
     public boolean unregisterRegularPoll(PollTask task) {
@@ -756,9 +1418,22 @@ public class ModbusManagerImpl implements ModbusManager {
             // is usually pretty soon as transactions should be relatively short-lived)
             factory.disconnectOnReturn(task.getEndpoint(), System.currentTimeMillis());
 
-            future.cancel(true);
+            pollPeriods.remove(task);
+            PollGroupKey key = coalescedPollGroupKeys.remove(task);
+            if (key == null) {
+                future.cancel(true);
+                unregisterAdaptive(task);
+            } else {
+                // The future might be shared with other polls, re-compute the coalesced polls without this task
+                CoalescedPollGroup group = coalescedPollGroups.get(key);
+                if (group != null) {
+                    group.tasks.remove(task);
+                }
+                rescheduleCoalescedPolls(executor, factory, key, 0);
+            }
 
             logger.info("Poll task {} canceled", task);
+            removeUnusedMetrics(task.getEndpoint());
 
             try {
                 // Close all idle connections as well (they will be reconnected if necessary on borrow)
@@ -775,6 +1450,30 @@ public class ModbusManagerImpl implements ModbusManager {
         }
     }
 
+    @Override
+    public OptionalLong getEffectivePollPeriodMillis(PollTask task) {
+        Long pollPeriodMillis = pollPeriods.get(task);
+        if (pollPeriodMillis == null) {
+            return OptionalLong.empty();
+        }
+        AdaptivePollScheduler scheduler = adaptiveSchedulers.get(task.getEndpoint());
+        if (scheduler == null) {
+            return OptionalLong.of(pollPeriodMillis);
+        }
+        // With coalescing, the member poll is executed as part of a scheduled block
+        PollTask scheduledTask = task;
+        PollGroupKey key = coalescedPollGroupKeys.get(task);
+        CoalescedPollGroup group = key == null ? null : coalescedPollGroups.get(key);
+        if (group != null) {
+            synchronized (this) {
+                scheduledTask = group.scheduledBlocks.keySet().stream()
+                        .filter(block -> getMembers(block).contains(task)).findFirst().orElse(task);
+            }
+        }
+        long effectivePeriodMillis = scheduler.getEffectivePeriodMillis(scheduledTask);
+        return OptionalLong.of(effectivePeriodMillis < 0 ? pollPeriodMillis : effectivePeriodMillis);
+    }
+
     @Override
     public ScheduledFuture<?> submitOneTimeWrite(WriteTask task) {
         ScheduledExecutorService scheduledThreadPoolExecutor = this.scheduledThreadPoolExecutor;
@@ -864,6 +1563,10 @@ public class ModbusManagerImpl implements ModbusManager {
             // when pool is received from ThreadPoolManager is called
             scheduledThreadPoolExecutor = null;
             connectionFactory = null;
+            pipelineQueues.clear();
+            endpointMetrics.clear();
+            pollPeriods.clear();
+            adaptiveSchedulers.clear();
             logger.debug("Modbus manager deactivated");
         }
     }
@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.wimpi.modbus.ModbusIOException;
+import net.wimpi.modbus.io.ModbusTransport;
+import net.wimpi.modbus.msg.ModbusRequest;
+import net.wimpi.modbus.msg.ModbusResponse;
+import net.wimpi.modbus.net.TCPMasterConnection;
+
+/**
+ * Transaction executing several requests on a single Modbus/TCP connection without waiting for the responses in
+ * between.
+ *
+ * All requests are written back-to-back, after which the responses are read and matched to the requests using the
+ * transaction IDs. This is only supported by slaves that accept several outstanding requests.
+ *
+ * Unlike {@link net.wimpi.modbus.io.ModbusTCPTransaction}, there are no retries or validity checks. Slave exception
+ * responses are returned as-is. If the transaction fails half-way, the responses read until then remain available
+ * with {@link #getResponses()}.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class PipelinedTransaction {
+
+    private static final AtomicInteger TRANSACTION_ID_COUNTER = new AtomicInteger();
+
+    private final Logger logger = LoggerFactory.getLogger(PipelinedTransaction.class);
+
+    private final TCPMasterConnection connection;
+    private final List<ModbusRequest> requests;
+    private final @Nullable ModbusResponse[] responses;
+    private int requestsWritten;
+
+    public PipelinedTransaction(TCPMasterConnection connection, List<ModbusRequest> requests) {
+        this.connection = connection;
+        this.requests = requests;
+        this.responses = new ModbusResponse[requests.size()];
+    }
+
+    /**
+     * Write all requests and read the responses
+     *
+     * Transaction IDs of the requests are overwritten.
+     *
+     * @return responses in the same order as the requests. Element is null when no response matching the request was
+     *         received
+     * @throws ModbusIOException on I/O errors
+     */
+    public @Nullable ModbusResponse[] execute() throws ModbusIOException {
+        ModbusTransport transport = connection.getModbusTransport();
+        if (transport == null) {
+            throw new ModbusIOException("Connection not open");
+        }
+        Map<Integer, Integer> indexByTransactionId = new HashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            ModbusRequest request = requests.get(i);
+            int transactionId = nextTransactionId();
+            request.setTransactionID(transactionId);
+            indexByTransactionId.put(transactionId, i);
+            logger.trace("Writing pipelined request {}/{} with transaction ID {}: {}", i + 1, requests.size(),
+                    transactionId, request.getHexMessage());
+            requestsWritten++;
+            transport.writeMessage(request);
+        }
+
+        for (int i = 0; i < requests.size(); i++) {
+            ModbusResponse response = transport.readResponse();
+            Integer index = indexByTransactionId.remove(response.getTransactionID());
+            if (index == null) {
+                logger.warn("Received response with unexpected transaction ID {} from {}. Ignoring response.",
+                        response.getTransactionID(), connection);
+                continue;
+            }
+            logger.trace("Read pipelined response with transaction ID {}: {}", response.getTransactionID(),
+                    response.getHexMessage());
+            responses[index] = response;
+        }
+        return responses;
+    }
+
+    /**
+     * Get the responses read so far
+     *
+     * @return responses in the same order as the requests. Element is null when no response matching the request has
+     *         been received
+     */
+    public @Nullable ModbusResponse[] getResponses() {
+        return responses;
+    }
+
+    /**
+     * Get the number of requests written to the connection, including a request whose write failed
+     *
+     * Requests that were not written never reached the slave.
+     *
+     * @return number of requests written
+     */
+    public int getRequestsWritten() {
+        return requestsWritten;
+    }
+
+    private static int nextTransactionId() {
+        return TRANSACTION_ID_COUNTER.updateAndGet(id -> id >= 0xFFFF ? 1 : id + 1);
+    }
+}
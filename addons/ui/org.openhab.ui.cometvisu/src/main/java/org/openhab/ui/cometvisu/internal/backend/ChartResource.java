@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -82,10 +83,41 @@ public class ChartResource implements RESTResource {
         // df.setPositivePrefix("+");
     }
 
+    // maximum number of downsampled series kept in the cache
+    private static final int MAX_CACHED_SERIES = 100;
+
     protected static Map<String, QueryablePersistenceService> persistenceServices = new HashMap<String, QueryablePersistenceService>();
 
     private ItemRegistry itemRegistry;
 
+    /**
+     * downsampled series of generic persistence services by persistence service, item, resolution and range length.
+     * The least recently used series is removed if the cache is full.
+     */
+    private final Map<String, CachedSeries> seriesCache = new LinkedHashMap<String, CachedSeries>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedSeries> eldest) {
+            return size() > MAX_CACHED_SERIES;
+        }
+    };
+
+    /**
+     * downsampled values of an item, the buckets from 'from' until 'completeUntil' won't change anymore
+     */
+    private static class CachedSeries {
+        private final long from;
+        private final long completeUntil;
+        private final TreeMap<Long, Double> values;
+
+        CachedSeries(long from, long completeUntil, TreeMap<Long, Double> values) {
+            this.from = from;
+            this.completeUntil = completeUntil;
+            this.values = values;
+        }
+    }
+
     @Context
     private UriInfo uriInfo;
 
@@ -178,36 +210,85 @@ public class ChartResource implements RESTResource {
         return Response.serverError().build();
     }
 
+    /**
+     * returns the series of an item from a generic persistence service. If a resolution is given, only the minimum and
+     * maximum value of each time bucket of the resolution are returned. Those are cached, so that following requests
+     * for a time range ending now only query the values since the last complete bucket.
+     *
+     * @param persistenceService
+     * @param item
+     * @param timeBegin
+     * @param timeEnd
+     * @param resolution resolution in seconds
+     * @return
+     */
     public Object getPersistenceSeries(QueryablePersistenceService persistenceService, Item item, Date timeBegin,
             Date timeEnd, long resolution) {
-        Map<Long, ArrayList<String>> data = new HashMap<Long, ArrayList<String>>();
+        long begin = timeBegin.getTime();
+        long end = timeEnd.getTime();
+        long bucketWidth = resolution * 1000;
+        TreeMap<Long, Double> values;
+
+        if (bucketWidth <= 0) {
+            values = querySeries(persistenceService, item, begin, end, 0).getResult();
+        } else {
+            // always query whole buckets, so that the buckets can be reused by following requests
+            long firstBucket = MinMaxDownsampler.getBucketStart(begin, bucketWidth);
+            String key = persistenceService.getId() + ":" + item.getName() + ":" + resolution + ":"
+                    + (end - firstBucket) / bucketWidth;
+            long queryBegin = firstBucket;
+            values = new TreeMap<Long, Double>();
+            synchronized (seriesCache) {
+                CachedSeries cached = seriesCache.get(key);
+                if (cached != null && cached.from <= firstBucket && firstBucket <= cached.completeUntil) {
+                    values.putAll(cached.values.subMap(firstBucket, true, end, true));
+                    queryBegin = cached.completeUntil;
+                }
+            }
+            if (queryBegin <= end) {
+                values.putAll(querySeries(persistenceService, item, queryBegin, end, bucketWidth).getResult());
+                // buckets before the current one won't change anymore
+                long completeUntil = MinMaxDownsampler.getBucketStart(Math.min(end, System.currentTimeMillis()),
+                        bucketWidth);
+                CachedSeries series = new CachedSeries(firstBucket, completeUntil,
+                        new TreeMap<Long, Double>(values.headMap(completeUntil)));
+                synchronized (seriesCache) {
+                    seriesCache.put(key, series);
+                }
+            } else {
+                logger.debug("using cached series of item '{}'", item.getName());
+            }
+        }
+
+        Map<Long, ArrayList<String>> data = new TreeMap<Long, ArrayList<String>>();
+        for (Entry<Long, Double> value : values.subMap(begin, true, end, true).entrySet()) {
+            ArrayList<String> vals = new ArrayList<String>();
+            vals.add(formatDouble(value.getValue(), "null", true));
+            data.put(value.getKey(), vals);
+        }
+        return convertToRrd(data);
+    }
 
+    private MinMaxDownsampler querySeries(QueryablePersistenceService persistenceService, Item item, long begin,
+            long end, long bucketWidth) {
         // Define the data filter
         FilterCriteria filter = new FilterCriteria();
-        filter.setBeginDate(timeBegin);
-        filter.setEndDate(timeEnd);
+        filter.setBeginDate(new Date(begin));
+        filter.setEndDate(new Date(end));
         filter.setItemName(item.getName());
         filter.setOrdering(Ordering.ASCENDING);
 
-        // Get the data from the persistence store
-        Iterable<HistoricItem> result = persistenceService.query(filter);
-        Iterator<HistoricItem> it = result.iterator();
-
-        // Iterate through the data
-        int dataCounter = 0;
-        while (it.hasNext()) {
-            dataCounter++;
-            HistoricItem historicItem = it.next();
+        // Get the data from the persistence store and downsample it while iterating
+        MinMaxDownsampler downsampler = new MinMaxDownsampler(bucketWidth);
+        for (HistoricItem historicItem : persistenceService.query(filter)) {
             org.eclipse.smarthome.core.types.State state = historicItem.getState();
             if (state instanceof DecimalType) {
-                ArrayList<String> vals = new ArrayList<String>();
-                vals.add(formatDouble(((DecimalType) state).doubleValue(), "null", true));
-                data.put(historicItem.getTimestamp().getTime(), vals);
+                downsampler.add(historicItem.getTimestamp().getTime(), ((DecimalType) state).doubleValue());
             }
         }
         logger.debug("'{}' querying item '{}' from '{}' to '{}' => '{}' results", persistenceService.getId(),
-                filter.getItemName(), filter.getBeginDate(), filter.getEndDate(), dataCounter);
-        return convertToRrd(data);
+                filter.getItemName(), filter.getBeginDate(), filter.getEndDate(), downsampler.getCounter());
+        return downsampler;
     }
 
     /**
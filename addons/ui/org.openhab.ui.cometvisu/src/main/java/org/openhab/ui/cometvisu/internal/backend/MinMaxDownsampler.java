@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.ui.cometvisu.internal.backend;
+
+import java.util.TreeMap;
+
+/**
+ * reduces a time series, which is added in ascending order, to the minimum and maximum value
+ * of each time bucket. The original timestamps of the kept values are preserved, so that peaks
+ * are drawn at the right position. Only the values of one bucket are held while iterating.
+ *
+ * @author agent
+ *
+ */
+class MinMaxDownsampler {
+    private final long bucketWidth;
+    private final TreeMap<Long, Double> result = new TreeMap<Long, Double>();
+
+    private long bucketStart = Long.MIN_VALUE;
+    private long minTime;
+    private double minValue;
+    private long maxTime;
+    private double maxValue;
+    private int counter;
+
+    /**
+     * @param bucketWidth width of a bucket in milliseconds, values are kept as they are if <= 0
+     */
+    MinMaxDownsampler(long bucketWidth) {
+        this.bucketWidth = bucketWidth;
+    }
+
+    /**
+     * returns the start of the bucket the given time belongs to
+     */
+    static long getBucketStart(long time, long bucketWidth) {
+        return Math.floorDiv(time, bucketWidth) * bucketWidth;
+    }
+
+    /**
+     * adds a value, the timestamps must be ascending
+     */
+    void add(long time, double value) {
+        counter++;
+        if (bucketWidth <= 0) {
+            result.put(time, value);
+            return;
+        }
+        long start = getBucketStart(time, bucketWidth);
+        if (start != bucketStart) {
+            closeBucket();
+            bucketStart = start;
+            minTime = maxTime = time;
+            minValue = maxValue = value;
+        } else if (value < minValue) {
+            minTime = time;
+            minValue = value;
+        } else if (value > maxValue) {
+            maxTime = time;
+            maxValue = value;
+        }
+    }
+
+    /**
+     * returns the number of values that have been added
+     */
+    int getCounter() {
+        return counter;
+    }
+
+    /**
+     * returns the downsampled values by their timestamps
+     */
+    TreeMap<Long, Double> getResult() {
+        closeBucket();
+        return result;
+    }
+
+    private void closeBucket() {
+        if (bucketStart != Long.MIN_VALUE) {
+            result.put(minTime, minValue);
+            result.put(maxTime, maxValue);
+            bucketStart = Long.MIN_VALUE;
+        }
+    }
+}
@@ -15,10 +15,15 @@ package org.openhab.ui.cometvisu.internal.backend;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -39,9 +44,9 @@ import org.eclipse.smarthome.core.items.ItemRegistry;
 import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.io.rest.RESTResource;
 import org.glassfish.jersey.media.sse.EventOutput;
-import org.glassfish.jersey.media.sse.SseBroadcaster;
 import org.glassfish.jersey.media.sse.SseFeature;
 import org.openhab.ui.cometvisu.internal.Config;
+import org.openhab.ui.cometvisu.internal.StateBeanMessageBodyWriter;
 import org.openhab.ui.cometvisu.internal.backend.beans.StateBean;
 import org.openhab.ui.cometvisu.internal.listeners.StateEventListener;
 import org.openhab.ui.cometvisu.internal.util.SseUtil;
@@ -58,16 +63,21 @@ import org.slf4j.LoggerFactory;
 public class ReadResource implements EventBroadcaster, RESTResource {
     private final Logger logger = LoggerFactory.getLogger(ReadResource.class);
 
-    private SseBroadcaster broadcaster = new SseBroadcaster();
-
     private final ExecutorService executorService;
 
     private ItemRegistry itemRegistry;
 
     private StateEventListener stateEventListener;
 
-    private List<String> itemNames = new ArrayList<String>();
-    private Map<Item, Map<String, Class<? extends State>>> items = new HashMap<Item, Map<String, Class<? extends State>>>();
+    /**
+     * connected clients by the CometVisu item names they have requested
+     */
+    private final Map<String, Set<SseClient>> clients = new ConcurrentHashMap<String, Set<SseClient>>();
+
+    /**
+     * requested CometVisu item names and their state classes by openHAB item names
+     */
+    private final Map<String, Map<String, Class<? extends State>>> items = new ConcurrentHashMap<String, Map<String, Class<? extends State>>>();
 
     @Context
     private UriInfo uriInfo;
@@ -81,11 +91,22 @@ public class ReadResource implements EventBroadcaster, RESTResource {
     private Collection<ItemFactory> itemFactories = new CopyOnWriteArrayList<ItemFactory>();
 
     public ReadResource() {
-        this.executorService = Executors.newSingleThreadExecutor();
+        // a slow client blocks the thread sending to it, so that every client needs its own thread
+        this.executorService = Executors.newCachedThreadPool();
         this.stateEventListener = new StateEventListener();
         this.stateEventListener.setEventBroadcaster(this);
     }
 
+    /**
+     * closes the connections of all clients and stops their sending threads
+     */
+    protected void deactivate() {
+        Set<SseClient> allClients = new LinkedHashSet<SseClient>();
+        clients.values().forEach(allClients::addAll);
+        allClients.forEach(SseClient::close);
+        executorService.shutdownNow();
+    }
+
     protected void setItemRegistry(ItemRegistry itemRegistry) {
         this.itemRegistry = itemRegistry;
     }
@@ -118,13 +139,8 @@ public class ReadResource implements EventBroadcaster, RESTResource {
             @QueryParam("t") long time) throws IOException, InterruptedException {
         final EventOutput eventOutput = new EventOutput();
 
-        this.itemNames = itemNames;
-
-        broadcaster.add(eventOutput);
-
-        // get all requested items and send their states to the client
-        items = new HashMap<Item, Map<String, Class<? extends State>>>();
         // send the current states of all items to the client
+        Map<String, Map<String, Class<? extends State>>> requestedItems = new HashMap<String, Map<String, Class<? extends State>>>();
         if (this.itemRegistry != null) {
             List<StateBean> states = new ArrayList<StateBean>();
             for (String cvItemName : itemNames) {
@@ -144,10 +160,8 @@ public class ReadResource implements EventBroadcaster, RESTResource {
                         ohItemName = parts[1];
                     }
                     Item item = this.itemRegistry.getItem(ohItemName);
-                    if (!items.containsKey(item)) {
-                        items.put(item, new HashMap<String, Class<? extends State>>());
-                    }
-                    items.get(item).put(cvItemName, stateClass);
+                    requestedItems.computeIfAbsent(item.getName(), k -> new HashMap<String, Class<? extends State>>())
+                            .put(cvItemName, stateClass);
                     StateBean itemState = new StateBean();
                     itemState.name = cvItemName;
 
@@ -162,27 +176,136 @@ public class ReadResource implements EventBroadcaster, RESTResource {
                     logger.error("{}", e.getLocalizedMessage());
                 }
             }
-            logger.debug("initially broadcasting {}/{} item states", states.size(), itemNames.size());
-            broadcaster.broadcast(SseUtil.buildEvent(states));
+            logger.debug("initially sending {}/{} item states", states.size(), itemNames.size());
+            eventOutput.write(SseUtil.buildEvent(states));
         }
+
         // listen to state changes of the requested items
-        registerItems();
+        subscribe(new SseClient(eventOutput, new LinkedHashSet<String>(itemNames), executorService, this::unsubscribe),
+                requestedItems);
 
         return eventOutput;
     }
 
+    /**
+     * subscribes the client to the state changes of the requested items
+     *
+     * @param client
+     *            - the new client
+     * @param requestedItems
+     *            - the requested CometVisu item names and their state classes by openHAB item names
+     */
+    private synchronized void subscribe(SseClient client,
+            Map<String, Map<String, Class<? extends State>>> requestedItems) {
+        removeClosedClients();
+        for (String cvItemName : client.getItemNames()) {
+            clients.computeIfAbsent(cvItemName, k -> new CopyOnWriteArraySet<SseClient>()).add(client);
+        }
+        for (Map.Entry<String, Map<String, Class<? extends State>>> entry : requestedItems.entrySet()) {
+            items.computeIfAbsent(entry.getKey(),
+                    k -> Collections.synchronizedMap(new HashMap<String, Class<? extends State>>()))
+                    .putAll(entry.getValue());
+            registerItem(entry.getKey());
+        }
+    }
+
     /**
      * listen for state changes from the requested items
      */
     @Override
     public void registerItems() {
-        for (Item item : items.keySet()) {
-            if (item instanceof GenericItem) {
-                ((GenericItem) item).addStateChangeListener(stateEventListener);
+        for (String ohItemName : items.keySet()) {
+            registerItem(ohItemName);
+        }
+    }
+
+    private void registerItem(String ohItemName) {
+        if (itemRegistry != null) {
+            try {
+                Item item = itemRegistry.getItem(ohItemName);
+                if (item instanceof GenericItem) {
+                    ((GenericItem) item).addStateChangeListener(stateEventListener);
+                }
+            } catch (ItemNotFoundException e) {
+                logger.debug("{}", e.getLocalizedMessage());
             }
         }
     }
 
+    /**
+     * removes a closed client from the subscriptions and stops listening to the items nobody has requested anymore
+     *
+     * @param client
+     *            - the closed client
+     */
+    private synchronized void unsubscribe(SseClient client) {
+        for (String cvItemName : client.getItemNames()) {
+            Set<SseClient> itemClients = clients.get(cvItemName);
+            if (itemClients != null) {
+                itemClients.remove(client);
+                if (itemClients.isEmpty()) {
+                    clients.remove(cvItemName);
+                }
+            }
+        }
+        // forget the CometVisu item names nobody is interested in anymore
+        for (Map<String, Class<? extends State>> cvItemNames : items.values()) {
+            cvItemNames.keySet().retainAll(clients.keySet());
+        }
+        for (String ohItemName : new ArrayList<String>(items.keySet())) {
+            if (items.get(ohItemName).isEmpty()) {
+                items.remove(ohItemName);
+                unregisterItem(ohItemName);
+            }
+        }
+    }
+
+    /**
+     * removes the clients that have been disconnected without noticing from the subscriptions
+     */
+    private void removeClosedClients() {
+        Set<SseClient> allClients = new LinkedHashSet<SseClient>();
+        clients.values().forEach(allClients::addAll);
+        for (SseClient client : allClients) {
+            if (client.isClosed()) {
+                client.close();
+            }
+        }
+    }
+
+    private void unregisterItem(String ohItemName) {
+        if (itemRegistry != null) {
+            try {
+                Item item = itemRegistry.getItem(ohItemName);
+                if (item instanceof GenericItem) {
+                    ((GenericItem) item).removeStateChangeListener(stateEventListener);
+                }
+            } catch (ItemNotFoundException e) {
+                logger.debug("{}", e.getLocalizedMessage());
+            }
+        }
+    }
+
+    /**
+     * returns the CometVisu item names of the connected clients, which refer to the given openHAB item
+     *
+     * @param ohItemName
+     *            - the openHAB item name
+     * @return the CometVisu item names and their state classes
+     */
+    private Map<String, Class<? extends State>> getRequestedCvItemNames(String ohItemName) {
+        Map<String, Class<? extends State>> cvItemNames = new HashMap<String, Class<? extends State>>();
+        for (String cvItemName : clients.keySet()) {
+            String[] parts = cvItemName.split(":");
+            if (parts.length == 2 && parts[1].equals(ohItemName)) {
+                cvItemNames.put(cvItemName, Config.itemTypeMapper.get(parts[0].toLowerCase()));
+            } else if (parts.length != 2 && cvItemName.equals(ohItemName)) {
+                cvItemNames.put(cvItemName, null);
+            }
+        }
+        return cvItemNames;
+    }
+
     /**
      * listens to state changes of the given item, if it is part of the
      * requested items
@@ -191,36 +314,41 @@ public class ReadResource implements EventBroadcaster, RESTResource {
      *            - the new item, that should be listened to
      */
     @Override
-    public void registerItem(Item item) {
-        if (item == null || items.containsKey(item) || !itemNames.contains(item.getName())) {
+    public synchronized void registerItem(Item item) {
+        if (item == null) {
+            return;
+        }
+        Map<String, Class<? extends State>> cvItemNames = getRequestedCvItemNames(item.getName());
+        if (cvItemNames.isEmpty()) {
             return;
         }
+        items.put(item.getName(), Collections.synchronizedMap(cvItemNames));
         if (item instanceof GenericItem) {
             ((GenericItem) item).addStateChangeListener(stateEventListener);
         }
     }
 
     /**
-     * listens to state changes of the given item, if it is part of the
-     * requested items
+     * stops listening to state changes of the given item
      *
      * @param item
-     *            - the new item, that should be listened to
+     *            - the removed item
      */
     @Override
-    public void unregisterItem(Item item) {
-        if (item == null || items.containsKey(item) || !itemNames.contains(item.getName())) {
+    public synchronized void unregisterItem(Item item) {
+        if (item == null) {
             return;
         }
+        items.remove(item.getName());
         if (item instanceof GenericItem) {
             ((GenericItem) item).removeStateChangeListener(stateEventListener);
-            items.remove(item);
         }
     }
 
     /**
-     * Broadcasts an event described by the given parameters to all currently
-     * listening clients.
+     * Sends an event described by the given parameters to all currently
+     * listening clients, which have requested the item. The state is serialized
+     * only once for all clients.
      *
      * @param item
      *            - the item which has changed
@@ -229,13 +357,33 @@ public class ReadResource implements EventBroadcaster, RESTResource {
      */
     @Override
     public void broadcastEvent(final Object eventObject) {
-        executorService.execute(() -> {
-            broadcaster.broadcast(SseUtil.buildEvent(eventObject));
-        });
+        if (eventObject instanceof StateBean) {
+            StateBean stateBean = (StateBean) eventObject;
+            Set<SseClient> itemClients = clients.get(stateBean.name);
+            if (itemClients != null && !itemClients.isEmpty()) {
+                String serializedState = StateBeanMessageBodyWriter.serializeState(stateBean);
+                for (SseClient client : itemClients) {
+                    client.queueState(stateBean.name, serializedState);
+                }
+            }
+        } else {
+            String data = new StateBeanMessageBodyWriter().serialize(eventObject);
+            Set<SseClient> allClients = new LinkedHashSet<SseClient>();
+            clients.values().forEach(allClients::addAll);
+            for (SseClient client : allClients) {
+                executorService.execute(() -> client.send(data));
+            }
+        }
     }
 
     @Override
     public Map<String, Class<? extends State>> getClientItems(Item item) {
-        return items.get(item);
+        Map<String, Class<? extends State>> cvItemNames = items.get(item.getName());
+        if (cvItemNames == null) {
+            return Collections.emptyMap();
+        }
+        synchronized (cvItemNames) {
+            return new HashMap<String, Class<? extends State>>(cvItemNames);
+        }
     }
 }
@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.ui.cometvisu.internal.backend;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import org.apache.commons.lang.StringUtils;
+import org.glassfish.jersey.media.sse.EventOutput;
+import org.openhab.ui.cometvisu.internal.StateBeanMessageBodyWriter;
+import org.openhab.ui.cometvisu.internal.util.SseUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * a connected CometVisu client, which receives the state updates of the items it has requested.
+ *
+ * State updates are queued per item, so that a slow client only receives the latest state of an item.
+ * The queue is therefore bounded by the number of requested items. The queued states are sent as one
+ * event, without blocking the delivery to other clients.
+ *
+ * @author agent
+ */
+class SseClient {
+    private final Logger logger = LoggerFactory.getLogger(SseClient.class);
+
+    private final EventOutput eventOutput;
+    private final Executor executor;
+    private final Consumer<SseClient> closeListener;
+
+    /**
+     * the CometVisu item names this client has requested
+     */
+    private final Set<String> itemNames;
+
+    /**
+     * serialized states which have not been sent yet by CometVisu item names
+     */
+    private final Map<String, String> pendingStates = new LinkedHashMap<String, String>();
+    private boolean sending;
+    private boolean closed;
+
+    /**
+     * @param closeListener
+     *            - notified once, when the client has been closed
+     */
+    SseClient(EventOutput eventOutput, Set<String> itemNames, Executor executor, Consumer<SseClient> closeListener) {
+        this.eventOutput = eventOutput;
+        this.itemNames = itemNames;
+        this.executor = executor;
+        this.closeListener = closeListener;
+    }
+
+    Set<String> getItemNames() {
+        return itemNames;
+    }
+
+    synchronized boolean isClosed() {
+        return closed || eventOutput.isClosed();
+    }
+
+    /**
+     * queues the state of an item, replacing a queued state of the same item
+     *
+     * @param cvItemName
+     *            - the CometVisu item name
+     * @param serializedState
+     *            - the serialized state, as created by {@link StateBeanMessageBodyWriter#serializeState}
+     */
+    synchronized void queueState(String cvItemName, String serializedState) {
+        if (closed) {
+            return;
+        }
+        pendingStates.put(cvItemName, serializedState);
+        if (!sending) {
+            sending = true;
+            executor.execute(this::sendPendingStates);
+        }
+    }
+
+    /**
+     * sends the given event immediately
+     */
+    void send(String data) {
+        try {
+            eventOutput.write(SseUtil.buildDataEvent(data));
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Closing SSE connection: {}", e.getMessage());
+            close();
+        }
+    }
+
+    void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pendingStates.clear();
+            try {
+                eventOutput.close();
+            } catch (IOException e) {
+                logger.debug("Could not close SSE connection: {}", e.getMessage());
+            }
+        }
+        // notified without holding the lock of this client
+        closeListener.accept(this);
+    }
+
+    private void sendPendingStates() {
+        while (true) {
+            List<String> states;
+            synchronized (this) {
+                if (closed || pendingStates.isEmpty()) {
+                    sending = false;
+                    return;
+                }
+                states = new ArrayList<String>(pendingStates.values());
+                pendingStates.clear();
+            }
+            send("{\"d\":{" + StringUtils.join(states, ",") + "}}");
+        }
+    }
+}
@@ -41,12 +41,24 @@ public class SseUtil {
      */
     public static OutboundEvent buildEvent(Object eventObject) {
 
-        OutboundEvent.Builder eventBuilder = new OutboundEvent.Builder();
         StateBeanMessageBodyWriter writer = new StateBeanMessageBodyWriter();
         // OutboundEvent event = eventBuilder.mediaType(MediaType.APPLICATION_JSON_TYPE).data(eventObject).build();
+        return buildDataEvent(writer.serialize(eventObject));
+    }
+
+    /**
+     * Creates a new {@link OutboundEvent} object containing already serialized
+     * data.
+     *
+     * @param data
+     *            - the serialized event data
+     * @return a new OutboundEvent.
+     */
+    public static OutboundEvent buildDataEvent(String data) {
+        OutboundEvent.Builder eventBuilder = new OutboundEvent.Builder();
         java.util.Date date = new java.util.Date();
-        OutboundEvent event = eventBuilder.mediaType(MediaType.APPLICATION_JSON_TYPE)
-                .data(writer.serialize(eventObject)).id(String.valueOf(date.getTime())).build();
+        OutboundEvent event = eventBuilder.mediaType(MediaType.APPLICATION_JSON_TYPE).data(data)
+                .id(String.valueOf(date.getTime())).build();
 
         return event;
     }